@@ -0,0 +1,47 @@
+package com.github.sszuev.ontdot.benchmarks;
+
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.ClassPropertyMap;
+import com.github.sszuev.ontdot.utils.ClassPropertyMapImpl;
+import com.github.sszuev.tests.utils.ModelData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@link ClassPropertyMapImpl#properties(OntClass)} for every named class of the ontology.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClassPropertyMapBenchmark {
+
+    @Param({"PIZZA", "FAMILY", "KOALA", "WINE", "HP_CUT"})
+    public ModelData data;
+
+    private List<OntClass.Named> classes;
+    private ClassPropertyMap cpm;
+
+    @Setup
+    public void setup() {
+        OntModel model = data.ont().asGraphModel();
+        classes = model.classes().collect(Collectors.toList());
+        cpm = new ClassPropertyMapImpl();
+    }
+
+    @Benchmark
+    public void properties(Blackhole bh) {
+        for (OntClass.Named c : classes) {
+            cpm.properties(c).forEach(bh::consume);
+        }
+    }
+}
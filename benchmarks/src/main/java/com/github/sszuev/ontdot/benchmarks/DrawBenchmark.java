@@ -0,0 +1,44 @@
+package com.github.sszuev.ontdot.benchmarks;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.tests.utils.ModelData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full-graph render ({@link OntVisualizer#draw(OntModel)}) of each test ontology.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DrawBenchmark {
+
+    @Param({"PIZZA", "FAMILY", "PEOPLE", "CAMERA", "KOALA", "TRAVEL", "WINE", "FOOD", "NCBITAXON_CUT", "HP_CUT"})
+    public ModelData data;
+
+    @Param({"false", "true"})
+    public boolean classPropertiesMap;
+
+    private OntModel model;
+    private OntVisualizer visualizer;
+
+    @Setup
+    public void setup() {
+        model = data.ont().asGraphModel();
+        visualizer = OntVisualizer.create().prefixes(model)
+                .withOption(DOTSetting.BOOLEAN_CLASS_PROPERTIES_MAP, classPropertiesMap);
+    }
+
+    @Benchmark
+    public String draw() {
+        return visualizer.draw(model);
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.sszuev.ontdot.benchmarks;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntObject;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.renderers.EntitiesDOTWriter;
+import com.github.sszuev.tests.utils.ModelData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the {@link EntitiesDOTWriter} render with small seed sets:
+ * the first (in URI order) classes of the ontology are taken as seeds.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntitiesBenchmark {
+
+    @Param({"PIZZA", "KOALA", "WINE", "HP_CUT"})
+    public ModelData data;
+
+    @Param({"1", "5"})
+    public int seeds;
+
+    private OntModel model;
+    private OntVisualizer visualizer;
+
+    @Setup
+    public void setup() {
+        model = data.ont().asGraphModel();
+        List<String> entities = model.classes().map(OntObject::getURI).sorted()
+                .limit(seeds).collect(Collectors.toList());
+        visualizer = OntVisualizer.create().prefixes(model).entities(entities);
+    }
+
+    @Benchmark
+    public String draw() {
+        return visualizer.draw(model);
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.sszuev.ontdot.benchmarks;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.tests.utils.OntologyGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full-graph render of synthetic ontologies of different sizes (see {@link OntologyGenerator}).
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeneratedDrawBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int classes;
+
+    @Param({"1"})
+    public double restrictions;
+
+    @Param({"1"})
+    public int individuals;
+
+    private OntModel model;
+    private OntVisualizer visualizer;
+
+    @Setup
+    public void setup() {
+        model = OntologyGenerator.create().classes(classes).restrictions(restrictions).individuals(individuals).generate();
+        visualizer = OntVisualizer.create().prefixes(model);
+    }
+
+    @Benchmark
+    public String draw() {
+        return visualizer.draw(model);
+    }
+}
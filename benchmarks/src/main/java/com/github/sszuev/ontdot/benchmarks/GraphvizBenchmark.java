@@ -0,0 +1,40 @@
+package com.github.sszuev.ontdot.benchmarks;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.Graphviz;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.tests.utils.ModelData;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Graphviz#toGraphvizOnlineURI(String)} for the DOT of the whole ontology.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphvizBenchmark {
+
+    @Param({"KOALA", "PIZZA", "HP_CUT"})
+    public ModelData data;
+
+    private String dot;
+
+    @Setup
+    public void setup() {
+        OntModel model = data.ont().asGraphModel();
+        dot = OntVisualizer.create().prefixes(model).draw(model);
+    }
+
+    @Benchmark
+    public URI toGraphvizOnlineURI() {
+        return Graphviz.toGraphvizOnlineURI(dot);
+    }
+}
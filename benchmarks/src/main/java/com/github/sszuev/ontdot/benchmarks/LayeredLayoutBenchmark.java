@@ -0,0 +1,44 @@
+package com.github.sszuev.ontdot.benchmarks;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.layout.SVGRenderer;
+import com.github.sszuev.ontdot.renderers.RenderStats;
+import com.github.sszuev.tests.utils.OntologyGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the built-in layered layout with SVG output on synthetic ontologies of different sizes
+ * (compare with {@link GeneratedDrawBenchmark}, which gives the cost of the DOT render alone).
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LayeredLayoutBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int classes;
+
+    private OntModel model;
+    private OntVisualizer visualizer;
+
+    @Setup
+    public void setup() {
+        model = OntologyGenerator.create().classes(classes).generate();
+        visualizer = OntVisualizer.create().prefixes(model);
+    }
+
+    @Benchmark
+    public RenderStats draw() throws IOException {
+        return new SVGRenderer().draw(model, visualizer, Writer.nullWriter());
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.sszuev.ontdot.benchmarks;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.LiteralRenderer;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.utils.LiteralRendererImpl;
+import com.github.sszuev.tests.utils.ModelData;
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.RDFNode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link LiteralRendererImpl#print(Literal, com.github.sszuev.ontdot.api.LiteralOptions, org.apache.jena.shared.PrefixMapping)}
+ * for all literals of the ontology.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LiteralRendererBenchmark {
+
+    @Param({"PIZZA", "WINE", "HP_CUT", "NCBITAXON_CUT"})
+    public ModelData data;
+
+    private OntModel model;
+    private List<Literal> literals;
+    private LiteralRenderer renderer;
+    private OntVisualizer options;
+
+    @Setup
+    public void setup() {
+        model = data.ont().asGraphModel();
+        literals = model.listObjects().filterKeep(RDFNode::isLiteral).mapWith(RDFNode::asLiteral).toList();
+        renderer = new LiteralRendererImpl();
+        options = OntVisualizer.create().prefixes(model);
+    }
+
+    @Benchmark
+    public void print(Blackhole bh) {
+        for (Literal literal : literals) {
+            bh.consume(renderer.print(literal, options, model));
+        }
+    }
+}
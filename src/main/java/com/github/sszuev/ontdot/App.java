@@ -4,9 +4,21 @@ import com.github.owlcs.ontapi.OntFormat;
 import com.github.owlcs.ontapi.OntManagers;
 import com.github.owlcs.ontapi.Ontology;
 import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.jena.OntModelFactory;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.jfr.ModelLoadEvent;
+import com.github.sszuev.ontdot.layout.SVGRenderer;
+import com.github.sszuev.ontdot.renderers.ComponentsDOTWriter;
 import com.github.sszuev.ontdot.renderers.DOTWriter;
+import com.github.sszuev.ontdot.renderers.DOTWriterFactory;
+import com.github.sszuev.ontdot.renderers.RenderStats;
+import com.github.sszuev.ontdot.utils.CompactGraph;
+import com.github.sszuev.ontdot.utils.ParallelRDFLoader;
+import com.github.sszuev.ontdot.utils.Sharding;
+import com.github.sszuev.ontdot.utils.SnapshotCache;
+import com.github.sszuev.ontdot.viewer.HTMLViewer;
+import org.apache.jena.riot.Lang;
 import org.semanticweb.owlapi.io.FileDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
@@ -14,13 +26,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 /**
  * Created by @ssz on 09.01.2022.
@@ -40,33 +58,221 @@ public class App {
         org.apache.log4j.Level level = cli.verbose() ? org.apache.log4j.Level.DEBUG : org.apache.log4j.Level.FATAL;
         org.apache.log4j.Logger.getRootLogger().setLevel(level);
 
+        if (cli.server() != null) {
+            RenderServer.start(cli.server(), cli.threads(), RenderServer.DEFAULT_CACHE_CAPACITY, cli.compact(), cli.cache());
+            return;
+        }
+        if (cli.batch() != null) {
+            try {
+                System.out.println("Report: " + Batch.run(cli));
+            } catch (CLI.ExitException ex) {
+                System.err.println(ex.getMessage());
+                System.exit(ex.getCode());
+            }
+            return;
+        }
+        if (cli.watch()) {
+            Watcher.run(cli);
+            return;
+        }
+
         LOGGER.info("Load ontology from <{}>", cli.source());
-        OntModel ont = loadOntology(cli.source(), cli.format()).asGraphModel();
+        long loadWall = System.nanoTime();
+        long loadCpu = RenderStats.cpuTime();
+        OntModel ont = loadModel(cli.source(), cli.format(), cli.parseThreads(), cli.cache());
+        if (cli.compact()) {
+            ont = compact(ont);
+        }
+        loadWall = System.nanoTime() - loadWall;
+        loadCpu = loadCpu < 0 ? -1 : RenderStats.cpuTime() - loadCpu;
 
         OntVisualizer visualizer = OntVisualizer.create().prefixes(ont)
                 .entities(cli.filterEntities()).withOptions(cli.options());
 
-        if (cli.browse()) {
-            LOGGER.info("Browse <{}>", Graphviz.BASE_URL);
-            Graphviz.browse(visualizer.draw(ont));
-        } else {
-            LOGGER.info("Write to {}", cli.target());
-            if (cli.printAsURL()) {
-                URI uri = Graphviz.toGraphvizOnlineURI(visualizer.draw(ont));
+        RenderStats stats;
+        if (cli.shard() != null) {
+            stats = drawShards(ont, visualizer, cli);
+        } else if (cli.viewer()) {
+            LOGGER.info("Write the HTML viewer to {}", cli.target());
+            stats = new HTMLViewer(visualizer.shared(), HTMLViewer.DEFAULT_BUCKET_SIZE, cli.threads())
+                    .write(ont, cli.target());
+        } else if (cli.browse() || cli.printAsURL()) {
+            StringWriter dot = new StringWriter();
+            try (DOTWriter writer = visualizer.newDOTWriter(dot)) {
+                writer.write(ont);
+                stats = writer.stats();
+            }
+            if (cli.browse()) {
+                LOGGER.info("Browse <{}>", Graphviz.BASE_URL);
+                Graphviz.browse(dot.toString());
+            } else {
+                LOGGER.info("Write to {}", cli.target());
+                URI uri = Graphviz.toGraphvizOnlineURI(dot.toString());
                 if (cli.target() != null) {
                     Files.writeString(cli.target(), uri.toString(), StandardCharsets.UTF_8);
                 } else {
                     System.out.println(uri);
                 }
-            } else {
-                try (DOTWriter writer = visualizer.newDOTWriter(openWriter(cli.target()))) {
+            }
+        } else if (SVGRenderer.ENGINE.equals(cli.engine()) && cli.image() != null) {
+            LOGGER.info("Draw svg with the built-in layout to {}", cli.target());
+            try (Writer out = openWriter(cli.target())) {
+                stats = new SVGRenderer().draw(ont, visualizer, out);
+            }
+        } else if (cli.image() != null) {
+            int processes = cli.threads();
+            LocalGraphviz graphviz = new LocalGraphviz(null, cli.engine(), cli.graphvizTimeout(), processes);
+            if (cli.pack()) {
+                LOGGER.info("Draw components as {} to {}", cli.image(), cli.target());
+                // each component is laid out as soon as it is assembled, the packer is closed after the writer
+                try (OutputStream out = openStream(cli.target());
+                     LocalGraphviz.Packer packer = graphviz.packer(cli.image(), out);
+                     ComponentsDOTWriter writer = DOTWriterFactory.createComponents(visualizer, packer)) {
                     writer.write(ont);
+                    stats = writer.stats();
+                    LOGGER.info("{} components", packer.size());
+                }
+            } else {
+                LOGGER.info("Draw {} with {} to {}", cli.image(), cli.engine(), cli.target());
+                try (OutputStream out = openStream(cli.target())) {
+                    stats = graphviz.draw(ont, visualizer, cli.image(), out);
                 }
             }
+        } else {
+            LOGGER.info("Write to {}", cli.target());
+            try (DOTWriter writer = visualizer.newWriter(openWriter(cli.target()), cli.outputFormat())) {
+                writer.write(ont);
+                stats = writer.stats();
+            }
+        }
+        if (cli.stats() != null) {
+            stats.load(loadWall, loadCpu);
+            System.err.println("json".equals(cli.stats()) ? stats.toJson() : stats);
         }
         LOGGER.info("Done.");
     }
 
+    /**
+     * Loads the ontology model, using the snapshot cache if the {@code cache} directory is specified.
+     *
+     * @param source {@link Path} to the ontology document, not {@code null}
+     * @param format {@link OntFormat} or {@code null}
+     * @param jobs   {@code int}, the number of threads to parse the document
+     * @param cache  {@link Path} to the snapshot directory or {@code null}
+     * @return {@link OntModel}
+     * @throws OWLOntologyCreationException if the ontology cannot be loaded
+     * @throws IOException                  if the source cannot be read or the snapshot cannot be written
+     */
+    public static OntModel loadModel(Path source, OntFormat format, int jobs, Path cache)
+            throws OWLOntologyCreationException, IOException {
+        ModelLoadEvent event = new ModelLoadEvent();
+        event.begin();
+        OntModel res;
+        if (cache == null) {
+            res = loadOntology(source, format, jobs).asGraphModel();
+        } else {
+            long start = System.currentTimeMillis();
+            SnapshotCache snapshots = new SnapshotCache(cache);
+            String key = snapshots.key(source, format);
+            res = snapshots.find(key).orElse(null);
+            if (res != null) {
+                LOGGER.info("Warm load (from snapshot): {} ms", System.currentTimeMillis() - start);
+                event.snapshot = true;
+            } else {
+                Ontology ont = loadOntology(source, format, jobs);
+                LOGGER.info("Cold load: {} ms", System.currentTimeMillis() - start);
+                snapshots.save(key, ont);
+                res = ont.asGraphModel();
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source.toString();
+            event.format = format == null ? null : format.name();
+            event.triples = res.getBaseGraph().size();
+            event.commit();
+        }
+        return res;
+    }
+
+    /**
+     * Loads the ontology; line-oriented documents are parsed in parallel if {@code jobs} is greater than 1.
+     * Note that the parallel loading does not process {@code owl:imports}.
+     *
+     * @param source {@link Path} to the ontology document, not {@code null}
+     * @param format {@link OntFormat} or {@code null}
+     * @param jobs   {@code int}, the number of threads to parse the document
+     * @return {@link Ontology}
+     * @throws OWLOntologyCreationException if the ontology cannot be loaded
+     * @throws IOException                  if the source cannot be read
+     * @see ParallelRDFLoader
+     */
+    public static Ontology loadOntology(Path source, OntFormat format, int jobs) throws OWLOntologyCreationException,
+            IOException {
+        Lang lang = ParallelRDFLoader.lang(source, format);
+        if (jobs <= 1 || lang == null) {
+            return loadOntology(source, format);
+        }
+        return OntManagers.createManager().addOntology(ParallelRDFLoader.load(source, lang, jobs));
+    }
+
+    /**
+     * Splits the ontology into shards and writes each shard (and the index) into a separate file
+     * of the target directory: dot-content or, if the image format is specified, an image rendered by local Graphviz.
+     *
+     * @param ont        {@link OntModel}
+     * @param visualizer {@link OntVisualizer}
+     * @param cli        {@link CLI}
+     * @return {@link RenderStats}
+     * @throws IOException if a file cannot be written or Graphviz fails
+     */
+    private static RenderStats drawShards(OntModel ont, OntVisualizer visualizer, CLI cli) throws IOException {
+        Path dir = Files.createDirectories(cli.target());
+        long start = System.currentTimeMillis();
+        Sharding shards = Sharding.compute(ont, cli.shard(), visualizer.prefixes());
+        LOGGER.info("Split into {} shards by {}: {} ms",
+                shards.names().size(), cli.shard(), System.currentTimeMillis() - start);
+        String ext = cli.image() == null ? "dot" : cli.image().split(":")[0];
+        Function<String, String> urls = x -> x + "." + ext;
+        int threads = cli.threads();
+        Function<String, Writer> sinks;
+        if (cli.image() == null) {
+            sinks = x -> {
+                try {
+                    return Files.newBufferedWriter(dir.resolve(urls.apply(x)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+        } else {
+            LocalGraphviz graphviz = new LocalGraphviz(null, cli.engine(), cli.graphvizTimeout(), threads);
+            sinks = x -> graphviz.newWriter(cli.image(), dir.resolve(urls.apply(x)));
+        }
+        LOGGER.info("Write shards to {} using {} thread(s)", dir, threads);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, shards.names().size())));
+        try {
+            return visualizer.drawShards(ont, shards, urls, sinks, executor);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Copies the specified model into a {@link CompactGraph compact read-only graph}.
+     *
+     * @param ont {@link OntModel}, not {@code null}
+     * @return {@link OntModel}, read-only
+     */
+    public static OntModel compact(OntModel ont) {
+        long start = System.currentTimeMillis();
+        CompactGraph graph = CompactGraph.copyOf(ont.getGraph());
+        LOGGER.info("Compact graph: {} triples, {} terms, {} ms",
+                graph.size(), graph.dictionarySize(), System.currentTimeMillis() - start);
+        return OntModelFactory.createModel(graph);
+    }
+
     public static Ontology loadOntology(Path source, OntFormat format) throws OWLOntologyCreationException {
         OntologyManager m = OntManagers.createManager();
         if (format == null) {
@@ -84,6 +290,14 @@ public class App {
         }
     }
 
+    public static OutputStream openStream(Path target) throws IOException {
+        if (target == null) {
+            return System.out;
+        } else {
+            return Files.newOutputStream(target);
+        }
+    }
+
     private static void forceDisableExternalLogging() {
         java.util.logging.LogManager.getLogManager().reset();
     }
@@ -0,0 +1,418 @@
+package com.github.sszuev.ontdot;
+
+import com.github.owlcs.ontapi.OntFormat;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.layout.SVGRenderer;
+import com.github.sszuev.ontdot.renderers.DOTWriter;
+import org.apache.jena.atlas.json.JSON;
+import org.apache.jena.atlas.json.JsonArray;
+import org.apache.jena.atlas.json.JsonObject;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A batch mode: renders many ontologies (or many views of the same ontology) in a single JVM.
+ * Files are processed concurrently on a bounded worker pool.
+ * Detected input formats (per file extension) and visualizers (per distinct prefix mapping) are shared between files.
+ * The progress and per-file timings are written into a JSON summary report.
+ * A file that is missing or cannot be parsed is recorded in the report as failed, the rest of the batch still runs.
+ * Images (if requested) are drawn by a {@link LocalGraphviz} shared between workers.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+class Batch {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Batch.class);
+
+    static final String REPORT_FILE = "ont2dot-report.json";
+    private static final String GLOB_CHARS = "*?[{";
+
+    private final CLI global;
+    private final int threads;
+    private final Map<String, OntFormat> formats = new ConcurrentHashMap<>();
+    private final Map<Map<String, String>, OntVisualizer> visualizers = new ConcurrentHashMap<>();
+    private final LocalGraphviz graphviz;
+
+    Batch(CLI global, int threads) {
+        this.global = Objects.requireNonNull(global);
+        if (threads < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.threads = threads;
+        this.graphviz = global.image() == null || SVGRenderer.ENGINE.equals(global.engine()) ? null :
+                new LocalGraphviz(null, global.engine(), global.graphvizTimeout(), threads);
+    }
+
+    /**
+     * Runs the batch described by the command line.
+     *
+     * @param cli {@link CLI} with {@link CLI#batch()}
+     * @return {@code Path} to the report
+     * @throws IOException if something is wrong with the batch description or the report
+     */
+    static Path run(CLI cli) throws IOException {
+        List<View> views = views(cli);
+        Path report = (cli.target() != null ? cli.target() : Paths.get("").toAbsolutePath()).resolve(REPORT_FILE);
+        new Batch(cli, cli.threads()).run(views, report);
+        return report;
+    }
+
+    /**
+     * Lists all views described by the command line.
+     * The batch argument is either a manifest file, or a directory, or a glob.
+     * By default, a target keeps the path of the source relative to the base directory (of the glob or manifest)
+     * under the output directory, so files with the same name in different directories do not collide.
+     *
+     * @param cli {@link CLI}
+     * @return a {@code List} of {@link View}s
+     * @throws IOException if the manifest or directory cannot be read, or two views have the same target
+     */
+    static List<View> views(CLI cli) throws IOException {
+        List<View> res = findViews(cli);
+        Map<Path, View> targets = new HashMap<>();
+        for (View v : res) {
+            if (v.error != null) {
+                continue;
+            }
+            View other = targets.putIfAbsent(v.target.toAbsolutePath().normalize(), v);
+            if (other != null) {
+                throw new IOException("Views <" + other.source + "> and <" + v.source + "> have the same target <" +
+                        v.target + ">");
+            }
+        }
+        return res;
+    }
+
+    private static List<View> findViews(CLI cli) throws IOException {
+        String spec = cli.batch();
+        Path outputDir = cli.target();
+        if (GLOB_CHARS.chars().noneMatch(c -> spec.indexOf(c) >= 0)) {
+            Path file = Paths.get(spec).toAbsolutePath();
+            if (Files.isDirectory(file)) {
+                // only files with known extensions
+                Set<String> extensions = OntFormat.formats().filter(OntFormat::isReadSupported)
+                        .map(OntFormat::getExt).collect(Collectors.toSet());
+                return glob(file, "*", cli, outputDir).stream()
+                        .filter(v -> extensions.contains(extension(v.source)))
+                        .collect(Collectors.toList());
+            }
+            return manifest(file, cli, outputDir);
+        }
+        // split glob into the base directory and the pattern:
+        Path base = Paths.get("").toAbsolutePath();
+        String pattern = spec;
+        int i = 0;
+        for (String part : spec.replace('\\', '/').split("/")) {
+            if (GLOB_CHARS.chars().anyMatch(c -> part.indexOf(c) >= 0)) {
+                break;
+            }
+            base = base.resolve(part.isEmpty() ? "/" : part);
+            i += part.length() + 1;
+        }
+        if (i > 0) {
+            pattern = spec.substring(Math.min(i, spec.length()));
+        }
+        return glob(base, pattern, cli, outputDir);
+    }
+
+    private static List<View> glob(Path dir, String pattern, CLI cli, Path outputDir) throws IOException {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(f -> matcher.matches(dir.relativize(f)))
+                    .filter(f -> !REPORT_FILE.equals(f.getFileName().toString()))
+                    .sorted()
+                    .map(f -> new View(f, cli.format(), defaultTarget(f, dir, outputDir, cli), cli.filterEntities(),
+                            cli.options()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static List<View> manifest(Path file, CLI cli, Path outputDir) throws IOException {
+        Path dir = file.getParent();
+        List<View> res = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            List<String> args = tokenize(line);
+            if (args.isEmpty() || args.get(0).startsWith("#")) {
+                continue;
+            }
+            Path source = dir.resolve(args.get(0));
+            List<String> full = new ArrayList<>(List.of("-i", source.toString()));
+            full.addAll(args.subList(1, args.size()));
+            CLI view;
+            try {
+                view = CLI.parse(full.toArray(String[]::new));
+            } catch (CLI.ExitException e) {
+                // e.g. a missing file: keep the line in the report, the rest of the batch still runs
+                LOGGER.debug("Can't parse manifest line '{}'", line, e);
+                res.add(new View(source, cli.format(), defaultTarget(source, dir, outputDir, cli), cli.filterEntities(),
+                        cli.options(), e.getMessage()));
+                continue;
+            }
+            Map<DOTSetting, Object> settings = new EnumMap<>(DOTSetting.class);
+            settings.putAll(cli.options());
+            settings.putAll(view.options());
+            res.add(new View(view.source(),
+                    view.format() != null ? view.format() : cli.format(),
+                    view.target() != null ? view.target() : defaultTarget(view.source(), dir, outputDir, cli),
+                    view.filterEntities().isEmpty() ? cli.filterEntities() : view.filterEntities(),
+                    settings));
+        }
+        return res;
+    }
+
+    private static Path defaultTarget(Path source, Path base, Path outputDir, CLI cli) {
+        String name = source.getFileName().toString();
+        int i = name.lastIndexOf('.');
+        // an image format may have a renderer suffix, e.g. 'png:cairo'
+        String ext = cli.image() == null ? "dot" : cli.image().split(":")[0];
+        name = (i > 0 ? name.substring(0, i) : name) + "." + ext;
+        if (outputDir == null) {
+            return source.resolveSibling(name);
+        }
+        if (source.startsWith(base)) {
+            // keep the directory structure, e.g. 'a/core.ttl' -> 'out/a/core.dot'
+            return outputDir.resolve(base.relativize(source)).resolveSibling(name);
+        }
+        return outputDir.resolve(name);
+    }
+
+    /**
+     * Splits the manifest line into arguments, taking into account single and double quotes.
+     *
+     * @param line {@code String}
+     * @return a {@code List} of {@code String}s
+     */
+    static List<String> tokenize(String line) {
+        List<String> res = new ArrayList<>();
+        StringBuilder current = null;
+        char quote = 0;
+        for (char c : line.toCharArray()) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else {
+                    current.append(c);
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                if (current != null) {
+                    res.add(current.toString());
+                    current = null;
+                }
+                continue;
+            }
+            if (current == null) {
+                current = new StringBuilder();
+            }
+            if (c == '"' || c == '\'') {
+                quote = c;
+            } else {
+                current.append(c);
+            }
+        }
+        if (current != null) {
+            res.add(current.toString());
+        }
+        return res;
+    }
+
+    void run(List<View> views, Path report) throws IOException {
+        long start = System.currentTimeMillis();
+        AtomicInteger done = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<JsonObject>> futures = new ArrayList<>();
+        try {
+            for (View view : views) {
+                futures.add(executor.submit(() -> {
+                    JsonObject res = render(view);
+                    LOGGER.info("[{}/{}] {}: {}", done.incrementAndGet(), views.size(), view.source,
+                            res.get("status").getAsString().value());
+                    return res;
+                }));
+            }
+            JsonArray files = new JsonArray();
+            for (int i = 0; i < futures.size(); i++) {
+                files.add(get(futures.get(i), views.get(i)));
+            }
+            long failed = files.stream().filter(x -> !"ok".equals(x.getAsObject().get("status").getAsString().value()))
+                    .count();
+            JsonObject res = new JsonObject();
+            res.put("total", views.size());
+            res.put("succeeded", views.size() - failed);
+            res.put("failed", failed);
+            res.put("threads", threads);
+            res.put("wallTime", System.currentTimeMillis() - start);
+            res.put("files", files);
+            Files.createDirectories(report.getParent());
+            try (OutputStream out = Files.newOutputStream(report)) {
+                JSON.write(out, res);
+            }
+            LOGGER.info("Rendered {} of {} files in {} ms", views.size() - failed, views.size(),
+                    System.currentTimeMillis() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private JsonObject render(View view) {
+        JsonObject res = new JsonObject();
+        res.put("input", view.source.toString());
+        res.put("output", view.target.toString());
+        long start = System.currentTimeMillis();
+        if (view.error != null) {
+            res.put("status", "failed");
+            res.put("error", view.error);
+            return res;
+        }
+        try {
+            OntModel ont = load(view);
+            long loaded = System.currentTimeMillis();
+            res.put("loadTime", loaded - start);
+            OntVisualizer visualizer = visualizers.computeIfAbsent(ont.getNsPrefixMap(),
+                    x -> OntVisualizer.create().prefixes(ont)).entities(view.entities).withOptions(view.settings);
+            Files.createDirectories(view.target.getParent());
+            if (global.image() != null && graphviz == null) {
+                try (Writer out = Files.newBufferedWriter(view.target)) {
+                    new SVGRenderer().draw(ont, visualizer, out);
+                }
+            } else if (graphviz != null) {
+                try (OutputStream out = Files.newOutputStream(view.target)) {
+                    graphviz.draw(ont, visualizer, global.image(), out);
+                }
+            } else {
+                try (DOTWriter writer = visualizer.newDOTWriter(Files.newBufferedWriter(view.target))) {
+                    writer.write(ont);
+                }
+            }
+            res.put("renderTime", System.currentTimeMillis() - loaded);
+            res.put("status", "ok");
+        } catch (Exception e) {
+            LOGGER.debug("Can't render {}", view.source, e);
+            res.put("status", "failed");
+            res.put("error", e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        return res;
+    }
+
+    private OntModel load(View view) throws Exception {
+        OntFormat format = view.format;
+        String ext = extension(view.source);
+        if (format == null) {
+            format = formats.get(ext);
+        }
+        Ontology ont;
+        try {
+            ont = App.loadOntology(view.source, format, 1);
+        } catch (Exception e) {
+            if (view.format != null || format == null) {
+                throw e;
+            }
+            // the shared format does not fit this file, try to detect it
+            format = null;
+            ont = App.loadOntology(view.source, null, 1);
+        }
+        if (format == null) {
+            OWLDocumentFormat detected = ont.getOWLOntologyManager().getOntologyFormat(ont);
+            if (detected != null) {
+                OntFormat.formats()
+                        .filter(f -> f.isReadSupported() && f.createOwlFormat().getKey().equals(detected.getKey()))
+                        .findFirst().ifPresent(f -> formats.putIfAbsent(ext, f));
+            }
+        }
+        OntModel res = ont.asGraphModel();
+        return global.compact() ? App.compact(res) : res;
+    }
+
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int i = name.lastIndexOf('.');
+        return i < 0 ? "" : name.substring(i + 1).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static JsonObject get(Future<JsonObject> future, View view) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            // an error (not an exception) escaped the job, e.g. StackOverflowError on a pathological input
+            Throwable cause = e.getCause();
+            LOGGER.debug("Can't render {}", view.source, cause);
+            JsonObject res = new JsonObject();
+            res.put("input", view.source.toString());
+            res.put("output", view.target.toString());
+            res.put("status", "failed");
+            res.put("error", cause.getClass().getSimpleName() + ": " + cause.getMessage());
+            return res;
+        }
+    }
+
+    /**
+     * A single render job description.
+     */
+    static class View {
+        private final Path source;
+        private final OntFormat format;
+        private final Path target;
+        private final List<String> entities;
+        private final Map<DOTSetting, Object> settings;
+        private final String error;
+
+        View(Path source, OntFormat format, Path target, List<String> entities, Map<DOTSetting, Object> settings) {
+            this(source, format, target, entities, settings, null);
+        }
+
+        View(Path source,
+             OntFormat format,
+             Path target,
+             List<String> entities,
+             Map<DOTSetting, Object> settings,
+             String error) {
+            this.source = Objects.requireNonNull(source);
+            this.format = format;
+            this.target = Objects.requireNonNull(target);
+            this.entities = Objects.requireNonNull(entities);
+            this.settings = Objects.requireNonNull(settings);
+            this.error = error;
+        }
+
+        Path source() {
+            return source;
+        }
+
+        Path target() {
+            return target;
+        }
+    }
+}
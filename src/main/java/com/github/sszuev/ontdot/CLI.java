@@ -2,6 +2,9 @@ package com.github.sszuev.ontdot;
 
 import com.github.owlcs.ontapi.OntFormat;
 import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.layout.SVGRenderer;
+import com.github.sszuev.ontdot.renderers.GraphFormat;
+import com.github.sszuev.ontdot.utils.Sharding;
 import org.apache.commons.cli.*;
 import org.apache.commons.lang3.StringUtils;
 
@@ -11,6 +14,7 @@ import java.io.StringWriter;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -27,18 +31,48 @@ class CLI {
     private final boolean verbose;
     private final boolean browse;
     private final boolean asURL;
+    private final Path cache;
+    private final Integer jobs;
+    private final boolean compact;
+    private final Integer server;
+    private final String batch;
+    private final boolean watch;
+    private final String stats;
+    private final String image;
+    private final boolean pack;
+    private final String engine;
+    private final long graphvizTimeout;
+    private final Sharding.Key shard;
+    private final boolean viewer;
+    private final GraphFormat outputFormat;
     private final List<String> filterEntities;
     private final Map<DOTSetting, Object> optionsToEnable;
 
     CLI(Path source, OntFormat format,
-        Path target, boolean verbose, boolean browse, boolean asURL,
-        List<String> filterEntities, Map<DOTSetting, Object> optionsToEnable) {
+        Path target, boolean verbose, boolean browse, boolean asURL, Path cache, Integer jobs, boolean compact,
+        Integer server, String batch, boolean watch, String stats,
+        String image, boolean pack, String engine, long graphvizTimeout, Sharding.Key shard, boolean viewer,
+        GraphFormat outputFormat, List<String> filterEntities, Map<DOTSetting, Object> optionsToEnable) {
         this.source = source;
         this.format = format;
         this.target = target;
         this.verbose = verbose;
         this.browse = browse;
         this.asURL = asURL;
+        this.cache = cache;
+        this.jobs = jobs;
+        this.compact = compact;
+        this.server = server;
+        this.batch = batch;
+        this.watch = watch;
+        this.stats = stats;
+        this.image = image;
+        this.pack = pack;
+        this.engine = engine;
+        this.graphvizTimeout = graphvizTimeout;
+        this.shard = shard;
+        this.viewer = viewer;
+        this.outputFormat = outputFormat;
         this.filterEntities = filterEntities;
         this.optionsToEnable = optionsToEnable;
     }
@@ -53,15 +87,43 @@ class CLI {
             if (cmd.hasOption("h")) {
                 throw new ExitException(args.length == 1 ? 0 : 1, printHelp(options), null);
             }
+            Integer server = parseServer(cmd);
+            String batch = cmd.getOptionValue("a");
+            if (server == null && batch == null && !cmd.hasOption("i")) {
+                throw new ParseException("Missing required option: i");
+            }
             Path source = parseSource(cmd);
             OntFormat format = parseFormat(cmd);
             Path target = parseTarget(cmd, source);
             boolean browse = cmd.hasOption("b");
             boolean verbose = cmd.hasOption("v");
             boolean asURL = cmd.hasOption("u");
+            Path cache = parseCache(cmd);
+            Integer jobs = parseJobs(cmd);
+            boolean compact = cmd.hasOption("m");
+            boolean watch = cmd.hasOption("w");
+            if (watch && (source == null || target == null)) {
+                throw new ParseException("Watch mode requires both -i and -o options");
+            }
+            String stats = parseStats(cmd);
+            String image = parseImage(cmd);
+            String engine = cmd.getOptionValue("ge", LocalGraphviz.DEFAULT_ENGINE).toLowerCase(Locale.ENGLISH);
+            if (SVGRenderer.ENGINE.equals(engine)) {
+                if (image != null && !"svg".equals(image) || cmd.hasOption("p")) {
+                    throw new ParseException("The built-in layout engine supports only svg format without the -p option");
+                }
+            } else if (!LocalGraphviz.ENGINES.contains(engine)) {
+                throw new ParseException("Unknown layout engine: " + engine);
+            }
+            long graphvizTimeout = parseGraphvizTimeout(cmd);
+            Sharding.Key shard = parseShard(cmd, engine);
+            boolean viewer = parseViewer(cmd);
+            GraphFormat outputFormat = parseOutputFormat(cmd);
             List<String> entities = parseFilterEntities(cmd);
             Map<DOTSetting, Object> settings = parseOptions(cmd);
-            return new CLI(source, format, target, verbose, browse, asURL, entities, settings);
+            return new CLI(source, format, target, verbose, browse, asURL, cache, jobs, compact,
+                    server, batch, watch, stats, image, cmd.hasOption("p"), engine, graphvizTimeout, shard, viewer,
+                    outputFormat, entities, settings);
         } catch (ParseException e) {
             throw new ExitException(2, e.getMessage(), e);
         } catch (IOException e) {
@@ -70,6 +132,9 @@ class CLI {
     }
 
     private static Path parseSource(CommandLine cmd) throws IOException {
+        if (!cmd.hasOption("i")) {
+            return null;
+        }
         return Paths.get(cmd.getOptionValue("i")).toRealPath();
     }
 
@@ -86,7 +151,151 @@ class CLI {
         }
         String target = cmd.getOptionValue("o");
         Path res = Paths.get(target);
-        return res.isAbsolute() ? res : source.getParent().resolve(res).toAbsolutePath();
+        if (res.isAbsolute()) {
+            return res;
+        }
+        return source == null ? res.toAbsolutePath() : source.getParent().resolve(res).toAbsolutePath();
+    }
+
+    private static Path parseCache(CommandLine cmd) {
+        if (!cmd.hasOption("c")) {
+            return null;
+        }
+        return Paths.get(cmd.getOptionValue("c")).toAbsolutePath();
+    }
+
+    private static Integer parseServer(CommandLine cmd) throws ParseException {
+        if (!cmd.hasOption("s")) {
+            return null;
+        }
+        String value = cmd.getOptionValue("s");
+        try {
+            int res = Integer.parseInt(value);
+            if (res >= 0 && res <= 0xFFFF) {
+                return res;
+            }
+        } catch (NumberFormatException e) {
+            // ignore
+        }
+        throw new ParseException("Wrong port: " + value);
+    }
+
+    private static Integer parseJobs(CommandLine cmd) throws ParseException {
+        if (!cmd.hasOption("j")) {
+            return null;
+        }
+        String value = cmd.getOptionValue("j");
+        try {
+            int res = Integer.parseInt(value);
+            if (res > 0) {
+                return res;
+            }
+        } catch (NumberFormatException e) {
+            // ignore
+        }
+        throw new ParseException("Wrong number of jobs: " + value);
+    }
+
+    private static String parseStats(CommandLine cmd) throws ParseException {
+        if (!cmd.hasOption("t")) {
+            return null;
+        }
+        String res = cmd.getOptionValue("t", "text").toLowerCase(Locale.ENGLISH);
+        if (!res.equals("text") && !res.equals("json")) {
+            throw new ParseException("Wrong stats format: " + res);
+        }
+        return res;
+    }
+
+    private static String parseImage(CommandLine cmd) throws ParseException {
+        if (!cmd.hasOption("g")) {
+            if (cmd.hasOption("p") || cmd.hasOption("ge") || cmd.hasOption("gt")) {
+                throw new ParseException("The -p, -ge and -gt options require the -g option");
+            }
+            return null;
+        }
+        String res = cmd.getOptionValue("g").toLowerCase(Locale.ENGLISH);
+        if (!res.matches("[a-z0-9:_]+")) {
+            throw new ParseException("Wrong image format: " + res);
+        }
+        if (cmd.hasOption("b") || cmd.hasOption("u") || cmd.hasOption("w")) {
+            throw new ParseException("The -g option cannot be combined with -b, -u or -w options");
+        }
+        if (cmd.hasOption("p") && (cmd.hasOption("e") || cmd.hasOption("a"))) {
+            throw new ParseException("The -p option cannot be combined with -e or -a options");
+        }
+        return res;
+    }
+
+    private static long parseGraphvizTimeout(CommandLine cmd) throws ParseException {
+        if (!cmd.hasOption("gt")) {
+            return LocalGraphviz.DEFAULT_TIMEOUT_MS;
+        }
+        String value = cmd.getOptionValue("gt");
+        try {
+            long res = Long.parseLong(value);
+            if (res > 0) {
+                return TimeUnit.SECONDS.toMillis(res);
+            }
+        } catch (NumberFormatException e) {
+            // ignore
+        }
+        throw new ParseException("Wrong timeout: " + value);
+    }
+
+    private static Sharding.Key parseShard(CommandLine cmd, String engine) throws ParseException {
+        if (!cmd.hasOption("sh")) {
+            return null;
+        }
+        String value = cmd.getOptionValue("sh");
+        Sharding.Key res;
+        try {
+            res = Sharding.Key.of(value);
+        } catch (IllegalArgumentException e) {
+            throw new ParseException("Wrong shard key: " + value);
+        }
+        if (!cmd.hasOption("i") || !cmd.hasOption("o")) {
+            throw new ParseException("The -sh option requires both -i and -o options");
+        }
+        if (cmd.hasOption("s") || cmd.hasOption("a") || cmd.hasOption("w") || cmd.hasOption("u") ||
+                cmd.hasOption("e") || cmd.hasOption("p") || SVGRenderer.ENGINE.equals(engine)) {
+            throw new ParseException("The -sh option cannot be combined with -s, -a, -w, -u, -e, -p options " +
+                    "or the built-in layout engine");
+        }
+        return res;
+    }
+
+    private static boolean parseViewer(CommandLine cmd) throws ParseException {
+        if (!cmd.hasOption("hv")) {
+            return false;
+        }
+        if (!cmd.hasOption("i") || !cmd.hasOption("o")) {
+            throw new ParseException("The -hv option requires both -i and -o options");
+        }
+        if (cmd.hasOption("s") || cmd.hasOption("a") || cmd.hasOption("w") || cmd.hasOption("u") ||
+                cmd.hasOption("e") || cmd.hasOption("g") || cmd.hasOption("sh")) {
+            throw new ParseException("The -hv option cannot be combined with -s, -a, -w, -u, -e, -g or -sh options");
+        }
+        return true;
+    }
+
+    private static GraphFormat parseOutputFormat(CommandLine cmd) throws ParseException {
+        if (!cmd.hasOption("of")) {
+            return GraphFormat.DOT;
+        }
+        String value = cmd.getOptionValue("of");
+        GraphFormat res;
+        try {
+            res = GraphFormat.of(value);
+        } catch (IllegalArgumentException e) {
+            throw new ParseException("Wrong output format: " + value);
+        }
+        if (res != GraphFormat.DOT && (cmd.hasOption("s") || cmd.hasOption("a") || cmd.hasOption("w") ||
+                cmd.hasOption("u") || cmd.hasOption("b") || cmd.hasOption("g") || cmd.hasOption("sh") ||
+                cmd.hasOption("hv"))) {
+            throw new ParseException("The -of option cannot be combined with -s, -a, -w, -u, -b, -g, -sh or -hv options");
+        }
+        return res;
     }
 
     private static List<String> parseFilterEntities(CommandLine cmd) {
@@ -110,19 +319,26 @@ class CLI {
             if (key == null) {
                 throw new ParseException("Unknown option: " + opts[i]);
             }
-            String value = opts[i + 1];
-            if (key.type() == Boolean.class) {
-                res.put(key, Boolean.parseBoolean(value));
-            } else if (key.type() == Integer.class) {
-                res.put(key, Integer.parseInt(value));
-            } else {
-                res.put(key, value);
-            }
+            res.put(key, parseValue(key, opts[i + 1]));
         }
         return res;
     }
 
-    private static OntFormat get(String key) throws ParseException {
+    static Object parseValue(DOTSetting key, String value) throws ParseException {
+        if (key.type() == Boolean.class) {
+            return Boolean.parseBoolean(value);
+        }
+        if (key.type() == Integer.class) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new ParseException("Wrong value for option " + key.key() + ": " + value);
+            }
+        }
+        return value;
+    }
+
+    static OntFormat get(String key) throws ParseException {
         return OntFormat.formats().filter(f -> aliases(f).anyMatch(x -> x.equalsIgnoreCase(key))).findFirst()
                 .orElseThrow(() -> new ParseException("Unsupported format: '" + key + "'"));
     }
@@ -138,9 +354,10 @@ class CLI {
                 .addOption(buildHelpOption())
                 .addOption(Option.builder("i")
                         .longOpt("input")
-                        .desc("The source OWL RDF-ontology file path (e.g. ttl)")
+                        .desc("The source OWL RDF-ontology file path (e.g. ttl). " +
+                                "Required unless the program runs in the server or batch mode.")
                         .hasArg()
-                        .required(true)
+                        .required(false)
                         .build())
                 .addOption(Option.builder("if")
                         .longOpt("input-format")
@@ -162,6 +379,129 @@ class CLI {
                         .desc("Print as url (suitable for small documents).")
                         .required(false)
                         .build())
+                .addOption(Option.builder("c")
+                        .longOpt("cache")
+                        .desc("A directory to keep binary snapshots of parsed ontologies. " +
+                                "Optional: if specified the program will load the ontology from the snapshot " +
+                                "if neither the source file nor its imports have been changed since the previous run.")
+                        .required(false)
+                        .hasArg()
+                        .build())
+                .addOption(Option.builder("j")
+                        .longOpt("jobs")
+                        .desc("The number of worker threads (and Graphviz processes). " +
+                                "Optional: all available processors by default. " +
+                                "If specified and greater than 1, N-Triples and N-Quads files are parsed in parallel.")
+                        .required(false)
+                        .hasArg()
+                        .build())
+                .addOption(Option.builder("m")
+                        .longOpt("compact")
+                        .desc("To keep the loaded ontology in a compact read-only in-memory graph " +
+                                "(suitable for large documents).")
+                        .required(false)
+                        .build())
+                .addOption(Option.builder("s")
+                        .longOpt("server")
+                        .desc("To run the program as a local HTTP render server on the specified port. " +
+                                "Requests look like 'GET /render?input=<path>&entities=<list>&B.<key>=<value>'.")
+                        .required(false)
+                        .hasArg()
+                        .build())
+                .addOption(Option.builder("a")
+                        .longOpt("batch")
+                        .desc("To render many files in one run. The argument is either a directory, " +
+                                "or a glob (e.g. 'onts/**.ttl'), or a manifest file, " +
+                                "each line of which is '<input-file> [options]', e.g. 'pizza.ttl -e :Germany -o germany.dot'. " +
+                                "The -o option specifies the output directory; " +
+                                "the -e and -B options are applied to each file, " +
+                                "the -j option specifies the number of files processed simultaneously. " +
+                                "A summary report is written to the output directory.")
+                        .required(false)
+                        .hasArg()
+                        .build())
+                .addOption(Option.builder("w")
+                        .longOpt("watch")
+                        .desc("To watch the input file and its local imports, and re-render the output file on each change. " +
+                                "Only the entities affected by the changed triples are re-rendered. " +
+                                "Requires the -o option.")
+                        .required(false)
+                        .build())
+                .addOption(Option.builder("t")
+                        .longOpt("stats")
+                        .desc("To print render statistics (counts of nodes, edges, rows and literals, output size, " +
+                                "cache hits, load, analysis and emission times) to stderr. " +
+                                "The optional argument is the format: 'text' (default) or 'json'.")
+                        .required(false)
+                        .hasArg()
+                        .optionalArg(true)
+                        .build())
+                .addOption(Option.builder("g")
+                        .longOpt("graphviz")
+                        .desc("To render an image in the specified format (e.g. 'svg' or 'png') " +
+                                "with a locally installed Graphviz (must be in the PATH), instead of dot-content. " +
+                                "The dot-content is streamed into the Graphviz process while rendering. " +
+                                "In the batch mode the -j option also limits the number of simultaneous processes.")
+                        .required(false)
+                        .hasArg()
+                        .build())
+                .addOption(Option.builder("ge")
+                        .longOpt("graphviz-engine")
+                        .desc("The Graphviz layout engine, one of the following: " +
+                                LocalGraphviz.ENGINES.stream().sorted().collect(Collectors.joining(", ")) +
+                                ". Optional: 'dot' by default, 'sfdp' is suitable for large graphs. " +
+                                "The special value '" + SVGRenderer.ENGINE + "' means the built-in layered layout " +
+                                "(svg only, no Graphviz is required), which gives an overview of a very large graph in seconds.")
+                        .required(false)
+                        .hasArg()
+                        .build())
+                .addOption(Option.builder("gt")
+                        .longOpt("graphviz-timeout")
+                        .desc("The Graphviz process timeout in seconds. Optional: 300 by default.")
+                        .required(false)
+                        .hasArg()
+                        .build())
+                .addOption(Option.builder("p")
+                        .longOpt("pack")
+                        .desc("To lay out connected components separately with the -g option: " +
+                                "components are laid out by Graphviz processes in parallel " +
+                                "(the -j option specifies the number of processes), " +
+                                "then packed together with 'gvpack' and drawn with 'neato'.")
+                        .required(false)
+                        .build())
+                .addOption(Option.builder("sh")
+                        .longOpt("shard")
+                        .desc("To split the output into several files, one per shard, " +
+                                "the argument is the shard key: 'namespace' (by IRI namespace), " +
+                                "'module' (by the owl:imports module that declares the entity) " +
+                                "or 'class' (by the top-level class, individuals go with their types, " +
+                                "properties go with their domains). " +
+                                "The -o option specifies the output directory. " +
+                                "Shards are rendered in parallel; references to entities of other shards " +
+                                "are drawn as dashed stubs with links to the files of those shards; " +
+                                "the file 'index' lists all shards and references between them. " +
+                                "With the -g option each shard is rendered into an image.")
+                        .required(false)
+                        .hasArg()
+                        .build())
+                .addOption(Option.builder("hv")
+                        .longOpt("html-viewer")
+                        .desc("To write a static HTML viewer, which works offline, into the directory specified by the -o option: " +
+                                "'index.html' and the 'data' directory with precomputed neighbourhoods of entities " +
+                                "(node tables and links), which are loaded by the viewer only when an entity is expanded. " +
+                                "Suitable for very large ontologies. The data files are rendered in parallel.")
+                        .required(false)
+                        .build())
+                .addOption(Option.builder("of")
+                        .longOpt("output-format")
+                        .hasArg()
+                        .argName("format")
+                        .desc("The output syntax, one of the following: 'dot', 'graphml' (e.g. for Gephi, Cytoscape or yEd), " +
+                                "'json' (Cytoscape.js elements, e.g. for web views). " +
+                                "All syntaxes are written incrementally and have the same nodes, edges and node ids. " +
+                                "Optional: 'dot' by default.")
+                        .required(false)
+                        .build())
                 .addOption(Option.builder("e")
                         .longOpt("entities")
                         .desc("A list of entities to filter, " +
@@ -218,8 +558,8 @@ class CLI {
     }
 
     private static String cmdLineSyntax() {
-        return "-i <path-to-input-rdf-file> [-if <format>] " +
-                "[-o <output-file-dot>]|[-b][-v][-u] [-e filterEntities][-Boption-key=option-value]";
+        return "-i <path-to-input-rdf-file>|-s <port>|-a <batch> [-if <format>] " +
+                "[-o <output-file-dot>]|[-b][-v][-u] [-c <cache-dir>] [-j <jobs>] [-m] [-w] [-t [text|json]] [-g <image-format> [-ge <engine>] [-gt <seconds>] [-p]] [-sh namespace|module|class] [-hv] [-of dot|graphml|json] [-e filterEntities][-Boption-key=option-value]";
     }
 
     private static String availableFormats() {
@@ -261,6 +601,104 @@ class CLI {
         return asURL;
     }
 
+    public Path cache() {
+        return cache;
+    }
+
+    /**
+     * @return {@code Integer}, the value of the -j option, or {@code null} if it is not specified
+     */
+    public Integer jobs() {
+        return jobs;
+    }
+
+    /**
+     * @return {@code int}, the number of worker threads or processes:
+     * the value of the -j option, or the number of available processors if it is not specified
+     */
+    public int threads() {
+        return jobs != null ? jobs : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @return {@code int}, the number of threads to parse the source document, sequential by default
+     */
+    public int parseThreads() {
+        return jobs != null ? jobs : 1;
+    }
+
+    public boolean compact() {
+        return compact;
+    }
+
+    public Integer server() {
+        return server;
+    }
+
+    public String batch() {
+        return batch;
+    }
+
+    public boolean watch() {
+        return watch;
+    }
+
+    /**
+     * @return {@code String}, the stats format ({@code text} or {@code json}), or {@code null} if not requested
+     */
+    public String stats() {
+        return stats;
+    }
+
+    /**
+     * @return {@code String}, the image format to render with local Graphviz, or {@code null} to write dot-content
+     */
+    public String image() {
+        return image;
+    }
+
+    /**
+     * @return {@code true} to lay out connected components separately
+     */
+    public boolean pack() {
+        return pack;
+    }
+
+    /**
+     * @return {@code String}, the Graphviz layout engine or {@link SVGRenderer#ENGINE}
+     */
+    public String engine() {
+        return engine;
+    }
+
+    /**
+     * @return {@code long}, the Graphviz process timeout in milliseconds
+     */
+    public long graphvizTimeout() {
+        return graphvizTimeout;
+    }
+
+    /**
+     * @return {@link Sharding.Key} to split the output into several files, or {@code null} to write a single document
+     */
+    public Sharding.Key shard() {
+        return shard;
+    }
+
+    /**
+     * @return {@code true} to write the HTML viewer instead of dot-content
+     */
+    public boolean viewer() {
+        return viewer;
+    }
+
+    /**
+     * @return {@link GraphFormat}, the output syntax, not {@code null}
+     */
+    public GraphFormat outputFormat() {
+        return outputFormat;
+    }
+
     public List<String> filterEntities() {
         return filterEntities;
     }
@@ -0,0 +1,486 @@
+package com.github.sszuev.ontdot;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTConfig;
+import com.github.sszuev.ontdot.renderers.DOTWriter;
+import com.github.sszuev.ontdot.renderers.DOTWriterFactory;
+import com.github.sszuev.ontdot.renderers.RenderStats;
+import com.github.sszuev.ontdot.utils.Sharding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A helper to run a locally installed <a href='https://graphviz.org'>Graphviz</a>, works offline.
+ * <p>
+ * In the streaming mode ({@link #draw(OntModel, DOTConfig, String, OutputStream)})
+ * the DOT content is written into the stdin of the layout process while rendering,
+ * and the image is copied from its stdout, so the whole DOT document is never kept in memory.
+ * <p>
+ * In the packing mode ({@link #packer(String, OutputStream)}) connected components
+ * (see {@link com.github.sszuev.ontdot.renderers.ComponentsDOTWriter}) are laid out by separate processes
+ * in parallel, then the results are packed together with {@code gvpack} and rendered by {@code neato -n2},
+ * which keeps the computed positions.
+ * <p>
+ * The number of simultaneously running processes is limited, so an instance can be shared between threads
+ * (e.g. in the batch mode); a process is killed if it does not finish in time.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class LocalGraphviz {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalGraphviz.class);
+
+    public static final String DEFAULT_ENGINE = "dot";
+    public static final Set<String> ENGINES = Set.of("dot", "sfdp", "neato", "fdp", "circo", "twopi", "osage", "patchwork");
+    public static final long DEFAULT_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(5);
+    /**
+     * Pumps stdout and stderr of processes; not a common pool, since these tasks block.
+     */
+    private static final ExecutorService STREAMS = Executors.newCachedThreadPool(r -> {
+        Thread res = new Thread(r, "graphviz-io");
+        res.setDaemon(true);
+        return res;
+    });
+
+    private final Path home;
+    private final String engine;
+    private final long timeoutMs;
+    private final int maxProcesses;
+    private final Semaphore processes;
+
+    /**
+     * @param home         {@link Path} to the directory with Graphviz executables, or {@code null} to use {@code PATH}
+     * @param engine       {@code String}, the layout engine, one of {@link #ENGINES}
+     * @param timeoutMs    {@code long}, the timeout for a single process in milliseconds
+     * @param maxProcesses {@code int}, the maximum number of simultaneously running processes
+     */
+    public LocalGraphviz(Path home, String engine, long timeoutMs, int maxProcesses) {
+        if (!ENGINES.contains(Objects.requireNonNull(engine))) {
+            throw new IllegalArgumentException("Unknown layout engine: " + engine);
+        }
+        if (timeoutMs <= 0) {
+            throw new IllegalArgumentException("Wrong timeout: " + timeoutMs);
+        }
+        if (maxProcesses < 1) {
+            throw new IllegalArgumentException("Wrong number of processes: " + maxProcesses);
+        }
+        this.home = home;
+        this.engine = engine;
+        this.timeoutMs = timeoutMs;
+        this.maxProcesses = maxProcesses;
+        this.processes = new Semaphore(maxProcesses, true);
+    }
+
+    public LocalGraphviz() {
+        this(null, DEFAULT_ENGINE, DEFAULT_TIMEOUT_MS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Answers {@code true} if the layout engine executable can be run.
+     *
+     * @return {@code boolean}
+     */
+    public boolean isAvailable() {
+        try {
+            run(List.of(command(engine), "-V"), stdin -> {
+            }, OutputStream.nullOutputStream());
+            return true;
+        } catch (IOException ex) {
+            LOGGER.debug("Graphviz is not available: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Renders the ontology and writes the image in the given format;
+     * the DOT content is streamed into the layout process while rendering.
+     *
+     * @param ont    {@link OntModel}
+     * @param conf   {@link DOTConfig}
+     * @param format {@code String}, the output format, e.g. {@code svg} or {@code png}
+     * @param out    {@link OutputStream} to write the image
+     * @return {@link RenderStats}
+     * @throws IOException if the process cannot be started, fails or times out
+     */
+    public RenderStats draw(OntModel ont, DOTConfig conf, String format, OutputStream out) throws IOException {
+        RenderStats[] res = new RenderStats[1];
+        run(List.of(command(engine), "-T" + Objects.requireNonNull(format)), stdin -> {
+            BufferedWriter wr = new BufferedWriter(new OutputStreamWriter(stdin, StandardCharsets.UTF_8));
+            try (DOTWriter writer = DOTWriterFactory.create(conf, wr)) {
+                writer.write(ont);
+                res[0] = writer.stats();
+            }
+        }, out);
+        return res[0];
+    }
+
+    /**
+     * Creates a {@link Writer} that streams a DOT document into a new layout process,
+     * which renders the image into the file; the writer must be closed to wait for the process.
+     * As in the {@link #draw(OntModel, DOTConfig, String, OutputStream) streaming mode},
+     * the document is never kept in memory.
+     * Suitable for sinks of independent documents rendered in parallel
+     * (see {@link com.github.sszuev.ontdot.api.OntVisualizer#drawShards(OntModel, Sharding, Function, Function)});
+     * waits if the maximum number of processes are already running.
+     *
+     * @param format {@code String}, the output format, e.g. {@code svg} or {@code png}
+     * @param target {@link Path} to write the image
+     * @return {@link Writer}
+     * @throws UncheckedIOException if the file cannot be created or the process cannot be started
+     */
+    public Writer newWriter(String format, Path target) {
+        Objects.requireNonNull(format);
+        Objects.requireNonNull(target);
+        Running process;
+        OutputStream out;
+        try {
+            out = Files.newOutputStream(target);
+            try {
+                process = start(List.of(command(engine), "-T" + format), out);
+            } catch (IOException | RuntimeException ex) {
+                out.close();
+                throw ex;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new BufferedWriter(new OutputStreamWriter(process.stdin(), StandardCharsets.UTF_8)) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                IOException error = null;
+                try {
+                    super.close();
+                } catch (IOException ex) {
+                    error = ex;
+                }
+                try (out) {
+                    process.finish(error);
+                }
+            }
+        };
+    }
+
+    /**
+     * Lays out each component separately, packs the laid-out components with {@code gvpack}
+     * and writes the image in the given format.
+     * A single component is rendered directly.
+     *
+     * @param components a {@code List} of DOT documents, one per connected component, not empty
+     * @param format     {@code String}, the output format, e.g. {@code svg} or {@code png}
+     * @param out        {@link OutputStream} to write the image
+     * @throws IOException if a process cannot be started, fails or times out
+     * @see #packer(String, OutputStream)
+     */
+    public void pack(List<String> components, String format, OutputStream out) throws IOException {
+        if (components.isEmpty()) {
+            throw new IllegalArgumentException("No components");
+        }
+        try (Packer packer = packer(format, out)) {
+            components.forEach(packer);
+        }
+    }
+
+    /**
+     * Creates a {@link Packer}, which accepts connected components one by one
+     * (e.g. from a {@link com.github.sszuev.ontdot.renderers.ComponentsDOTWriter})
+     * and starts the layout of each component immediately;
+     * the laid-out components are packed and the image is written when the packer is closed.
+     *
+     * @param format {@code String}, the output format, e.g. {@code svg} or {@code png}
+     * @param out    {@link OutputStream} to write the image
+     * @return {@link Packer}
+     * @see #pack(List, String, OutputStream)
+     */
+    public Packer packer(String format, OutputStream out) {
+        return new Packer(Objects.requireNonNull(format), Objects.requireNonNull(out));
+    }
+
+    /**
+     * Collects connected components and lays them out in parallel, see {@link #packer(String, OutputStream)}.
+     * Only the laid-out components (which are needed for packing) are kept in memory.
+     */
+    public class Packer implements Consumer<String>, Closeable {
+        private final String format;
+        private final OutputStream out;
+        private final ExecutorService executor = Executors.newFixedThreadPool(maxProcesses);
+        private final List<Future<byte[]>> layouts = new ArrayList<>();
+        private String first;
+        private int size;
+        private long start;
+
+        private Packer(String format, OutputStream out) {
+            this.format = format;
+            this.out = out;
+        }
+
+        /**
+         * Starts the layout of the component.
+         * The first component is deferred: if it remains the only one, it is rendered directly.
+         *
+         * @param component {@code String}, a DOT document
+         */
+        @Override
+        public void accept(String component) {
+            Objects.requireNonNull(component);
+            if (size++ == 0) {
+                first = component;
+                start = System.currentTimeMillis();
+                return;
+            }
+            if (first != null) {
+                submit(first);
+                first = null;
+            }
+            submit(component);
+        }
+
+        private void submit(String component) {
+            layouts.add(executor.submit(() -> {
+                ByteArrayOutputStream res = new ByteArrayOutputStream();
+                run(List.of(command(engine), "-Tdot"), input(component), res);
+                return res.toByteArray();
+            }));
+        }
+
+        /**
+         * Answers the number of accepted components.
+         *
+         * @return {@code int}
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Waits for the layouts, packs them and writes the image.
+         *
+         * @throws IOException if a process cannot be started, fails or times out
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                if (size == 0) {
+                    throw new IllegalStateException("No components");
+                }
+                if (first != null) {
+                    run(List.of(command(engine), "-T" + format), input(first), out);
+                    return;
+                }
+                List<byte[]> res = new ArrayList<>();
+                for (Future<byte[]> future : layouts) {
+                    res.add(future.get());
+                }
+                LOGGER.info("Layout of {} components: {} ms", size, System.currentTimeMillis() - start);
+                ByteArrayOutputStream packed = new ByteArrayOutputStream();
+                // without -u: gvpack translates the components so that they do not overlap
+                run(List.of(command("gvpack")), stdin -> {
+                    for (byte[] layout : res) {
+                        stdin.write(layout);
+                    }
+                }, packed);
+                run(List.of(command("neato"), "-s", "-n2", "-T" + format), packed::writeTo, out);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", ex);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof IOException) {
+                    throw (IOException) ex.getCause();
+                }
+                throw new IOException(ex.getCause());
+            } finally {
+                first = null;
+                layouts.clear();
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Runs the process, writing its stdin in the current thread and copying its stdout into the output
+     * in a separate thread, so that a process that produces output before it reads the whole input cannot deadlock.
+     * The process is killed when the timeout expires.
+     * Waits if the maximum number of processes are already running.
+     *
+     * @param command a {@code List} of command parts
+     * @param input   {@link Input} to write stdin
+     * @param out     {@link OutputStream}
+     * @throws IOException if the process cannot be started, exits with non-zero code or times out
+     */
+    protected void run(List<String> command, Input input, OutputStream out) throws IOException {
+        Running process = start(command, out);
+        IOException error = null;
+        try (OutputStream stdin = process.stdin()) {
+            input.write(stdin);
+        } catch (IOException ex) {
+            // most likely a broken pipe, the process error (if any) is more informative
+            error = ex;
+        } catch (UncheckedIOException ex) {
+            error = ex.getCause();
+        } catch (RuntimeException | Error ex) {
+            process.kill();
+            throw ex;
+        }
+        process.finish(error);
+    }
+
+    /**
+     * Starts the process and the threads that copy its stdout into the output and collect its stderr.
+     * Waits if the maximum number of processes are already running.
+     * The caller writes the stdin and then must call {@link Running#finish(IOException)}.
+     *
+     * @param command a {@code List} of command parts
+     * @param out     {@link OutputStream}
+     * @return {@link Running}
+     * @throws IOException if the process cannot be started
+     */
+    private Running start(List<String> command, OutputStream out) throws IOException {
+        try {
+            processes.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", ex);
+        }
+        LOGGER.debug("Run {}", command);
+        Process process;
+        try {
+            process = new ProcessBuilder(command).start();
+        } catch (IOException ex) {
+            processes.release();
+            throw ex;
+        }
+        return new Running(command, process, out);
+    }
+
+    /**
+     * A running process with the output pumps and the timeout watchdog.
+     */
+    private class Running {
+        private final List<String> command;
+        private final Process process;
+        private final CompletableFuture<Void> stdout;
+        private final CompletableFuture<byte[]> stderr;
+        private final CompletableFuture<Void> watchdog;
+        private final AtomicBoolean expired = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Running(List<String> command, Process process, OutputStream out) {
+            this.command = command;
+            this.process = process;
+            this.stdout = CompletableFuture.runAsync(() -> {
+                try (InputStream is = process.getInputStream()) {
+                    is.transferTo(out);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }, STREAMS);
+            this.stderr = CompletableFuture.supplyAsync(() -> readAll(process.getErrorStream()), STREAMS);
+            this.watchdog = CompletableFuture.runAsync(() -> {
+                expired.set(true);
+                process.destroyForcibly();
+            }, CompletableFuture.delayedExecutor(timeoutMs, TimeUnit.MILLISECONDS));
+        }
+
+        private OutputStream stdin() {
+            return process.getOutputStream();
+        }
+
+        /**
+         * Waits for the process, which stdin is already closed, and for its output.
+         *
+         * @param error {@code IOException} that occurred while writing the stdin, or {@code null}
+         * @throws IOException if the process exits with non-zero code or times out, or the input or output fails
+         */
+        private void finish(IOException error) throws IOException {
+            try {
+                process.waitFor();
+                watchdog.cancel(false);
+                if (expired.get()) {
+                    throw new IOException(command.get(0) + ": timeout " + timeoutMs + " ms");
+                }
+                if (process.exitValue() != 0) {
+                    throw new IOException(command.get(0) + " exited with code " + process.exitValue() + ": " +
+                            new String(stderr.join(), StandardCharsets.UTF_8).trim());
+                }
+                if (error != null) {
+                    throw error;
+                }
+                try {
+                    stdout.join();
+                } catch (CompletionException ex) {
+                    throw ex.getCause() instanceof UncheckedIOException ?
+                            ((UncheckedIOException) ex.getCause()).getCause() : new IOException(ex.getCause());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", ex);
+            } finally {
+                kill();
+            }
+        }
+
+        private void kill() {
+            process.destroyForcibly();
+            watchdog.cancel(false);
+            if (released.compareAndSet(false, true)) {
+                processes.release();
+            }
+        }
+    }
+
+    protected String command(String name) {
+        return home == null ? name : home.resolve(name).toString();
+    }
+
+    private static Input input(String txt) {
+        return stdin -> stdin.write(txt.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] readAll(InputStream is) {
+        try (is) {
+            return is.readAllBytes();
+        } catch (IOException ex) {
+            return new byte[0];
+        }
+    }
+
+    /**
+     * Writes the process input.
+     */
+    @FunctionalInterface
+    protected interface Input {
+        void write(OutputStream stdin) throws IOException;
+    }
+}
@@ -0,0 +1,321 @@
+package com.github.sszuev.ontdot;
+
+import com.github.owlcs.ontapi.OntFormat;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.cli.ParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A long-running local render server, which saves JVM startup and ontology loading costs for repeated calls.
+ * Loaded models are kept in an LRU cache keyed by file path and modification time;
+ * the models are shared between requests and must not be modified.
+ * The server is bound to the loopback interface only.
+ * <p>
+ * API: {@code GET /render?input=<path>[&format=<format>][&entities=<list>][&B.<key>=<value>...][&output=dot|url]},
+ * where {@code entities} is a comma separated list of full or short (prefixed) IRIs,
+ * and {@code B.<key>} is a render option (see {@link DOTSetting}).
+ * Each response contains the headers {@code X-Load-Time}, {@code X-Render-Time} (in ms)
+ * and {@code X-Cache} ({@code hit} or {@code miss}).
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class RenderServer implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenderServer.class);
+
+    public static final String RENDER_PATH = "/render";
+    public static final int DEFAULT_CACHE_CAPACITY = 32;
+    private static final String SETTING_PREFIX = "B.";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ModelCache models;
+    private final AtomicLong counter = new AtomicLong();
+
+    protected RenderServer(HttpServer server, ExecutorService executor, ModelCache models) {
+        this.server = Objects.requireNonNull(server);
+        this.executor = Objects.requireNonNull(executor);
+        this.models = Objects.requireNonNull(models);
+    }
+
+    /**
+     * Starts a new server.
+     *
+     * @param port     {@code int}, the port to listen; {@code 0} means any free port
+     * @param threads  {@code int}, the number of request handling threads
+     * @param capacity {@code int}, the maximum number of models to keep in memory
+     * @param compact  {@code boolean}, if {@code true} models are kept in compact graphs
+     * @param cache    {@link Path} to a snapshot directory or {@code null}
+     * @return {@link RenderServer}
+     * @throws IOException if the server cannot be started
+     */
+    public static RenderServer start(int port, int threads, int capacity, boolean compact, Path cache) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        RenderServer res = new RenderServer(server, executor, new ModelCache(capacity, compact, cache));
+        server.createContext(RENDER_PATH, res::handle);
+        server.setExecutor(executor);
+        server.start();
+        LOGGER.info("Server is listening on {} ({} threads)", server.getAddress(), threads);
+        return res;
+    }
+
+    /**
+     * Answers the port the server is listening on.
+     *
+     * @return {@code int}
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Answers the base URI of the server.
+     *
+     * @return {@link URI}
+     */
+    public URI getURI() {
+        InetSocketAddress address = server.getAddress();
+        try {
+            return new URI("http", null, address.getHostString(), address.getPort(), "/", null, null);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected void handle(HttpExchange exchange) throws IOException {
+        long id = counter.incrementAndGet();
+        long start = System.currentTimeMillis();
+        try {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                send(exchange, 405, "Method not allowed");
+                return;
+            }
+            Map<String, List<String>> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            String input = single(params, "input");
+            if (input == null) {
+                send(exchange, 400, "No 'input' parameter");
+                return;
+            }
+            String format = single(params, "format");
+            String entities = single(params, "entities");
+            String output = single(params, "output");
+            if (output != null && !"dot".equalsIgnoreCase(output) && !"url".equalsIgnoreCase(output)) {
+                send(exchange, 400, "Unsupported output: " + output);
+                return;
+            }
+            Map<DOTSetting, Object> settings = parseSettings(params);
+
+            ModelCache.Result model = models.get(Paths.get(input), format == null ? null : CLI.get(format));
+            long loaded = System.currentTimeMillis();
+
+            // cached models are shared and never modified, so their analysis can be shared as well
+            OntVisualizer visualizer = OntVisualizer.create().prefixes(model.model)
+                    .withOption(DOTSetting.BOOLEAN_MODEL_CACHE, true)
+                    .entities(entities == null ? List.of() : Arrays.asList(entities.split(",\\s*")))
+                    .withOptions(settings);
+            String res = visualizer.draw(model.model);
+            if ("url".equalsIgnoreCase(output)) {
+                res = Graphviz.toGraphvizOnlineURI(res).toString();
+            }
+            long rendered = System.currentTimeMillis();
+
+            exchange.getResponseHeaders().add("X-Load-Time", String.valueOf(loaded - start));
+            exchange.getResponseHeaders().add("X-Render-Time", String.valueOf(rendered - loaded));
+            exchange.getResponseHeaders().add("X-Cache", model.hit ? "hit" : "miss");
+            send(exchange, 200, res);
+            LOGGER.info("Request #{} <{}>: load {} ms ({}), render {} ms, {} chars",
+                    id, input, loaded - start, model.hit ? "hit" : "miss", rendered - loaded, res.length());
+        } catch (ParseException | IllegalArgumentException e) {
+            send(exchange, 400, e.getMessage());
+        } catch (NoSuchFileException e) {
+            send(exchange, 404, "No file " + e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Request #{} failed", id, e);
+            send(exchange, 500, e.getClass().getSimpleName() + ": " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<DOTSetting, Object> parseSettings(Map<String, List<String>> params) throws ParseException {
+        Map<DOTSetting, Object> res = new EnumMap<>(DOTSetting.class);
+        for (Map.Entry<String, List<String>> e : params.entrySet()) {
+            if (!e.getKey().startsWith(SETTING_PREFIX)) {
+                continue;
+            }
+            String name = e.getKey().substring(SETTING_PREFIX.length());
+            DOTSetting key = DOTSetting.ofKey(name);
+            if (key == null) {
+                throw new ParseException("Unknown option: " + name);
+            }
+            res.put(key, CLI.parseValue(key, e.getValue().get(e.getValue().size() - 1)));
+        }
+        return res;
+    }
+
+    private static String single(Map<String, List<String>> params, String name) {
+        List<String> res = params.get(name);
+        return res == null || res.isEmpty() ? null : res.get(res.size() - 1);
+    }
+
+    static Map<String, List<String>> parseQuery(String query) {
+        Map<String, List<String>> res = new LinkedHashMap<>();
+        if (query == null || query.isEmpty()) {
+            return res;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int i = pair.indexOf('=');
+            String key = URLDecoder.decode(i < 0 ? pair : pair.substring(0, i), StandardCharsets.UTF_8);
+            String value = i < 0 ? "" : URLDecoder.decode(pair.substring(i + 1), StandardCharsets.UTF_8);
+            res.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+        return res;
+    }
+
+    /**
+     * An LRU cache of loaded models.
+     * A model is loaded only once even if several requests ask for it simultaneously.
+     */
+    static class ModelCache {
+        private final Map<Key, FutureTask<OntModel>> cache;
+        private final boolean compact;
+        private final Path snapshots;
+
+        ModelCache(int capacity, boolean compact, Path snapshots) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException();
+            }
+            this.compact = compact;
+            this.snapshots = snapshots;
+            this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, FutureTask<OntModel>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        Result get(Path path, OntFormat format) throws Exception {
+            Path file = path.toRealPath();
+            Key key = new Key(file, Files.getLastModifiedTime(file).toMillis(), format);
+            FutureTask<OntModel> task;
+            boolean hit;
+            synchronized (cache) {
+                task = cache.get(key);
+                hit = task != null;
+                if (!hit) {
+                    // the file has been changed: forget previous versions
+                    cache.keySet().removeIf(k -> k.file.equals(file));
+                    task = new FutureTask<>(() -> load(file, format));
+                    cache.put(key, task);
+                }
+            }
+            if (!hit) {
+                task.run();
+            }
+            try {
+                return new Result(task.get(), hit);
+            } catch (ExecutionException e) {
+                synchronized (cache) {
+                    cache.remove(key, task);
+                }
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+
+        private OntModel load(Path file, OntFormat format) throws Exception {
+            OntModel res = App.loadModel(file, format, 1, snapshots);
+            return compact ? App.compact(res) : res;
+        }
+
+        static class Result {
+            private final OntModel model;
+            private final boolean hit;
+
+            Result(OntModel model, boolean hit) {
+                this.model = model;
+                this.hit = hit;
+            }
+        }
+
+        static class Key {
+            private final Path file;
+            private final long modified;
+            private final OntFormat format;
+
+            Key(Path file, long modified, OntFormat format) {
+                this.file = file;
+                this.modified = modified;
+                this.format = format;
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) return true;
+                if (o == null || getClass() != o.getClass()) return false;
+                Key key = (Key) o;
+                return modified == key.modified && file.equals(key.file) && format == key.format;
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hash(file, modified, format);
+            }
+        }
+    }
+}
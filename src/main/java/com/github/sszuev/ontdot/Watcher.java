@@ -0,0 +1,243 @@
+package com.github.sszuev.ontdot;
+
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTOptions;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.renderers.DOTWriter;
+import com.github.sszuev.ontdot.renderers.DOTWriterFactory;
+import com.github.sszuev.ontdot.renderers.IncrementalDOTWriter;
+import com.github.sszuev.ontdot.utils.GraphDiff;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.semanticweb.owlapi.model.IRI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A watch mode: watches the input file and its local imports and re-renders the output file on every change.
+ * Only the entities touched by the changed triples are re-rendered,
+ * the DOT fragments of other entities are taken from the previous render
+ * (unless an entities filter or a budget is specified, see {@link DOTWriterFactory#createIncremental}).
+ * The output file is replaced atomically.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+class Watcher implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Watcher.class);
+    /**
+     * Editors often save a file in several steps, so wait a bit for the events to settle.
+     */
+    private static final long SETTLE_MILLIS = 50;
+
+    private final CLI cli;
+    private final WatchService service;
+    private final Map<Path, WatchKey> directories = new HashMap<>();
+    private final IncrementalDOTWriter.State state = new IncrementalDOTWriter.State();
+    private Set<Path> files = Set.of();
+    private Graph previous;
+
+    Watcher(CLI cli) throws IOException {
+        this.cli = Objects.requireNonNull(cli);
+        this.service = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Renders the ontology and then watches for changes until the thread is interrupted.
+     *
+     * @param cli {@link CLI} with {@link CLI#source()} and {@link CLI#target()}
+     * @throws IOException if the file system cannot be watched
+     */
+    static void run(CLI cli) throws IOException {
+        try (Watcher watcher = new Watcher(cli)) {
+            watcher.render(System.currentTimeMillis());
+            watcher.watch();
+        } catch (ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    void watch() throws IOException {
+        LOGGER.info("Watching {} files", files.size());
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            boolean changed = collect(key);
+            try {
+                // drain the following events of the same save
+                while ((key = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= collect(key);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (changed) {
+                render(lastModified());
+            }
+        }
+    }
+
+    private boolean collect(WatchKey key) {
+        Path dir = (Path) key.watchable();
+        boolean res = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                res = true;
+                continue;
+            }
+            res |= files.contains(dir.resolve((Path) event.context()));
+        }
+        key.reset();
+        return res;
+    }
+
+    private long lastModified() {
+        long res = 0;
+        for (Path file : files) {
+            try {
+                res = Math.max(res, Files.getLastModifiedTime(file).toMillis());
+            } catch (IOException e) {
+                // the file is being rewritten
+            }
+        }
+        return res == 0 ? System.currentTimeMillis() : res;
+    }
+
+    /**
+     * Loads the ontology, computes the difference with the previous version
+     * and re-renders the affected entities.
+     * If the ontology cannot be loaded (e.g. the file is saved only partially),
+     * the previous output is kept.
+     *
+     * @param modified {@code long}, the time of the edit in ms
+     * @throws IOException if the output cannot be written or the directories cannot be watched
+     */
+    void render(long modified) throws IOException {
+        long start = System.currentTimeMillis();
+        Ontology ontology;
+        try {
+            ontology = App.loadOntology(cli.source(), cli.format(), cli.parseThreads());
+        } catch (Exception e) {
+            LOGGER.error("Can't load <{}>: {}", cli.source(), e.getMessage());
+            return;
+        }
+        updateFiles(ontology);
+        Graph current = GraphDiff.canonicalize(ontology.asGraphModel().getGraph());
+        OntModel model = OntModelFactory.createModel(current);
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(model).withOptions(cli.options());
+
+        Set<Node> dirty = null;
+        int changes = current.size();
+        if (previous != null) {
+            GraphDiff diff = GraphDiff.diff(previous, current);
+            changes = diff.added().size() + diff.removed().size();
+            if (diff.isEmpty()) {
+                LOGGER.info("No changes");
+                return;
+            }
+            if (!cpmAffected(visualizer, diff)) {
+                dirty = diff.affected(previous, current);
+            }
+        }
+        previous = current;
+
+        StringWriter res = new StringWriter();
+        int rendered;
+        int total;
+        try (DOTWriter writer = DOTWriterFactory.createIncremental(visualizer.entities(cli.filterEntities()), res,
+                state, dirty)) {
+            writer.write(model);
+            if (writer instanceof IncrementalDOTWriter) {
+                rendered = ((IncrementalDOTWriter) writer).rendered();
+                total = rendered + ((IncrementalDOTWriter) writer).reused();
+            } else {
+                // the entities view and the budgeted render are always fully re-rendered
+                rendered = total = (int) writer.stats().entities();
+            }
+        }
+        write(cli.target(), res.toString());
+        long end = System.currentTimeMillis();
+        LOGGER.info("{} changed triples, {} of {} entities rendered in {} ms; edit-to-output: {} ms",
+                changes, rendered, total, end - start, end - modified);
+    }
+
+    private static boolean cpmAffected(DOTOptions options, GraphDiff diff) {
+        // the class-properties mapping is not local: it depends on the whole class hierarchy
+        return options.displayClassPropertiesMap() && diff.hasPredicate(GraphDiff.SCHEMA_PREDICATES);
+    }
+
+    private void updateFiles(Ontology ontology) throws IOException {
+        Set<Path> res = new HashSet<>();
+        res.add(cli.source());
+        OntologyManager manager = ontology.getOWLOntologyManager();
+        ontology.importsClosure().forEach(x -> {
+            IRI doc = manager.getOntologyDocumentIRI(x);
+            if (doc != null && "file".equalsIgnoreCase(doc.getScheme())) {
+                res.add(Paths.get(doc.toURI()).toAbsolutePath());
+            }
+        });
+        for (Path file : res) {
+            Path dir = file.getParent();
+            if (!directories.containsKey(dir)) {
+                directories.put(dir, dir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY));
+            }
+        }
+        files = res;
+    }
+
+    private static void write(Path target, String content) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(tmp, content, StandardCharsets.UTF_8);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Answers the number of fragments kept from the last render.
+     *
+     * @return {@code int}
+     */
+    int fragments() {
+        return state.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        service.close();
+    }
+}
@@ -1,5 +1,9 @@
 package com.github.sszuev.ontdot.api;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Contains DOT-render settings.
  * Created by @ssz on 16.01.2022.
@@ -25,6 +29,108 @@ public interface DOTOptions extends RenderOptions, LiteralOptions {
         return getBoolean(DOTSetting.BOOLEAN_ENTITY_ANNOTATIONS);
     }
 
+    /**
+     * Answers {@code true} if the derived data should be kept in the cache attached to the model.
+     *
+     * @return {@code boolean}
+     * @see com.github.sszuev.ontdot.utils.ModelAnalysisCache
+     */
+    default boolean useModelCache() {
+        return getBoolean(DOTSetting.BOOLEAN_MODEL_CACHE);
+    }
+
+    /**
+     * Answers {@code true} if redundant (implied by transitivity) hierarchy edges should be omitted.
+     *
+     * @return {@code boolean}
+     * @see com.github.sszuev.ontdot.utils.TransitiveReduction
+     */
+    default boolean useTransitiveReduction() {
+        return getBoolean(DOTSetting.BOOLEAN_TRANSITIVE_REDUCTION);
+    }
+
+    /**
+     * Answers {@code true} if disjointness ({@code owl:disjointWith}, {@code owl:AllDisjointClasses}, etc.)
+     * and difference ({@code owl:differentFrom}, {@code owl:AllDifferent}) axioms should be displayed.
+     *
+     * @return {@code boolean}
+     * @see com.github.sszuev.ontdot.utils.DisjointnessAxioms
+     */
+    default boolean displayDisjointness() {
+        return getBoolean(DOTSetting.BOOLEAN_DISJOINTNESS);
+    }
+
+    /**
+     * Answers {@code true} if the {@code owl:equivalentClass} and {@code owl:sameAs} groups
+     * should be drawn as single nodes.
+     *
+     * @return {@code boolean}
+     * @see com.github.sszuev.ontdot.utils.EquivalenceGroups
+     */
+    default boolean collapseEquivalents() {
+        return getBoolean(DOTSetting.BOOLEAN_COLLAPSE_EQUIVALENTS);
+    }
+
+    /**
+     * Answers {@code true} if the render of an entity depends on the whole model (hierarchy),
+     * and therefore rendered fragments cannot be reused on their own.
+     *
+     * @return {@code boolean}
+     */
+    default boolean hasGlobalAnalysis() {
+        return foldThreshold() > 0 || useTransitiveReduction() || collapseEquivalents();
+    }
+
+    /**
+     * Answers the maximum number of nodes in the output graph.
+     *
+     * @return positive {@code int} or {@code 0} if unlimited
+     * @see com.github.sszuev.ontdot.utils.EntityRanking
+     */
+    default int maxNodes() {
+        return Math.max(0, getInteger(DOTSetting.INT_MAX_NODES));
+    }
+
+    /**
+     * Answers the maximum number of edges in the output graph.
+     *
+     * @return positive {@code int} or {@code 0} if unlimited
+     * @see com.github.sszuev.ontdot.utils.EntityRanking
+     */
+    default int maxEdges() {
+        return Math.max(0, getInteger(DOTSetting.INT_MAX_EDGES));
+    }
+
+    /**
+     * Answers {@code true} if the size of the output graph is limited.
+     *
+     * @return {@code boolean}
+     */
+    default boolean hasBudget() {
+        return maxNodes() > 0 || maxEdges() > 0;
+    }
+
+    /**
+     * Answers the maximum size of a class subtree that is displayed as is;
+     * larger sub-hierarchies are folded into summary nodes.
+     *
+     * @return positive {@code int} or {@code 0} if folding is disabled
+     * @see com.github.sszuev.ontdot.utils.HierarchyFolding
+     */
+    default int foldThreshold() {
+        return Math.max(0, getInteger(DOTSetting.INT_FOLD_THRESHOLD));
+    }
+
+    /**
+     * Answers the classes that must not be folded.
+     *
+     * @return a {@code List} of full or short IRIs
+     */
+    default List<String> foldExpand() {
+        return Arrays.stream(getString(DOTSetting.STRING_FOLD_EXPAND).split(","))
+                .map(String::trim).filter(x -> !x.isEmpty()).collect(Collectors.toList());
+    }
+
     default String classColor() {
         return getString(DOTSetting.STRING_CLASS_COLOR);
     }
@@ -10,6 +10,15 @@ import java.util.stream.Collectors;
 public enum DOTSetting {
     BOOLEAN_CLASS_PROPERTIES_MAP("classPropertiesMap", Boolean.class, false, "display class-properties table"),
     BOOLEAN_ENTITY_ANNOTATIONS("entityAnnotations", Boolean.class, false, "display entity annotations table"),
+    BOOLEAN_MODEL_CACHE("modelCache", Boolean.class, false,
+            "reuse class-properties, declarations, class expression types and short forms " +
+                    "between renders of the same (live) model"),
+    BOOLEAN_DISJOINTNESS("disjointness", Boolean.class, false,
+            "display disjointness and difference axioms, n-ary axioms as hyper-nodes"),
+    BOOLEAN_COLLAPSE_EQUIVALENTS("collapseEquivalents", Boolean.class, false,
+            "merge equivalent classes and same individuals into single nodes"),
+    BOOLEAN_TRANSITIVE_REDUCTION("transitiveReduction", Boolean.class, false,
+            "do not draw subClassOf and subPropertyOf edges that are implied by other asserted edges"),
 
     STRING_CLASS_COLOR("classColor", String.class, "#CFA500"),
     STRING_DATATYPE_COLOR("datatypeColor", String.class, "#AD3B45"),
@@ -25,6 +34,20 @@ public enum DOTSetting {
 
     INT_LITERAL_ROW_LENGTH("literalRowLength", Integer.class, 42),
     INT_LITERAL_ROWS_NUM("literalRowsNumber", Integer.class, 4),
+
+    STRING_FRAGMENT_CACHE_DIR("fragmentCacheDir", String.class, "",
+            "directory to keep rendered fragments between runs (full graph only), empty to disable"),
+    INT_FRAGMENT_CACHE_SIZE("fragmentCacheSize", Integer.class, 256, "fragment cache size limit in MB"),
+
+    INT_MAX_NODES("maxNodes", Integer.class, 0,
+            "maximum number of nodes, 0 - unlimited; if exceeded, the most important entities are rendered"),
+    INT_MAX_EDGES("maxEdges", Integer.class, 0,
+            "maximum number of edges, 0 - unlimited; if exceeded, the most important entities are rendered"),
+
+    INT_FOLD_THRESHOLD("foldThreshold", Integer.class, 0,
+            "fold classes with more descendants than this number into summary nodes, 0 - disabled"),
+    STRING_FOLD_EXPAND("foldExpand", String.class, "",
+            "comma-separated list of classes (full or short IRIs) that are never folded"),
     ;
     final String key;
     final String description;
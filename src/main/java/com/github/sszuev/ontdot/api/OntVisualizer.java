@@ -4,13 +4,31 @@ import com.github.owlcs.ontapi.jena.OntModelFactory;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.sszuev.ontdot.renderers.DOTWriter;
 import com.github.sszuev.ontdot.renderers.DOTWriterFactory;
+import com.github.sszuev.ontdot.renderers.GraphFormat;
+import com.github.sszuev.ontdot.renderers.RenderStats;
+import com.github.sszuev.ontdot.renderers.ShardDOTWriter;
+import com.github.sszuev.ontdot.utils.CachingClassPropertyMap;
+import com.github.sszuev.ontdot.utils.CachingLiteralRenderer;
+import com.github.sszuev.ontdot.utils.CachingPrefixMapping;
 import com.github.sszuev.ontdot.utils.ClassPropertyMapImpl;
+import com.github.sszuev.ontdot.utils.DisjointnessAxioms;
 import com.github.sszuev.ontdot.utils.LiteralRendererImpl;
+import com.github.sszuev.ontdot.utils.Sharding;
 import org.apache.jena.shared.PrefixMapping;
 
+import java.io.IOException;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -22,6 +40,11 @@ import java.util.stream.Collectors;
  * @see <a href='https://en.wikipedia.org/wiki/DOT_(graph_description_language)'>DOT (graph description language)</a>
  */
 public class OntVisualizer implements DOTConfig {
+    /**
+     * The default class-property mapping is stateless, so it is shared,
+     * which also allows reusing the {@link com.github.sszuev.ontdot.utils.ModelAnalysisCache model cache}.
+     */
+    private static final ClassPropertyMap DEFAULT_CLASS_PROPERTIES = new ClassPropertyMapImpl();
     private final PrefixMapping pm;
     private final Set<String> entities;
     private final Map<DOTSetting, Object> settings;
@@ -46,7 +69,7 @@ public class OntVisualizer implements DOTConfig {
      * @return {@link OntVisualizer}
      */
     public static OntVisualizer create() {
-        return of(OntModelFactory.STANDARD, new ClassPropertyMapImpl(), new LiteralRendererImpl(), Set.of(), Map.of());
+        return of(OntModelFactory.STANDARD, DEFAULT_CLASS_PROPERTIES, new LiteralRendererImpl(), Set.of(), Map.of());
     }
 
     protected static OntVisualizer of(PrefixMapping pm,
@@ -218,6 +241,222 @@ public class OntVisualizer implements DOTConfig {
         return sw.toString();
     }
 
+    /**
+     * Draws the specified {@link OntModel OWL Graph} as a {@code String}, reporting the progress to the listener.
+     * If the render is cancelled, the result is a well-formed DOT document, which contains only processed entities.
+     *
+     * @param model    {@link OntModel}
+     * @param listener {@link RenderListener}
+     * @return {@code String}
+     */
+    public String draw(OntModel model, RenderListener listener) {
+        StringWriter sw = new StringWriter();
+        DOTWriter writer = newDOTWriter(sw);
+        writer.setListener(listener);
+        writer.write(model);
+        return sw.toString();
+    }
+
+    /**
+     * Draws several views of the same {@link OntModel OWL Graph} in parallel.
+     * Each view is a collection of entities to filter (see {@link #entities(Collection)});
+     * an empty collection means the whole graph.
+     * The views share the read-only analysis of the model (class-properties mapping, literals, prefix short forms),
+     * so the model must not be modified while drawing.
+     *
+     * @param model {@link OntModel}
+     * @param views a {@code Map} with view names as keys and entities as values
+     * @return a {@code Map} with view names as keys and DOT {@code String}s as values, in the order of {@code views}
+     */
+    public Map<String, String> drawAll(OntModel model, Map<String, ? extends Collection<String>> views) {
+        Map<String, StringWriter> sinks = new HashMap<>();
+        views.keySet().forEach(k -> sinks.put(k, new StringWriter()));
+        drawAll(model, views, sinks::get);
+        Map<String, String> res = new LinkedHashMap<>();
+        views.keySet().forEach(k -> res.put(k, sinks.get(k).toString()));
+        return res;
+    }
+
+    /**
+     * Draws several views of the same {@link OntModel OWL Graph} in parallel, each into its own {@link Writer}.
+     * Each sink is closed after the corresponding view has been written.
+     * The views are drawn on a private pool bounded by the number of available processors,
+     * so that blocking sinks do not occupy the common fork-join pool.
+     *
+     * @param model {@link OntModel}
+     * @param views a {@code Map} with view names as keys and entities as values
+     * @param sinks a {@code Function} that provides a {@link Writer} for the given view name
+     * @see #drawAll(OntModel, Map)
+     */
+    public void drawAll(OntModel model,
+                        Map<String, ? extends Collection<String>> views,
+                        Function<String, ? extends Writer> sinks) {
+        ExecutorService executor = newPool(Runtime.getRuntime().availableProcessors(), views.size());
+        try {
+            drawAll(model, views, sinks, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Draws several views of the same {@link OntModel OWL Graph} on the given {@link Executor},
+     * each into its own {@link Writer}.
+     * Each sink is closed after the corresponding view has been written.
+     *
+     * @param model    {@link OntModel}
+     * @param views    a {@code Map} with view names as keys and entities as values
+     * @param sinks    a {@code Function} that provides a {@link Writer} for the given view name
+     * @param executor {@link Executor} to run the views
+     * @see #drawAll(OntModel, Map, Function)
+     */
+    public void drawAll(OntModel model,
+                        Map<String, ? extends Collection<String>> views,
+                        Function<String, ? extends Writer> sinks,
+                        Executor executor) {
+        Objects.requireNonNull(model);
+        Objects.requireNonNull(sinks);
+        OntVisualizer shared = shared();
+        forEach(views.entrySet(), e -> {
+            OntVisualizer view = shared.entities(e.getValue());
+            try (DOTWriter writer = view.newDOTWriter(Objects.requireNonNull(sinks.apply(e.getKey())))) {
+                writer.write(model);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, executor);
+    }
+
+    /**
+     * Draws the {@link Sharding partitioned} {@link OntModel OWL Graph} in parallel, each shard into its own {@link Writer},
+     * then draws the index of shards into the sink named {@link Sharding#INDEX}.
+     * Entities of other shards are drawn as stubs with hyperlinks to the files of those shards.
+     * Each sink is closed after the corresponding document has been written.
+     * The {@link #entities(Collection) entities filter} is ignored.
+     * The shards are drawn on a private pool bounded by the number of available processors.
+     *
+     * @param model  {@link OntModel}
+     * @param shards {@link Sharding}
+     * @param urls   a {@code Function} that maps a shard name (including {@link Sharding#INDEX}) to the hyperlink of its file
+     * @param sinks  a {@code Function} that provides a {@link Writer} for the given shard name
+     * @return {@link RenderStats}, the sum of the shard statistics
+     * @see #drawAll(OntModel, Map, Function)
+     */
+    public RenderStats drawShards(OntModel model,
+                                  Sharding shards,
+                                  Function<String, String> urls,
+                                  Function<String, ? extends Writer> sinks) {
+        ExecutorService executor = newPool(Runtime.getRuntime().availableProcessors(), shards.names().size());
+        try {
+            return drawShards(model, shards, urls, sinks, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Draws the {@link Sharding partitioned} {@link OntModel OWL Graph} on the given {@link Executor},
+     * each shard into its own {@link Writer}, then draws the index of shards into the sink named {@link Sharding#INDEX}.
+     * Disjointness axioms are collected once and shared between the shards.
+     * Each sink is closed after the corresponding document has been written.
+     *
+     * @param model    {@link OntModel}
+     * @param shards   {@link Sharding}
+     * @param urls     a {@code Function} that maps a shard name (including {@link Sharding#INDEX}) to the hyperlink of its file
+     * @param sinks    a {@code Function} that provides a {@link Writer} for the given shard name
+     * @param executor {@link Executor} to run the shards
+     * @return {@link RenderStats}, the sum of the shard statistics
+     * @see #drawShards(OntModel, Sharding, Function, Function)
+     */
+    public RenderStats drawShards(OntModel model,
+                                  Sharding shards,
+                                  Function<String, String> urls,
+                                  Function<String, ? extends Writer> sinks,
+                                  Executor executor) {
+        Objects.requireNonNull(model);
+        Objects.requireNonNull(urls);
+        Objects.requireNonNull(sinks);
+        OntVisualizer shared = shared();
+        List<DisjointnessAxioms.Axiom> axioms = displayDisjointness() && !hasBudget() ?
+                DisjointnessAxioms.collect(model.getGraph()) : List.of();
+        Map<String, RenderStats> stats = new ConcurrentHashMap<>();
+        Map<String, Map<String, Long>> references = new ConcurrentHashMap<>();
+        forEach(shards.names(), name -> {
+            Writer sink = Objects.requireNonNull(sinks.apply(name));
+            try (ShardDOTWriter writer = DOTWriterFactory.createShard(shared, sink, shards, name, urls, axioms)) {
+                writer.write(model);
+                stats.put(name, writer.stats());
+                references.put(name, writer.references());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, executor);
+        try (Writer index = Objects.requireNonNull(sinks.apply(Sharding.INDEX))) {
+            ShardDOTWriter.writeIndex(index, shards, references, urls);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        RenderStats res = new RenderStats();
+        stats.values().forEach(res::add);
+        return res;
+    }
+
+    /**
+     * Runs the task for each item on the executor and waits until all of them are finished.
+     *
+     * @param items    {@code Collection} of items
+     * @param task     {@code Consumer} to run
+     * @param executor {@link Executor}
+     * @param <X>      the type of item
+     */
+    protected static <X> void forEach(Collection<X> items, Consumer<X> task, Executor executor) {
+        Objects.requireNonNull(task);
+        Objects.requireNonNull(executor);
+        CompletableFuture<?>[] futures = items.stream()
+                .map(x -> CompletableFuture.runAsync(() -> task.accept(x), executor))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a fixed thread pool for the given number of tasks.
+     *
+     * @param threads the maximum number of threads, positive
+     * @param tasks   the number of tasks
+     * @return {@code ExecutorService}
+     */
+    protected static ExecutorService newPool(int threads, int tasks) {
+        return Executors.newFixedThreadPool(Math.max(1, Math.min(threads, tasks)));
+    }
+
+    /**
+     * Creates a copy of this visualizer with caching helpers,
+     * which can be shared between several renders of the same unmodified model:
+     * class-properties, literals and short forms are cached by the helpers,
+     * the types of class expressions (i.e. how a class expression is drawn) are cached per model
+     * by the {@link com.github.sszuev.ontdot.utils.ModelAnalysisCache},
+     * which is enabled for the copy (see {@link DOTSetting#BOOLEAN_MODEL_CACHE}).
+     *
+     * @return {@link OntVisualizer}
+     */
+    public OntVisualizer shared() {
+        PrefixMapping pm = new CachingPrefixMapping(this.pm);
+        return of(pm, new CachingClassPropertyMap(this.classProperties),
+                new CachingLiteralRenderer(this.literalRenderer, this, pm), this.entities,
+                addOption(this.settings, DOTSetting.BOOLEAN_MODEL_CACHE, true));
+    }
+
     /**
      * Creates a {@link DOTWriter} that wraps the specified {@link Writer}.
      * Note that the callers themselves are responsible for closing it.
@@ -229,4 +468,16 @@ public class OntVisualizer implements DOTConfig {
         return DOTWriterFactory.create(this, writer);
     }
 
+    /**
+     * Creates a writer for the specified syntax (DOT, GraphML or JSON) that wraps the specified {@link Writer}.
+     * Note that the callers themselves are responsible for closing it.
+     *
+     * @param writer {@link Writer}, not {@code null}
+     * @param format {@link GraphFormat}, not {@code null}
+     * @return {@link DOTWriter}
+     */
+    public DOTWriter newWriter(Writer writer, GraphFormat format) {
+        return DOTWriterFactory.create(this, writer, Objects.requireNonNull(format));
+    }
+
 }
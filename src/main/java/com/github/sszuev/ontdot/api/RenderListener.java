@@ -0,0 +1,54 @@
+package com.github.sszuev.ontdot.api;
+
+import com.github.sszuev.ontdot.renderers.RenderStats;
+
+/**
+ * A listener to watch and cancel a long render.
+ * The writer reports the progress and checks the cancellation at entity boundaries (i.e. between top-level entities),
+ * so a cancelled render still produces a well-formed (closed) DOT document, but with fewer entities.
+ * The thread interruption is treated as a cancellation as well, with or without listener.
+ * All methods are called in the rendering thread.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public interface RenderListener {
+
+    /**
+     * Called after each top-level entity is rendered.
+     *
+     * @param kind      {@link Kind} of the entity
+     * @param processed {@code long}, the number of processed entities of that kind
+     * @param total     {@code long}, the total number of entities of that kind to render
+     */
+    default void onProgress(Kind kind, long processed, long total) {
+    }
+
+    /**
+     * Answers {@code true} if the render should be stopped.
+     *
+     * @return {@code boolean}
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+
+    /**
+     * Called at the end of the render, either completed or {@link RenderStats#cancelled() cancelled}.
+     *
+     * @param stats {@link RenderStats}
+     */
+    default void onFinish(RenderStats stats) {
+    }
+
+    /**
+     * Kinds of top-level entities in render order.
+     */
+    enum Kind {
+        CLASS,
+        INDIVIDUAL,
+        DATATYPE,
+        OBJECT_PROPERTY,
+        DATA_PROPERTY,
+        ANNOTATION_PROPERTY,
+    }
+}
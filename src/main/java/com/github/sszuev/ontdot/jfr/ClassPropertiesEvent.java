@@ -0,0 +1,33 @@
+package com.github.sszuev.ontdot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The calculation of the class-properties list for a class
+ * (see {@link com.github.sszuev.ontdot.api.ClassPropertyMap}).
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+@Name("com.github.sszuev.ontdot.ClassProperties")
+@Label("Class Properties")
+@Description("Calculation of the class-properties list")
+@Category({"ont2dot", "Analysis"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class ClassPropertiesEvent extends Event {
+    @Label("Class")
+    public String clazz;
+
+    @Label("Properties")
+    public int properties;
+
+    @Label("Model Cache")
+    @Description("Whether the model analysis cache is used")
+    public boolean cached;
+}
@@ -0,0 +1,30 @@
+package com.github.sszuev.ontdot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The render of a single top-level entity (including its class expressions and links).
+ * Only renders longer than the threshold are recorded;
+ * the threshold can be changed in the recording settings ({@code com.github.sszuev.ontdot.EntityRender#threshold}).
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+@Name("com.github.sszuev.ontdot.EntityRender")
+@Label("Entity Render")
+@Description("Render of a top-level entity, which took longer than the threshold")
+@Category({"ont2dot", "Render"})
+@Threshold("10 ms")
+@StackTrace(false)
+public class EntityRenderEvent extends Event {
+    @Label("Entity")
+    public String entity;
+
+    @Label("Type")
+    public String type;
+}
@@ -0,0 +1,33 @@
+package com.github.sszuev.ontdot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The load of an ontology document (see {@link com.github.sszuev.ontdot.App#loadModel}).
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+@Name("com.github.sszuev.ontdot.ModelLoad")
+@Label("Model Load")
+@Description("Load of an ontology document")
+@Category({"ont2dot", "Load"})
+@StackTrace(false)
+public class ModelLoadEvent extends Event {
+    @Label("Source")
+    public String source;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Triples")
+    @Description("The number of triples in the base graph")
+    public long triples;
+
+    @Label("From Snapshot")
+    public boolean snapshot;
+}
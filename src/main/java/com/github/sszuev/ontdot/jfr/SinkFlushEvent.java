@@ -0,0 +1,28 @@
+package com.github.sszuev.ontdot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The flush of the output writer at the end of a render.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+@Name("com.github.sszuev.ontdot.SinkFlush")
+@Label("Sink Flush")
+@Description("Flush of the DOT output")
+@Category({"ont2dot", "Render"})
+@StackTrace(false)
+public class SinkFlushEvent extends Event {
+    @Label("Characters")
+    @Description("The number of characters written since the previous flush")
+    public long chars;
+
+    @Label("Sink")
+    @Description("The class of the output writer")
+    public Class<?> sink;
+}
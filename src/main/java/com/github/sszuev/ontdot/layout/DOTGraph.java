@@ -0,0 +1,152 @@
+package com.github.sszuev.ontdot.layout;
+
+import com.github.sszuev.ontdot.renderers.GraphSink;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The node/edge model of the graph produced by the {@link com.github.sszuev.ontdot.renderers.DOTWriter}s,
+ * which is collected as a {@link GraphSink} (see
+ * {@link com.github.sszuev.ontdot.renderers.DOTWriterFactory#create(com.github.sszuev.ontdot.api.DOTConfig, GraphSink)}),
+ * so nodes have the same ids and attributes as in DOT.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class DOTGraph implements GraphSink {
+    private final List<Vertex> vertices = new ArrayList<>();
+    private final List<Link> links = new ArrayList<>();
+    private final Map<String, Vertex> ids = new HashMap<>();
+
+    /**
+     * @return a {@code List} of {@link Vertex vertices} in the order of first appearance
+     */
+    public List<Vertex> vertices() {
+        return Collections.unmodifiableList(vertices);
+    }
+
+    /**
+     * @return a {@code List} of {@link Link links}
+     */
+    public List<Link> links() {
+        return Collections.unmodifiableList(links);
+    }
+
+    @Override
+    public void node(String id, List<List<Cell>> rows, Map<String, String> attributes) {
+        Vertex vertex = vertex(id);
+        if (vertex.attributes == null) {
+            vertex.rows = rows;
+            vertex.attributes = attributes;
+        }
+    }
+
+    @Override
+    public void edge(String from, String to, Map<String, String> attributes) {
+        links.add(new Link(vertex(from), vertex(to), attributes));
+    }
+
+    private Vertex vertex(String id) {
+        return ids.computeIfAbsent(id, x -> {
+            Vertex res = new Vertex(x, vertices.size());
+            vertices.add(res);
+            return res;
+        });
+    }
+
+    /**
+     * A graph node.
+     */
+    public static class Vertex {
+        private final String id;
+        private final int index;
+        private Map<String, String> attributes;
+        private List<List<Cell>> rows;
+
+        private Vertex(String id, int index) {
+            this.id = id;
+            this.index = index;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        /**
+         * @return {@code int}, the position in the {@link #vertices()} list
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * @param key {@code String}, e.g. {@code fillcolor}
+         * @return {@code String} or {@code null}
+         */
+        public String attribute(String key) {
+            return attributes == null ? null : attributes.get(key);
+        }
+
+        /**
+         * Lists the rows of the label; a plain label (or the id, if the node is not declared) is a single cell.
+         *
+         * @return a {@code List} of rows
+         */
+        public List<List<Cell>> rows() {
+            return rows == null ? List.of(List.of(Cell.of(id, null))) : rows;
+        }
+
+        /**
+         * @return {@code String}, the plain label, or the text of all cells for a table
+         */
+        public String label() {
+            String res = attribute("label");
+            if (res != null) {
+                return res;
+            }
+            return rows().stream().flatMap(List::stream).map(Cell::text).collect(Collectors.joining(" "));
+        }
+
+        /**
+         * @return {@code boolean} if the node is declared, not just referenced by an edge
+         */
+        public boolean isDeclared() {
+            return attributes != null;
+        }
+    }
+
+    /**
+     * A graph edge.
+     */
+    public static class Link {
+        private final Vertex from;
+        private final Vertex to;
+        private final Map<String, String> attributes;
+
+        private Link(Vertex from, Vertex to, Map<String, String> attributes) {
+            this.from = from;
+            this.to = to;
+            this.attributes = attributes;
+        }
+
+        public Vertex from() {
+            return from;
+        }
+
+        public Vertex to() {
+            return to;
+        }
+
+        /**
+         * @param key {@code String}, e.g. {@code color}
+         * @return {@code String} or {@code null}
+         */
+        public String attribute(String key) {
+            return attributes.get(key);
+        }
+    }
+}
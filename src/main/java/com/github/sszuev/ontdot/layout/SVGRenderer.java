@@ -0,0 +1,348 @@
+package com.github.sszuev.ontdot.layout;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTConfig;
+import com.github.sszuev.ontdot.renderers.DOTWriter;
+import com.github.sszuev.ontdot.renderers.DOTWriterFactory;
+import com.github.sszuev.ontdot.renderers.GraphSink;
+import com.github.sszuev.ontdot.renderers.RenderStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A pure-Java backend, which lays out the node/edge model of the graph (see {@link DOTGraph})
+ * with the {@link LayeredLayout} and writes SVG directly, with the same colors and table-like boxes.
+ * It is a fallback for very large graphs, which {@code dot} cannot lay out in a reasonable time:
+ * the result is a readable overview, which is produced in seconds.
+ * Text widths are estimated, since there are no font metrics.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class SVGRenderer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SVGRenderer.class);
+
+    public static final String ENGINE = "layered";
+
+    private static final double FONT_SIZE = 12;
+    private static final double CHAR_WIDTH = FONT_SIZE * 0.6;
+    private static final double ROW_HEIGHT = FONT_SIZE + 8;
+    private static final double PADDING = 4;
+    private static final double MARGIN = 10;
+    private static final int MAX_CHARS = 64;
+    /**
+     * X11 colors that have numbered variants, the values are the variants {@code 1};
+     * variants {@code 2}, {@code 3} and {@code 4} are 93.2%, 80.4% and 54.5% of the variant {@code 1}.
+     */
+    private static final String[] X11_NUMBERED = {
+            "snow", "#FFFAFA", "seashell", "#FFF5EE", "antiquewhite", "#FFEFDB", "bisque", "#FFE4C4",
+            "peachpuff", "#FFDAB9", "navajowhite", "#FFDEAD", "lemonchiffon", "#FFFACD", "cornsilk", "#FFF8DC",
+            "ivory", "#FFFFF0", "honeydew", "#F0FFF0", "lavenderblush", "#FFF0F5", "mistyrose", "#FFE4E1",
+            "azure", "#F0FFFF", "slateblue", "#836FFF", "royalblue", "#4876FF", "blue", "#0000FF",
+            "dodgerblue", "#1E90FF", "steelblue", "#63B8FF", "deepskyblue", "#00BFFF", "skyblue", "#87CEFF",
+            "lightskyblue", "#B0E2FF", "slategray", "#C6E2FF", "lightsteelblue", "#CAE1FF", "lightblue", "#BFEFFF",
+            "lightcyan", "#E0FFFF", "paleturquoise", "#BBFFFF", "cadetblue", "#98F5FF", "turquoise", "#00F5FF",
+            "cyan", "#00FFFF", "darkslategray", "#97FFFF", "aquamarine", "#7FFFD4", "darkseagreen", "#C1FFC1",
+            "seagreen", "#54FF9F", "palegreen", "#9AFF9A", "springgreen", "#00FF7F", "green", "#00FF00",
+            "chartreuse", "#7FFF00", "olivedrab", "#C0FF3E", "darkolivegreen", "#CAFF70", "khaki", "#FFF68F",
+            "lightgoldenrod", "#FFEC8B", "lightyellow", "#FFFFE0", "yellow", "#FFFF00", "gold", "#FFD700",
+            "goldenrod", "#FFC125", "darkgoldenrod", "#FFB90F", "rosybrown", "#FFC1C1", "indianred", "#FF6A6A",
+            "sienna", "#FF8247", "burlywood", "#FFD39B", "wheat", "#FFE7BA", "tan", "#FFA54F",
+            "chocolate", "#FF7F24", "firebrick", "#FF3030", "brown", "#FF4040", "salmon", "#FF8C69",
+            "lightsalmon", "#FFA07A", "orange", "#FFA500", "darkorange", "#FF7F00", "coral", "#FF7256",
+            "tomato", "#FF6347", "orangered", "#FF4500", "red", "#FF0000", "deeppink", "#FF1493",
+            "hotpink", "#FF6EB4", "pink", "#FFB5C5", "lightpink", "#FFAEB9", "palevioletred", "#FF82AB",
+            "maroon", "#FF34B3", "violetred", "#FF3E96", "magenta", "#FF00FF", "orchid", "#FF83FA",
+            "plum", "#FFBBFF", "mediumorchid", "#E066FF", "darkorchid", "#BF3EFF", "purple", "#9B30FF",
+            "mediumpurple", "#AB82FF", "thistle", "#FFE1FF"
+    };
+    private static final int[] X11_SCALES = {255, 238, 205, 139};
+    private static final Map<String, String> X11_COLORS = x11Colors();
+
+    private final LayeredLayout layout;
+
+    public SVGRenderer(LayeredLayout layout) {
+        this.layout = Objects.requireNonNull(layout);
+    }
+
+    public SVGRenderer() {
+        this(new LayeredLayout());
+    }
+
+    /**
+     * Collects the nodes and edges of the ontology graph, then lays it out and writes SVG.
+     *
+     * @param ont  {@link OntModel}
+     * @param conf {@link DOTConfig}
+     * @param out  {@link Writer} to write SVG
+     * @return {@link RenderStats} of the render
+     * @throws IOException if the output cannot be written
+     */
+    public RenderStats draw(OntModel ont, DOTConfig conf, Writer out) throws IOException {
+        DOTGraph graph = new DOTGraph();
+        RenderStats res;
+        try (DOTWriter writer = DOTWriterFactory.create(conf, graph)) {
+            writer.write(ont);
+            res = writer.stats();
+        }
+        long start = System.currentTimeMillis();
+        write(graph, out);
+        LOGGER.info("Layout of {} nodes and {} edges: {} ms",
+                graph.vertices().size(), graph.links().size(), System.currentTimeMillis() - start);
+        return res;
+    }
+
+    /**
+     * Lays out the graph and writes SVG.
+     *
+     * @param graph {@link DOTGraph}
+     * @param out   {@link Writer}
+     * @throws IOException if the output cannot be written
+     */
+    public void write(DOTGraph graph, Writer out) throws IOException {
+        List<DOTGraph.Vertex> vertices = graph.vertices();
+        List<DOTGraph.Link> links = graph.links();
+        double[] widths = new double[vertices.size()];
+        double[] heights = new double[vertices.size()];
+        for (DOTGraph.Vertex v : vertices) {
+            for (List<GraphSink.Cell> row : v.rows()) {
+                double width = 0;
+                for (GraphSink.Cell cell : row) {
+                    width += cellWidth(cell);
+                }
+                widths[v.index()] = Math.max(widths[v.index()], width);
+            }
+            heights[v.index()] = v.rows().size() * ROW_HEIGHT;
+        }
+        int[] from = new int[links.size()];
+        int[] to = new int[links.size()];
+        for (int e = 0; e < links.size(); e++) {
+            from[e] = links.get(e).from().index();
+            to[e] = links.get(e).to().index();
+        }
+        LayeredLayout.Result res = layout.layout(widths, heights, from, to);
+
+        Map<String, String> markers = new LinkedHashMap<>();
+        for (DOTGraph.Link link : links) {
+            markers.computeIfAbsent(color(link.attribute("color"), "black"), x -> "m" + markers.size());
+        }
+        double width = res.width() + 2 * MARGIN;
+        double height = res.height() + 2 * MARGIN;
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + num(width) + "\" height=\"" + num(height) +
+                "\" viewBox=\"0 0 " + num(width) + " " + num(height) + "\" font-family=\"Helvetica,Arial,sans-serif\"" +
+                " font-size=\"" + num(FONT_SIZE) + "\">\n<defs>\n");
+        for (Map.Entry<String, String> m : markers.entrySet()) {
+            out.write("<marker id=\"" + m.getValue() + "\" viewBox=\"0 0 10 10\" refX=\"10\" refY=\"5\" " +
+                    "markerWidth=\"8\" markerHeight=\"8\" orient=\"auto-start-reverse\">" +
+                    "<path d=\"M0,0L10,5L0,10z\" fill=\"" + escape(m.getKey()) + "\"/></marker>\n");
+            out.write("<marker id=\"" + m.getValue() + "t\" viewBox=\"0 0 10 10\" refX=\"10\" refY=\"5\" " +
+                    "markerWidth=\"8\" markerHeight=\"8\" orient=\"auto-start-reverse\">" +
+                    "<path d=\"M8,0L8,10\" stroke=\"" + escape(m.getKey()) + "\" stroke-width=\"2\"/></marker>\n");
+        }
+        out.write("</defs>\n<g transform=\"translate(" + num(MARGIN) + "," + num(MARGIN) + ")\">\n");
+        for (DOTGraph.Link link : links) {
+            writeLink(link, res, widths, markers, out);
+        }
+        for (DOTGraph.Vertex v : vertices) {
+            writeVertex(v, res.x(v.index()) - widths[v.index()] / 2, res.y(v.index()) - heights[v.index()] / 2,
+                    widths[v.index()], out);
+        }
+        out.write("</g>\n</svg>\n");
+        out.flush();
+    }
+
+    private static void writeLink(DOTGraph.Link link,
+                                  LayeredLayout.Result layout,
+                                  double[] widths,
+                                  Map<String, String> markers,
+                                  Writer out) throws IOException {
+        int a = link.from().index();
+        int b = link.to().index();
+        if (a == b) {
+            return;
+        }
+        // from the right side to the left side, or vice versa for a reversed edge
+        double direction = layout.x(b) >= layout.x(a) ? 1 : -1;
+        double x1 = layout.x(a) + direction * widths[a] / 2;
+        double y1 = layout.y(a);
+        double x2 = layout.x(b) - direction * widths[b] / 2;
+        double y2 = layout.y(b);
+        double dx = direction * Math.max(20, Math.abs(x2 - x1) / 2);
+        String color = color(link.attribute("color"), "black");
+        String marker = markers.get(color);
+        String dir = link.attribute("dir");
+        out.write("<path d=\"M" + num(x1) + "," + num(y1) + "C" + num(x1 + dx) + "," + num(y1) + " " +
+                num(x2 - dx) + "," + num(y2) + " " + num(x2) + "," + num(y2) + "\" fill=\"none\" stroke=\"" +
+                escape(color) + "\"");
+        if (has(link.attribute("style"), "dashed")) {
+            out.write(" stroke-dasharray=\"5,3\"");
+        }
+        if (!"none".equals(dir)) {
+            out.write(" marker-end=\"url(#" + marker + ("tee".equals(link.attribute("arrowhead")) ? "t" : "") + ")\"");
+        }
+        if ("both".equals(dir)) {
+            out.write(" marker-start=\"url(#" + marker + ("tee".equals(link.attribute("arrowtail")) ? "t" : "") + ")\"");
+        }
+        out.write("/>\n");
+    }
+
+    private static void writeVertex(DOTGraph.Vertex v, double x, double y, double width, Writer out) throws IOException {
+        String style = v.attribute("style");
+        String fill = has(style, "filled") ? color(v.attribute("fillcolor"), "white") : "white";
+        String stroke = color(v.attribute("color"), "black");
+        out.write("<g><title>" + escape(v.label()) + "</title>\n");
+        List<List<GraphSink.Cell>> rows = v.rows();
+        out.write("<rect x=\"" + num(x) + "\" y=\"" + num(y) + "\" width=\"" + num(width) + "\" height=\"" +
+                num(rows.size() * ROW_HEIGHT) + "\" fill=\"" + escape(fill) + "\" stroke=\"" + escape(stroke) + "\"");
+        if (has(style, "rounded")) {
+            out.write(" rx=\"6\"");
+        }
+        if (has(style, "dashed")) {
+            out.write(" stroke-dasharray=\"5,3\"");
+        }
+        out.write("/>\n");
+        double rowY = y;
+        for (List<GraphSink.Cell> row : rows) {
+            double natural = 0;
+            for (GraphSink.Cell cell : row) {
+                natural += cellWidth(cell);
+            }
+            double cellX = x;
+            for (GraphSink.Cell cell : row) {
+                double cellWidth = cellWidth(cell) * width / natural;
+                if (row.size() > 1 || rows.size() > 1) {
+                    out.write("<rect x=\"" + num(cellX) + "\" y=\"" + num(rowY) + "\" width=\"" + num(cellWidth) +
+                            "\" height=\"" + num(ROW_HEIGHT) + "\" fill=\"" +
+                            escape(cell.color() == null ? "none" : color(cell.color(), "none")) +
+                            "\" stroke=\"black\" stroke-width=\"0.5\"/>\n");
+                }
+                out.write("<text x=\"" + num(cellX + cellWidth / 2) + "\" y=\"" + num(rowY + ROW_HEIGHT / 2) +
+                        "\" text-anchor=\"middle\" dominant-baseline=\"central\">" + escape(truncate(cell.text())) +
+                        "</text>\n");
+                cellX += cellWidth;
+            }
+            rowY += ROW_HEIGHT;
+        }
+        out.write("</g>\n");
+    }
+
+    private static double cellWidth(GraphSink.Cell cell) {
+        return Math.max(1, truncate(cell.text()).length()) * CHAR_WIDTH + 2 * PADDING;
+    }
+
+    private static String truncate(String txt) {
+        return txt.length() <= MAX_CHARS ? txt : txt.substring(0, MAX_CHARS - 3) + "...";
+    }
+
+    private static boolean has(String style, String value) {
+        return style != null && style.contains(value);
+    }
+
+    /**
+     * Converts a Graphviz color into an SVG (CSS) color;
+     * numbered X11 names (e.g. {@code yellow2}, {@code gray40}) are not supported by SVG,
+     * so they are replaced with RGB values.
+     *
+     * @param color        {@code String}, Graphviz color or {@code null}
+     * @param defaultColor {@code String}, the color to return if there is no color
+     * @return {@code String}
+     */
+    public static String color(String color, String defaultColor) {
+        if (color == null || color.isEmpty()) {
+            return defaultColor;
+        }
+        String res = X11_COLORS.get(color.toLowerCase(Locale.ENGLISH));
+        if (res != null) {
+            return res;
+        }
+        if (color.startsWith("#")) {
+            return color;
+        }
+        return color.replaceAll("\\d+$", "");
+    }
+
+    private static Map<String, String> x11Colors() {
+        Map<String, String> res = new HashMap<>();
+        for (int i = 0; i < X11_NUMBERED.length; i += 2) {
+            int rgb = Integer.parseInt(X11_NUMBERED[i + 1].substring(1), 16);
+            for (int n = 0; n < X11_SCALES.length; n++) {
+                int scale = X11_SCALES[n];
+                String color = rgb(scale(rgb >> 16, scale), scale(rgb >> 8, scale), scale(rgb, scale));
+                res.put(X11_NUMBERED[i] + (n + 1), color);
+            }
+        }
+        for (int n = 0; n <= 100; n++) {
+            // as in X11 rgb.txt, e.g. gray50 is #7F7F7F
+            int v = (int) (n * 2.55 + 0.5);
+            String gray = rgb(v, v, v);
+            res.put("gray" + n, gray);
+            res.put("grey" + n, gray);
+        }
+        // Graphviz X11 scheme differs from the SVG one
+        res.put("gray", "#C0C0C0");
+        res.put("grey", "#C0C0C0");
+        return res;
+    }
+
+    private static int scale(int component, int scale) {
+        return Math.round((component & 0xFF) * scale / 255f);
+    }
+
+    private static String rgb(int r, int g, int b) {
+        return String.format(Locale.ENGLISH, "#%02X%02X%02X", r, g, b);
+    }
+
+    /**
+     * Formats the number with one decimal digit, without {@code String.format}, which is slow.
+     */
+    static String num(double value) {
+        long x = Math.round(value * 10);
+        String sign = x < 0 ? "-" : "";
+        x = Math.abs(x);
+        return x % 10 == 0 ? sign + x / 10 : sign + x / 10 + "." + x % 10;
+    }
+
+    static String escape(String txt) {
+        StringBuilder res = null;
+        for (int i = 0; i < txt.length(); i++) {
+            char c = txt.charAt(i);
+            String replacement;
+            switch (c) {
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                default:
+                    replacement = c < 0x20 && c != '\t' && c != '\n' && c != '\r' ? " " : null;
+            }
+            if (replacement == null) {
+                if (res != null) {
+                    res.append(c);
+                }
+                continue;
+            }
+            if (res == null) {
+                res = new StringBuilder(txt.length() + 16).append(txt, 0, i);
+            }
+            res.append(replacement);
+        }
+        return res == null ? txt : res.toString();
+    }
+}
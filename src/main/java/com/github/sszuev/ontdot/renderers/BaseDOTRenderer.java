@@ -1,5 +1,7 @@
 package com.github.sszuev.ontdot.renderers;
 
+import com.github.sszuev.ontdot.jfr.SinkFlushEvent;
+
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -12,12 +14,20 @@ import java.util.Objects;
 abstract class BaseDOTRenderer implements Closeable {
 
     protected final Writer wr;
+    private StringBuilder capture;
+    private long chars;
+    private long flushed;
 
     protected BaseDOTRenderer(Writer wr) {
         this.wr = Objects.requireNonNull(wr);
     }
 
     protected void write(String s) {
+        if (capture != null) {
+            capture.append(s);
+            return;
+        }
+        chars += s.length();
         try {
             wr.write(s);
         } catch (IOException e) {
@@ -25,6 +35,59 @@ abstract class BaseDOTRenderer implements Closeable {
         }
     }
 
+    /**
+     * Answers the number of characters written into the underlying writer so far.
+     *
+     * @return {@code long}
+     */
+    protected long written() {
+        return chars;
+    }
+
+    /**
+     * Flushes the underlying writer.
+     */
+    protected void flush() {
+        SinkFlushEvent event = new SinkFlushEvent();
+        event.begin();
+        try {
+            wr.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.chars = chars - flushed;
+            event.sink = wr.getClass();
+            event.commit();
+        }
+        flushed = chars;
+    }
+
+    /**
+     * Starts capturing: all subsequent output goes into a buffer instead of the writer.
+     */
+    protected void beginCapture() {
+        if (capture != null) {
+            throw new IllegalStateException("Already capturing");
+        }
+        capture = new StringBuilder();
+    }
+
+    /**
+     * Stops capturing.
+     *
+     * @return {@code String}, the captured output
+     */
+    protected String endCapture() {
+        if (capture == null) {
+            throw new IllegalStateException("Not capturing");
+        }
+        String res = capture.toString();
+        capture = null;
+        return res;
+    }
+
     protected void beginLinkDetails() {
         write("[");
     }
@@ -0,0 +1,176 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.ClassPropertyMap;
+import com.github.sszuev.ontdot.api.DOTOptions;
+import com.github.sszuev.ontdot.api.LiteralRenderer;
+import com.github.sszuev.ontdot.api.RenderListener;
+import com.github.sszuev.ontdot.utils.UnionFind;
+import org.apache.jena.graph.Node;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.shared.PrefixMapping;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A {@link GraphDOTWriter} that splits the output into connected components:
+ * each top-level entity is rendered into a separate fragment, the fragments that share a node
+ * are merged with a {@link UnionFind union-find} pass, and each component is written as a separate {@code digraph}
+ * document, so that the components can be laid out independently (and in parallel), and then packed together
+ * (see {@link com.github.sszuev.ontdot.LocalGraphviz}).
+ * The multi-graph output is still a valid input for the {@code dot} and {@code gvpack} tools.
+ * Instead of the writer, the documents can be passed one by one to a consumer.
+ * Each disjointness edge or hyper-node (if enabled) is a separate fragment,
+ * so it belongs to the component of its members.
+ * The {@link DOTOptions#maxNodes() budget} is ignored.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class ComponentsDOTWriter extends GraphDOTWriter {
+    private final Consumer<String> components;
+    private List<Fragment> fragments;
+    private long delivered;
+
+    /**
+     * Creates a writer that writes all components into the {@link Writer} one after another.
+     *
+     * @param pm      {@link PrefixMapping}
+     * @param cpm     {@link ClassPropertyMap}
+     * @param lr      {@link LiteralRenderer}
+     * @param wr      {@link Writer}
+     * @param options {@link DOTOptions}
+     */
+    public ComponentsDOTWriter(PrefixMapping pm, ClassPropertyMap cpm, LiteralRenderer lr, Writer wr, DOTOptions options) {
+        super(pm, cpm, lr, wr, options);
+        this.components = null;
+    }
+
+    /**
+     * Creates a writer that passes each component, as a complete DOT document, to the consumer.
+     *
+     * @param pm         {@link PrefixMapping}
+     * @param cpm        {@link ClassPropertyMap}
+     * @param lr         {@link LiteralRenderer}
+     * @param components a {@code Consumer} of DOT documents, one per connected component
+     * @param options    {@link DOTOptions}
+     */
+    public ComponentsDOTWriter(PrefixMapping pm,
+                               ClassPropertyMap cpm,
+                               LiteralRenderer lr,
+                               Consumer<String> components,
+                               DOTOptions options) {
+        super(pm, cpm, lr, Writer.nullWriter(), options);
+        this.components = Objects.requireNonNull(components);
+    }
+
+    @Override
+    public void write(OntModel ont) {
+        fragments = new ArrayList<>();
+        delivered = 0;
+        prepare(ont);
+
+        render(RenderListener.Kind.CLASS, ont::classes, x -> fragments.add(capture(() -> renderClass(x))));
+        render(RenderListener.Kind.INDIVIDUAL, ont::namedIndividuals,
+                x -> fragments.add(capture(() -> renderIndividual(x))));
+        render(RenderListener.Kind.DATATYPE, ont::datatypes, x -> fragments.add(capture(() -> renderDatatype(x))));
+        render(RenderListener.Kind.OBJECT_PROPERTY, ont::objectProperties,
+                x -> fragments.add(capture(() -> renderProperty(x))));
+        render(RenderListener.Kind.DATA_PROPERTY, ont::dataProperties,
+                x -> fragments.add(capture(() -> renderProperty(x))));
+        render(RenderListener.Kind.ANNOTATION_PROPERTY, ont::annotationProperties,
+                x -> fragments.add(capture(() -> renderProperty(x))));
+        // each axiom is captured separately, see writeDisjointLink and writeHyperNode
+        renderDisjointness(ont);
+
+        Collection<List<Fragment>> groups = components(fragments);
+        fragments = null;
+        if (groups.isEmpty()) { // an empty ontology is a single empty graph
+            groups = List.of(List.of());
+        }
+        for (List<Fragment> component : groups) {
+            beginCapture();
+            beginDocument();
+            component.forEach(x -> write(x.text));
+            endDocument();
+            String document = endCapture();
+            if (components == null) {
+                write(document);
+            } else {
+                delivered += document.length();
+                components.accept(document);
+            }
+        }
+        finish();
+    }
+
+    @Override
+    protected void writeDisjointLink(RDFNode left, RDFNode right, String color) {
+        fragments.add(capture(() -> super.writeDisjointLink(left, right, color)));
+    }
+
+    @Override
+    protected void writeHyperNode(RDFNode axiom, String header, RDFNode owner, List<RDFNode> members, String color) {
+        fragments.add(capture(() -> super.writeHyperNode(axiom, header, owner, members, color)));
+    }
+
+    @Override
+    protected long written() {
+        // the documents passed to the consumer are counted as the output
+        return super.written() + delivered;
+    }
+
+    private Fragment capture(Runnable render) {
+        Set<Node> nodes = new HashSet<>();
+        String text = captureFragment(render, nodes, new HashSet<>());
+        return new Fragment(text, nodes);
+    }
+
+    /**
+     * Groups the fragments into connected components: two fragments are connected if they refer to the same node.
+     * Fragments without nodes (e.g. hidden entities) are skipped.
+     *
+     * @param fragments a {@code List} of {@link Fragment}s
+     * @return a {@code Collection} of components, in the order of the first fragment of each component
+     */
+    private static Collection<List<Fragment>> components(List<Fragment> fragments) {
+        UnionFind sets = new UnionFind(fragments.size());
+        Map<Node, Integer> owners = new HashMap<>();
+        for (int i = 0; i < fragments.size(); i++) {
+            for (Node n : fragments.get(i).nodes) {
+                Integer j = owners.putIfAbsent(n, i);
+                if (j != null) {
+                    sets.union(i, j);
+                }
+            }
+        }
+        Map<Integer, List<Fragment>> res = new LinkedHashMap<>();
+        for (int i = 0; i < fragments.size(); i++) {
+            Fragment fragment = fragments.get(i);
+            if (fragment.nodes.isEmpty()) {
+                continue;
+            }
+            res.computeIfAbsent(sets.find(i), x -> new ArrayList<>()).add(fragment);
+        }
+        return res.values();
+    }
+
+    private static class Fragment {
+        private final String text;
+        private final Set<Node> nodes;
+
+        private Fragment(String text, Set<Node> nodes) {
+            this.text = text;
+            this.nodes = nodes;
+        }
+    }
+}
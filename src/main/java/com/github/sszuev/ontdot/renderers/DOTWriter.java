@@ -1,6 +1,7 @@
 package com.github.sszuev.ontdot.renderers;
 
 import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.RenderListener;
 
 import java.io.Closeable;
 
@@ -15,4 +16,23 @@ public interface DOTWriter extends Closeable {
      * @param ont {@link OntModel}, not {@code null}
      */
     void write(OntModel ont);
+
+    /**
+     * Returns the statistics of the last {@link #write(OntModel)} call.
+     * The default implementation does not collect anything.
+     *
+     * @return {@link RenderStats}
+     */
+    default RenderStats stats() {
+        return new RenderStats();
+    }
+
+    /**
+     * Sets the listener to watch the progress and to cancel the render.
+     * The default implementation ignores the listener.
+     *
+     * @param listener {@link RenderListener} or {@code null} to remove
+     */
+    default void setListener(RenderListener listener) {
+    }
 }
@@ -1,8 +1,16 @@
 package com.github.sszuev.ontdot.renderers;
 
 import com.github.sszuev.ontdot.api.DOTConfig;
+import com.github.sszuev.ontdot.utils.DisjointnessAxioms;
+import com.github.sszuev.ontdot.utils.FragmentCache;
+import com.github.sszuev.ontdot.utils.Sharding;
+import org.apache.jena.graph.Node;
 
 import java.io.Writer;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Created by @ssz on 15.01.2022.
@@ -18,8 +26,140 @@ public class DOTWriterFactory {
      */
     public static DOTWriter create(DOTConfig conf, Writer wr) {
         if (conf.entities().isEmpty()) {
+            FragmentCache cache = conf.hasBudget() || conf.hasGlobalAnalysis() ? null : FragmentCacheDOTWriter.createCache(conf);
+            if (cache != null) {
+                return new FragmentCacheDOTWriter(conf.prefixes(), conf.classProperties(), conf.literalRenderer(), wr, conf, cache);
+            }
             return new GraphDOTWriter(conf.prefixes(), conf.classProperties(), conf.literalRenderer(), wr, conf);
         }
         return new EntitiesDOTWriter(conf.prefixes(), conf.classProperties(), conf.literalRenderer(), conf, conf.entities(), wr);
     }
+
+    /**
+     * Creates a {@link DOTWriter} that passes the nodes and edges to the specified {@link GraphSink}
+     * instead of writing DOT.
+     *
+     * @param conf {@link DOTConfig}, not {@code null}
+     * @param sink {@link GraphSink}
+     * @return {@link DOTWriter}
+     */
+    public static DOTWriter create(DOTConfig conf, GraphSink sink) {
+        if (conf.entities().isEmpty()) {
+            return new GraphDOTWriter(conf.prefixes(), conf.classProperties(), conf.literalRenderer(), sink, conf);
+        }
+        return new EntitiesDOTWriter(conf.prefixes(), conf.classProperties(), conf.literalRenderer(), conf,
+                conf.entities(), sink);
+    }
+
+    /**
+     * Creates a {@link DOTWriter} for repeated renders of the same gradually changing model (e.g. in watch mode).
+     * A render of the whole graph reuses the fragments of unchanged entities from the {@code state}
+     * (see {@link IncrementalDOTWriter}).
+     * The output of the entities filter and of the nodes/edges budget depends on the whole model,
+     * so in these cases the usual writer is returned, which renders everything from scratch.
+     *
+     * @param conf  {@link DOTConfig}, not {@code null}
+     * @param wr    {@link Writer}
+     * @param state {@link IncrementalDOTWriter.State}, the fragments of the previous render
+     * @param dirty a {@code Set} of entity {@link Node}s to re-render, or {@code null} to re-render everything
+     * @return {@link DOTWriter}
+     */
+    public static DOTWriter createIncremental(DOTConfig conf,
+                                              Writer wr,
+                                              IncrementalDOTWriter.State state,
+                                              Set<Node> dirty) {
+        if (!conf.entities().isEmpty() || conf.hasBudget()) {
+            return create(conf, wr);
+        }
+        return new IncrementalDOTWriter(conf.prefixes(), conf.classProperties(), conf.literalRenderer(), wr, conf,
+                state, dirty);
+    }
+
+    /**
+     * Creates a writer for the specified syntax;
+     * all syntaxes share the same traversal of the graph and the same node ids.
+     *
+     * @param conf   {@link DOTConfig}, not {@code null}
+     * @param wr     {@link Writer}
+     * @param format {@link GraphFormat}
+     * @return {@link DOTWriter}
+     * @see GraphFormatWriter
+     */
+    public static DOTWriter create(DOTConfig conf, Writer wr, GraphFormat format) {
+        switch (format) {
+            case GRAPHML:
+                return new GraphMLWriter(conf, wr);
+            case JSON:
+                return new JSONGraphWriter(conf, wr);
+            default:
+                return create(conf, wr);
+        }
+    }
+
+    /**
+     * Creates a {@link ComponentsDOTWriter} to write the full graph as a sequence of connected components.
+     * The {@link DOTConfig#entities() entities filter} is ignored.
+     *
+     * @param conf {@link DOTConfig}, not {@code null}
+     * @param wr   {@link Writer}
+     * @return {@link ComponentsDOTWriter}
+     */
+    public static ComponentsDOTWriter createComponents(DOTConfig conf, Writer wr) {
+        return new ComponentsDOTWriter(conf.prefixes(), conf.classProperties(), conf.literalRenderer(), wr, conf);
+    }
+
+    /**
+     * Creates a {@link ComponentsDOTWriter} that passes each connected component,
+     * as a separate DOT document, to the consumer as soon as it is assembled.
+     * The {@link DOTConfig#entities() entities filter} is ignored.
+     *
+     * @param conf       {@link DOTConfig}, not {@code null}
+     * @param components a {@code Consumer} of DOT documents
+     * @return {@link ComponentsDOTWriter}
+     */
+    public static ComponentsDOTWriter createComponents(DOTConfig conf, Consumer<String> components) {
+        return new ComponentsDOTWriter(conf.prefixes(), conf.classProperties(), conf.literalRenderer(), components,
+                conf);
+    }
+
+    /**
+     * Creates a {@link ShardDOTWriter} to write a single shard of the partitioned ontology.
+     *
+     * @param conf   {@link DOTConfig}, not {@code null}
+     * @param wr     {@link Writer}
+     * @param shards {@link Sharding}
+     * @param shard  {@code String}, the shard name
+     * @param urls   a {@code Function} that maps a shard name to the hyperlink of its file
+     * @return {@link ShardDOTWriter}
+     */
+    public static ShardDOTWriter createShard(DOTConfig conf,
+                                             Writer wr,
+                                             Sharding shards,
+                                             String shard,
+                                             Function<String, String> urls) {
+        return createShard(conf, wr, shards, shard, urls, null);
+    }
+
+    /**
+     * Creates a {@link ShardDOTWriter} to write a single shard of the partitioned ontology
+     * using the disjointness axioms collected in advance.
+     *
+     * @param conf   {@link DOTConfig}, not {@code null}
+     * @param wr     {@link Writer}
+     * @param shards {@link Sharding}
+     * @param shard  {@code String}, the shard name
+     * @param urls   a {@code Function} that maps a shard name to the hyperlink of its file
+     * @param axioms a {@code Collection} of all {@link DisjointnessAxioms.Axiom}s of the model, can be {@code null}
+     * @return {@link ShardDOTWriter}
+     * @see DisjointnessAxioms#collect(org.apache.jena.graph.Graph)
+     */
+    public static ShardDOTWriter createShard(DOTConfig conf,
+                                             Writer wr,
+                                             Sharding shards,
+                                             String shard,
+                                             Function<String, String> urls,
+                                             Collection<DisjointnessAxioms.Axiom> axioms) {
+        return new ShardDOTWriter(conf.prefixes(), conf.classProperties(), conf.literalRenderer(), wr, conf,
+                shards, shard, urls, axioms);
+    }
 }
@@ -4,13 +4,21 @@ import com.github.owlcs.ontapi.jena.model.*;
 import com.github.sszuev.ontdot.api.ClassPropertyMap;
 import com.github.sszuev.ontdot.api.DOTOptions;
 import com.github.sszuev.ontdot.api.LiteralRenderer;
+import com.github.sszuev.ontdot.api.RenderListener;
+import com.github.sszuev.ontdot.utils.EntityRanking;
+import org.apache.jena.graph.Node;
 import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.shared.PrefixMapping;
 
 import java.io.Writer;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Created by @ssz on 15.01.2022.
@@ -24,6 +32,7 @@ public class EntitiesDOTWriter extends GraphDOTWriter {
     private final Set<OntObjectProperty.Named> visitedObjectProperties = new HashSet<>();
     private final Set<OntDataProperty> visitedDataProperties = new HashSet<>();
     private final Set<OntAnnotationProperty> visitedAnnotationProperties = new HashSet<>();
+    private boolean ranked;
 
     public EntitiesDOTWriter(PrefixMapping pm,
                              ClassPropertyMap classProperties,
@@ -34,19 +43,49 @@ public class EntitiesDOTWriter extends GraphDOTWriter {
         this.filterEntities = Objects.requireNonNull(filterEntities);
     }
 
+    public EntitiesDOTWriter(PrefixMapping pm,
+                             ClassPropertyMap classProperties,
+                             LiteralRenderer literalRenderer,
+                             DOTOptions config,
+                             Set<String> filterEntities, GraphSink sink) {
+        super(pm, classProperties, literalRenderer, sink, config);
+        this.filterEntities = Objects.requireNonNull(filterEntities);
+    }
+
     @Override
     public void write(OntModel ont) {
+        prepare(ont);
         reset();
         beginDocument();
 
-        ont.classes().filter(this::filter).forEach(this::renderClass);
-        ont.namedIndividuals().filter(this::filter).forEach(this::renderIndividual);
-        ont.datatypes().filter(this::filter).forEach(this::renderDatatype);
-        ont.objectProperties().filter(this::filter).forEach(this::renderProperty);
-        ont.dataProperties().filter(this::filter).forEach(this::renderProperty);
-        ont.annotationProperties().filter(this::filter).forEach(this::renderProperty);
+        if (config.hasBudget()) {
+            // the linked entities are ranked by the distance from the selected ones instead of recursive rendering
+            List<OntEntity> all = entities(ont);
+            List<OntEntity> seeds = all.stream().filter(this::filter).collect(Collectors.toList());
+            ranked = true;
+            try {
+                renderRanked(EntityRanking.rank(ont, all, seeds));
+            } finally {
+                ranked = false;
+            }
+        } else {
+            render(RenderListener.Kind.CLASS, filtered(ont::classes), this::renderClass);
+            render(RenderListener.Kind.INDIVIDUAL, filtered(ont::namedIndividuals), this::renderIndividual);
+            render(RenderListener.Kind.DATATYPE, filtered(ont::datatypes), this::renderDatatype);
+            render(RenderListener.Kind.OBJECT_PROPERTY, filtered(ont::objectProperties), this::renderProperty);
+            render(RenderListener.Kind.DATA_PROPERTY, filtered(ont::dataProperties), this::renderProperty);
+            render(RenderListener.Kind.ANNOTATION_PROPERTY, filtered(ont::annotationProperties), this::renderProperty);
+        }
+        renderDisjointness(ont);
 
         endDocument();
+        finish();
+    }
+
+    private <X extends OntEntity> Supplier<Stream<X>> filtered(Supplier<Stream<X>> entities) {
+        // the list is traversed twice if there is a listener: to count and to render
+        List<X> res = entities.get().filter(this::filter).collect(Collectors.toList());
+        return res::stream;
     }
 
     protected void reset() {
@@ -60,6 +99,7 @@ public class EntitiesDOTWriter extends GraphDOTWriter {
 
     @Override
     protected void renderClass(OntClass.Named clazz) {
+        clazz = representative(clazz, OntClass.Named.class);
         if (visitedClasses.add(clazz)) {
             super.renderClass(clazz);
         }
@@ -95,6 +135,7 @@ public class EntitiesDOTWriter extends GraphDOTWriter {
 
     @Override
     protected void renderIndividual(OntIndividual.Named individual) {
+        individual = representative(individual, OntIndividual.Named.class);
         if (visitedIndividuals.add(individual)) {
             super.renderIndividual(individual);
         }
@@ -102,7 +143,14 @@ public class EntitiesDOTWriter extends GraphDOTWriter {
 
     @Override
     protected void renderLinkNodes(RDFNode... nodes) {
+        if (ranked) {
+            return;
+        }
         for (RDFNode entity : nodes) {
+            // a single entity may pull in the whole ontology, so the recursion checks the cancellation too
+            if (isCancelled()) {
+                return;
+            }
             if (!entity.isURIResource()) {
                 continue;
             }
@@ -112,6 +160,17 @@ public class EntitiesDOTWriter extends GraphDOTWriter {
         }
     }
 
+    @Override
+    protected boolean isRendered(OntModel ont, Node node) {
+        if (!node.isURI()) {
+            return false;
+        }
+        Resource r = ont.createResource(node.getURI());
+        return visitedClasses.contains(r) || visitedIndividuals.contains(r) || visitedDatatypes.contains(r) ||
+                visitedObjectProperties.contains(r) || visitedDataProperties.contains(r) ||
+                visitedAnnotationProperties.contains(r);
+    }
+
     protected boolean filter(OntEntity e) {
         return filter(e.getURI());
     }
@@ -0,0 +1,306 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntEntity;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import com.github.sszuev.ontdot.api.ClassPropertyMap;
+import com.github.sszuev.ontdot.api.DOTOptions;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.LiteralRenderer;
+import com.github.sszuev.ontdot.api.RenderListener;
+import com.github.sszuev.ontdot.utils.FragmentCache;
+import com.github.sszuev.ontdot.utils.GraphDiff;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.shared.PrefixMapping;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link GraphDOTWriter} that takes the DOT fragments of top-level entities from a persistent {@link FragmentCache}.
+ * The key of a fragment is a hash of
+ * the render configuration (settings, prefixes, helper implementations),
+ * the defining triples of the entity (including its anonymous expressions and reified annotations),
+ * the declarations of all resources it refers to (they determine colors and links),
+ * and, if enabled, the class-properties list.
+ * Cached fragments refer to nodes via placeholders, which are replaced by node ids when the fragment is spliced,
+ * so the output is the same as with the plain {@link GraphDOTWriter}.
+ * Blank nodes are identified by their {@link GraphDiff#canonicalLabels(Graph) canonical labels}.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class FragmentCacheDOTWriter extends GraphDOTWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FragmentCacheDOTWriter.class);
+
+    private static final String VERSION = "1";
+    private static final char PLACEHOLDER = '\u001F';
+    private static final long MB = 1024 * 1024;
+    private static final Set<Node> SYMMETRIC_PREDICATES = Set.of(OWL.equivalentClass.asNode(),
+            OWL.equivalentProperty.asNode(), OWL.sameAs.asNode());
+
+    private final FragmentCache cache;
+    private Map<Node, Node> labels = Map.of();
+    private Map<Node, Integer> capture;
+    private String configHash;
+    private int hits;
+    private int misses;
+
+    public FragmentCacheDOTWriter(PrefixMapping pm,
+                                  ClassPropertyMap cpm,
+                                  LiteralRenderer lr,
+                                  Writer wr,
+                                  DOTOptions conf,
+                                  FragmentCache cache) {
+        super(pm, cpm, lr, wr, conf);
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    /**
+     * Creates a {@link FragmentCache} according to the settings.
+     *
+     * @param conf {@link DOTOptions}
+     * @return {@link FragmentCache} or {@code null} if the cache is not configured
+     */
+    public static FragmentCache createCache(DOTOptions conf) {
+        String dir = conf.getString(DOTSetting.STRING_FRAGMENT_CACHE_DIR);
+        if (dir == null || dir.isEmpty()) {
+            return null;
+        }
+        return new FragmentCache(Paths.get(dir), conf.getInteger(DOTSetting.INT_FRAGMENT_CACHE_SIZE) * MB);
+    }
+
+    @Override
+    public void write(OntModel ont) {
+        long start = System.currentTimeMillis();
+        hits = 0;
+        misses = 0;
+        prepare(ont);
+        labels = GraphDiff.canonicalLabels(ont.getGraph());
+        configHash = configHash();
+        beginDocument();
+
+        Graph graph = ont.getGraph();
+        render(RenderListener.Kind.CLASS, ont::classes,
+                x -> writeFragment(graph, "C", x, () -> renderClass(x)));
+        render(RenderListener.Kind.INDIVIDUAL, ont::namedIndividuals,
+                x -> writeFragment(graph, "I", x, () -> renderIndividual(x)));
+        render(RenderListener.Kind.DATATYPE, ont::datatypes,
+                x -> writeFragment(graph, "D", x, () -> renderDatatype(x)));
+        render(RenderListener.Kind.OBJECT_PROPERTY, ont::objectProperties,
+                x -> writeFragment(graph, "OP", x, () -> renderProperty(x)));
+        render(RenderListener.Kind.DATA_PROPERTY, ont::dataProperties,
+                x -> writeFragment(graph, "DP", x, () -> renderProperty(x)));
+        render(RenderListener.Kind.ANNOTATION_PROPERTY, ont::annotationProperties,
+                x -> writeFragment(graph, "AP", x, () -> renderProperty(x)));
+
+        renderDisjointness(ont);
+
+        endDocument();
+        finish();
+        int evicted = cache.evict();
+        LOGGER.info("Fragments: {} from cache, {} rendered, {} evicted, {} ms",
+                hits, misses, evicted, System.currentTimeMillis() - start);
+    }
+
+    private void writeFragment(Graph graph, String kind, OntEntity entity, Runnable render) {
+        String key = key(graph, kind, entity);
+        FragmentCache.Fragment res = cache.get(key);
+        if (res == null) {
+            misses++;
+            stats().cacheMisses++;
+            capture = new LinkedHashMap<>();
+            beginCapture();
+            try {
+                render.run();
+            } finally {
+                String text = endCapture();
+                res = new FragmentCache.Fragment(text, capture.keySet().stream().map(FragmentCacheDOTWriter::toKey)
+                        .collect(Collectors.toList()));
+                capture = null;
+            }
+            cache.put(key, res);
+        } else {
+            hits++;
+            stats().cacheHits++;
+        }
+        write(splice(res));
+    }
+
+    private String splice(FragmentCache.Fragment fragment) {
+        String text = fragment.text();
+        StringBuilder res = new StringBuilder(text.length());
+        int from = 0;
+        int i;
+        while ((i = text.indexOf(PLACEHOLDER, from)) >= 0) {
+            int j = text.indexOf(PLACEHOLDER, i + 1);
+            res.append(text, from, i);
+            res.append(super.nodeRef(fromKey(fragment.nodes().get(Integer.parseInt(text.substring(i + 1, j))))));
+            from = j + 1;
+        }
+        res.append(text, from, text.length());
+        return res.toString();
+    }
+
+    @Override
+    protected String nodeRef(Node node) {
+        if (capture == null) {
+            return super.nodeRef(node);
+        }
+        Node key = labels.getOrDefault(node, node);
+        int index = capture.computeIfAbsent(key, x -> capture.size());
+        return PLACEHOLDER + String.valueOf(index) + PLACEHOLDER;
+    }
+
+    @Override
+    protected Long id(Node node) {
+        // blank nodes are identified by canonical labels, so that spliced fragments get the same ids
+        return super.id(labels.getOrDefault(node, node));
+    }
+
+    private static String toKey(Node node) {
+        return node.isBlank() ? "_:" + node.getBlankNodeLabel() : "<" + node.getURI() + ">";
+    }
+
+    private static Node fromKey(String key) {
+        if (key.startsWith("_:")) {
+            return NodeFactory.createBlankNode(key.substring(2));
+        }
+        return NodeFactory.createURI(key.substring(1, key.length() - 1));
+    }
+
+    private String configHash() {
+        Map<String, String> res = new TreeMap<>();
+        for (DOTSetting s : DOTSetting.values()) {
+            if (s == DOTSetting.STRING_FRAGMENT_CACHE_DIR || s == DOTSetting.INT_FRAGMENT_CACHE_SIZE) {
+                continue;
+            }
+            Object value = s.type() == Boolean.class ? (Object) config.getBoolean(s) :
+                    s.type() == Integer.class ? config.getInteger(s) : config.getString(s);
+            res.put(s.key(), String.valueOf(value));
+        }
+        res.put("#prefixes", new TreeMap<>(pm.getNsPrefixMap()).toString());
+        res.put("#cpm", classProperties.getClass().getName());
+        res.put("#lr", literalRenderer.getClass().getName());
+        res.put("#version", VERSION);
+        return DigestUtils.sha256Hex(res.toString());
+    }
+
+    /**
+     * Calculates the fragment key.
+     *
+     * @param graph  {@link Graph}
+     * @param kind   {@code String}
+     * @param entity {@link OntEntity}
+     * @return {@code String}, a hex hash
+     */
+    protected String key(Graph graph, String kind, OntEntity entity) {
+        Set<String> triples = new TreeSet<>();
+        Set<Node> refs = new HashSet<>();
+        Node root = entity.asNode();
+        Deque<Node> queue = new ArrayDeque<>();
+        Set<Node> seen = new HashSet<>();
+        queue.add(root);
+        // reified annotations of the entity
+        graph.find(Node.ANY, OWL.annotatedSource.asNode(), root)
+                .filterKeep(t -> t.getSubject().isBlank()).forEachRemaining(t -> queue.add(t.getSubject()));
+        // symmetric relations may be written in either direction
+        graph.find(Node.ANY, Node.ANY, root).filterKeep(t -> SYMMETRIC_PREDICATES.contains(t.getPredicate()))
+                .forEachRemaining(t -> {
+                    triples.add(toString(t));
+                    refs.add(t.getSubject());
+                });
+        while (!queue.isEmpty()) {
+            Node s = queue.removeFirst();
+            if (!seen.add(s)) {
+                continue;
+            }
+            graph.find(s, Node.ANY, Node.ANY).forEachRemaining(t -> {
+                triples.add(toString(t));
+                Node o = t.getObject();
+                if (o.isBlank()) {
+                    queue.add(o);
+                } else if (o.isURI()) {
+                    refs.add(o);
+                }
+                refs.add(t.getPredicate());
+            });
+        }
+        refs.remove(root);
+        for (Node ref : refs) {
+            graph.find(ref, RDF.type.asNode(), Node.ANY).forEachRemaining(t -> triples.add(toString(t)));
+        }
+
+        MessageDigest md = DigestUtils.getSha256Digest();
+        update(md, configHash);
+        update(md, kind);
+        update(md, root.getURI());
+        triples.forEach(x -> update(md, x));
+        if (config.displayClassPropertiesMap() && entity.canAs(OntClass.Named.class)) {
+            // the class-properties list depends on the whole hierarchy
+            List<Property> properties = new ArrayList<>();
+            classProperties.properties(entity.as(OntClass.Named.class)).forEach(properties::add);
+            update(md, "#cpm");
+            for (Property p : properties) {
+                update(md, p.getURI());
+                // the property type determines the row color
+                graph.find(p.asNode(), RDF.type.asNode(), Node.ANY).forEachRemaining(t -> update(md, toString(t)));
+            }
+        }
+        return Hex.encodeHexString(md.digest());
+    }
+
+    private String toString(Triple t) {
+        return toCanonicalString(t.getSubject()) + " " + t.getPredicate() + " " + toCanonicalString(t.getObject());
+    }
+
+    private String toCanonicalString(Node node) {
+        return node.isLiteral() ? node.toString(null, true) : toKey(labels.getOrDefault(node, node));
+    }
+
+    private static void update(MessageDigest md, String s) {
+        md.update(String.valueOf(s).getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    /**
+     * Answers the number of fragments taken from the cache by the last {@link #write(OntModel)} call.
+     *
+     * @return {@code int}
+     */
+    public int hits() {
+        return hits;
+    }
+
+    /**
+     * Answers the number of fragments rendered by the last {@link #write(OntModel)} call.
+     *
+     * @return {@code int}
+     */
+    public int misses() {
+        return misses;
+    }
+}
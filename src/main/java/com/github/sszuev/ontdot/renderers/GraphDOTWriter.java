@@ -2,61 +2,545 @@ package com.github.sszuev.ontdot.renderers;
 
 import com.github.owlcs.ontapi.jena.model.*;
 import com.github.owlcs.ontapi.jena.utils.OntModels;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.sszuev.ontdot.api.ClassPropertyMap;
 import com.github.sszuev.ontdot.api.DOTOptions;
 import com.github.sszuev.ontdot.api.LiteralRenderer;
+import com.github.sszuev.ontdot.api.RenderListener;
+import com.github.sszuev.ontdot.jfr.ClassPropertiesEvent;
+import com.github.sszuev.ontdot.jfr.EntityRenderEvent;
+import com.github.sszuev.ontdot.utils.DisjointnessAxioms;
+import com.github.sszuev.ontdot.utils.EntityRanking;
+import com.github.sszuev.ontdot.utils.EquivalenceGroups;
+import com.github.sszuev.ontdot.utils.HierarchyFolding;
+import com.github.sszuev.ontdot.utils.ModelAnalysisCache;
 import com.github.sszuev.ontdot.utils.ModelUtils;
+import com.github.sszuev.ontdot.utils.TransitiveReduction;
 import org.apache.jena.graph.Node;
 import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.vocabulary.RDFS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Writer;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
+ * Traverses the ontology and writes it as a DOT document.
+ * The traversal emits nodes and edges as {@link GraphSink} calls:
+ * by default the writer is its own sink and writes DOT statements,
+ * otherwise the statements go to the specified sink and no DOT is written.
+ * <p>
  * Created by @ssz on 09.01.2022.
  *
  * @see <a href='https://www.w3.org/TR/owl2-quick-reference/'>A Quick Guide</a>
  * @see <a href='https://www.w3.org/TR/owl2-syntax/'>OWL 2 Web Ontology Language Structural Specification and Functional-Style Syntax (Second Edition)</a>
  */
-public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
+public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter, GraphSink {
     private static final Logger LOGGER = LoggerFactory.getLogger(GraphDOTWriter.class);
+    /**
+     * The number of consecutive entities that do not fit the budget, after which the render stops.
+     */
+    private static final int MAX_REJECTED = 64;
+    private static final Set<String> QUOTED_ATTRIBUTES = Set.of("color", "fillcolor", "label", "URL");
 
     protected final PrefixMapping pm;
     protected final DOTOptions config;
     protected final ClassPropertyMap classProperties;
     protected final LiteralRenderer literalRenderer;
+    protected final GraphSink sink;
 
     private final AtomicLong nodeCounter = new AtomicLong();
     private final Map<Node, Long> nodeIds = new HashMap<>();
+    private ModelAnalysisCache analysis;
+    private HierarchyFolding folding;
+    private TransitiveReduction reduction;
+    private EquivalenceGroups classGroups;
+    private EquivalenceGroups individualGroups;
+    private Map<String, String> shortForms;
+    private RenderStats stats = new RenderStats();
+    private RenderListener listener;
+    private long startWall;
+    private long startCpu;
+    private long analysisWall;
+    private long startChars;
+    private long startHits;
+    private long startMisses;
+    private Set<Node> fragmentNodes;
+    private Set<Node> fragmentDeclarations;
+    private List<Consumer<GraphSink>> fragmentStatements;
+    private final Deque<List<List<Cell>>> tables = new ArrayDeque<>();
+    private String tableNode;
+    private Map<String, String> tableAttributes;
 
     public GraphDOTWriter(PrefixMapping pm, ClassPropertyMap cpm, LiteralRenderer lr, Writer wr, DOTOptions options) {
+        this(pm, cpm, lr, wr, null, options);
+    }
+
+    /**
+     * Creates a writer that passes nodes and edges to the sink instead of writing DOT.
+     *
+     * @param pm      {@link PrefixMapping}
+     * @param cpm     {@link ClassPropertyMap}
+     * @param lr      {@link LiteralRenderer}
+     * @param sink    {@link GraphSink}
+     * @param options {@link DOTOptions}
+     */
+    public GraphDOTWriter(PrefixMapping pm, ClassPropertyMap cpm, LiteralRenderer lr, GraphSink sink, DOTOptions options) {
+        this(pm, cpm, lr, Writer.nullWriter(), Objects.requireNonNull(sink), options);
+    }
+
+    private GraphDOTWriter(PrefixMapping pm,
+                           ClassPropertyMap cpm,
+                           LiteralRenderer lr,
+                           Writer wr,
+                           GraphSink sink,
+                           DOTOptions options) {
         super(wr);
         this.pm = Objects.requireNonNull(pm);
         this.classProperties = Objects.requireNonNull(cpm);
         this.literalRenderer = Objects.requireNonNull(lr);
         this.config = Objects.requireNonNull(options);
+        this.sink = sink == null ? this : sink;
     }
 
     @Override
     public void write(OntModel ont) {
+        prepare(ont);
         beginDocument();
 
-        ont.classes().forEach(this::renderClass);
-        ont.namedIndividuals().forEach(this::renderIndividual);
-        ont.datatypes().forEach(this::renderDatatype);
-        ont.objectProperties().forEach(this::renderProperty);
-        ont.dataProperties().forEach(this::renderProperty);
-        ont.annotationProperties().forEach(this::renderProperty);
+        if (config.hasBudget()) {
+            renderRanked(EntityRanking.rank(ont, entities(ont), List.of()));
+        } else {
+            render(RenderListener.Kind.CLASS, ont::classes, this::renderClass);
+            render(RenderListener.Kind.INDIVIDUAL, ont::namedIndividuals, this::renderIndividual);
+            render(RenderListener.Kind.DATATYPE, ont::datatypes, this::renderDatatype);
+            render(RenderListener.Kind.OBJECT_PROPERTY, ont::objectProperties, this::renderProperty);
+            render(RenderListener.Kind.DATA_PROPERTY, ont::dataProperties, this::renderProperty);
+            render(RenderListener.Kind.ANNOTATION_PROPERTY, ont::annotationProperties, this::renderProperty);
+        }
+        renderDisjointness(ont);
 
         endDocument();
+        finish();
+    }
+
+    @Override
+    public void setListener(RenderListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Renders top-level entities of the same kind one by one,
+     * reporting the progress and checking the cancellation between entities.
+     * Does nothing if the render is already cancelled.
+     * The total number of entities is calculated only if there is a listener.
+     *
+     * @param kind     {@link RenderListener.Kind}
+     * @param entities a {@code Supplier} of entities {@code Stream}
+     * @param render   a {@code Consumer} to render a single entity
+     * @param <X>      subtype of {@link OntEntity}
+     */
+    protected <X extends OntEntity> void render(RenderListener.Kind kind,
+                                                Supplier<Stream<X>> entities,
+                                                Consumer<? super X> render) {
+        if (stats.cancelled) {
+            return;
+        }
+        RenderListener listener = this.listener;
+        long total = listener == null ? -1 : entities.get().count();
+        long processed = 0;
+        try (Stream<X> stream = entities.get()) {
+            Iterator<X> it = stream.iterator();
+            while (it.hasNext()) {
+                if (isCancelled()) {
+                    LOGGER.debug("The render is cancelled: {} {} of {}", processed, kind, total);
+                    return;
+                }
+                render.accept(it.next());
+                if (listener != null) {
+                    listener.onProgress(kind, ++processed, total);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the render is cancelled by the listener or by the interruption of the current thread;
+     * once cancelled, the render remains cancelled until the next {@link #write(OntModel)} call.
+     *
+     * @return {@code boolean}
+     */
+    protected boolean isCancelled() {
+        if (!stats.cancelled) {
+            RenderListener listener = this.listener;
+            stats.cancelled = Thread.currentThread().isInterrupted() || (listener != null && listener.isCancelled());
+        }
+        return stats.cancelled;
+    }
+
+    /**
+     * Lists all top-level entities in the render order.
+     *
+     * @param ont {@link OntModel}
+     * @return a {@code List} of {@link OntEntity}s
+     */
+    protected static List<OntEntity> entities(OntModel ont) {
+        return Stream.of(ont.classes(), ont.namedIndividuals(), ont.datatypes(),
+                        ont.objectProperties(), ont.dataProperties(), ont.annotationProperties())
+                .flatMap(x -> x).collect(Collectors.toList());
+    }
+
+    /**
+     * Renders the ranked entities while the output fits the {@link DOTOptions#maxNodes() nodes}
+     * and {@link DOTOptions#maxEdges() edges} budget.
+     * Each entity is rendered into a buffer (see {@link #deferFragment(Runnable, Set, Set)})
+     * and written only if the whole fragment fits,
+     * otherwise it is omitted; the render stops when the budget is exhausted
+     * or too many entities in a row do not fit, so the time is bounded as well.
+     * Nodes that are referenced, but not rendered, are written as dashed stubs
+     * (instead of implicit Graphviz nodes, they are counted in the budget),
+     * and the number of omitted entities is reported by a summary node.
+     *
+     * @param ranked a {@code List} of {@link OntEntity}s, the most important first
+     * @see EntityRanking
+     */
+    protected void renderRanked(List<? extends OntEntity> ranked) {
+        // one node is reserved for the summary
+        long maxNodes = config.maxNodes() == 0 ? Long.MAX_VALUE : config.maxNodes() - 1;
+        long maxEdges = config.maxEdges() == 0 ? Long.MAX_VALUE : config.maxEdges();
+        RenderListener listener = this.listener;
+        Map<RenderListener.Kind, Long> totals = new EnumMap<>(RenderListener.Kind.class);
+        Map<RenderListener.Kind, Long> processed = new EnumMap<>(RenderListener.Kind.class);
+        if (listener != null) {
+            ranked.forEach(x -> totals.merge(kind(x), 1L, Long::sum));
+        }
+        Set<Node> nodes = new LinkedHashSet<>();
+        Set<Node> declarations = new HashSet<>();
+        long edges = 0;
+        long omitted = 0;
+        int rejected = 0;
+        Set<Node> entityNodes = new HashSet<>();
+        Set<Node> entityDeclarations = new HashSet<>();
+        try {
+            Iterator<? extends OntEntity> it = ranked.iterator();
+            while (it.hasNext() && rejected < MAX_REJECTED && nodes.size() < maxNodes && edges < maxEdges) {
+                if (isCancelled()) {
+                    LOGGER.debug("The render is cancelled");
+                    return;
+                }
+                OntEntity entity = it.next();
+                entityNodes.clear();
+                entityDeclarations.clear();
+                long[] mark = stats.mark();
+                Runnable fragment = deferFragment(() -> renderEntity(entity), entityNodes, entityDeclarations);
+                long fragmentEdges = stats.edges - mark[2];
+                long newNodes = entityNodes.stream().filter(x -> !nodes.contains(x)).count();
+                if (nodes.size() + newNodes > maxNodes || edges + fragmentEdges > maxEdges) {
+                    stats.rollback(mark);
+                    omitted++;
+                    rejected++;
+                    continue;
+                }
+                rejected = 0;
+                fragment.run();
+                nodes.addAll(entityNodes);
+                declarations.addAll(entityDeclarations);
+                edges += fragmentEdges;
+                if (listener != null) {
+                    RenderListener.Kind kind = kind(entity);
+                    listener.onProgress(kind, processed.merge(kind, 1L, Long::sum), totals.get(kind));
+                }
+            }
+            while (it.hasNext()) {
+                it.next();
+                omitted++;
+            }
+        } finally {
+            nodes.stream().filter(x -> !declarations.contains(x)).forEach(this::writeStub);
+        }
+        if (omitted != 0) {
+            writeOmitted(omitted, ranked.size());
+        }
+    }
+
+    /**
+     * Renders a DOT fragment into a buffer instead of the output,
+     * collecting the nodes the fragment refers to and the nodes it declares (i.e. draws as tables).
+     * Only for the DOT output, i.e. if the writer is its own {@link GraphSink}.
+     *
+     * @param render       a {@code Runnable} to render the fragment
+     * @param nodes        a {@code Set} to collect referenced {@link Node}s
+     * @param declarations a {@code Set} to collect declared {@link Node}s
+     * @return {@code String}, the fragment
+     * @see #deferFragment(Runnable, Set, Set)
+     */
+    protected String captureFragment(Runnable render, Set<Node> nodes, Set<Node> declarations) {
+        if (sink != this) {
+            throw new IllegalStateException("Not a DOT output");
+        }
+        beginCapture();
+        String res;
+        try {
+            collectFragment(render, nodes, declarations);
+        } finally {
+            res = endCapture();
+        }
+        return res;
+    }
+
+    /**
+     * Renders a fragment, but holds the statements back, for any {@link GraphSink},
+     * collecting the nodes the fragment refers to and the nodes it declares.
+     *
+     * @param render       a {@code Runnable} to render the fragment
+     * @param nodes        a {@code Set} to collect referenced {@link Node}s
+     * @param declarations a {@code Set} to collect declared {@link Node}s
+     * @return a {@code Runnable} to output the fragment
+     */
+    protected Runnable deferFragment(Runnable render, Set<Node> nodes, Set<Node> declarations) {
+        if (sink == this) {
+            String res = captureFragment(render, nodes, declarations);
+            return () -> write(res);
+        }
+        List<Consumer<GraphSink>> res = new ArrayList<>();
+        fragmentStatements = res;
+        try {
+            collectFragment(render, nodes, declarations);
+        } finally {
+            fragmentStatements = null;
+        }
+        return () -> res.forEach(x -> x.accept(sink));
+    }
+
+    private void collectFragment(Runnable render, Set<Node> nodes, Set<Node> declarations) {
+        fragmentNodes = nodes;
+        fragmentDeclarations = declarations;
+        try {
+            render.run();
+        } finally {
+            fragmentNodes = null;
+            fragmentDeclarations = null;
+        }
+    }
+
+    /**
+     * Renders disjointness and difference axioms, if {@link DOTOptions#displayDisjointness() enabled}:
+     * a pairwise axiom is drawn as a single undirected edge,
+     * an n-ary axiom is drawn as a hyper-node connected to its members,
+     * so the output grows linearly with the axiom size.
+     * Only members that are rendered are connected.
+     * Does nothing if the render is cancelled or limited by the {@link DOTOptions#hasBudget() budget}.
+     *
+     * @param ont {@link OntModel}
+     * @see DisjointnessAxioms
+     */
+    protected void renderDisjointness(OntModel ont) {
+        if (!config.displayDisjointness() || config.hasBudget() || stats.cancelled) {
+            return;
+        }
+        Set<List<Node>> pairs = new HashSet<>();
+        for (DisjointnessAxioms.Axiom axiom : disjointnessAxioms(ont)) {
+            String color = axiom.kind() == DisjointnessAxioms.Kind.CLASSES ? config.classColor() :
+                    axiom.kind() == DisjointnessAxioms.Kind.PROPERTIES ? config.objectPropertyColor() :
+                            config.individualColor();
+            Set<Node> members = new LinkedHashSet<>();
+            for (Node m : axiom.members()) {
+                RDFNode target = linkTarget(ont.asRDFNode(m));
+                if (isRendered(ont, target.asNode())) {
+                    members.add(target.asNode());
+                }
+            }
+            if (axiom.isPairwise()) {
+                if (members.size() == 2) {
+                    List<Node> pair = new ArrayList<>(members);
+                    if (pairs.add(pair) && pairs.add(List.of(pair.get(1), pair.get(0)))) {
+                        writeDisjointLink(ont.asRDFNode(pair.get(0)), ont.asRDFNode(pair.get(1)), color);
+                    }
+                }
+                continue;
+            }
+            RDFNode owner = axiom.owner() == null ? null : linkTarget(ont.asRDFNode(axiom.owner()));
+            if (owner != null && !isRendered(ont, owner.asNode())) {
+                continue;
+            }
+            if (members.size() < (owner == null ? 2 : 1)) {
+                continue;
+            }
+            writeHyperNode(ont.asRDFNode(axiom.node()), axiom.name(), owner,
+                    members.stream().map(ont::asRDFNode).collect(Collectors.toList()), color);
+        }
+    }
+
+    /**
+     * Lists the disjointness and difference axioms to render.
+     *
+     * @param ont {@link OntModel}
+     * @return a {@code Collection} of {@link DisjointnessAxioms.Axiom}s
+     */
+    protected Collection<DisjointnessAxioms.Axiom> disjointnessAxioms(OntModel ont) {
+        return DisjointnessAxioms.collect(ont.getGraph());
+    }
+
+    /**
+     * Answers {@code true} if the entity node is present in the output.
+     *
+     * @param ont  {@link OntModel}
+     * @param node {@link Node}
+     * @return {@code boolean}
+     */
+    protected boolean isRendered(OntModel ont, Node node) {
+        if (!node.isURI()) {
+            return false;
+        }
+        OntEntity e = ont.getOntEntity(OntEntity.class, node.getURI());
+        return e != null && (!e.isBuiltIn() || ModelUtils.isDeclared(e));
+    }
+
+    protected void writeDisjointLink(RDFNode left, RDFNode right, String color) {
+        writeLink(left, right, attributes("dir", "both", "arrowhead", "tee", "arrowtail", "tee",
+                "style", "dashed", "color", color));
+    }
+
+    protected void writeHyperNode(RDFNode axiom, String header, RDFNode owner, List<RDFNode> members, String color) {
+        stats.expressions++;
+        emitNode(nodeRef(axiom.asNode()), label(header),
+                attributes("shape", "box", "style", "rounded,dashed", "color", color, "label", header));
+        if (owner != null) {
+            writeLink(owner, axiom, attributes("style", "dashed", "color", color));
+        }
+        for (RDFNode m : members) {
+            writeLink(axiom, m, attributes("dir", "none", "style", "dashed", "color", color));
+        }
+    }
+
+    private static RenderListener.Kind kind(OntEntity e) {
+        if (e.canAs(OntClass.Named.class)) {
+            return RenderListener.Kind.CLASS;
+        }
+        if (e.canAs(OntIndividual.Named.class)) {
+            return RenderListener.Kind.INDIVIDUAL;
+        }
+        if (e.canAs(OntDataRange.Named.class)) {
+            return RenderListener.Kind.DATATYPE;
+        }
+        if (e.canAs(OntObjectProperty.Named.class)) {
+            return RenderListener.Kind.OBJECT_PROPERTY;
+        }
+        if (e.canAs(OntDataProperty.class)) {
+            return RenderListener.Kind.DATA_PROPERTY;
+        }
+        return RenderListener.Kind.ANNOTATION_PROPERTY;
+    }
+
+    /**
+     * Writes a placeholder for the node that is referenced, but not rendered.
+     *
+     * @param node {@link Node}
+     */
+    protected void writeStub(Node node) {
+        writeStub(node, null);
+    }
+
+    /**
+     * Writes a placeholder for the node that is referenced, but not rendered,
+     * with a hyperlink to the document where the node is rendered.
+     *
+     * @param node {@link Node}
+     * @param url  {@code String} or {@code null}
+     */
+    protected void writeStub(Node node, String url) {
+        writeNewLine();
+        String label = node.isURI() ? uri(node) : "";
+        Map<String, String> attributes = attributes("style", "dashed", "shape", "box", "label", label);
+        if (url != null) {
+            attributes.put("URL", url);
+        }
+        emitNode(nodeRef(node), label(label), attributes);
+    }
+
+    /**
+     * Writes the summary node about omitted entities.
+     *
+     * @param omitted {@code long}, the number of omitted entities
+     * @param total   {@code long}, the total number of entities
+     */
+    protected void writeOmitted(long omitted, long total) {
+        writeNewLine();
+        String label = String.format(Locale.ENGLISH, "%d of %d entities omitted (maxNodes=%d, maxEdges=%d)",
+                omitted, total, config.maxNodes(), config.maxEdges());
+        emitNode("omitted", label(label),
+                attributes("shape", "note", "style", "filled", "fillcolor", "#EEEEEE", "label", label));
+    }
+
+    @Override
+    public RenderStats stats() {
+        return stats;
+    }
+
+    /**
+     * Prepares the writer to render the specified model.
+     *
+     * @param ont {@link OntModel}
+     */
+    protected void prepare(OntModel ont) {
+        stats = new RenderStats();
+        startWall = System.nanoTime();
+        startCpu = RenderStats.cpuTime();
+        analysisWall = 0;
+        startChars = written();
+        if (config.useModelCache()) {
+            analysis = ModelAnalysisCache.get(ont);
+            shortForms = analysis.shortForms(pm);
+            startHits = analysis.hits();
+            startMisses = analysis.misses();
+        } else {
+            analysis = null;
+            shortForms = null;
+        }
+        folding = config.foldThreshold() == 0 ? null : HierarchyFolding.compute(ont, config.foldThreshold(),
+                config.foldExpand().stream().map(pm::expandPrefix).collect(Collectors.toList()));
+        reduction = config.useTransitiveReduction() ? TransitiveReduction.compute(ont.getGraph()) : null;
+        if (config.collapseEquivalents()) {
+            classGroups = EquivalenceGroups.compute(ont.getGraph(), OWL.equivalentClass.asNode(),
+                    ont.classes().map(OntEntity::asNode).collect(Collectors.toSet()));
+            individualGroups = EquivalenceGroups.compute(ont.getGraph(), OWL.sameAs.asNode(),
+                    ont.namedIndividuals().map(OntEntity::asNode).collect(Collectors.toSet()));
+        } else {
+            classGroups = null;
+            individualGroups = null;
+        }
+    }
+
+    /**
+     * Completes the render: flushes the output and fills the {@link #stats() statistics}.
+     */
+    protected void finish() {
+        flush();
+        long wall = System.nanoTime() - startWall;
+        long cpu = startCpu < 0 ? -1 : RenderStats.cpuTime() - startCpu;
+        // the phases are interleaved, and reading the thread CPU time per entity is too expensive,
+        // so the CPU time is measured once per render and divided in proportion to the wall time
+        long analysisCpu = cpu <= 0 || wall <= 0 ? cpu : (long) ((double) cpu * analysisWall / wall);
+        stats.analysis(analysisWall, analysisCpu);
+        stats.emission(wall - analysisWall, cpu < 0 ? -1 : cpu - analysisCpu);
+        stats.chars = written() - startChars;
+        if (analysis != null) {
+            stats.cacheHits += analysis.hits() - startHits;
+            stats.cacheMisses += analysis.misses() - startMisses;
+        }
+        if (listener != null) {
+            listener.onFinish(stats);
+        }
     }
 
     protected void renderEntity(OntEntity v) {
@@ -76,40 +560,191 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
     }
 
     protected void renderClass(OntClass.Named clazz) {
+        if (isHidden(clazz) || !isRepresentative(clazz, classGroups)) {
+            return;
+        }
+        EntityRenderEvent event = beginEntityEvent();
         writeClass(clazz);
-        clazz.superClasses().forEach(ce -> {
-            renderCE(ce);
-            writeSubClassOfLink(clazz, ce);
-        });
-        clazz.equivalentClasses().forEach(ce -> {
-            renderCE(ce);
-            writeEquivalentClassLinks(clazz, ce);
-        });
+        // the links of all equivalent classes start from the merged node
+        Set<Node> superClasses = new HashSet<>();
+        Set<Node> equivalentClasses = new HashSet<>();
+        for (OntClass.Named member : members(clazz, classGroups, OntClass.Named.class)) {
+            member.superClasses()
+                    .filter(ce -> !isRedundant(member, RDFS.subClassOf, ce) && isNewTarget(superClasses, clazz, ce))
+                    .forEach(ce -> {
+                        renderCE(ce);
+                        writeSubClassOfLink(clazz, ce);
+                    });
+            member.equivalentClasses().filter(ce -> isNewTarget(equivalentClasses, clazz, ce)).forEach(ce -> {
+                renderCE(ce);
+                writeEquivalentClassLinks(clazz, ce);
+            });
+        }
+        commitEntityEvent(event, clazz, "Class");
     }
 
     protected void renderDatatype(OntDataRange.Named datatype) {
+        EntityRenderEvent event = beginEntityEvent();
         writeDatatype(datatype);
         // TODO:
+        commitEntityEvent(event, datatype, "Datatype");
     }
 
     protected void renderProperty(OntObjectProperty.Named property) {
+        EntityRenderEvent event = beginEntityEvent();
         writeProperty(property);
-        property.superProperties().forEach(s -> writeSubPropertyOfLinks(property, s));
+        property.superProperties().filter(s -> !isRedundant(property, RDFS.subPropertyOf, s))
+                .forEach(s -> writeSubPropertyOfLinks(property, s));
+        commitEntityEvent(event, property, "ObjectProperty");
     }
 
     protected void renderProperty(OntDataProperty property) {
+        EntityRenderEvent event = beginEntityEvent();
         writeProperty(property);
-        property.superProperties().forEach(s -> writeSubPropertyOfLinks(property, s));
+        property.superProperties().filter(s -> !isRedundant(property, RDFS.subPropertyOf, s))
+                .forEach(s -> writeSubPropertyOfLinks(property, s));
+        commitEntityEvent(event, property, "DataProperty");
     }
 
     protected void renderProperty(OntAnnotationProperty property) {
+        EntityRenderEvent event = beginEntityEvent();
         writeProperty(property);
-        property.superProperties().forEach(s -> writeSubPropertyOfLinks(property, s));
+        property.superProperties().filter(s -> !isRedundant(property, RDFS.subPropertyOf, s))
+                .forEach(s -> writeSubPropertyOfLinks(property, s));
+        commitEntityEvent(event, property, "AnnotationProperty");
     }
 
     protected void renderIndividual(OntIndividual.Named individual) {
+        if (isHidden(individual) || !isRepresentative(individual, individualGroups)) {
+            return;
+        }
+        EntityRenderEvent event = beginEntityEvent();
         writeIndividual(individual);
-        individual.classes().forEach(t -> writeIndividualTypeLinks(individual, t));
+        Set<Node> types = new HashSet<>();
+        for (OntIndividual.Named member : members(individual, individualGroups, OntIndividual.Named.class)) {
+            member.classes().filter(t -> isNewTarget(types, individual, t))
+                    .forEach(t -> writeIndividualTypeLinks(individual, t));
+        }
+        commitEntityEvent(event, individual, "NamedIndividual");
+    }
+
+    /**
+     * Answers {@code true} if the entity is drawn, i.e. it is not a secondary member of an equivalence group.
+     *
+     * @param entity {@link OntEntity}
+     * @param groups {@link EquivalenceGroups} or {@code null}
+     * @return {@code boolean}
+     */
+    private static boolean isRepresentative(OntEntity entity, EquivalenceGroups groups) {
+        return groups == null || groups.representative(entity.asNode()).equals(entity.asNode());
+    }
+
+    /**
+     * Answers the entity that represents the given one in the graph:
+     * the representative of its equivalence group or the entity itself.
+     *
+     * @param entity {@link OntEntity}
+     * @param type   {@code Class}-type of entity
+     * @param <X>    subtype of {@link OntEntity}
+     * @return {@link X}
+     * @see DOTOptions#collapseEquivalents()
+     */
+    protected <X extends OntEntity> X representative(X entity, Class<X> type) {
+        EquivalenceGroups groups = type == OntClass.Named.class ? classGroups :
+                type == OntIndividual.Named.class ? individualGroups : null;
+        if (groups == null) {
+            return entity;
+        }
+        Node res = groups.representative(entity.asNode());
+        return res.equals(entity.asNode()) ? entity : entity.getModel().createResource(res.getURI()).as(type);
+    }
+
+    private static <X extends OntEntity> List<X> members(X entity, EquivalenceGroups groups, Class<X> type) {
+        if (groups == null) {
+            return List.of(entity);
+        }
+        return groups.members(entity.asNode()).stream()
+                .map(x -> x.equals(entity.asNode()) ? entity : entity.getModel().createResource(x.getURI()).as(type))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Answers {@code true} if there is no link yet from the entity to the (redirected) target;
+     * a link to itself (i.e. to an equivalent entity) is not needed.
+     */
+    private boolean isNewTarget(Set<Node> targets, OntEntity from, RDFNode to) {
+        if (!to.isURIResource()) {
+            return true;
+        }
+        Node target = linkTarget(to).asNode();
+        return !target.equals(from.asNode()) && targets.add(target);
+    }
+
+    /**
+     * Answers {@code true} if the entity is hidden inside a folded class.
+     *
+     * @param entity {@link OntEntity}
+     * @return {@code boolean}
+     * @see HierarchyFolding
+     */
+    protected boolean isHidden(OntEntity entity) {
+        return folding != null && folding.isHidden(entity.asNode());
+    }
+
+    /**
+     * Answers {@code true} if the hierarchy edge is implied by other edges and should not be drawn.
+     *
+     * @param subject   {@link Resource}
+     * @param predicate {@link Property}, {@code rdfs:subClassOf} or {@code rdfs:subPropertyOf}
+     * @param object    {@link Resource}
+     * @return {@code boolean}
+     * @see TransitiveReduction
+     */
+    protected boolean isRedundant(Resource subject, Property predicate, Resource object) {
+        return reduction != null && reduction.isRedundant(subject.asNode(), predicate.asNode(), object.asNode());
+    }
+
+    /**
+     * Answers the node to link to:
+     * the representative of the equivalence group and/or the folded ancestor if the node is hidden,
+     * otherwise the node itself.
+     *
+     * @param node {@link RDFNode}
+     * @return {@link RDFNode}
+     */
+    protected RDFNode linkTarget(RDFNode node) {
+        if (!node.isURIResource()) {
+            return node;
+        }
+        Node res = node.asNode();
+        Class<? extends OntEntity> type = null;
+        if (classGroups != null && classGroups.contains(res)) {
+            res = classGroups.representative(res);
+            type = OntClass.Named.class;
+        } else if (individualGroups != null && individualGroups.contains(res)) {
+            res = individualGroups.representative(res);
+            type = OntIndividual.Named.class;
+        }
+        if (folding != null && folding.isHidden(res)) {
+            res = folding.representative(res);
+            type = OntClass.Named.class;
+        }
+        return res.equals(node.asNode()) || type == null ? node : node.getModel().createResource(res.getURI()).as(type);
+    }
+
+    private static EntityRenderEvent beginEntityEvent() {
+        EntityRenderEvent res = new EntityRenderEvent();
+        res.begin();
+        return res;
+    }
+
+    private static void commitEntityEvent(EntityRenderEvent event, OntEntity entity, String type) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.entity = entity.getURI();
+            event.type = type;
+            event.commit();
+        }
     }
 
     protected void renderCE(OntClass clazz) {
@@ -133,44 +768,222 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
         write("\n}\n");
     }
 
-    protected void writeLink(RDFNode from, RDFNode to) {
-        writeNode(from);
-        write("->");
-        writeNode(to);
+    /**
+     * Emits an edge to the {@link #linkTarget(RDFNode) link target}.
+     *
+     * @param from       {@link RDFNode}
+     * @param to         {@link RDFNode}
+     * @param attributes a {@code Map} of DOT attributes
+     */
+    protected void writeLink(RDFNode from, RDFNode to, Map<String, String> attributes) {
+        stats.edges++;
+        String source = nodeRef(from.asNode());
+        String target = nodeRef(linkTarget(to).asNode());
+        emitEdge(source, target, attributes);
     }
 
-    protected void writeNode(RDFNode node) {
-        write("n" + id(node));
+    protected void writeLink(RDFNode from, RDFNode to, String color) {
+        writeLink(from, to, color == null ? Map.of() : attributes("color", color));
+        renderLinkNodes(linkTarget(to));
     }
 
-    protected void writeLink(RDFNode from, RDFNode to, String color) {
-        writeLink(from, to);
-        if (color != null) {
+    /**
+     * Passes the node to the {@link #sink}, or holds it back if the fragment is {@link #deferFragment deferred}.
+     *
+     * @param id         {@code String}
+     * @param rows       a {@code List} of rows
+     * @param attributes a {@code Map} of DOT attributes
+     */
+    protected void emitNode(String id, List<List<Cell>> rows, Map<String, String> attributes) {
+        if (fragmentStatements != null) {
+            fragmentStatements.add(x -> x.node(id, rows, attributes));
+        } else {
+            sink.node(id, rows, attributes);
+        }
+    }
+
+    /**
+     * Passes the edge to the {@link #sink}, or holds it back if the fragment is {@link #deferFragment deferred}.
+     *
+     * @param from       {@code String}
+     * @param to         {@code String}
+     * @param attributes a {@code Map} of DOT attributes
+     */
+    protected void emitEdge(String from, String to, Map<String, String> attributes) {
+        if (fragmentStatements != null) {
+            fragmentStatements.add(x -> x.edge(from, to, attributes));
+        } else {
+            sink.edge(from, to, attributes);
+        }
+    }
+
+    /**
+     * Writes the node as a DOT statement.
+     */
+    @Override
+    public void node(String id, List<List<Cell>> rows, Map<String, String> attributes) {
+        write(id);
+        beginLinkDetails();
+        writeAttributes(attributes);
+        if (!attributes.containsKey("label")) {
+            if (!attributes.isEmpty()) {
+                writeComma();
+            }
+            beginDetailsLabel();
+            writeNewLine();
+            writeTable(rows, 0);
+            endDetailsLabel();
+            writeNewLine();
+        }
+        endLinkDetails();
+        writeSemicolon();
+    }
+
+    /**
+     * Writes the edge as a DOT statement.
+     */
+    @Override
+    public void edge(String from, String to, Map<String, String> attributes) {
+        write(from);
+        write("->");
+        write(to);
+        if (!attributes.isEmpty()) {
             beginLinkDetails();
-            write("color=");
-            writeDoubleQuotedText(color);
+            writeAttributes(attributes);
             endLinkDetails();
         }
         writeSemicolon();
-        renderLinkNodes(to);
+    }
+
+    private void writeAttributes(Map<String, String> attributes) {
+        boolean first = true;
+        for (Map.Entry<String, String> e : attributes.entrySet()) {
+            if (!first) {
+                writeComma();
+            }
+            first = false;
+            write(e.getKey());
+            write("=");
+            if (QUOTED_ATTRIBUTES.contains(e.getKey()) || !e.getValue().chars().allMatch(Character::isLetter)) {
+                writeDoubleQuotedText(e.getValue());
+            } else {
+                write(e.getValue());
+            }
+        }
+    }
+
+    private void writeTable(List<List<Cell>> rows, int tab) {
+        beginTable(tab);
+        for (List<Cell> row : rows) {
+            if (row.size() == 1 && row.get(0).isHeader()) {
+                Cell header = row.get(0);
+                writeTableHeader(tab + 1, header.html(), header.color(), header.span());
+                continue;
+            }
+            beginTag("tr", tab + 1);
+            for (Cell cell : row) {
+                if (cell.table() != null) {
+                    beginTag("td", tab + 2);
+                    writeTable(cell.table(), tab + 3);
+                    endTag("td", tab + 2);
+                } else {
+                    writeTextCell(cell.html(), tab + 2, cell.color());
+                }
+            }
+            endTag("tr", tab + 1);
+        }
+        endTable(tab);
+    }
+
+    private static Map<String, String> attributes(String... keyValues) {
+        Map<String, String> res = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            res.put(keyValues[i], keyValues[i + 1]);
+        }
+        return res;
+    }
+
+    /**
+     * Makes the rows of a node with a plain (not HTML-like) label.
+     */
+    private static List<List<Cell>> label(String label) {
+        String html = label.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+        return List.of(List.of(Cell.of(html, null)));
+    }
+
+    /**
+     * Starts a new table of the node label, or a table nested into a cell of the current row.
+     */
+    protected void beginRows() {
+        tables.push(new ArrayList<>());
+    }
+
+    /**
+     * Completes the current table.
+     *
+     * @return a {@code List} of rows
+     */
+    protected List<List<Cell>> endRows() {
+        return tables.pop();
+    }
+
+    /**
+     * Completes the current table and adds it as a cell to the row of the enclosing table.
+     */
+    protected void endNestedRows() {
+        List<List<Cell>> res = endRows();
+        addCell(Cell.nested(res));
+    }
+
+    /**
+     * Starts a new row of the current table.
+     */
+    protected void addRow() {
+        stats.rows++;
+        List<List<Cell>> table = Objects.requireNonNull(tables.peek());
+        table.add(new ArrayList<>());
+    }
+
+    /**
+     * Adds a cell to the last row of the current table.
+     *
+     * @param cell {@link Cell}
+     */
+    protected void addCell(Cell cell) {
+        List<List<Cell>> table = Objects.requireNonNull(tables.peek());
+        table.get(table.size() - 1).add(cell);
+    }
+
+    protected void addSingleCellRow(String txt, String backgroundColor) {
+        addRow();
+        addCell(Cell.of(txt, backgroundColor));
+    }
+
+    protected void addHeaderRow(String header, String backgroundColor, int colSpan) {
+        List<List<Cell>> table = Objects.requireNonNull(tables.peek());
+        table.add(List.of(Cell.header(header, backgroundColor, colSpan)));
     }
 
     protected void writeClass(OntClass.Named clazz) {
         beginEntityTable(clazz, config.classColor());
 
-        beginTag("tr", 1);
-        writeTextCell(uri(clazz), 2);
-        endTag("tr", 1);
+        addSingleCellRow(uri(clazz), null);
+        writeMemberRows(clazz, classGroups, "&#8801;");
 
+        if (folding != null && folding.isFolded(clazz.asNode())) {
+            Node node = clazz.asNode();
+            addSingleCellRow(String.format(Locale.ENGLISH, "[+] %d subclasses, %d descendants, %d individuals",
+                    folding.subclasses(node), folding.descendants(node), folding.individuals(node)), null);
+        }
         if (config.displayClassPropertiesMap()) {
-            List<Property> properties = classProperties.properties(clazz).collect(Collectors.toList());
+            List<Property> properties = classProperties(clazz);
             properties.stream().filter(x -> x.canAs(OntObjectProperty.Named.class))
-                    .forEach(p -> writeSingleCellRow(uri(p), 1, config.objectPropertyColor()));
+                    .forEach(p -> addSingleCellRow(uri(p), config.objectPropertyColor()));
             properties.stream().filter(x -> x.canAs(OntDataProperty.class))
-                    .forEach(p -> writeSingleCellRow(uri(p), 1, config.dataPropertyColor()));
+                    .forEach(p -> addSingleCellRow(uri(p), config.dataPropertyColor()));
             if (!config.displayEntityAnnotations()) {
                 properties.stream().filter(x -> x.canAs(OntAnnotationProperty.class))
-                        .forEach(p -> writeSingleCellRow(uri(p), 1, config.annotationPropertyColor()));
+                        .forEach(p -> addSingleCellRow(uri(p), config.annotationPropertyColor()));
             }
         }
         if (config.displayEntityAnnotations()) {
@@ -179,6 +992,29 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
         endEntityTable();
     }
 
+    /**
+     * Lists the properties of the class, the wall time is recorded as the analysis phase.
+     *
+     * @param clazz {@link OntClass.Named}
+     * @return a {@code List} of {@link Property properties}
+     */
+    protected List<Property> classProperties(OntClass.Named clazz) {
+        ClassPropertiesEvent event = new ClassPropertiesEvent();
+        event.begin();
+        long wall = System.nanoTime();
+        List<Property> res = (analysis == null ? classProperties.properties(clazz) :
+                analysis.properties(classProperties, clazz)).collect(Collectors.toList());
+        analysisWall += System.nanoTime() - wall;
+        event.end();
+        if (event.shouldCommit()) {
+            event.clazz = clazz.getURI();
+            event.properties = res.size();
+            event.cached = analysis != null;
+            event.commit();
+        }
+        return res;
+    }
+
     protected void writeDatatype(OntDataRange.Named datatype) {
         writeEntity(datatype, config.datatypeColor());
     }
@@ -202,9 +1038,8 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
     protected void writeEntity(OntEntity entity, String color) {
         beginEntityTable(entity, color);
 
-        beginTag("tr", 1);
-        writeTextCell(uri(entity), 2);
-        endTag("tr", 1);
+        addSingleCellRow(uri(entity), null);
+        writeMemberRows(entity, individualGroups, "=");
 
         if (config.displayEntityAnnotations()) {
             writeAnnotationsRow(entity);
@@ -212,23 +1047,38 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
         endEntityTable();
     }
 
+    /**
+     * Writes the other members of the equivalence group, which are merged into the entity node.
+     *
+     * @param entity {@link OntEntity}, the representative
+     * @param groups {@link EquivalenceGroups} or {@code null}
+     * @param sign   {@code String} to prefix members
+     */
+    protected void writeMemberRows(OntEntity entity, EquivalenceGroups groups, String sign) {
+        if (groups == null) {
+            return;
+        }
+        for (Node member : groups.members(entity.asNode())) {
+            if (!member.equals(entity.asNode())) {
+                addSingleCellRow(sign + " " + uri(member), null);
+            }
+        }
+    }
+
     protected void beginEntityTable(OntEntity entity, String color) {
-        writeNode(entity);
-        beginLinkDetails();
-        write("style=filled,fillcolor=");
-        writeDoubleQuotedText(color);
-        writeComma();
-        beginDetailsLabel();
-        writeNewLine();
-        beginTable(0);
+        stats.entities++;
+        if (fragmentDeclarations != null) {
+            fragmentDeclarations.add(entity.asNode());
+        }
+        tableNode = nodeRef(entity.asNode());
+        tableAttributes = attributes("style", "filled", "fillcolor", color);
+        beginRows();
     }
 
     protected void endEntityTable() {
-        endTable(0);
-        endDetailsLabel();
-        writeNewLine();
-        endLinkDetails();
-        writeSemicolon();
+        emitNode(tableNode, endRows(), tableAttributes);
+        tableNode = null;
+        tableAttributes = null;
     }
 
     protected void writeAnnotationsRow(OntEntity entity) {
@@ -236,23 +1086,18 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
         if (annotations.isEmpty()) {
             return;
         }
-        beginTag("tr", 1);
-        beginTag("td", 2);
-        writeAnnotationsTable(annotations, 3);
-        endTag("td", 2);
-        endTag("tr", 1);
+        addRow();
+        beginRows();
+        writeAnnotationsTable(annotations);
+        endNestedRows();
     }
 
-    @SuppressWarnings("SameParameterValue")
-    protected void writeAnnotationsTable(Collection<OntStatement> annotations, int tab) {
-        beginTable(tab);
+    protected void writeAnnotationsTable(Collection<OntStatement> annotations) {
         for (OntStatement a : annotations) {
-            beginTag("tr", tab + 1);
-            writeTextCell(uri(a.getPredicate()), tab + 2, config.annotationPropertyColor());
-            writeNodeCell(a.getObject(), tab + 2);
-            endTag("tr", tab + 1);
+            addRow();
+            addCell(Cell.of(uri(a.getPredicate()), config.annotationPropertyColor()));
+            writeNodeCell(a.getObject());
         }
-        endTable(tab);
     }
 
     protected void writeCE(OntClass ce) {
@@ -260,71 +1105,58 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
         if (color == null) {
             return;
         }
-        writeNode(ce);
-        beginLinkDetails();
-        write("color=");
-        writeDoubleQuotedText(config.classExpressionColor());
-        writeComma();
-        write("style=filled,fillcolor=");
-        writeDoubleQuotedText(color);
-        writeComma();
-        beginDetailsLabel();
-        writeNewLine();
-
-        writeNodeTable(ce, 0);
-
-        endDetailsLabel();
-        writeNewLine();
-        endLinkDetails();
-        writeSemicolon();
+        stats.expressions++;
+        if (fragmentDeclarations != null) {
+            fragmentDeclarations.add(ce.asNode());
+        }
+        String id = nodeRef(ce.asNode());
+        beginRows();
+        writeNodeTable(ce);
+        emitNode(id, endRows(),
+                attributes("color", config.classExpressionColor(), "style", "filled", "fillcolor", color));
     }
 
-    protected void writeNodeTable(RDFNode node, int tab) {
-        if (node.canAs(OntClass.ComponentRestrictionCE.class)) {
-            writeCETable(node.as(OntClass.ComponentRestrictionCE.class), tab);
-        } else if (node.canAs(OntClass.ComponentsCE.class)) {
-            writeCETable(node.as(OntClass.ComponentsCE.class), tab);
-        } else if (node.canAs(OntClass.ComplementOf.class)) {
-            writeCETable(node.as(OntClass.ComplementOf.class), tab);
-        } else {
+    protected void writeNodeTable(RDFNode node) {
+        Class<? extends OntObject> type = expressionType(node);
+        if (type == null) {
             throw new IllegalArgumentException("For node " + node);
         }
+        OntObject ce = node.as(type);
+        if (ce instanceof OntClass.ComponentRestrictionCE) {
+            writeCETable((OntClass.ComponentRestrictionCE<?, ?>) ce);
+        } else if (ce instanceof OntClass.ComponentsCE) {
+            writeCETable((OntClass.ComponentsCE<?>) ce);
+        } else {
+            writeCETable((OntClass.ComplementOf) ce);
+        }
     }
 
-    protected void writeNodeCell(RDFNode node, int tab) {
+    protected void writeNodeCell(RDFNode node) {
         if (node.isLiteral()) {
-            writeLiteralCell(node.asLiteral(), tab);
+            writeLiteralCell(node.asLiteral());
             return;
         }
         if (canWriteTable(node)) {
-            beginTag("td", tab);
-            writeNodeTable(node, tab + 1);
-            endTag("td", tab);
+            beginRows();
+            writeNodeTable(node);
+            endNestedRows();
         } else {
             String color = null;
             if (node.isURIResource()) {
                 color = ColorHelper.entityColor(config, node.as(OntEntity.class));
             }
-            writeTextCell(rdfNodeToString(node), tab, color);
+            addCell(Cell.of(rdfNodeToString(node), color));
         }
     }
 
-    protected void writeLiteralCell(Literal node, int tab) {
-        beginUnclosedTag("td", tab);
-        write(" bgcolor=");
-        writeDoubleQuotedText(config.literalColor());
-        write(">");
-        write(literalRenderer.print(node, config, pm));
-        endTag("td", 0);
+    protected void writeLiteralCell(Literal node) {
+        stats.literals++;
+        addCell(Cell.of(literalRenderer.print(node, config, pm), config.literalColor()));
     }
 
-    protected void writeLiteralCell(int nonNegativeInt, int tab) {
-        beginUnclosedTag("td", tab);
-        write(" bgcolor=");
-        writeDoubleQuotedText(config.literalColor());
-        write(">");
-        write(literalRenderer.printNonNegativeInteger(nonNegativeInt, config, pm));
-        endTag("td", 0);
+    protected void writeLiteralCell(int nonNegativeInt) {
+        stats.literals++;
+        addCell(Cell.of(literalRenderer.printNonNegativeInteger(nonNegativeInt, config, pm), config.literalColor()));
     }
 
     protected boolean canWriteTable(RDFNode node) {
@@ -332,13 +1164,7 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
     }
 
     protected boolean supportedExpression(RDFNode clazz) {
-        if (clazz.canAs(OntClass.ComponentRestrictionCE.class)) {
-            return true;
-        }
-        if (clazz.canAs(OntClass.ComponentsCE.class)) {
-            return true;
-        }
-        if (clazz.canAs(OntClass.ComplementOf.class)) {
+        if (expressionType(clazz) != null) {
             return true;
         }
         //TODO:
@@ -346,73 +1172,75 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
         return false;
     }
 
-    protected void writeCETable(OntClass.ComponentRestrictionCE<?, ?> ce, int tab) {
+    /**
+     * Answers the concrete type of the class expression that is drawn as a table;
+     * if the {@link DOTOptions#useModelCache() model cache} is enabled,
+     * the types are shared by all renders of the model.
+     *
+     * @param node {@link RDFNode}
+     * @return {@code Class} or {@code null} if the node is not a supported class expression
+     * @see ModelUtils#expressionType(RDFNode)
+     */
+    protected Class<? extends OntObject> expressionType(RDFNode node) {
+        if (!node.isResource()) {
+            return null;
+        }
+        return analysis == null ? ModelUtils.expressionType(node) : analysis.expressionType(node);
+    }
+
+    protected void writeCETable(OntClass.ComponentRestrictionCE<?, ?> ce) {
         String header = getOntHeader(ce);
         OntRealProperty first = ce.getProperty();
         RDFNode second = ce.getValue();
 
-        beginTable(tab);
-
-        writeTableHeader(tab + 1, header, config.classExpressionColor(), ce instanceof OntClass.CardinalityRestrictionCE ? 3 : 2);
+        addHeaderRow(header, config.classExpressionColor(), ce instanceof OntClass.CardinalityRestrictionCE ? 3 : 2);
 
-        beginTag("tr", tab + 1);
+        addRow();
         // first cell (todo: handle anon object property):
-        writeTextCell(rdfNodeToString(first), tab + 2,
-                first.canAs(OntDataProperty.class) ? config.dataPropertyColor() : config.objectPropertyColor());
+        addCell(Cell.of(rdfNodeToString(first),
+                first.canAs(OntDataProperty.class) ? config.dataPropertyColor() : config.objectPropertyColor()));
 
         // second cell
         if (ce instanceof OntClass.CardinalityRestrictionCE) {
             int q = ((OntClass.CardinalityRestrictionCE<?, ?>) ce).getCardinality();
-            writeLiteralCell(q, tab + 2);
+            writeLiteralCell(q);
         }
 
         // last cell:
-        writeNodeCell(second, tab + 2);
-        endTag("tr", tab + 1);
-
-        endTable(tab);
+        writeNodeCell(second);
     }
 
-    protected void writeCETable(OntClass.ComponentsCE<?> ce, int tab) {
+    protected void writeCETable(OntClass.ComponentsCE<?> ce) {
         String header = getOntHeader(ce);
 
-        beginTable(tab);
-
-        writeTableHeader(tab + 1, header, config.classExpressionColor(), -1);
+        addHeaderRow(header, config.classExpressionColor(), -1);
 
         ce.getList().members().map(x -> (RDFNode) x).forEach(node -> {
-            beginTag("tr", tab + 1);
-            writeNodeCell(node, tab + 2);
-            endTag("tr", tab + 1);
+            addRow();
+            writeNodeCell(node);
         });
-
-        endTable(tab);
     }
 
-    protected void writeCETable(OntClass.ComplementOf ce, int tab) {
+    protected void writeCETable(OntClass.ComplementOf ce) {
         String header = getOntHeader(ce);
         OntClass value = ce.getValue();
 
-        beginTable(tab);
-
-        writeTableHeader(tab + 1, header, config.classExpressionColor(), 2);
+        addHeaderRow(header, config.classExpressionColor(), 2);
 
-        beginTag("tr", tab + 1);
-        writeNodeCell(value, tab + 2);
-        endTag("tr", tab + 1);
-
-        endTable(tab);
+        addRow();
+        writeNodeCell(value);
     }
 
     protected String getOntHeader(OntObject obj) {
-        return OntModels.getOntType(obj).getSimpleName();
+        Class<? extends OntObject> type = expressionType(obj);
+        return (type != null ? type : OntModels.getOntType(obj)).getSimpleName();
     }
 
     private String rdfNodeToString(RDFNode node) {
         if (node.isURIResource()) {
             return uri(node.asNode());
         }
-        return "n" + id(node);
+        return nodeRef(node.asNode());
     }
 
     private String uri(Resource uri) {
@@ -423,14 +1251,26 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
     }
 
     private String uri(Node node) {
-        return node.toString(pm, false);
+        if (shortForms == null) {
+            return node.toString(pm, false);
+        }
+        return shortForms.computeIfAbsent(node.getURI(), x -> node.toString(pm, false));
     }
 
-    private Long id(RDFNode node) {
-        return id(node.asNode());
+    /**
+     * Answers the DOT id of the node.
+     *
+     * @param node {@link Node}
+     * @return {@code String}
+     */
+    protected String nodeRef(Node node) {
+        if (fragmentNodes != null) {
+            fragmentNodes.add(node);
+        }
+        return "n" + id(node);
     }
 
-    private Long id(Node node) {
+    protected Long id(Node node) {
         return nodeIds.computeIfAbsent(node, x -> nodeCounter.incrementAndGet());
     }
 
@@ -444,15 +1284,8 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
     }
 
     protected void writeEquivalentClassLinks(Resource left, Resource right) {
-        writeLink(left, right);
-        beginLinkDetails();
-        write("dir=both");
-        writeComma();
-        write("color=");
-        writeDoubleQuotedText(config.classColor());
-        endLinkDetails();
-        writeSemicolon();
-        renderLinkNodes(right);
+        writeLink(left, right, attributes("dir", "both", "color", config.classColor()));
+        renderLinkNodes(linkTarget(right));
     }
 
     protected void writeIndividualTypeLinks(OntIndividual i, OntClass t) {
@@ -460,15 +1293,18 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
     }
 
     protected void writeCELinks(RDFNode from, OntClass clazz) {
-        if (clazz.canAs(OntClass.ComponentRestrictionCE.class)) {
-            writeCELinks(from, clazz.as(OntClass.ComponentRestrictionCE.class));
-        } else if (clazz.canAs(OntClass.ComponentsCE.class)) {
-            writeCELinks(from, clazz.as(OntClass.ComponentsCE.class));
-        } else if (clazz.canAs(OntClass.ComplementOf.class)) {
-            writeCELinks(from, clazz.as(OntClass.ComplementOf.class));
-        } else {
+        Class<? extends OntObject> type = expressionType(clazz);
+        if (type == null) {
             throw new IllegalStateException("For class=" + clazz);
         }
+        OntObject ce = clazz.as(type);
+        if (ce instanceof OntClass.ComponentRestrictionCE) {
+            writeCELinks(from, (OntClass.ComponentRestrictionCE<?, ?>) ce);
+        } else if (ce instanceof OntClass.ComponentsCE) {
+            writeCELinks(from, (OntClass.ComponentsCE<?>) ce);
+        } else {
+            writeCELinks(from, (OntClass.ComplementOf) ce);
+        }
     }
 
     protected void writeCELinks(RDFNode from, OntClass.ComponentRestrictionCE<?, ?> ce) {
@@ -503,7 +1339,7 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
     }
 
     protected void renderBuiltinEntity(OntEntity e) {
-        if (!e.isBuiltIn() || ModelUtils.isDeclared(e)) {
+        if (!e.isBuiltIn() || (analysis == null ? ModelUtils.isDeclared(e) : analysis.isDeclared(e))) {
             return;
         }
         renderEntity(e);
@@ -526,10 +1362,10 @@ public class GraphDOTWriter extends BaseDOTRenderer implements DOTWriter {
             from = ce;
         }
         String color = null;
-        if (ce.canAs(OntClass.OneOf.class)) {
+        if (ce instanceof OntClass.OneOf) {
             color = config.individualColor();
         }
-        if (color == null && ce.canAs(OntClass.UnionOf.class) || ce.canAs(OntClass.IntersectionOf.class)) {
+        if (color == null && ce instanceof OntClass.UnionOf || ce instanceof OntClass.IntersectionOf) {
             color = config.classColor();
         }
         List<RDFNode> members = ce.getList().members().collect(Collectors.toList());
@@ -0,0 +1,45 @@
+package com.github.sszuev.ontdot.renderers;
+
+import java.util.Locale;
+
+/**
+ * An output syntax of the rendered graph.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public enum GraphFormat {
+    /**
+     * Graphviz DOT language.
+     */
+    DOT("dot"),
+    /**
+     * GraphML (XML), e.g. for Gephi, Cytoscape or yEd.
+     *
+     * @see GraphMLWriter
+     */
+    GRAPHML("graphml"),
+    /**
+     * JSON graph in the Cytoscape.js elements format, e.g. for web views.
+     *
+     * @see JSONGraphWriter
+     */
+    JSON("json"),
+    ;
+
+    private final String extension;
+
+    GraphFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * @return {@code String}, the file extension
+     */
+    public String extension() {
+        return extension;
+    }
+
+    public static GraphFormat of(String format) {
+        return valueOf(format.toUpperCase(Locale.ENGLISH));
+    }
+}
@@ -0,0 +1,199 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTConfig;
+import com.github.sszuev.ontdot.api.RenderListener;
+import com.github.sszuev.ontdot.layout.SVGRenderer;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A base for writers that emit the graph in a syntax other than DOT.
+ * The traversal (entities, class expressions, links, folding, budget, disjointness, etc.)
+ * is performed by the same {@link GraphDOTWriter} that writes DOT,
+ * but it passes the nodes and edges to this {@link GraphSink} (see {@link DOTWriterFactory#create(DOTConfig, GraphSink)});
+ * so the nodes have the same ids as in DOT, and the memory does not depend on the size of the graph
+ * (except for the set of node ids).
+ * Nodes that are referenced by edges but never declared are written at the end, without attributes.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public abstract class GraphFormatWriter implements DOTWriter, GraphSink {
+    protected final Writer wr;
+    private final DOTWriter traversal;
+    private final Set<String> declared = new HashSet<>();
+    private final Set<String> undeclared = new LinkedHashSet<>();
+    private long chars;
+
+    protected GraphFormatWriter(DOTConfig conf, Writer wr) {
+        this.wr = new CountingWriter(wr);
+        this.traversal = DOTWriterFactory.create(conf, this);
+    }
+
+    @Override
+    public void write(OntModel ont) {
+        declared.clear();
+        undeclared.clear();
+        chars = 0;
+        try {
+            beginGraph();
+            traversal.write(ont);
+            for (String id : undeclared) {
+                writeNode(id, List.of(List.of(Cell.of(id, null))), Map.of());
+            }
+            endGraph();
+            wr.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        traversal.stats().chars = chars;
+    }
+
+    @Override
+    public void node(String id, List<List<Cell>> rows, Map<String, String> attributes) {
+        if (!declared.add(id)) {
+            return;
+        }
+        undeclared.remove(id);
+        try {
+            writeNode(id, rows, attributes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void edge(String from, String to, Map<String, String> attributes) {
+        for (String id : List.of(from, to)) {
+            if (!declared.contains(id)) {
+                undeclared.add(id);
+            }
+        }
+        try {
+            writeEdge(from, to, attributes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public RenderStats stats() {
+        return traversal.stats();
+    }
+
+    @Override
+    public void setListener(RenderListener listener) {
+        traversal.setListener(listener);
+    }
+
+    @Override
+    public void close() throws IOException {
+        wr.close();
+    }
+
+    /**
+     * Writes the document header.
+     *
+     * @throws IOException if the output cannot be written
+     */
+    protected abstract void beginGraph() throws IOException;
+
+    /**
+     * Writes a node; each node is written once.
+     *
+     * @param id         {@code String}, node id
+     * @param rows       a {@code List} of rows of {@link Cell}s
+     * @param attributes a {@code Map} of DOT attributes
+     * @throws IOException if the output cannot be written
+     */
+    protected abstract void writeNode(String id, List<List<Cell>> rows, Map<String, String> attributes) throws IOException;
+
+    /**
+     * Writes an edge.
+     *
+     * @param from       {@code String}, source node id
+     * @param to         {@code String}, target node id
+     * @param attributes a {@code Map} of DOT attributes
+     * @throws IOException if the output cannot be written
+     */
+    protected abstract void writeEdge(String from, String to, Map<String, String> attributes) throws IOException;
+
+    /**
+     * Writes the document footer.
+     *
+     * @throws IOException if the output cannot be written
+     */
+    protected abstract void endGraph() throws IOException;
+
+    /**
+     * @param rows a {@code List} of rows
+     * @return {@code String}, the text of the first cell (i.e. the entity name for entity tables)
+     */
+    protected static String label(List<List<Cell>> rows) {
+        return rows.get(0).get(0).text();
+    }
+
+    /**
+     * @param rows a {@code List} of rows
+     * @return {@code String}, the text of all cells, a line per row
+     */
+    protected static String text(List<List<Cell>> rows) {
+        return rows.stream()
+                .map(row -> row.stream().map(Cell::text).collect(Collectors.joining(" ")))
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * @param attributes a {@code Map} of DOT attributes
+     * @return {@code String}, the fill color as a CSS color, or {@code null} if the node is not filled
+     */
+    protected static String fill(Map<String, String> attributes) {
+        String style = attributes.get("style");
+        return style != null && style.contains("filled") ? SVGRenderer.color(attributes.get("fillcolor"), "white") : null;
+    }
+
+    /**
+     * @param color {@code String}, DOT color or {@code null}
+     * @return {@code String}, the color as a CSS color, or {@code null}
+     */
+    protected static String color(String color) {
+        return color == null ? null : SVGRenderer.color(color, "black");
+    }
+
+    /**
+     * Counts the characters of the output.
+     */
+    private class CountingWriter extends FilterWriter {
+
+        CountingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            chars++;
+            super.write(c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            chars += len;
+            super.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            chars += len;
+            super.write(str, off, len);
+        }
+    }
+}
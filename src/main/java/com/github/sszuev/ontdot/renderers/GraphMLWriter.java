@@ -0,0 +1,112 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.sszuev.ontdot.api.DOTConfig;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the graph as a <a href="http://graphml.graphdrawing.org/">GraphML</a> document.
+ * The document is written incrementally, element by element, so it is suitable for graphs of any size.
+ * Nodes have the following data: {@code label} (the entity name), {@code text} (all rows of the table),
+ * {@code fill}, {@code color}, {@code shape}, {@code style} and {@code url};
+ * edges: {@code label}, {@code color}, {@code style} and {@code dir};
+ * undirected links (e.g. hyper-node members) have {@code directed="false"}.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class GraphMLWriter extends GraphFormatWriter {
+    private static final String[] NODE_KEYS = {"label", "text", "fill", "color", "shape", "style", "url"};
+    private static final String[] EDGE_KEYS = {"label", "color", "style", "dir"};
+
+    public GraphMLWriter(DOTConfig conf, Writer wr) {
+        super(conf, wr);
+    }
+
+    @Override
+    protected void beginGraph() throws IOException {
+        wr.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\" " +
+                "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" " +
+                "xsi:schemaLocation=\"http://graphml.graphdrawing.org/xmlns " +
+                "http://graphml.graphdrawing.org/xmlns/1.0/graphml.xsd\">\n");
+        for (String key : NODE_KEYS) {
+            wr.write(" <key id=\"v_" + key + "\" for=\"node\" attr.name=\"" + key + "\" attr.type=\"string\"/>\n");
+        }
+        for (String key : EDGE_KEYS) {
+            wr.write(" <key id=\"e_" + key + "\" for=\"edge\" attr.name=\"" + key + "\" attr.type=\"string\"/>\n");
+        }
+        wr.write(" <graph id=\"OWL\" edgedefault=\"directed\">\n");
+    }
+
+    @Override
+    protected void writeNode(String id, List<List<Cell>> rows, Map<String, String> attributes) throws IOException {
+        wr.write("  <node id=\"" + escape(id) + "\">");
+        writeData("v_label", label(rows));
+        writeData("v_text", text(rows));
+        writeData("v_fill", fill(attributes));
+        writeData("v_color", color(attributes.get("color")));
+        writeData("v_shape", attributes.get("shape"));
+        writeData("v_style", attributes.get("style"));
+        writeData("v_url", attributes.get("URL"));
+        wr.write("</node>\n");
+    }
+
+    @Override
+    protected void writeEdge(String from, String to, Map<String, String> attributes) throws IOException {
+        wr.write("  <edge source=\"" + escape(from) + "\" target=\"" + escape(to) + "\"");
+        if ("none".equals(attributes.get("dir"))) {
+            wr.write(" directed=\"false\"");
+        }
+        wr.write(">");
+        writeData("e_label", attributes.get("label"));
+        writeData("e_color", color(attributes.get("color")));
+        writeData("e_style", attributes.get("style"));
+        writeData("e_dir", attributes.get("dir"));
+        wr.write("</edge>\n");
+    }
+
+    @Override
+    protected void endGraph() throws IOException {
+        wr.write(" </graph>\n</graphml>\n");
+    }
+
+    private void writeData(String key, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        wr.write("<data key=\"" + key + "\">" + escape(value) + "</data>");
+    }
+
+    /**
+     * Escapes the text for XML; control characters, which are not allowed in XML 1.0, are replaced with spaces.
+     *
+     * @param txt {@code String}
+     * @return {@code String}
+     */
+    static String escape(String txt) {
+        StringBuilder res = new StringBuilder(txt.length());
+        for (int i = 0; i < txt.length(); i++) {
+            char c = txt.charAt(i);
+            switch (c) {
+                case '<':
+                    res.append("&lt;");
+                    break;
+                case '>':
+                    res.append("&gt;");
+                    break;
+                case '&':
+                    res.append("&amp;");
+                    break;
+                case '"':
+                    res.append("&quot;");
+                    break;
+                default:
+                    res.append(c < 0x20 && c != '\t' && c != '\n' && c != '\r' ? ' ' : c);
+            }
+        }
+        return res.toString();
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.sszuev.ontdot.renderers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * A receiver of the nodes and edges produced by the traversal of {@link GraphDOTWriter}.
+ * {@link GraphDOTWriter} itself is the DOT implementation;
+ * other syntaxes (see {@link GraphFormatWriter}) and the built-in layout implement this interface
+ * to get the graph without parsing DOT.
+ * Node ids are the same as in DOT; attributes are DOT attributes (e.g. {@code style}, {@code fillcolor}, {@code URL}),
+ * a table node has no {@code label} attribute, its label is the rows of cells.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public interface GraphSink {
+
+    /**
+     * Accepts a node; a node may be declared only once,
+     * but it can be referenced by edges before it is declared or without being declared.
+     *
+     * @param id         {@code String}, node id
+     * @param rows       a {@code List} of rows of {@link Cell}s, for a plain node it is a single cell with the label
+     * @param attributes an ordered {@code Map} of DOT attributes
+     */
+    void node(String id, List<List<Cell>> rows, Map<String, String> attributes);
+
+    /**
+     * Accepts an edge.
+     *
+     * @param from       {@code String}, source node id
+     * @param to         {@code String}, target node id
+     * @param attributes an ordered {@code Map} of DOT attributes, possibly empty
+     */
+    void edge(String from, String to, Map<String, String> attributes);
+
+    /**
+     * A cell of a node table: a text, a header, or a nested table.
+     */
+    final class Cell {
+        private final String html;
+        private final String color;
+        private final int span;
+        private final boolean header;
+        private final List<List<Cell>> table;
+
+        private Cell(String html, String color, int span, boolean header, List<List<Cell>> table) {
+            this.html = html;
+            this.color = color;
+            this.span = span;
+            this.header = header;
+            this.table = table;
+        }
+
+        /**
+         * @param html  {@code String}, HTML-like text (may contain entities and {@code <br/>})
+         * @param color {@code String}, the background color or {@code null}
+         * @return {@link Cell}
+         */
+        public static Cell of(String html, String color) {
+            return new Cell(Objects.requireNonNull(html), color, 0, false, null);
+        }
+
+        /**
+         * @param html  {@code String}, HTML-like text
+         * @param color {@code String}, the background color or {@code null}
+         * @param span  {@code int}, the number of columns, not positive for default
+         * @return {@link Cell}, the only cell of the header row
+         */
+        public static Cell header(String html, String color, int span) {
+            return new Cell(Objects.requireNonNull(html), color, span, true, null);
+        }
+
+        /**
+         * @param table a {@code List} of rows
+         * @return {@link Cell} that contains a table
+         */
+        public static Cell nested(List<List<Cell>> table) {
+            return new Cell(null, null, 0, false, Objects.requireNonNull(table));
+        }
+
+        /**
+         * @return {@code String}, HTML-like text as it is written in DOT, or {@code null} for a nested table
+         */
+        public String html() {
+            return html;
+        }
+
+        /**
+         * Answers the plain text (without markup and entities);
+         * the text of a nested table is the text of all its cells separated by spaces.
+         *
+         * @return {@code String}
+         */
+        public String text() {
+            if (table == null) {
+                return unescape(html.replaceAll("<[^>]*>", " ").replaceAll("\\s+", " ").trim());
+            }
+            return table.stream().flatMap(List::stream).map(Cell::text).filter(x -> !x.isEmpty())
+                    .collect(Collectors.joining(" "));
+        }
+
+        /**
+         * Answers the background color;
+         * for a nested table, it is the first color of its cells.
+         *
+         * @return {@code String} or {@code null}
+         */
+        public String color() {
+            if (color != null || table == null) {
+                return color;
+            }
+            return table.stream().flatMap(List::stream).map(Cell::color).filter(Objects::nonNull)
+                    .findFirst().orElse(null);
+        }
+
+        /**
+         * @return {@code int}, the number of columns of a header, not positive for default
+         */
+        public int span() {
+            return span;
+        }
+
+        /**
+         * @return {@code boolean} if the cell is a header
+         */
+        public boolean isHeader() {
+            return header;
+        }
+
+        /**
+         * @return a {@code List} of rows of the nested table, or {@code null}
+         */
+        public List<List<Cell>> table() {
+            return table;
+        }
+
+        /**
+         * Decodes the XML predefined and numeric character references.
+         */
+        private static String unescape(String txt) {
+            if (txt.indexOf('&') < 0) {
+                return txt;
+            }
+            StringBuilder res = new StringBuilder();
+            int pos = 0;
+            while (pos < txt.length()) {
+                char c = txt.charAt(pos);
+                int end = c == '&' ? txt.indexOf(';', pos) : -1;
+                if (end < 0 || end - pos > 10) {
+                    res.append(c);
+                    pos++;
+                    continue;
+                }
+                String decoded = decode(txt.substring(pos + 1, end));
+                res.append(decoded == null ? txt.substring(pos, end + 1) : decoded);
+                pos = end + 1;
+            }
+            return res.toString();
+        }
+
+        private static String decode(String ref) {
+            switch (ref) {
+                case "lt":
+                    return "<";
+                case "gt":
+                    return ">";
+                case "amp":
+                    return "&";
+                case "quot":
+                    return "\"";
+                case "apos":
+                    return "'";
+                case "nbsp":
+                    return " ";
+                default:
+            }
+            try {
+                if (ref.startsWith("#x") || ref.startsWith("#X")) {
+                    return new String(Character.toChars(Integer.parseInt(ref.substring(2), 16)));
+                }
+                if (ref.startsWith("#")) {
+                    return new String(Character.toChars(Integer.parseInt(ref.substring(1))));
+                }
+            } catch (IllegalArgumentException e) {
+                // ignore
+            }
+            return null;
+        }
+    }
+}
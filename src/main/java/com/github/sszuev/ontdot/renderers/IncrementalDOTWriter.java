@@ -0,0 +1,187 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.owlcs.ontapi.jena.model.OntEntity;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.ClassPropertyMap;
+import com.github.sszuev.ontdot.api.DOTOptions;
+import com.github.sszuev.ontdot.api.LiteralRenderer;
+import com.github.sszuev.ontdot.api.RenderListener;
+import org.apache.jena.graph.Node;
+import org.apache.jena.shared.PrefixMapping;
+
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link GraphDOTWriter} that keeps the DOT fragment of each top-level entity in the {@link State}
+ * and re-renders only the entities which are marked as dirty; other fragments are copied as is.
+ * Node ids are also kept in the {@link State}, so that the reused fragments remain valid;
+ * ids of the nodes that are no longer referenced are dropped after each render,
+ * and a full re-render starts the numbering anew.
+ * Note that blank nodes must have stable labels between renders (see {@link com.github.sszuev.ontdot.utils.GraphDiff}),
+ * otherwise each render produces new ids for anonymous expressions.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class IncrementalDOTWriter extends GraphDOTWriter {
+    private final State state;
+    private final Set<Node> dirty;
+    private final Set<Node> used = new HashSet<>();
+    private Set<Node> current;
+    private int rendered;
+    private int reused;
+
+    /**
+     * @param pm    {@link PrefixMapping}
+     * @param cpm   {@link ClassPropertyMap}
+     * @param lr    {@link LiteralRenderer}
+     * @param wr    {@link Writer}
+     * @param conf  {@link DOTOptions}
+     * @param state {@link State}, the fragments of the previous render
+     * @param dirty a {@code Set} of entity {@link Node}s to re-render, or {@code null} to re-render everything
+     */
+    public IncrementalDOTWriter(PrefixMapping pm,
+                                ClassPropertyMap cpm,
+                                LiteralRenderer lr,
+                                Writer wr,
+                                DOTOptions conf,
+                                State state,
+                                Set<Node> dirty) {
+        super(pm, cpm, lr, wr, conf);
+        this.state = Objects.requireNonNull(state);
+        this.dirty = dirty;
+    }
+
+    @Override
+    public void write(OntModel ont) {
+        rendered = 0;
+        reused = 0;
+        used.clear();
+        if (isFullRender()) {
+            state.ids.clear();
+            state.next = 0;
+        }
+        Map<String, String> fragments = new LinkedHashMap<>();
+        Map<String, Set<Node>> nodes = new HashMap<>();
+        prepare(ont);
+        beginDocument();
+
+        render(RenderListener.Kind.CLASS, ont::classes,
+                x -> writeFragment(fragments, nodes, "C", x, () -> renderClass(x)));
+        render(RenderListener.Kind.INDIVIDUAL, ont::namedIndividuals,
+                x -> writeFragment(fragments, nodes, "I", x, () -> renderIndividual(x)));
+        render(RenderListener.Kind.DATATYPE, ont::datatypes,
+                x -> writeFragment(fragments, nodes, "D", x, () -> renderDatatype(x)));
+        render(RenderListener.Kind.OBJECT_PROPERTY, ont::objectProperties,
+                x -> writeFragment(fragments, nodes, "OP", x, () -> renderProperty(x)));
+        render(RenderListener.Kind.DATA_PROPERTY, ont::dataProperties,
+                x -> writeFragment(fragments, nodes, "DP", x, () -> renderProperty(x)));
+        render(RenderListener.Kind.ANNOTATION_PROPERTY, ont::annotationProperties,
+                x -> writeFragment(fragments, nodes, "AP", x, () -> renderProperty(x)));
+
+        renderDisjointness(ont);
+
+        endDocument();
+        finish();
+        state.fragments = fragments;
+        state.nodes = nodes;
+        // entities and anonymous expressions removed from the graph must not be kept forever in a long session:
+        state.ids.keySet().retainAll(used);
+    }
+
+    private boolean isFullRender() {
+        // folding and reduction depend on the whole hierarchy, so a change can affect any fragment
+        return dirty == null || config.hasGlobalAnalysis();
+    }
+
+    private void writeFragment(Map<String, String> fragments,
+                               Map<String, Set<Node>> nodes,
+                               String kind,
+                               OntEntity entity,
+                               Runnable render) {
+        String key = kind + " " + entity.getURI();
+        String res = isFullRender() || dirty.contains(entity.asNode()) ? null : state.fragments.get(key);
+        Set<Node> refs;
+        if (res == null) {
+            refs = new HashSet<>();
+            current = refs;
+            beginCapture();
+            try {
+                render.run();
+            } finally {
+                current = null;
+                res = endCapture();
+            }
+            rendered++;
+            stats().cacheMisses++;
+        } else {
+            refs = state.nodes.getOrDefault(key, Set.of());
+            used.addAll(refs);
+            reused++;
+            stats().cacheHits++;
+        }
+        fragments.put(key, res);
+        nodes.put(key, refs);
+        write(res);
+    }
+
+    @Override
+    protected Long id(Node node) {
+        used.add(node);
+        if (current != null) {
+            current.add(node);
+        }
+        return state.ids.computeIfAbsent(node, x -> ++state.next);
+    }
+
+    /**
+     * Answers the number of entities rendered by the last {@link #write(OntModel)} call.
+     *
+     * @return {@code int}
+     */
+    public int rendered() {
+        return rendered;
+    }
+
+    /**
+     * Answers the number of entities copied from the previous render by the last {@link #write(OntModel)} call.
+     *
+     * @return {@code int}
+     */
+    public int reused() {
+        return reused;
+    }
+
+    /**
+     * A mutable container for rendered fragments and node ids, which is passed from one render to the next.
+     */
+    public static class State {
+        private final Map<Node, Long> ids = new HashMap<>();
+        private long next;
+        private Map<String, String> fragments = new LinkedHashMap<>();
+        private Map<String, Set<Node>> nodes = new HashMap<>();
+
+        /**
+         * Answers the number of cached fragments.
+         *
+         * @return {@code int}
+         */
+        public int size() {
+            return fragments.size();
+        }
+
+        /**
+         * Answers the number of node ids kept for the next render.
+         *
+         * @return {@code int}
+         */
+        public int ids() {
+            return ids.size();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.sszuev.ontdot.api.DOTConfig;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the graph as JSON in the <a href="https://js.cytoscape.org/#notation/elements-json">Cytoscape.js</a>
+ * elements format: {@code {"elements":[{"group":"nodes","data":{...}},{"group":"edges","data":{...}},...]}}.
+ * Nodes and edges are interleaved in a single array, so the document is written incrementally, an element per line.
+ * Node data: {@code id}, {@code label} (the entity name), {@code rows} (the table: rows of cells,
+ * each cell is {@code [text]} or {@code [text, color]}), {@code fill}, {@code color}, {@code shape}, {@code style}
+ * and {@code url}; edge data: {@code source}, {@code target}, {@code label}, {@code color}, {@code style} and {@code dir}.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class JSONGraphWriter extends GraphFormatWriter {
+    private boolean first;
+
+    public JSONGraphWriter(DOTConfig conf, Writer wr) {
+        super(conf, wr);
+    }
+
+    @Override
+    protected void beginGraph() throws IOException {
+        first = true;
+        wr.write("{\"elements\":[");
+    }
+
+    @Override
+    protected void writeNode(String id, List<List<Cell>> rows, Map<String, String> attributes) throws IOException {
+        beginElement("nodes");
+        writeField("id", id);
+        writeField("label", label(rows));
+        wr.write(",\"rows\":[");
+        for (int i = 0; i < rows.size(); i++) {
+            wr.write(i == 0 ? "[" : ",[");
+            List<Cell> row = rows.get(i);
+            for (int j = 0; j < row.size(); j++) {
+                Cell cell = row.get(j);
+                wr.write(j == 0 ? "[" : ",[");
+                wr.write(quote(cell.text()));
+                if (cell.color() != null) {
+                    wr.write(",");
+                    wr.write(quote(color(cell.color())));
+                }
+                wr.write("]");
+            }
+            wr.write("]");
+        }
+        wr.write("]");
+        writeField("fill", fill(attributes));
+        writeField("color", color(attributes.get("color")));
+        writeField("shape", attributes.get("shape"));
+        writeField("style", attributes.get("style"));
+        writeField("url", attributes.get("URL"));
+        wr.write("}}");
+    }
+
+    @Override
+    protected void writeEdge(String from, String to, Map<String, String> attributes) throws IOException {
+        beginElement("edges");
+        writeField("source", from);
+        writeField("target", to);
+        writeField("label", attributes.get("label"));
+        writeField("color", color(attributes.get("color")));
+        writeField("style", attributes.get("style"));
+        writeField("dir", attributes.get("dir"));
+        wr.write("}}");
+    }
+
+    @Override
+    protected void endGraph() throws IOException {
+        wr.write("\n]}\n");
+    }
+
+    private void beginElement(String group) throws IOException {
+        wr.write(first ? "\n" : ",\n");
+        first = false;
+        wr.write("{\"group\":\"" + group + "\",\"data\":{");
+    }
+
+    /**
+     * Writes a field of the element data; the first field ({@code id} or {@code source}) must not be {@code null}.
+     */
+    private void writeField(String key, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!"id".equals(key) && !"source".equals(key)) {
+            wr.write(",");
+        }
+        wr.write("\"" + key + "\":" + quote(value));
+    }
+
+    private static String quote(String txt) {
+        StringBuilder res = new StringBuilder(txt.length() + 2).append('"');
+        for (int i = 0; i < txt.length(); i++) {
+            char c = txt.charAt(i);
+            switch (c) {
+                case '"':
+                    res.append("\\\"");
+                    break;
+                case '\\':
+                    res.append("\\\\");
+                    break;
+                case '\n':
+                    res.append("\\n");
+                    break;
+                case '\r':
+                    res.append("\\r");
+                    break;
+                case '\t':
+                    res.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        res.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        res.append(c);
+                    }
+            }
+        }
+        return res.append('"').toString();
+    }
+}
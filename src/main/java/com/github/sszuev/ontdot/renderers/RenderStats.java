@@ -0,0 +1,262 @@
+package com.github.sszuev.ontdot.renderers;
+
+import org.apache.jena.atlas.json.JsonObject;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+
+/**
+ * Statistics of a single {@link DOTWriter#write(com.github.owlcs.ontapi.jena.model.OntModel) render}:
+ * the number of written elements, the output size, cache hits and phase timings.
+ * Counters are plain fields incremented by the writer, so collecting is cheap and always on.
+ * <p>
+ * Element counts refer to the freshly rendered parts of the document;
+ * fragments reused from a cache are counted as cache hits.
+ * Times are in nanoseconds; CPU time is the time of the rendering thread, or {@code -1} if not supported by the JVM.
+ * The analysis phase is the calculation of class-properties mappings, the emission phase is the rest of the render.
+ * The CPU time of the render is measured once and divided between these two phases in proportion to their wall time.
+ * The load phase is not a part of the render and is filled by the caller, if known.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class RenderStats {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREADS.isCurrentThreadCpuTimeSupported();
+
+    long entities;
+    long expressions;
+    long edges;
+    long rows;
+    long literals;
+    long chars;
+    long cacheHits;
+    long cacheMisses;
+    boolean cancelled;
+
+    private final Phase load = new Phase();
+    private final Phase analysis = new Phase();
+    private final Phase emission = new Phase();
+
+    /**
+     * Answers the CPU time of the current thread in nanoseconds.
+     *
+     * @return {@code long} or {@code -1} if not supported
+     */
+    public static long cpuTime() {
+        return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * Records the load time.
+     *
+     * @param wall {@code long}, nanoseconds
+     * @param cpu  {@code long}, nanoseconds, or {@code -1} if unknown
+     * @return this instance
+     */
+    public RenderStats load(long wall, long cpu) {
+        load.add(wall, cpu);
+        return this;
+    }
+
+    /**
+     * Adds the counters and times of another render (e.g. of a shard) to this one.
+     *
+     * @param other {@link RenderStats}
+     * @return this instance
+     */
+    public RenderStats add(RenderStats other) {
+        entities += other.entities;
+        expressions += other.expressions;
+        edges += other.edges;
+        rows += other.rows;
+        literals += other.literals;
+        chars += other.chars;
+        cacheHits += other.cacheHits;
+        cacheMisses += other.cacheMisses;
+        cancelled |= other.cancelled;
+        load.add(other.load.wall, other.load.cpu);
+        analysis.add(other.analysis.wall, other.analysis.cpu);
+        emission.add(other.emission.wall, other.emission.cpu);
+        return this;
+    }
+
+    void analysis(long wall, long cpu) {
+        analysis.add(wall, cpu);
+    }
+
+    void emission(long wall, long cpu) {
+        emission.add(wall, cpu);
+    }
+
+    /**
+     * Remembers the element counters, to {@link #rollback(long[]) restore} them if a fragment is discarded.
+     *
+     * @return {@code long[]}: entities, expressions, edges, rows, literals
+     */
+    long[] mark() {
+        return new long[]{entities, expressions, edges, rows, literals};
+    }
+
+    void rollback(long[] mark) {
+        entities = mark[0];
+        expressions = mark[1];
+        edges = mark[2];
+        rows = mark[3];
+        literals = mark[4];
+    }
+
+    /**
+     * @return {@code long}, the number of entity nodes
+     */
+    public long entities() {
+        return entities;
+    }
+
+    /**
+     * @return {@code long}, the number of class expression nodes
+     */
+    public long expressions() {
+        return expressions;
+    }
+
+    /**
+     * @return {@code long}, the number of edges
+     */
+    public long edges() {
+        return edges;
+    }
+
+    /**
+     * @return {@code long}, the number of table rows (including nested tables)
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * @return {@code long}, the number of rendered literals
+     */
+    public long literals() {
+        return literals;
+    }
+
+    /**
+     * @return {@code long}, the number of characters written into the output
+     */
+    public long chars() {
+        return chars;
+    }
+
+    public long cacheHits() {
+        return cacheHits;
+    }
+
+    public long cacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * @return {@code true} if the render was stopped before all entities were written
+     * @see com.github.sszuev.ontdot.api.RenderListener
+     */
+    public boolean cancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return {@code double} in the range {@code [0, 1]}, or {@code NaN} if no cache was used
+     */
+    public double cacheHitRate() {
+        long total = cacheHits + cacheMisses;
+        return total == 0 ? Double.NaN : (double) cacheHits / total;
+    }
+
+    public Phase load() {
+        return load;
+    }
+
+    public Phase analysis() {
+        return analysis;
+    }
+
+    public Phase emission() {
+        return emission;
+    }
+
+    /**
+     * Represents the stats as a JSON object.
+     *
+     * @return {@link JsonObject}
+     */
+    public JsonObject toJson() {
+        JsonObject res = new JsonObject();
+        res.put("entities", entities);
+        res.put("expressions", expressions);
+        res.put("edges", edges);
+        res.put("rows", rows);
+        res.put("literals", literals);
+        res.put("chars", chars);
+        res.put("cancelled", cancelled);
+        JsonObject cache = new JsonObject();
+        cache.put("hits", cacheHits);
+        cache.put("misses", cacheMisses);
+        res.put("cache", cache);
+        res.put("load", load.toJson());
+        res.put("analysis", analysis.toJson());
+        res.put("emission", emission.toJson());
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        double rate = cacheHitRate();
+        return String.format(Locale.ENGLISH,
+                "entities: %d, expressions: %d, edges: %d, rows: %d, literals: %d, chars: %d%s%n" +
+                        "cache: %d hits, %d misses%s%n" +
+                        "load: %s%nanalysis: %s%nemission: %s",
+                entities, expressions, edges, rows, literals, chars, cancelled ? " (cancelled)" : "",
+                cacheHits, cacheMisses, Double.isNaN(rate) ? "" : String.format(Locale.ENGLISH, " (%.1f%%)", rate * 100),
+                load, analysis, emission);
+    }
+
+    /**
+     * Wall and CPU time of a phase.
+     */
+    public static class Phase {
+        private long wall;
+        private long cpu;
+
+        private void add(long wall, long cpu) {
+            this.wall += wall;
+            this.cpu = this.cpu < 0 || cpu < 0 ? -1 : this.cpu + cpu;
+        }
+
+        /**
+         * @return {@code long}, nanoseconds
+         */
+        public long wall() {
+            return wall;
+        }
+
+        /**
+         * @return {@code long}, nanoseconds, or {@code -1} if unknown
+         */
+        public long cpu() {
+            return cpu;
+        }
+
+        private JsonObject toJson() {
+            JsonObject res = new JsonObject();
+            res.put("wallNanos", wall);
+            res.put("cpuNanos", cpu);
+            return res;
+        }
+
+        @Override
+        public String toString() {
+            return cpu < 0 ? String.format(Locale.ENGLISH, "%.1f ms wall", wall / 1e6) :
+                    String.format(Locale.ENGLISH, "%.1f ms wall, %.1f ms cpu", wall / 1e6, cpu / 1e6);
+        }
+    }
+}
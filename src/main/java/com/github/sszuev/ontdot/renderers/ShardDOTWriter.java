@@ -0,0 +1,186 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.owlcs.ontapi.jena.model.OntAnnotationProperty;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntDataProperty;
+import com.github.owlcs.ontapi.jena.model.OntDataRange;
+import com.github.owlcs.ontapi.jena.model.OntEntity;
+import com.github.owlcs.ontapi.jena.model.OntIndividual;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntObjectProperty;
+import com.github.sszuev.ontdot.api.ClassPropertyMap;
+import com.github.sszuev.ontdot.api.DOTOptions;
+import com.github.sszuev.ontdot.api.LiteralRenderer;
+import com.github.sszuev.ontdot.api.RenderListener;
+import com.github.sszuev.ontdot.utils.DisjointnessAxioms;
+import com.github.sszuev.ontdot.utils.Sharding;
+import org.apache.jena.graph.Node;
+import org.apache.jena.shared.PrefixMapping;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A {@link GraphDOTWriter} that renders a single shard of the {@link Sharding partitioned} ontology.
+ * Entities of other shards, which are referenced from this one, are written as dashed stubs
+ * with hyperlinks ({@code URL} attribute) to the files of those shards,
+ * so the shards are independent and can be rendered concurrently.
+ * Disjointness axioms are drawn only between members of the shard;
+ * when several shards are rendered, the axioms can be collected once and shared between the writers.
+ * The {@link DOTOptions#maxNodes() budget} and the {@link com.github.sszuev.ontdot.api.DOTConfig#entities() filter}
+ * are ignored.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class ShardDOTWriter extends GraphDOTWriter {
+    private final Sharding shards;
+    private final String shard;
+    private final Function<String, String> urls;
+    private final Collection<DisjointnessAxioms.Axiom> axioms;
+    private final Map<String, Long> references = new LinkedHashMap<>();
+    private Set<Node> members;
+
+    /**
+     * @param shards {@link Sharding}
+     * @param shard  {@code String}, the name of the shard to render
+     * @param urls   a {@code Function} that maps a shard name to the hyperlink of its file
+     */
+    public ShardDOTWriter(PrefixMapping pm,
+                          ClassPropertyMap cpm,
+                          LiteralRenderer lr,
+                          Writer wr,
+                          DOTOptions options,
+                          Sharding shards,
+                          String shard,
+                          Function<String, String> urls) {
+        this(pm, cpm, lr, wr, options, shards, shard, urls, null);
+    }
+
+    /**
+     * @param shards {@link Sharding}
+     * @param shard  {@code String}, the name of the shard to render
+     * @param urls   a {@code Function} that maps a shard name to the hyperlink of its file
+     * @param axioms a {@code Collection} of all {@link DisjointnessAxioms.Axiom}s of the model,
+     *               or {@code null} to collect them while writing
+     */
+    public ShardDOTWriter(PrefixMapping pm,
+                          ClassPropertyMap cpm,
+                          LiteralRenderer lr,
+                          Writer wr,
+                          DOTOptions options,
+                          Sharding shards,
+                          String shard,
+                          Function<String, String> urls,
+                          Collection<DisjointnessAxioms.Axiom> axioms) {
+        super(pm, cpm, lr, wr, options);
+        this.shards = Objects.requireNonNull(shards);
+        this.shard = Objects.requireNonNull(shard);
+        this.urls = Objects.requireNonNull(urls);
+        this.axioms = axioms;
+    }
+
+    /**
+     * Writes the index document: a graph with a node per shard linked to the shard file,
+     * and edges between shards, labelled with the number of stubs that refer to the target shard.
+     *
+     * @param wr         {@link Writer}
+     * @param shards     {@link Sharding}
+     * @param references a {@code Map} with shard names as keys and the results of {@link #references()} as values
+     * @param urls       a {@code Function} that maps a shard name to the hyperlink of its file
+     * @throws IOException if the output cannot be written
+     */
+    public static void writeIndex(Writer wr,
+                                  Sharding shards,
+                                  Map<String, Map<String, Long>> references,
+                                  Function<String, String> urls) throws IOException {
+        wr.write("digraph OWL {\n rankdir=\"LR\";\n node[shape=box,style=filled,fillcolor=\"#EEEEEE\"];\n");
+        for (String name : shards.names()) {
+            wr.write(" \"" + name + "\"[label=\"" + name + " (" + shards.entities(name).size() + ")\",URL=\"" +
+                    urls.apply(name) + "\"];\n");
+        }
+        for (String name : shards.names()) {
+            for (Map.Entry<String, Long> e : references.getOrDefault(name, Map.of()).entrySet()) {
+                wr.write(" \"" + name + "\"->\"" + e.getKey() + "\"[label=\"" + e.getValue() + "\"];\n");
+            }
+        }
+        wr.write("}\n");
+        wr.flush();
+    }
+
+    @Override
+    public void write(OntModel ont) {
+        references.clear();
+        Collection<OntEntity> entities = shards.entities(shard);
+        members = new HashSet<>();
+        entities.forEach(x -> members.add(x.asNode()));
+        prepare(ont);
+        beginDocument();
+
+        Set<Node> nodes = new LinkedHashSet<>();
+        Set<Node> declarations = new HashSet<>();
+        render(RenderListener.Kind.CLASS, members(entities, OntClass.Named.class),
+                captured(this::renderClass, nodes, declarations));
+        render(RenderListener.Kind.INDIVIDUAL, members(entities, OntIndividual.Named.class),
+                captured(this::renderIndividual, nodes, declarations));
+        render(RenderListener.Kind.DATATYPE, members(entities, OntDataRange.Named.class),
+                captured(this::renderDatatype, nodes, declarations));
+        render(RenderListener.Kind.OBJECT_PROPERTY, members(entities, OntObjectProperty.Named.class),
+                captured((OntObjectProperty.Named x) -> renderProperty(x), nodes, declarations));
+        render(RenderListener.Kind.DATA_PROPERTY, members(entities, OntDataProperty.class),
+                captured((OntDataProperty x) -> renderProperty(x), nodes, declarations));
+        render(RenderListener.Kind.ANNOTATION_PROPERTY, members(entities, OntAnnotationProperty.class),
+                captured((OntAnnotationProperty x) -> renderProperty(x), nodes, declarations));
+        nodes.stream().filter(x -> !declarations.contains(x)).forEach(x -> {
+            String owner = shards.owner(x);
+            if (owner == null || owner.equals(shard)) {
+                writeStub(x);
+                return;
+            }
+            references.merge(owner, 1L, Long::sum);
+            writeStub(x, urls.apply(owner));
+        });
+        renderDisjointness(ont);
+
+        endDocument();
+        finish();
+    }
+
+    /**
+     * Lists the shards this shard refers to.
+     *
+     * @return a {@code Map} with shard names as keys and the numbers of stubs as values, in the order of stubs
+     */
+    public Map<String, Long> references() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(references));
+    }
+
+    private <X extends OntEntity> Consumer<X> captured(Consumer<X> render, Set<Node> nodes, Set<Node> declarations) {
+        return x -> write(captureFragment(() -> render.accept(x), nodes, declarations));
+    }
+
+    private static <X extends OntEntity> Supplier<Stream<X>> members(Collection<OntEntity> entities, Class<X> type) {
+        return () -> entities.stream().filter(type::isInstance).map(type::cast);
+    }
+
+    @Override
+    protected Collection<DisjointnessAxioms.Axiom> disjointnessAxioms(OntModel ont) {
+        return axioms == null ? super.disjointnessAxioms(ont) : axioms;
+    }
+
+    @Override
+    protected boolean isRendered(OntModel ont, Node node) {
+        return members.contains(node);
+    }
+}
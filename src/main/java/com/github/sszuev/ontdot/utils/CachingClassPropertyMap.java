@@ -0,0 +1,50 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.sszuev.ontdot.api.ClassPropertyMap;
+import org.apache.jena.graph.Node;
+import org.apache.jena.rdf.model.Property;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link ClassPropertyMap} that remembers the properties computed by the delegate for each class.
+ * The cache is valid only for a single unmodified model, and can be shared between threads.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class CachingClassPropertyMap implements ClassPropertyMap {
+    private final ClassPropertyMap delegate;
+    private final Map<Node, List<Property>> cache = new ConcurrentHashMap<>();
+
+    public CachingClassPropertyMap(ClassPropertyMap delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public Stream<Property> properties(OntClass ce) {
+        Node key = ce.asNode();
+        List<Property> res = cache.get(key);
+        if (res == null) {
+            // compute outside the map to not block other threads; the result is the same anyway
+            res = delegate.properties(ce).collect(Collectors.toUnmodifiableList());
+            List<Property> prev = cache.putIfAbsent(key, res);
+            if (prev != null) {
+                res = prev;
+            }
+        }
+        return res.stream();
+    }
+
+    /**
+     * Forgets all computed mappings.
+     */
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.LiteralOptions;
+import com.github.sszuev.ontdot.api.LiteralRenderer;
+import org.apache.jena.graph.Node;
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.shared.PrefixMapping;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link LiteralRenderer} that remembers printed literals.
+ * The cache is used only for the fixed {@link PrefixMapping} and literal options given in the constructor;
+ * any other call goes directly to the delegate.
+ * It can be shared between threads.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class CachingLiteralRenderer implements LiteralRenderer {
+    private final LiteralRenderer delegate;
+    private final PrefixMapping pm;
+    private final int rowLength;
+    private final int maxRows;
+    private final Map<Node, String> cache = new ConcurrentHashMap<>();
+
+    public CachingLiteralRenderer(LiteralRenderer delegate, LiteralOptions config, PrefixMapping pm) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.pm = Objects.requireNonNull(pm);
+        this.rowLength = config.getInteger(DOTSetting.INT_LITERAL_ROW_LENGTH);
+        this.maxRows = config.getInteger(DOTSetting.INT_LITERAL_ROWS_NUM);
+    }
+
+    @Override
+    public String print(Literal value, LiteralOptions config, PrefixMapping pm) {
+        if (!canCache(config, pm)) {
+            return delegate.print(value, config, pm);
+        }
+        return cache.computeIfAbsent(value.asNode(), x -> delegate.print(value, config, pm));
+    }
+
+    @Override
+    public String printNonNegativeInteger(long value, LiteralOptions config, PrefixMapping pm) {
+        return delegate.printNonNegativeInteger(value, config, pm);
+    }
+
+    private boolean canCache(LiteralOptions config, PrefixMapping pm) {
+        return this.pm == pm
+                && rowLength == config.getInteger(DOTSetting.INT_LITERAL_ROW_LENGTH)
+                && maxRows == config.getInteger(DOTSetting.INT_LITERAL_ROWS_NUM);
+    }
+}
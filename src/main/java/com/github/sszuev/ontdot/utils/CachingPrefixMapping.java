@@ -0,0 +1,39 @@
+package com.github.sszuev.ontdot.utils;
+
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.shared.impl.PrefixMappingImpl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A locked {@link PrefixMapping} that remembers computed short forms and qnames.
+ * It is safe to share it between threads (i.e. between several renders of the same model).
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class CachingPrefixMapping extends PrefixMappingImpl {
+    private static final String NO_QNAME = "";
+
+    private final Map<String, String> shortForms = new ConcurrentHashMap<>();
+    private final Map<String, String> qnames = new ConcurrentHashMap<>();
+
+    public CachingPrefixMapping(PrefixMapping pm) {
+        setNsPrefixes(pm);
+        lock();
+    }
+
+    @Override
+    public String shortForm(String uri) {
+        return shortForms.computeIfAbsent(uri, super::shortForm);
+    }
+
+    @Override
+    public String qnameFor(String uri) {
+        String res = qnames.computeIfAbsent(uri, x -> {
+            String q = super.qnameFor(x);
+            return q == null ? NO_QNAME : q;
+        });
+        return NO_QNAME.equals(res) ? null : res;
+    }
+}
@@ -0,0 +1,400 @@
+package com.github.sszuev.ontdot.utils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A read-only dictionary-encoded in-memory {@link Graph}.
+ * Each distinct RDF term is stored only once in the dictionary, and the triples are stored as {@code int} ids
+ * in three sorted permutations ({@code SPO}, {@code POS} and {@code OSP}),
+ * so any triple pattern is answered with a binary search over a plain array.
+ * This takes much less heap than the default Jena in-memory graph,
+ * which is suitable for rendering, since the renderers never modify the graph.
+ * Note that the graph matches terms exactly,
+ * i.e. literals with the same value but different lexical forms are not considered equal.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class CompactGraph extends GraphBase {
+    private static final int SMALL_RANGE = 7;
+
+    private final Node[] terms;
+    private final Map<Node, Integer> ids;
+    // all arrays have stride 3:
+    private final int[] spo;
+    private final int[] pos;
+    private final int[] osp;
+
+    protected CompactGraph(Node[] terms, Map<Node, Integer> ids, int[] spo, int[] pos, int[] osp, PrefixMapping pm) {
+        this.terms = terms;
+        this.ids = ids;
+        this.spo = spo;
+        this.pos = pos;
+        this.osp = osp;
+        getPrefixMapping().setNsPrefixes(pm).lock();
+    }
+
+    /**
+     * Creates a compact copy of the specified graph.
+     *
+     * @param graph {@link Graph}, not {@code null}
+     * @return {@link CompactGraph}
+     */
+    public static CompactGraph copyOf(Graph graph) {
+        Builder res = new Builder();
+        res.prefixes(graph.getPrefixMapping());
+        graph.find().forEachRemaining(res::triple);
+        return res.build();
+    }
+
+    /**
+     * Creates a new builder, which is also a {@link org.apache.jena.riot.system.StreamRDF},
+     * so it can be passed to a parser directly.
+     *
+     * @return {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Answers the number of distinct RDF terms in the dictionary.
+     *
+     * @return {@code int}
+     */
+    public int dictionarySize() {
+        return terms.length;
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return spo.length / 3;
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        if (!t.isConcrete()) {
+            return super.graphBaseContains(t);
+        }
+        int s = id(t.getSubject());
+        int p = id(t.getPredicate());
+        int o = id(t.getObject());
+        if (s < 0 || p < 0 || o < 0) {
+            return false;
+        }
+        int[] key = {s, p, o};
+        return lowerBound(spo, key, 3) < upperBound(spo, key, 3);
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple pattern) {
+        Node sn = pattern.getMatchSubject();
+        Node pn = pattern.getMatchPredicate();
+        Node on = pattern.getMatchObject();
+        int s = sn == null ? -1 : id(sn);
+        int p = pn == null ? -1 : id(pn);
+        int o = on == null ? -1 : id(on);
+        if ((sn != null && s < 0) || (pn != null && p < 0) || (on != null && o < 0)) {
+            return NiceIterator.emptyIterator();
+        }
+        if (sn != null) {
+            if (pn != null) {
+                return on != null ? find(spo, Order.SPO, s, p, o) : find(spo, Order.SPO, s, p);
+            }
+            return on != null ? find(osp, Order.OSP, o, s) : find(spo, Order.SPO, s);
+        }
+        if (pn != null) {
+            return on != null ? find(pos, Order.POS, p, o) : find(pos, Order.POS, p);
+        }
+        if (on != null) {
+            return find(osp, Order.OSP, o);
+        }
+        return new TripleIterator(spo, Order.SPO, 0, spo.length / 3);
+    }
+
+    private ExtendedIterator<Triple> find(int[] index, Order order, int... key) {
+        int from = lowerBound(index, key, key.length);
+        int to = upperBound(index, key, key.length);
+        if (from >= to) {
+            return NiceIterator.emptyIterator();
+        }
+        return new TripleIterator(index, order, from, to);
+    }
+
+    private int id(Node node) {
+        Integer res = ids.get(node);
+        return res == null ? -1 : res;
+    }
+
+    /**
+     * Answers the index of the first triple whose first {@code n} components are not less than the key.
+     */
+    private static int lowerBound(int[] index, int[] key, int n) {
+        int lo = 0;
+        int hi = index.length / 3;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(index, mid, key, n) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Answers the index of the first triple whose first {@code n} components are greater than the key.
+     */
+    private static int upperBound(int[] index, int[] key, int n) {
+        int lo = 0;
+        int hi = index.length / 3;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(index, mid, key, n) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int compare(int[] index, int i, int[] key, int n) {
+        for (int k = 0; k < n; k++) {
+            int res = Integer.compare(index[3 * i + k], key[k]);
+            if (res != 0) {
+                return res;
+            }
+        }
+        return 0;
+    }
+
+    private static int compare(int[] a, int i, int j) {
+        for (int k = 0; k < 3; k++) {
+            int res = Integer.compare(a[3 * i + k], a[3 * j + k]);
+            if (res != 0) {
+                return res;
+            }
+        }
+        return 0;
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        for (int k = 0; k < 3; k++) {
+            int x = a[3 * i + k];
+            a[3 * i + k] = a[3 * j + k];
+            a[3 * j + k] = x;
+        }
+    }
+
+    /**
+     * Sorts triples (stride 3) in the range {@code [from, to)} lexicographically.
+     */
+    static void sort(int[] a, int from, int to) {
+        while (to - from > SMALL_RANGE) {
+            int mid = (from + to) >>> 1;
+            // median of three to the first position
+            if (compare(a, mid, from) < 0) swap(a, mid, from);
+            if (compare(a, to - 1, from) < 0) swap(a, to - 1, from);
+            if (compare(a, to - 1, mid) < 0) swap(a, to - 1, mid);
+            swap(a, from, mid);
+            // Hoare partition around the pivot at the 'from' position
+            int i = from;
+            int j = to;
+            while (true) {
+                do {
+                    i++;
+                } while (i < to && compare(a, i, from) < 0);
+                do {
+                    j--;
+                } while (compare(a, j, from) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(a, i, j);
+            }
+            swap(a, from, j);
+            // recursion for the smaller part only to keep the stack shallow
+            if (j - from < to - j - 1) {
+                sort(a, from, j);
+                from = j + 1;
+            } else {
+                sort(a, j + 1, to);
+                to = j;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && compare(a, j, j - 1) < 0; j--) {
+                swap(a, j, j - 1);
+            }
+        }
+    }
+
+    /**
+     * Removes adjacent duplicates from the sorted array.
+     */
+    private static int[] distinct(int[] a) {
+        int n = a.length / 3;
+        if (n == 0) {
+            return a;
+        }
+        int res = 1;
+        for (int i = 1; i < n; i++) {
+            if (compare(a, i, res - 1) != 0) {
+                System.arraycopy(a, 3 * i, a, 3 * res, 3);
+                res++;
+            }
+        }
+        return res == n ? a : Arrays.copyOf(a, 3 * res);
+    }
+
+    /**
+     * Creates a permutation: {@code (x0, x1, x2) -> (x[i0], x[i1], x[i2])}.
+     */
+    private static int[] permute(int[] a, int i0, int i1, int i2) {
+        int[] res = new int[a.length];
+        for (int i = 0; i < a.length; i += 3) {
+            res[i] = a[i + i0];
+            res[i + 1] = a[i + i1];
+            res[i + 2] = a[i + i2];
+        }
+        sort(res, 0, res.length / 3);
+        return res;
+    }
+
+    /**
+     * Orders of components in the indexes.
+     */
+    private enum Order {
+        SPO(0, 1, 2),
+        POS(2, 0, 1),
+        OSP(1, 2, 0),
+        ;
+        // positions of subject, predicate and object within the index triple
+        private final int s;
+        private final int p;
+        private final int o;
+
+        Order(int s, int p, int o) {
+            this.s = s;
+            this.p = p;
+            this.o = o;
+        }
+    }
+
+    private class TripleIterator extends NiceIterator<Triple> {
+        private final int[] index;
+        private final Order order;
+        private final int to;
+        private int next;
+
+        private TripleIterator(int[] index, Order order, int from, int to) {
+            this.index = index;
+            this.order = order;
+            this.next = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < to;
+        }
+
+        @Override
+        public Triple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int i = 3 * next++;
+            return Triple.create(terms[index[i + order.s]], terms[index[i + order.p]], terms[index[i + order.o]]);
+        }
+    }
+
+    /**
+     * A builder to collect triples.
+     * Duplicate triples are allowed: they are removed on {@link #build()}.
+     * For quads only the default graph is taken into account.
+     */
+    public static class Builder extends StreamRDFBase {
+        private final Map<Node, Integer> ids = new HashMap<>();
+        private final PrefixMapping pm = PrefixMapping.Factory.create();
+        private Node[] terms = new Node[1024];
+        private int[] triples = new int[3 * 1024];
+        private int size;
+
+        protected Builder() {
+        }
+
+        @Override
+        public void triple(Triple triple) {
+            if (triples.length == 3 * size) {
+                triples = Arrays.copyOf(triples, triples.length * 2);
+            }
+            triples[3 * size] = intern(triple.getSubject());
+            triples[3 * size + 1] = intern(triple.getPredicate());
+            triples[3 * size + 2] = intern(triple.getObject());
+            size++;
+        }
+
+        @Override
+        public void quad(Quad quad) {
+            if (quad.isTriple() || quad.isDefaultGraph()) {
+                triple(quad.asTriple());
+            }
+        }
+
+        @Override
+        public void prefix(String prefix, String iri) {
+            pm.setNsPrefix(prefix, iri);
+        }
+
+        public Builder prefixes(PrefixMapping other) {
+            pm.setNsPrefixes(other);
+            return this;
+        }
+
+        private int intern(Node node) {
+            Integer res = ids.get(Objects.requireNonNull(node));
+            if (res != null) {
+                return res;
+            }
+            int id = ids.size();
+            if (terms.length == id) {
+                terms = Arrays.copyOf(terms, terms.length * 2);
+            }
+            terms[id] = node;
+            ids.put(node, id);
+            return id;
+        }
+
+        /**
+         * Builds the graph.
+         * The builder must not be used after this call.
+         *
+         * @return {@link CompactGraph}
+         */
+        public CompactGraph build() {
+            int[] spo = Arrays.copyOf(triples, 3 * size);
+            triples = null;
+            sort(spo, 0, size);
+            spo = distinct(spo);
+            int[] pos = permute(spo, 1, 2, 0);
+            int[] osp = permute(spo, 2, 0, 1);
+            return new CompactGraph(Arrays.copyOf(terms, ids.size()), ids, spo, pos, osp, pm);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects disjointness and difference axioms in a single scan of the relevant triples:
+ * pairwise {@code owl:disjointWith}, {@code owl:propertyDisjointWith}, {@code owl:differentFrom}
+ * and n-ary {@code owl:AllDisjointClasses}, {@code owl:AllDisjointProperties}, {@code owl:AllDifferent},
+ * {@code owl:disjointUnionOf}.
+ * The time is linear in the number and size of the axioms.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class DisjointnessAxioms {
+
+    /**
+     * Collects the axioms.
+     *
+     * @param graph {@link Graph}
+     * @return a {@code List} of {@link Axiom}s
+     */
+    public static List<Axiom> collect(Graph graph) {
+        List<Axiom> res = new ArrayList<>();
+        pairs(graph, OWL.disjointWith.asNode(), Kind.CLASSES, res);
+        pairs(graph, OWL.propertyDisjointWith.asNode(), Kind.PROPERTIES, res);
+        pairs(graph, OWL.differentFrom.asNode(), Kind.INDIVIDUALS, res);
+        nary(graph, OWL.AllDisjointClasses.asNode(), OWL.members.asNode(), Kind.CLASSES, res);
+        nary(graph, OWL.AllDisjointProperties.asNode(), OWL.members.asNode(), Kind.PROPERTIES, res);
+        nary(graph, OWL.AllDifferent.asNode(), OWL.members.asNode(), Kind.INDIVIDUALS, res);
+        nary(graph, OWL.AllDifferent.asNode(), OWL.distinctMembers.asNode(), Kind.INDIVIDUALS, res);
+        graph.find(Node.ANY, OWL.disjointUnionOf.asNode(), Node.ANY).forEachRemaining(t -> {
+            if (t.getSubject().isURI() && t.getObject().isBlank()) {
+                res.add(new Axiom("DisjointUnionOf", Kind.CLASSES, t.getObject(), t.getSubject(),
+                        list(graph, t.getObject())));
+            }
+        });
+        return res;
+    }
+
+    private static void pairs(Graph graph, Node predicate, Kind kind, List<Axiom> res) {
+        graph.find(Node.ANY, predicate, Node.ANY).forEachRemaining(t -> {
+            if (t.getSubject().isURI() && t.getObject().isURI() && !t.getSubject().equals(t.getObject())) {
+                res.add(new Axiom(predicate.getLocalName(), kind, null, null, List.of(t.getSubject(), t.getObject())));
+            }
+        });
+    }
+
+    private static void nary(Graph graph, Node type, Node predicate, Kind kind, List<Axiom> res) {
+        graph.find(Node.ANY, RDF.type.asNode(), type).forEachRemaining(t -> {
+            Node axiom = t.getSubject();
+            ExtendedIterator<Triple> lists = graph.find(axiom, predicate, Node.ANY);
+            try {
+                while (lists.hasNext()) {
+                    res.add(new Axiom(type.getLocalName(), kind, axiom, null, list(graph, lists.next().getObject())));
+                }
+            } finally {
+                lists.close();
+            }
+        });
+    }
+
+    private static List<Node> list(Graph graph, Node head) {
+        List<Node> res = new ArrayList<>();
+        Set<Node> seen = new HashSet<>();
+        Node current = head;
+        while (current != null && !RDF.nil.asNode().equals(current) && seen.add(current)) {
+            Node item = single(graph, current, RDF.first.asNode());
+            if (item != null && item.isURI()) {
+                res.add(item);
+            }
+            current = single(graph, current, RDF.rest.asNode());
+        }
+        return res;
+    }
+
+    private static Node single(Graph graph, Node subject, Node predicate) {
+        ExtendedIterator<Triple> it = graph.find(subject, predicate, Node.ANY);
+        try {
+            return it.hasNext() ? it.next().getObject() : null;
+        } finally {
+            it.close();
+        }
+    }
+
+    /**
+     * Kinds of axiom members.
+     */
+    public enum Kind {
+        CLASSES,
+        PROPERTIES,
+        INDIVIDUALS,
+    }
+
+    /**
+     * A disjointness (or difference) axiom.
+     */
+    public static class Axiom {
+        private final String name;
+        private final Kind kind;
+        private final Node node;
+        private final Node owner;
+        private final List<Node> members;
+
+        Axiom(String name, Kind kind, Node node, Node owner, List<Node> members) {
+            this.name = name;
+            this.kind = kind;
+            this.node = node;
+            this.owner = owner;
+            this.members = members;
+        }
+
+        /**
+         * @return {@code String}, the name of the axiom type, e.g. {@code AllDisjointClasses}
+         */
+        public String name() {
+            return name;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        /**
+         * @return {@link Node}, the anonymous axiom (or list) node; {@code null} for pairwise axioms
+         */
+        public Node node() {
+            return node;
+        }
+
+        /**
+         * @return {@link Node}, the class for {@code owl:disjointUnionOf}, otherwise {@code null}
+         */
+        public Node owner() {
+            return owner;
+        }
+
+        /**
+         * @return a {@code List} of named members
+         */
+        public List<Node> members() {
+            return members;
+        }
+
+        /**
+         * @return {@code true} for a pairwise axiom ({@code owl:disjointWith} etc.)
+         */
+        public boolean isPairwise() {
+            return node == null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.sszuev.ontdot.utils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups of URI resources connected by a symmetric and transitive predicate
+ * ({@code owl:equivalentClass}, {@code owl:sameAs}),
+ * calculated with a {@link UnionFind union-find} pass over the predicate triples.
+ * Each group has a representative - the member with the smallest URI, so that the result does not depend on
+ * the order of triples.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class EquivalenceGroups {
+    private final Map<Node, List<Node>> groups = new HashMap<>();
+    private final Map<Node, Node> representatives = new HashMap<>();
+
+    private EquivalenceGroups() {
+    }
+
+    /**
+     * Calculates groups.
+     *
+     * @param graph     {@link Graph}
+     * @param predicate {@link Node}, e.g. {@code owl:equivalentClass}
+     * @param nodes     a {@code Set} of {@link Node}s to group (e.g. declared classes), other nodes are ignored
+     * @return {@link EquivalenceGroups}
+     */
+    public static EquivalenceGroups compute(Graph graph, Node predicate, Set<Node> nodes) {
+        Map<Node, Integer> indexes = new HashMap<>();
+        List<Node> members = new ArrayList<>();
+        List<int[]> pairs = new ArrayList<>();
+        graph.find(Node.ANY, predicate, Node.ANY).forEachRemaining(t -> {
+            Node s = t.getSubject();
+            Node o = t.getObject();
+            if (s.equals(o) || !nodes.contains(s) || !nodes.contains(o)) {
+                return;
+            }
+            pairs.add(new int[]{index(s, indexes, members), index(o, indexes, members)});
+        });
+        UnionFind sets = new UnionFind(members.size());
+        for (int[] pair : pairs) {
+            sets.union(pair[0], pair[1]);
+        }
+        Map<Integer, List<Node>> groups = new HashMap<>();
+        for (int i = 0; i < sets.size(); i++) {
+            groups.computeIfAbsent(sets.find(i), x -> new ArrayList<>()).add(members.get(i));
+        }
+        EquivalenceGroups res = new EquivalenceGroups();
+        for (List<Node> group : groups.values()) {
+            group.sort(Comparator.comparing(Node::getURI));
+            Node representative = group.get(0);
+            for (Node n : group) {
+                res.representatives.put(n, representative);
+            }
+            res.groups.put(representative, List.copyOf(group));
+        }
+        return res;
+    }
+
+    private static int index(Node node, Map<Node, Integer> indexes, List<Node> nodes) {
+        return indexes.computeIfAbsent(node, x -> {
+            nodes.add(x);
+            return nodes.size() - 1;
+        });
+    }
+
+    /**
+     * Answers {@code true} if the node belongs to a group.
+     *
+     * @param node {@link Node}
+     * @return {@code boolean}
+     */
+    public boolean contains(Node node) {
+        return representatives.containsKey(node);
+    }
+
+    /**
+     * Answers the representative of the group the node belongs to, or the node itself if there is no group.
+     *
+     * @param node {@link Node}
+     * @return {@link Node}
+     */
+    public Node representative(Node node) {
+        return representatives.getOrDefault(node, node);
+    }
+
+    /**
+     * Lists the group members, the representative first.
+     *
+     * @param node {@link Node}
+     * @return a {@code List} of {@link Node}s, a singleton if the node does not belong to any group
+     */
+    public List<Node> members(Node node) {
+        return groups.getOrDefault(representative(node), List.of(node));
+    }
+
+    /**
+     * @return {@code int}, the number of groups
+     */
+    public int size() {
+        return groups.size();
+    }
+}
@@ -0,0 +1,240 @@
+package com.github.sszuev.ontdot.utils;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A persistent on-disk cache of rendered DOT fragments.
+ * Each entry is a file named by the key (a content hash), which consists of
+ * a header with the checksum of the rest of the file, the list of referred nodes, and the fragment text.
+ * A corrupted entry is deleted and treated as missing.
+ * The total size is bounded: the least recently used entries (by the modification time,
+ * which is updated on each hit) are evicted by the {@link #evict()} method.
+ * If the cache directory is not writable, a warning is logged once and the cache works as read-only,
+ * so the render itself does not fail.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class FragmentCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FragmentCache.class);
+
+    private static final String EXT = ".frag";
+    private static final String MAGIC = "ont2dot-fragment-1";
+    /**
+     * After eviction the cache takes at most this part of the limit,
+     * so that eviction does not run after each new entry.
+     */
+    private static final double EVICTION_FACTOR = 0.9;
+
+    private final Path dir;
+    private final long maxBytes;
+    private final AtomicBoolean writable = new AtomicBoolean(true);
+
+    public FragmentCache(Path dir, long maxBytes) {
+        this.dir = Objects.requireNonNull(dir);
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Finds a fragment.
+     *
+     * @param key {@code String}, a hex hash
+     * @return {@link Fragment} or {@code null} if there is no valid entry
+     */
+    public Fragment get(String key) {
+        Path file = file(key);
+        String content;
+        try {
+            content = Files.readString(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            if (Files.isDirectory(dir)) {
+                LOGGER.warn("Can't read fragment <{}>: {}", file, e.getMessage());
+            } else {
+                // e.g. the cache path is a regular file, it is reported by the put method
+                LOGGER.debug("Can't read fragment <{}>: {}", file, e.getMessage());
+            }
+            return null;
+        }
+        Fragment res = parse(content);
+        if (res == null) {
+            LOGGER.warn("Fragment <{}> is corrupted", file);
+            delete(file);
+            return null;
+        }
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // ignore, it is only for eviction
+        }
+        return res;
+    }
+
+    /**
+     * Puts the fragment into the cache.
+     *
+     * @param key      {@code String}, a hex hash
+     * @param fragment {@link Fragment}
+     */
+    public void put(String key, Fragment fragment) {
+        if (!writable.get()) {
+            return;
+        }
+        Path file = file(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+            try {
+                Files.writeString(tmp, format(fragment), StandardCharsets.UTF_8);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            if (writable.getAndSet(false)) {
+                LOGGER.warn("Can't write fragment <{}>: {}; the cache <{}> is read-only from now on",
+                        file, e.getMessage(), dir);
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries if the cache exceeds its size limit.
+     *
+     * @return {@code int} the number of deleted entries
+     */
+    public int evict() {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        List<Entry> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.filter(x -> x.getFileName().toString().endsWith(EXT)).collect(Collectors.toList())) {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                entries.add(new Entry(file, attrs.size(), attrs.lastModifiedTime().toMillis()));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warn("Can't list fragments in <{}>: {}", dir, e.getMessage());
+            return 0;
+        }
+        long total = entries.stream().mapToLong(x -> x.size).sum();
+        if (total <= maxBytes) {
+            return 0;
+        }
+        entries.sort(Comparator.comparingLong(x -> x.modified));
+        long limit = (long) (maxBytes * EVICTION_FACTOR);
+        int res = 0;
+        for (Entry e : entries) {
+            if (total <= limit) {
+                break;
+            }
+            delete(e.file);
+            total -= e.size;
+            res++;
+        }
+        LOGGER.debug("{} fragments are evicted", res);
+        return res;
+    }
+
+    private Path file(String key) {
+        if (key.length() < 3) {
+            throw new IllegalArgumentException("Wrong key: " + key);
+        }
+        return dir.resolve(key.substring(0, 2)).resolve(key + EXT);
+    }
+
+    private static String format(Fragment fragment) {
+        StringBuilder body = new StringBuilder();
+        body.append(fragment.nodes.size()).append('\n');
+        fragment.nodes.forEach(x -> body.append(x).append('\n'));
+        body.append(fragment.text);
+        return MAGIC + " " + DigestUtils.sha256Hex(body.toString()) + "\n" + body;
+    }
+
+    private static Fragment parse(String content) {
+        int header = content.indexOf('\n');
+        if (header < 0 || !content.startsWith(MAGIC + " ")) {
+            return null;
+        }
+        String body = content.substring(header + 1);
+        if (!content.substring(MAGIC.length() + 1, header).equals(DigestUtils.sha256Hex(body))) {
+            return null;
+        }
+        try {
+            int i = body.indexOf('\n');
+            int count = Integer.parseInt(body.substring(0, i));
+            List<String> nodes = new ArrayList<>(count);
+            for (int k = 0; k < count; k++) {
+                int j = body.indexOf('\n', i + 1);
+                nodes.add(body.substring(i + 1, j));
+                i = j;
+            }
+            return new Fragment(body.substring(i + 1), nodes);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Can't delete <{}>: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * A cached fragment: a text with node placeholders and the list of node keys, in placeholder order.
+     */
+    public static class Fragment {
+        private final String text;
+        private final List<String> nodes;
+
+        public Fragment(String text, List<String> nodes) {
+            this.text = Objects.requireNonNull(text);
+            this.nodes = List.copyOf(nodes);
+        }
+
+        public String text() {
+            return text;
+        }
+
+        public List<String> nodes() {
+            return nodes;
+        }
+    }
+
+    private static class Entry {
+        private final Path file;
+        private final long size;
+        private final long modified;
+
+        private Entry(Path file, long size, long modified) {
+            this.file = file;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+}
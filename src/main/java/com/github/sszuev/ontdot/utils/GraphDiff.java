@@ -0,0 +1,258 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.vocabulary.RDFS;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers to calculate a triple-level difference between two versions of the same graph.
+ * <p>
+ * Blank node labels are random and differ each time a document is parsed,
+ * so graphs are compared in canonical form,
+ * where each blank node is labeled by a hash of its content (outgoing triples) and position (incoming triples).
+ * Anonymous OWL constructs (class expressions, lists, axioms) are trees, so such labels are stable.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class GraphDiff {
+    private static final String IN_PROGRESS = "*";
+
+    /**
+     * Predicates that change the structure of the class hierarchy, which affects the class-properties mapping.
+     */
+    public static final Set<Node> SCHEMA_PREDICATES = Set.of(RDF.type.asNode(),
+            RDFS.subClassOf.asNode(), RDFS.subPropertyOf.asNode(), RDFS.domain.asNode(), RDFS.range.asNode(),
+            OWL.equivalentClass.asNode(), OWL.inverseOf.asNode(), OWL.propertyChainAxiom.asNode(),
+            OWL.unionOf.asNode(), OWL.intersectionOf.asNode(), OWL.onProperty.asNode(),
+            RDF.first.asNode(), RDF.rest.asNode());
+
+    private final Set<Triple> added;
+    private final Set<Triple> removed;
+
+    protected GraphDiff(Set<Triple> added, Set<Triple> removed) {
+        this.added = added;
+        this.removed = removed;
+    }
+
+    /**
+     * Calculates the difference between two canonical graphs.
+     *
+     * @param before {@link Graph} in canonical form
+     * @param after  {@link Graph} in canonical form
+     * @return {@link GraphDiff}
+     * @see #canonicalize(Graph)
+     */
+    public static GraphDiff diff(Graph before, Graph after) {
+        Set<Triple> left = before.find().toSet();
+        Set<Triple> right = after.find().toSet();
+        Set<Triple> added = right.stream().filter(x -> !left.contains(x)).collect(Collectors.toSet());
+        Set<Triple> removed = left.stream().filter(x -> !right.contains(x)).collect(Collectors.toSet());
+        return new GraphDiff(added, removed);
+    }
+
+    /**
+     * Creates an in-memory copy of the specified graph with canonical blank node labels.
+     *
+     * @param graph {@link Graph}, not {@code null}
+     * @return {@link Graph}
+     */
+    public static Graph canonicalize(Graph graph) {
+        Map<Node, Node> labels = canonicalLabels(graph);
+        Graph res = Factory.createGraphMem();
+        res.getPrefixMapping().setNsPrefixes(graph.getPrefixMapping());
+        graph.find().forEachRemaining(t -> res.add(Triple.create(
+                labels.getOrDefault(t.getSubject(), t.getSubject()),
+                t.getPredicate(),
+                labels.getOrDefault(t.getObject(), t.getObject()))));
+        return res;
+    }
+
+    /**
+     * Calculates canonical labels for all blank nodes of the graph.
+     *
+     * @param graph {@link Graph}
+     * @return a {@code Map} with original blank nodes as keys and canonical blank nodes as values
+     */
+    public static Map<Node, Node> canonicalLabels(Graph graph) {
+        Map<Node, List<Triple>> outgoing = new HashMap<>();
+        Map<Node, List<Triple>> incoming = new HashMap<>();
+        graph.find().forEachRemaining(t -> {
+            if (t.getSubject().isBlank()) {
+                outgoing.computeIfAbsent(t.getSubject(), x -> new ArrayList<>()).add(t);
+            }
+            if (t.getObject().isBlank()) {
+                incoming.computeIfAbsent(t.getObject(), x -> new ArrayList<>()).add(t);
+            }
+        });
+        Set<Node> blanks = new HashSet<>(outgoing.keySet());
+        blanks.addAll(incoming.keySet());
+
+        Map<Node, String> content = new HashMap<>();
+        Map<Node, String> position = new HashMap<>();
+        Map<String, Integer> seen = new HashMap<>();
+        Map<Node, Node> res = new HashMap<>();
+        // sort to make the numbering of full duplicates (if any) more stable
+        blanks.stream().sorted((a, b) -> content(a, outgoing, content).compareTo(content(b, outgoing, content)))
+                .forEach(b -> {
+                    String label = DigestUtils.md5Hex(content(b, outgoing, content) + "|"
+                            + position(b, incoming, outgoing, content, position));
+                    int n = seen.merge(label, 1, Integer::sum);
+                    res.put(b, NodeFactory.createBlankNode(n == 1 ? label : label + "-" + n));
+                });
+        return res;
+    }
+
+    private static String content(Node b, Map<Node, List<Triple>> outgoing, Map<Node, String> cache) {
+        String res = cache.get(b);
+        if (res != null) {
+            return res;
+        }
+        cache.put(b, IN_PROGRESS);
+        Set<String> parts = new TreeSet<>();
+        for (Triple t : outgoing.getOrDefault(b, List.of())) {
+            Node o = t.getObject();
+            parts.add(t.getPredicate() + " " + (o.isBlank() ? "[" + content(o, outgoing, cache) + "]" : o.toString()));
+        }
+        res = DigestUtils.md5Hex(String.join("\n", parts));
+        cache.put(b, res);
+        return res;
+    }
+
+    private static String position(Node b,
+                                   Map<Node, List<Triple>> incoming,
+                                   Map<Node, List<Triple>> outgoing,
+                                   Map<Node, String> content,
+                                   Map<Node, String> cache) {
+        String res = cache.get(b);
+        if (res != null) {
+            return res;
+        }
+        cache.put(b, IN_PROGRESS);
+        Set<String> parts = new TreeSet<>();
+        for (Triple t : incoming.getOrDefault(b, List.of())) {
+            Node s = t.getSubject();
+            String ref = s.isBlank() ?
+                    content(s, outgoing, content) + "@" + position(s, incoming, outgoing, content, cache) : s.toString();
+            parts.add(ref + " " + t.getPredicate());
+        }
+        res = DigestUtils.md5Hex(String.join("\n", parts));
+        cache.put(b, res);
+        return res;
+    }
+
+    /**
+     * Answers all added triples.
+     *
+     * @return a {@code Set} of {@link Triple}s
+     */
+    public Set<Triple> added() {
+        return added;
+    }
+
+    /**
+     * Answers all removed triples.
+     *
+     * @return a {@code Set} of {@link Triple}s
+     */
+    public Set<Triple> removed() {
+        return removed;
+    }
+
+    /**
+     * Answers {@code true} if there are no changes.
+     *
+     * @return {@code boolean}
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * Answers {@code true} if any of the changed triples has one of the specified predicates.
+     *
+     * @param predicates a {@code Collection} of predicate {@link Node}s
+     * @return {@code boolean}
+     */
+    public boolean hasPredicate(Collection<Node> predicates) {
+        return added.stream().anyMatch(t -> predicates.contains(t.getPredicate()))
+                || removed.stream().anyMatch(t -> predicates.contains(t.getPredicate()));
+    }
+
+    /**
+     * Lists all named (URI) resources which descriptions are affected by the changes.
+     * For each changed triple these are its subject and object, if they are URIs,
+     * or the named owners of the blank nodes, which are found by walking the incoming triples up.
+     * If the type of a resource has been changed, all resources that refer to it are also affected,
+     * since the way how a reference is drawn depends on the type.
+     *
+     * @param before {@link Graph} in canonical form, the previous version
+     * @param after  {@link Graph} in canonical form, the current version
+     * @return a {@code Set} of URI {@link Node}s
+     */
+    public Set<Node> affected(Graph before, Graph after) {
+        Set<Node> res = new HashSet<>();
+        Set<Node> types = new HashSet<>();
+        for (Set<Triple> changes : List.of(added, removed)) {
+            for (Triple t : changes) {
+                owners(t.getSubject(), before, after, res);
+                owners(t.getObject(), before, after, res);
+                if (RDF.type.asNode().equals(t.getPredicate()) && t.getSubject().isURI()) {
+                    types.add(t.getSubject());
+                }
+            }
+        }
+        for (Node type : types) {
+            for (Graph g : List.of(before, after)) {
+                g.find(Node.ANY, Node.ANY, type).forEachRemaining(t -> owners(t.getSubject(), before, after, res));
+            }
+        }
+        return res;
+    }
+
+    private static void owners(Node node, Graph before, Graph after, Set<Node> res) {
+        if (node.isURI()) {
+            res.add(node);
+            return;
+        }
+        if (!node.isBlank()) {
+            return;
+        }
+        Set<Node> seen = new HashSet<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(node);
+        while (!queue.isEmpty()) {
+            Node b = queue.removeFirst();
+            if (!seen.add(b)) {
+                continue;
+            }
+            for (Graph g : List.of(before, after)) {
+                g.find(Node.ANY, Node.ANY, b).forEachRemaining(t -> {
+                    Node s = t.getSubject();
+                    if (s.isURI()) {
+                        res.add(s);
+                    } else if (s.isBlank()) {
+                        queue.add(s);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.model.OntEntity;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.vocabulary.RDFS;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Folding of large class sub-hierarchies.
+ * <p>
+ * A class is folded if it is visible and its subtree contains more subclasses than the threshold
+ * (and it is not in the list of expanded classes).
+ * A class is visible if it is a root of the named {@code rdfs:subClassOf} hierarchy
+ * or has a visible superclass that is not folded.
+ * All descendants of folded classes, that are not visible, are hidden;
+ * each hidden class is represented by the nearest folded ancestor.
+ * A named individual is hidden if all its named classes are hidden.
+ * <p>
+ * The subtree sizes are calculated in a single bottom-up pass as the sum of the child subtree sizes,
+ * so for a hierarchy with multiple inheritance it is an upper bound (a shared descendant is counted once per path).
+ * The whole calculation is linear in the number of classes and {@code rdfs:subClassOf} edges.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class HierarchyFolding {
+    private final Map<Node, Long> descendants = new HashMap<>();
+    private final Map<Node, Integer> subclasses = new HashMap<>();
+    private final Map<Node, Long> individuals = new HashMap<>();
+    private final Set<Node> folded = new HashSet<>();
+    private final Map<Node, Node> hidden = new HashMap<>();
+
+    private HierarchyFolding() {
+    }
+
+    /**
+     * Calculates the folding.
+     *
+     * @param model     {@link OntModel}
+     * @param threshold positive {@code long}, the maximum number of descendants of an unfolded class
+     * @param expanded  a {@code Collection} of class URIs that must not be folded
+     * @return {@link HierarchyFolding}
+     */
+    public static HierarchyFolding compute(OntModel model, long threshold, Collection<String> expanded) {
+        Graph graph = model.getGraph();
+        Set<Node> classes = model.classes().map(OntEntity::asNode).collect(Collectors.toSet());
+        Map<Node, List<Node>> children = new HashMap<>();
+        Set<Node> nonRoots = new HashSet<>();
+        graph.find(Node.ANY, RDFS.subClassOf.asNode(), Node.ANY).forEachRemaining(t -> {
+            Node sub = t.getSubject();
+            Node sup = t.getObject();
+            if (sub.equals(sup) || !classes.contains(sub) || !classes.contains(sup)) {
+                return;
+            }
+            children.computeIfAbsent(sup, x -> new ArrayList<>()).add(sub);
+            nonRoots.add(sub);
+        });
+        HierarchyFolding res = new HierarchyFolding();
+        res.calcSizes(classes, children);
+
+        Set<Node> expand = expanded.stream().map(NodeFactory::createURI).collect(Collectors.toSet());
+        // top-down: visible classes
+        Set<Node> visible = new HashSet<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        classes.stream().filter(x -> !nonRoots.contains(x)).forEach(x -> {
+            visible.add(x);
+            queue.add(x);
+        });
+        while (!queue.isEmpty()) {
+            Node current = queue.removeFirst();
+            if (res.descendants.getOrDefault(current, 0L) > threshold && !expand.contains(current)) {
+                res.folded.add(current);
+                continue;
+            }
+            for (Node child : children.getOrDefault(current, List.of())) {
+                if (visible.add(child)) {
+                    queue.addLast(child);
+                }
+            }
+        }
+        // hidden classes, the nearest folded ancestor is the representative
+        res.folded.forEach(x -> {
+            res.hidden.put(x, x);
+            queue.add(x);
+        });
+        while (!queue.isEmpty()) {
+            Node current = queue.removeFirst();
+            Node representative = res.hidden.get(current);
+            for (Node child : children.getOrDefault(current, List.of())) {
+                if (!visible.contains(child) && !res.hidden.containsKey(child)) {
+                    res.hidden.put(child, representative);
+                    queue.addLast(child);
+                }
+            }
+        }
+        res.folded.forEach(res.hidden::remove);
+        // individuals
+        Map<Node, Node> types = new HashMap<>();
+        Set<Node> shown = new HashSet<>();
+        graph.find(Node.ANY, RDF.type.asNode(), Node.ANY).forEachRemaining(t -> {
+            Node i = t.getSubject();
+            Node type = t.getObject();
+            if (!i.isURI() || !classes.contains(type)) {
+                return;
+            }
+            Node representative = res.hidden.get(type);
+            if (representative == null) {
+                shown.add(i);
+            } else {
+                types.putIfAbsent(i, representative);
+            }
+        });
+        types.forEach((i, representative) -> {
+            if (shown.contains(i)) {
+                return;
+            }
+            res.hidden.put(i, representative);
+            res.individuals.merge(representative, 1L, Long::sum);
+        });
+        return res;
+    }
+
+    /**
+     * Calculates the subtree sizes bottom-up (iterative post-order traversal).
+     */
+    private void calcSizes(Set<Node> classes, Map<Node, List<Node>> children) {
+        Set<Node> onStack = new HashSet<>();
+        for (Node root : classes) {
+            if (descendants.containsKey(root)) {
+                continue;
+            }
+            Deque<Iterator<Node>> iterators = new ArrayDeque<>();
+            Deque<Node> path = new ArrayDeque<>();
+            path.push(root);
+            onStack.add(root);
+            iterators.push(children.getOrDefault(root, List.of()).iterator());
+            while (!path.isEmpty()) {
+                Iterator<Node> it = iterators.peek();
+                if (it.hasNext()) {
+                    Node child = it.next();
+                    if (descendants.containsKey(child) || onStack.contains(child)) { // done or cycle
+                        continue;
+                    }
+                    path.push(child);
+                    onStack.add(child);
+                    iterators.push(children.getOrDefault(child, List.of()).iterator());
+                    continue;
+                }
+                Node current = path.pop();
+                iterators.pop();
+                onStack.remove(current);
+                List<Node> list = children.getOrDefault(current, List.of());
+                long size = 0;
+                for (Node child : list) {
+                    // saturated, the sum may grow exponentially on a lattice
+                    size = Math.min(Long.MAX_VALUE / 2, size + 1 + descendants.getOrDefault(child, 0L));
+                }
+                descendants.put(current, size);
+                subclasses.put(current, list.size());
+            }
+        }
+    }
+
+    /**
+     * Answers {@code true} if the entity (class or named individual) is hidden inside a folded class.
+     *
+     * @param node {@link Node}
+     * @return {@code boolean}
+     */
+    public boolean isHidden(Node node) {
+        return hidden.containsKey(node);
+    }
+
+    /**
+     * Answers {@code true} if the class is folded, i.e. is displayed as a summary of its subtree.
+     *
+     * @param node {@link Node}
+     * @return {@code boolean}
+     */
+    public boolean isFolded(Node node) {
+        return folded.contains(node);
+    }
+
+    /**
+     * Answers the node to link instead of the given one: the folded ancestor for a hidden entity,
+     * or the node itself.
+     *
+     * @param node {@link Node}
+     * @return {@link Node}
+     */
+    public Node representative(Node node) {
+        return hidden.getOrDefault(node, node);
+    }
+
+    /**
+     * @param node {@link Node}
+     * @return {@code int}, the number of direct named subclasses
+     */
+    public int subclasses(Node node) {
+        return subclasses.getOrDefault(node, 0);
+    }
+
+    /**
+     * @param node {@link Node}
+     * @return {@code long}, the subtree size (see class description)
+     */
+    public long descendants(Node node) {
+        return descendants.getOrDefault(node, 0L);
+    }
+
+    /**
+     * @param node {@link Node}, folded class
+     * @return {@code long}, the number of hidden individuals represented by the folded class
+     */
+    public long individuals(Node node) {
+        return individuals.getOrDefault(node, 0L);
+    }
+
+    /**
+     * @return {@code int}, the number of hidden entities
+     */
+    public int hidden() {
+        return hidden.size();
+    }
+}
@@ -0,0 +1,287 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntEntity;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntObject;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import com.github.sszuev.ontdot.api.ClassPropertyMap;
+import org.apache.jena.enhanced.EnhGraph;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.GraphListener;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.impl.PropertyImpl;
+import org.apache.jena.shared.PrefixMapping;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A cache of derived data (class-properties mappings, declarations of built-ins, types of class expressions,
+ * IRI short forms),
+ * which is attached to a live {@link OntModel} and is reused by all renders of that model.
+ * The caches are kept in a weak registry keyed by the model graph,
+ * so they are released together with the graph.
+ * The cache listens the graph (both the union graph and the base graph) and drops only the affected entries
+ * when triples are added or removed:
+ * a changed declaration ({@code rdf:type}) drops the cached declaration of its subject
+ * and all types of class expressions (a restriction type depends on the property declaration),
+ * any other change of a blank node drops the type of that node,
+ * any change in the class or property hierarchy drops all class-properties mappings,
+ * annotations do not affect anything.
+ * Note that direct changes in the imported graphs are not tracked.
+ * <p>
+ * Nothing here refers to the graph or model, otherwise the weak registry would never release them:
+ * everything is kept as {@link Node}s and {@code String}s.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class ModelAnalysisCache implements GraphListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelAnalysisCache.class);
+    private static final Map<Graph, ModelAnalysisCache> REGISTRY = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<ClassPropertyMap, Map<Node, List<Node>>> classProperties =
+            Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<Node, Boolean> declarations = new ConcurrentHashMap<>();
+    // OntObject.class means the node is not a supported class expression
+    private final Map<Node, Class<? extends OntObject>> expressions = new ConcurrentHashMap<>();
+    private final Map<Map<String, String>, Map<String, String>> shortForms = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    /**
+     * The number of invalidations, guarded by the {@code this} monitor.
+     * A value calculated in one generation is not stored if the cache has been invalidated meanwhile,
+     * otherwise a calculation that overlaps with {@link #clear()} could put back a stale value.
+     */
+    private volatile long generation;
+
+    protected ModelAnalysisCache() {
+    }
+
+    /**
+     * Gets or creates the cache for the specified model.
+     *
+     * @param model {@link OntModel}, not {@code null}
+     * @return {@link ModelAnalysisCache}
+     */
+    public static ModelAnalysisCache get(OntModel model) {
+        Graph graph = model.getGraph();
+        synchronized (REGISTRY) {
+            ModelAnalysisCache res = REGISTRY.get(graph);
+            if (res == null) {
+                res = new ModelAnalysisCache();
+                graph.getEventManager().register(res);
+                Graph base = model.getBaseGraph();
+                if (base != graph) {
+                    // changes made directly in the base graph bypass the union graph
+                    base.getEventManager().register(res);
+                }
+                REGISTRY.put(graph, res);
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Lists the properties of the class using the cache.
+     *
+     * @param cpm {@link ClassPropertyMap} to calculate, also a part of the cache key
+     * @param ce  {@link OntClass}
+     * @return a {@code Stream} of {@link Property properties} (bound to the class model)
+     */
+    public Stream<Property> properties(ClassPropertyMap cpm, OntClass ce) {
+        long generation = this.generation;
+        Map<Node, List<Node>> cache = classProperties.computeIfAbsent(cpm, x -> new ConcurrentHashMap<>());
+        List<Node> res = cache.get(ce.asNode());
+        if (res == null) {
+            misses.incrementAndGet();
+            res = cpm.properties(ce).map(Property::asNode).collect(Collectors.toUnmodifiableList());
+            store(cache, ce.asNode(), res, generation);
+        } else {
+            hits.incrementAndGet();
+        }
+        EnhGraph model = (EnhGraph) ce.getModel();
+        return res.stream().map(x -> new PropertyImpl(x, model));
+    }
+
+    /**
+     * Answers {@code true} iff the entity has explicit declaration in graph, using the cache.
+     *
+     * @param e {@link OntEntity}
+     * @return {@code boolean}
+     * @see ModelUtils#isDeclared(OntEntity)
+     */
+    public boolean isDeclared(OntEntity e) {
+        long generation = this.generation;
+        Boolean res = declarations.get(e.asNode());
+        if (res == null) {
+            misses.incrementAndGet();
+            res = ModelUtils.isDeclared(e);
+            store(declarations, e.asNode(), res, generation);
+        } else {
+            hits.incrementAndGet();
+        }
+        return res;
+    }
+
+    /**
+     * Answers the concrete type of the class expression using the cache.
+     *
+     * @param node {@link RDFNode}
+     * @return {@code Class} or {@code null} if the node is not a class expression that is drawn as a table
+     * @see ModelUtils#expressionType(RDFNode)
+     */
+    public Class<? extends OntObject> expressionType(RDFNode node) {
+        long generation = this.generation;
+        Class<? extends OntObject> res = expressions.get(node.asNode());
+        if (res == null) {
+            misses.incrementAndGet();
+            res = ModelUtils.expressionType(node);
+            if (res == null) {
+                res = OntObject.class;
+            }
+            store(expressions, node.asNode(), res, generation);
+        } else {
+            hits.incrementAndGet();
+        }
+        return res == OntObject.class ? null : res;
+    }
+
+    /**
+     * Returns a short form cache for the specified prefixes.
+     * Prefixes are not a part of the graph, so the short forms are keyed by the prefix mapping content.
+     *
+     * @param pm {@link PrefixMapping}
+     * @return a {@code Map} with URIs as keys and short forms as values
+     */
+    public Map<String, String> shortForms(PrefixMapping pm) {
+        return shortForms.computeIfAbsent(pm.getNsPrefixMap(), x -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Answers the number of cache hits since creation.
+     *
+     * @return {@code long}
+     */
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * Answers the number of cache misses since creation.
+     *
+     * @return {@code long}
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Drops all cached data.
+     */
+    public synchronized void clear() {
+        generation++;
+        classProperties.clear();
+        declarations.clear();
+        expressions.clear();
+    }
+
+    private synchronized <K, V> void store(Map<K, V> cache, K key, V value, long generation) {
+        if (this.generation == generation) {
+            cache.put(key, value);
+        }
+    }
+
+    protected synchronized void onChange(Triple t) {
+        if (RDF.type.asNode().equals(t.getPredicate())) {
+            generation++;
+            declarations.remove(t.getSubject());
+            expressions.clear();
+        } else if (t.getSubject().isBlank() && expressions.containsKey(t.getSubject())) {
+            generation++;
+            expressions.remove(t.getSubject());
+        }
+        if (GraphDiff.SCHEMA_PREDICATES.contains(t.getPredicate())) {
+            generation++;
+            if (!classProperties.isEmpty()) {
+                LOGGER.debug("Drop class-properties cache due to {}", t);
+                classProperties.clear();
+            }
+        }
+    }
+
+    protected void onChanges(Iterator<Triple> triples) {
+        triples.forEachRemaining(this::onChange);
+    }
+
+    @Override
+    public void notifyAddTriple(Graph g, Triple t) {
+        onChange(t);
+    }
+
+    @Override
+    public void notifyAddArray(Graph g, Triple[] triples) {
+        onChanges(List.of(triples).iterator());
+    }
+
+    @Override
+    public void notifyAddList(Graph g, List<Triple> triples) {
+        onChanges(triples.iterator());
+    }
+
+    @Override
+    public void notifyAddIterator(Graph g, Iterator<Triple> it) {
+        onChanges(it);
+    }
+
+    @Override
+    public void notifyAddGraph(Graph g, Graph added) {
+        onChanges(added.find());
+    }
+
+    @Override
+    public void notifyDeleteTriple(Graph g, Triple t) {
+        onChange(t);
+    }
+
+    @Override
+    public void notifyDeleteList(Graph g, List<Triple> triples) {
+        onChanges(triples.iterator());
+    }
+
+    @Override
+    public void notifyDeleteArray(Graph g, Triple[] triples) {
+        onChanges(List.of(triples).iterator());
+    }
+
+    @Override
+    public void notifyDeleteIterator(Graph g, Iterator<Triple> it) {
+        onChanges(it);
+    }
+
+    @Override
+    public void notifyDeleteGraph(Graph g, Graph removed) {
+        onChanges(removed.find());
+    }
+
+    @Override
+    public void notifyEvent(Graph source, Object value) {
+        if (value instanceof GraphEvents) {
+            // removeAll, remove(s, p, o) or bulk read: the changed triples are unknown
+            clear();
+        }
+    }
+}
@@ -2,12 +2,14 @@ package com.github.sszuev.ontdot.utils;
 
 import com.github.owlcs.ontapi.jena.model.*;
 import com.github.owlcs.ontapi.jena.utils.Iter;
+import com.github.owlcs.ontapi.jena.utils.OntModels;
 import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.vocabulary.RDFS;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -19,6 +21,8 @@ import java.util.stream.Stream;
  * Created by @ssz on 15.01.2022.
  */
 public class ModelUtils {
+    private static final List<Class<? extends OntClass>> TABLE_EXPRESSIONS = List.of(
+            OntClass.ComponentRestrictionCE.class, OntClass.ComponentsCE.class, OntClass.ComplementOf.class);
 
     /**
      * Lists all properties that are related to the given class expression.
@@ -101,4 +105,20 @@ public class ModelUtils {
         }
     }
 
+    /**
+     * Answers the concrete type (e.g. {@link OntClass.ObjectSomeValuesFrom}) of the class expression
+     * that can be drawn as a table, i.e. a restriction, a components expression or a complement.
+     *
+     * @param node {@link RDFNode}, not {@code null}
+     * @return {@code Class} or {@code null} if the node is not such a class expression
+     */
+    public static Class<? extends OntObject> expressionType(RDFNode node) {
+        for (Class<? extends OntClass> type : TABLE_EXPRESSIONS) {
+            if (node.canAs(type)) {
+                return OntModels.getOntType(node.as(type));
+            }
+        }
+        return null;
+    }
+
 }
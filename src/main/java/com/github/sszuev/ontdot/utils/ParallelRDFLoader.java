@@ -0,0 +1,258 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.OntFormat;
+import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RDFParserBuilder;
+import org.apache.jena.riot.lang.LabelToNode;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A loader for line-oriented RDF syntaxes ({@code N-Triples} and {@code N-Quads}),
+ * which parses a memory-mapped file in chunks on a worker pool.
+ * The chunks are split at newline boundaries, so each of them is a valid document.
+ * Blank node labels are used as given, so the same label in different chunks produces the same node,
+ * and the result is identical to {@link #loadSequential(Path, Lang) the sequential load}.
+ * For {@code N-Quads} only the default graph is loaded, as RIOT does when reading quads into a {@link Graph}.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class ParallelRDFLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelRDFLoader.class);
+
+    public static final long MIN_CHUNK_SIZE = 1 << 20;
+    public static final long MAX_CHUNK_SIZE = 1 << 30;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Answers {@code true} if the document can be loaded in parallel.
+     *
+     * @param source {@link Path} to the document, not {@code null}
+     * @param format {@link OntFormat} or {@code null} to choose by file extension
+     * @return boolean
+     */
+    public static boolean isSupported(Path source, OntFormat format) {
+        return lang(source, format) != null;
+    }
+
+    /**
+     * Answers the line-oriented {@link Lang} for the document or {@code null} if it is not supported.
+     *
+     * @param source {@link Path} to the document, not {@code null}
+     * @param format {@link OntFormat} or {@code null} to choose by file extension
+     * @return {@link Lang} or {@code null}
+     */
+    public static Lang lang(Path source, OntFormat format) {
+        if (format == null) {
+            String name = source.getFileName().toString().toLowerCase(Locale.ENGLISH);
+            if (name.endsWith("." + OntFormat.NTRIPLES.getExt())) {
+                return Lang.NTRIPLES;
+            }
+            if (name.endsWith("." + OntFormat.NQUADS.getExt())) {
+                return Lang.NQUADS;
+            }
+            return null;
+        }
+        if (format == OntFormat.NTRIPLES) {
+            return Lang.NTRIPLES;
+        }
+        if (format == OntFormat.NQUADS) {
+            return Lang.NQUADS;
+        }
+        return null;
+    }
+
+    /**
+     * Loads the document into a new in-memory {@link Graph} using the specified number of threads.
+     *
+     * @param source  {@link Path} to the document, not {@code null}
+     * @param lang    {@link Lang}, either {@link Lang#NTRIPLES} or {@link Lang#NQUADS}
+     * @param threads {@code int}, positive
+     * @return {@link Graph}
+     * @throws IOException if the file cannot be read
+     */
+    public static Graph load(Path source, Lang lang, int threads) throws IOException {
+        return load(source, lang, threads, MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * Loads the document into a new in-memory {@link Graph} using the specified number of threads.
+     *
+     * @param source       {@link Path} to the document, not {@code null}
+     * @param lang         {@link Lang}, either {@link Lang#NTRIPLES} or {@link Lang#NQUADS}
+     * @param threads      {@code int}, positive
+     * @param minChunkSize {@code long}, the lower limit of a chunk size in bytes
+     * @return {@link Graph}
+     * @throws IOException if the file cannot be read
+     */
+    public static Graph load(Path source, Lang lang, int threads, long minChunkSize) throws IOException {
+        if (threads < 1 || minChunkSize < 1) {
+            throw new IllegalArgumentException();
+        }
+        checkLang(lang);
+        long start = System.currentTimeMillis();
+        Graph res = Factory.createGraphMem();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(minChunkSize, size / ((long) threads * CHUNKS_PER_THREAD)));
+            List<Future<List<Triple>>> chunks = new ArrayList<>();
+            long from = 0;
+            while (from < size) {
+                long to = from + chunkSize >= size ? size : nextLine(channel, from + chunkSize, size);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+                chunks.add(executor.submit(() -> parse(new ByteBufferInputStream(buffer), lang)));
+                from = to;
+            }
+            for (Future<List<Triple>> chunk : chunks) {
+                GraphUtil.add(res, get(chunk));
+            }
+            long time = Math.max(1, System.currentTimeMillis() - start);
+            LOGGER.info("Parsed {} triples ({} chunks, {} threads) in {} ms: {} triples/s",
+                    res.size(), chunks.size(), threads, time, res.size() * 1000 / time);
+            return res;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Loads the document in the current thread, with the same blank node labelling as the parallel load does.
+     *
+     * @param source {@link Path} to the document, not {@code null}
+     * @param lang   {@link Lang}, either {@link Lang#NTRIPLES} or {@link Lang#NQUADS}
+     * @return {@link Graph}
+     */
+    public static Graph loadSequential(Path source, Lang lang) {
+        checkLang(lang);
+        Graph res = Factory.createGraphMem();
+        parser(lang).source(source).parse(res);
+        return res;
+    }
+
+    private static void checkLang(Lang lang) {
+        if (!Lang.NTRIPLES.equals(lang) && !Lang.NQUADS.equals(lang)) {
+            throw new IllegalArgumentException("Not a line-oriented syntax: " + lang);
+        }
+    }
+
+    private static RDFParserBuilder parser(Lang lang) {
+        return RDFParser.create().lang(lang).labelToNode(LabelToNode.createUseLabelAsGiven());
+    }
+
+    private static List<Triple> parse(InputStream in, Lang lang) {
+        List<Triple> res = new ArrayList<>();
+        parser(lang).source(in).parse(new StreamRDFBase() {
+            @Override
+            public void triple(Triple triple) {
+                res.add(triple);
+            }
+
+            @Override
+            public void quad(Quad quad) {
+                if (quad.isTriple() || quad.isDefaultGraph()) {
+                    res.add(quad.asTriple());
+                }
+            }
+        });
+        return res;
+    }
+
+    private static <X> X get(Future<X> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Answers the position right after the first newline at or after the given position.
+     */
+    private static long nextLine(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long pos = position;
+        while (pos < size) {
+            buffer.clear();
+            int n = channel.read(buffer, pos);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += n;
+        }
+        return size;
+    }
+
+    /**
+     * A simple {@link InputStream} over a {@link ByteBuffer}.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
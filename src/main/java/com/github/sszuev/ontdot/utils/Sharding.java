@@ -0,0 +1,270 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.model.OntEntity;
+import com.github.owlcs.ontapi.jena.model.OntID;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A partition of the ontology entities into shards, each of which is rendered into a separate file.
+ * A shard is identified by its name, which is suitable as a file name (without extension):
+ * it consists of letters, digits, {@code _} and {@code -}, and the names are unique, case-insensitively.
+ * The name {@link #INDEX} is reserved for the list of shards.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class Sharding {
+    public static final String INDEX = "index";
+    /**
+     * The name of the shard for entities that cannot be assigned by the {@link Key#CLASS top-level class}.
+     */
+    public static final String OTHER = "other";
+
+    private final Key key;
+    private final Map<String, List<OntEntity>> shards = new LinkedHashMap<>();
+    private final Map<Node, String> owners = new HashMap<>();
+
+    private Sharding(Key key) {
+        this.key = key;
+    }
+
+    /**
+     * Partitions the entities of the model.
+     *
+     * @param ont {@link OntModel}
+     * @param key {@link Key}
+     * @param pm  {@link PrefixMapping} to name namespace shards
+     * @return {@link Sharding}
+     */
+    public static Sharding compute(OntModel ont, Key key, PrefixMapping pm) {
+        Objects.requireNonNull(pm);
+        // a group is identified by the namespace, the module IRI or the top-level class URI
+        Function<OntEntity, String> groups;
+        Function<String, String> labels;
+        switch (Objects.requireNonNull(key)) {
+            case NAMESPACE:
+                groups = x -> x.asNode().getNameSpace();
+                labels = x -> {
+                    String prefix = pm.getNsURIPrefix(x);
+                    return prefix == null || prefix.isEmpty() ? lastSegment(x) : prefix;
+                };
+                break;
+            case MODULE:
+                groups = modules(ont);
+                labels = x -> x.isEmpty() ? "module" : lastSegment(x);
+                break;
+            case CLASS:
+                groups = topClasses(ont);
+                labels = x -> x.isEmpty() ? OTHER : NodeFactory.createURI(x).getLocalName();
+                break;
+            default:
+                throw new IllegalStateException();
+        }
+        Sharding res = new Sharding(key);
+        Map<String, String> names = new HashMap<>();
+        Set<String> used = new HashSet<>();
+        used.add(INDEX);
+        entities(ont).forEach(e -> {
+            String name = names.computeIfAbsent(groups.apply(e), x -> unique(fileName(labels.apply(x)), used));
+            res.shards.computeIfAbsent(name, x -> new ArrayList<>()).add(e);
+            res.owners.putIfAbsent(e.asNode(), name);
+        });
+        return res;
+    }
+
+    private static Stream<OntEntity> entities(OntModel ont) {
+        return Stream.of(ont.classes(), ont.namedIndividuals(), ont.datatypes(),
+                ont.objectProperties(), ont.dataProperties(), ont.annotationProperties()).flatMap(x -> x);
+    }
+
+    /**
+     * Assigns each entity to the first module (the model itself, then its imports, breadth-first)
+     * which declares it; undeclared entities belong to the model itself.
+     */
+    private static Function<OntEntity, String> modules(OntModel ont) {
+        Map<Node, String> res = new HashMap<>();
+        Set<Graph> seen = new HashSet<>();
+        Deque<OntModel> queue = new ArrayDeque<>();
+        queue.add(ont);
+        String root = moduleName(ont);
+        while (!queue.isEmpty()) {
+            OntModel m = queue.removeFirst();
+            if (!seen.add(m.getBaseGraph())) {
+                continue;
+            }
+            String name = moduleName(m);
+            m.getBaseGraph().find(Node.ANY, RDF.type.asNode(), Node.ANY)
+                    .forEachRemaining(t -> res.putIfAbsent(t.getSubject(), name));
+            try (Stream<OntModel> imports = m.imports()) {
+                imports.forEach(queue::add);
+            }
+        }
+        return x -> res.getOrDefault(x.asNode(), root);
+    }
+
+    private static String moduleName(OntModel m) {
+        OntID id = m.getID();
+        return id.isURIResource() ? id.getURI() : "";
+    }
+
+    /**
+     * Assigns each class to its top-level named superclass (the one with the smallest URI if there are several),
+     * each individual to the shard of its type, and each property to the shard of its domain.
+     */
+    private static Function<OntEntity, String> topClasses(OntModel ont) {
+        Graph g = ont.getGraph();
+        Set<Node> classes = ont.classes().map(OntEntity::asNode).collect(Collectors.toSet());
+        Map<Node, Node> roots = new HashMap<>();
+        Function<Node, Node> root = c -> {
+            Node res = roots.get(c);
+            if (res != null) {
+                return res;
+            }
+            // follow the smallest superclass until a class without superclasses or a cycle
+            List<Node> path = new ArrayList<>();
+            Set<Node> visited = new HashSet<>();
+            Node current = c;
+            while (res == null && visited.add(current)) {
+                path.add(current);
+                Node parent = first(g, current, RDFS.subClassOf.asNode(), classes);
+                if (parent == null || parent.equals(current)) {
+                    res = current;
+                } else {
+                    res = roots.get(parent);
+                    current = parent;
+                }
+            }
+            if (res == null) {
+                res = current;
+            }
+            for (Node n : path) {
+                roots.put(n, res);
+            }
+            return res;
+        };
+        return x -> {
+            Node n = x.asNode();
+            Node top;
+            if (classes.contains(n)) {
+                top = root.apply(n);
+            } else {
+                Node c = first(g, n, RDF.type.asNode(), classes);
+                if (c == null) {
+                    c = first(g, n, RDFS.domain.asNode(), classes);
+                }
+                top = c == null ? null : root.apply(c);
+            }
+            return top == null ? "" : top.getURI();
+        };
+    }
+
+    private static Node first(Graph g, Node subject, Node predicate, Set<Node> candidates) {
+        Node res = null;
+        for (Node o : g.find(subject, predicate, Node.ANY).mapWith(t -> t.getObject()).toList()) {
+            if (candidates.contains(o) && !o.equals(subject) && (res == null || o.getURI().compareTo(res.getURI()) < 0)) {
+                res = o;
+            }
+        }
+        return res;
+    }
+
+    private static String lastSegment(String uri) {
+        String res = uri.replaceAll("[#/:]+$", "");
+        return res.substring(Math.max(res.lastIndexOf('/'), Math.max(res.lastIndexOf('#'), res.lastIndexOf(':'))) + 1);
+    }
+
+    private static String fileName(String label) {
+        String res = label.replaceAll("[^A-Za-z0-9_-]+", "_").replaceAll("^_+|_+$", "");
+        return res.isEmpty() ? "shard" : res;
+    }
+
+    private static String unique(String name, Set<String> used) {
+        String res = name;
+        for (int i = 2; !used.add(res.toLowerCase(Locale.ENGLISH)); i++) {
+            res = name + "-" + i;
+        }
+        return res;
+    }
+
+    /**
+     * @return {@link Key}
+     */
+    public Key key() {
+        return key;
+    }
+
+    /**
+     * Lists the shard names in the order of the first entity of each shard.
+     *
+     * @return an unmodifiable {@code List} of {@code String}s
+     */
+    public List<String> names() {
+        return List.copyOf(shards.keySet());
+    }
+
+    /**
+     * Lists the entities of the shard.
+     *
+     * @param name {@code String}, the shard name
+     * @return an unmodifiable {@code Collection} of {@link OntEntity}s, empty for an unknown shard
+     */
+    public Collection<OntEntity> entities(String name) {
+        List<OntEntity> res = shards.get(name);
+        return res == null ? List.of() : Collections.unmodifiableList(res);
+    }
+
+    /**
+     * Answers the shard of the entity.
+     *
+     * @param node {@link Node}
+     * @return {@code String}, the shard name, or {@code null} if the node is not an entity of the model
+     */
+    public String owner(Node node) {
+        return owners.get(node);
+    }
+
+    /**
+     * A way to partition entities.
+     */
+    public enum Key {
+        /**
+         * By the IRI namespace; a shard is named by the namespace prefix if there is one.
+         */
+        NAMESPACE,
+        /**
+         * By the {@code owl:imports} module that declares the entity.
+         */
+        MODULE,
+        /**
+         * By the top-level class: a class hierarchy with its individuals and the properties with domains in it.
+         */
+        CLASS,
+        ;
+
+        public static Key of(String key) {
+            return valueOf(key.toUpperCase(Locale.ENGLISH));
+        }
+    }
+}
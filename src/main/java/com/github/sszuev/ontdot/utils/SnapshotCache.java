@@ -0,0 +1,185 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.OntFormat;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFFormat;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * An on-disk cache of parsed ontologies.
+ * Each entry is a snapshot of the whole ontology graph (including imports) in the binary
+ * <a href='https://jena.apache.org/documentation/io/rdf-binary.html'>RDF Thrift</a> encoding,
+ * which is much faster to read than any text syntax.
+ * The entry key is a content hash of the source file and its format;
+ * the hashes of the imported documents are kept in a separate manifest next to the snapshot
+ * and are verified before the snapshot is used.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class SnapshotCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotCache.class);
+
+    private static final String SNAPSHOT_EXT = ".trdf";
+    private static final String IMPORTS_EXT = ".imports";
+    private static final String UNVERIFIABLE = "";
+
+    private final Path dir;
+
+    public SnapshotCache(Path dir) {
+        this.dir = Objects.requireNonNull(dir);
+    }
+
+    /**
+     * Calculates the cache key for the specified source.
+     *
+     * @param source {@link Path} to the ontology document, not {@code null}
+     * @param format {@link OntFormat} or {@code null}
+     * @return {@code String}, a hex SHA-256 digest
+     * @throws IOException if the source cannot be read
+     */
+    public String key(Path source, OntFormat format) throws IOException {
+        MessageDigest md = DigestUtils.getSha256Digest();
+        try (InputStream in = Files.newInputStream(source)) {
+            DigestUtils.updateDigest(md, in);
+        }
+        md.update(String.valueOf(format).getBytes(StandardCharsets.UTF_8));
+        return Hex.encodeHexString(md.digest());
+    }
+
+    /**
+     * Finds a snapshot by the key.
+     * The snapshot is ignored if any of the recorded imported documents has been changed since it was saved.
+     *
+     * @param key {@code String}, see {@link #key(Path, OntFormat)}
+     * @return {@code Optional} of {@link OntModel}
+     */
+    public Optional<OntModel> find(String key) {
+        Path snapshot = dir.resolve(key + SNAPSHOT_EXT);
+        Path imports = dir.resolve(key + IMPORTS_EXT);
+        if (!Files.exists(snapshot) || !Files.exists(imports)) {
+            return Optional.empty();
+        }
+        try {
+            if (!isUpToDate(readProperties(imports))) {
+                LOGGER.debug("Snapshot <{}> is stale", snapshot);
+                return Optional.empty();
+            }
+            Graph graph = Factory.createGraphMem();
+            try (InputStream in = Files.newInputStream(snapshot)) {
+                RDFDataMgr.read(graph, in, Lang.RDFTHRIFT);
+            }
+            return Optional.of(OntModelFactory.createModel(graph));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to read snapshot <{}>: {}", snapshot, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Saves the specified ontology (with all its imports) as a snapshot.
+     *
+     * @param key      {@code String}, see {@link #key(Path, OntFormat)}
+     * @param ontology {@link Ontology}, not {@code null}
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void save(String key, Ontology ontology) throws IOException {
+        Files.createDirectories(dir);
+        Properties imports = new Properties();
+        OntologyManager manager = ontology.getOWLOntologyManager();
+        ontology.imports().forEach(x -> imports.setProperty(documentIRI(manager, x), digest(manager, x)));
+
+        Path snapshot = dir.resolve(key + SNAPSHOT_EXT);
+        Path tmp = Files.createTempFile(dir, key, SNAPSHOT_EXT);
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            RDFDataMgr.write(out, ontology.asGraphModel().getGraph(), RDFFormat.RDF_THRIFT);
+        }
+        // both files are replaced atomically, the manifest first,
+        // so that a reader never sees the new snapshot with the previous manifest
+        Path manifest = Files.createTempFile(dir, key, IMPORTS_EXT);
+        writeProperties(manifest, imports);
+        Files.move(manifest, dir.resolve(key + IMPORTS_EXT),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.debug("Snapshot <{}> is saved", snapshot);
+    }
+
+    private static boolean isUpToDate(Properties imports) throws IOException {
+        for (Map.Entry<Object, Object> e : imports.entrySet()) {
+            String expected = (String) e.getValue();
+            if (UNVERIFIABLE.equals(expected)) {
+                continue;
+            }
+            Path file = Paths.get(IRI.create((String) e.getKey()).toURI());
+            if (!Files.exists(file) || !expected.equals(sha256(file))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String documentIRI(OntologyManager manager, OWLOntology ont) {
+        return String.valueOf(manager.getOntologyDocumentIRI(ont));
+    }
+
+    private static String digest(OntologyManager manager, OWLOntology ont) {
+        IRI doc = manager.getOntologyDocumentIRI(ont);
+        if (doc == null || !"file".equalsIgnoreCase(doc.getScheme())) {
+            // can't check remote documents without fetching them
+            return UNVERIFIABLE;
+        }
+        try {
+            return sha256(Paths.get(doc.toURI()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return DigestUtils.sha256Hex(in);
+        }
+    }
+
+    private static Properties readProperties(Path file) throws IOException {
+        Properties res = new Properties();
+        try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            res.load(r);
+        }
+        return res;
+    }
+
+    private static void writeProperties(Path file, Properties properties) throws IOException {
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(w, null);
+        }
+    }
+}
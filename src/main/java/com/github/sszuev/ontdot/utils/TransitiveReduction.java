@@ -0,0 +1,182 @@
+package com.github.sszuev.ontdot.utils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.vocabulary.RDFS;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transitive reduction of the asserted named {@code rdfs:subClassOf} and {@code rdfs:subPropertyOf} hierarchies:
+ * an edge {@code A -> C} is redundant if {@code C} is reachable from {@code A} through another direct parent,
+ * e.g. {@code A subClassOf C} next to {@code A subClassOf B subClassOf C}.
+ * <p>
+ * Only nodes with several parents can have redundant edges, so only their parents are checked.
+ * Each node gets an integer index, ancestor sets are kept as sorted {@code int} arrays
+ * and are calculated once per node in a bottom-up (iterative, post-order) pass, which is reused for all children;
+ * the memory is proportional to the total number of ancestors, which is small for real taxonomies
+ * (a bitset per node would need {@code O(n^2)} bits for 10^6 classes).
+ * Cycles are not reduced: the edges that close a cycle are not followed.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class TransitiveReduction {
+    private static final int[] EMPTY = new int[0];
+
+    private final Set<Triple> redundant = new HashSet<>();
+
+    private TransitiveReduction() {
+    }
+
+    /**
+     * Calculates the redundant {@code rdfs:subClassOf} and {@code rdfs:subPropertyOf} edges of the graph.
+     *
+     * @param graph {@link Graph}
+     * @return {@link TransitiveReduction}
+     */
+    public static TransitiveReduction compute(Graph graph) {
+        TransitiveReduction res = new TransitiveReduction();
+        res.reduce(graph, RDFS.subClassOf.asNode());
+        res.reduce(graph, RDFS.subPropertyOf.asNode());
+        return res;
+    }
+
+    private void reduce(Graph graph, Node predicate) {
+        Map<Node, Integer> indexes = new HashMap<>();
+        List<Node> nodes = new ArrayList<>();
+        List<int[]> parents = new ArrayList<>();
+        graph.find(Node.ANY, predicate, Node.ANY).forEachRemaining(t -> {
+            Node s = t.getSubject();
+            Node o = t.getObject();
+            if (!s.isURI() || !o.isURI() || s.equals(o)) {
+                return;
+            }
+            int i = index(s, indexes, nodes, parents);
+            int j = index(o, indexes, nodes, parents);
+            int[] array = parents.get(i);
+            int[] copy = Arrays.copyOf(array, array.length + 1);
+            copy[array.length] = j;
+            parents.set(i, copy);
+        });
+        int[][] ancestors = new int[nodes.size()][];
+        for (int i = 0; i < nodes.size(); i++) {
+            int[] direct = parents.get(i);
+            if (direct.length < 2) {
+                continue;
+            }
+            for (int p : direct) {
+                calcAncestors(p, parents, ancestors);
+            }
+            for (int p : direct) {
+                for (int q : direct) {
+                    int[] qa = ancestors[q];
+                    if (p == q || Arrays.binarySearch(qa, i) >= 0 || Arrays.binarySearch(ancestors[p], q) >= 0) {
+                        // same or cycle
+                        continue;
+                    }
+                    if (Arrays.binarySearch(qa, p) >= 0) {
+                        redundant.add(Triple.create(nodes.get(i), predicate, nodes.get(p)));
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int index(Node node, Map<Node, Integer> indexes, List<Node> nodes, List<int[]> parents) {
+        return indexes.computeIfAbsent(node, x -> {
+            nodes.add(x);
+            parents.add(EMPTY);
+            return nodes.size() - 1;
+        });
+    }
+
+    /**
+     * Calculates the strict ancestors of the node and all its ancestors, iteratively, bottom-up.
+     */
+    private static void calcAncestors(int start, List<int[]> parents, int[][] ancestors) {
+        if (ancestors[start] != null) {
+            return;
+        }
+        Set<Integer> onStack = new HashSet<>();
+        Deque<int[]> stack = new ArrayDeque<>(); // {node, next parent position}
+        stack.push(new int[]{start, 0});
+        onStack.add(start);
+        while (!stack.isEmpty()) {
+            int[] top = stack.peek();
+            int[] direct = parents.get(top[0]);
+            if (top[1] < direct.length) {
+                int p = direct[top[1]++];
+                if (ancestors[p] == null && onStack.add(p)) {
+                    stack.push(new int[]{p, 0});
+                }
+                continue;
+            }
+            stack.pop();
+            onStack.remove(top[0]);
+            int[] res = EMPTY;
+            for (int p : direct) {
+                int[] pa = ancestors[p] == null ? EMPTY : ancestors[p]; // null means a cycle
+                res = union(res, pa, p);
+            }
+            ancestors[top[0]] = res;
+        }
+    }
+
+    /**
+     * Merges two sorted arrays and an extra element into a new sorted array without duplicates.
+     */
+    private static int[] union(int[] left, int[] right, int extra) {
+        int[] res = new int[left.length + right.length + 1];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length || j < right.length) {
+            int next;
+            if (j == right.length || (i < left.length && left[i] <= right[j])) {
+                next = left[i++];
+            } else {
+                next = right[j++];
+            }
+            if (k == 0 || res[k - 1] != next) {
+                res[k++] = next;
+            }
+        }
+        int pos = Arrays.binarySearch(res, 0, k, extra);
+        if (pos < 0) {
+            pos = -pos - 1;
+            System.arraycopy(res, pos, res, pos + 1, k - pos);
+            res[pos] = extra;
+            k++;
+        }
+        return k == res.length ? res : Arrays.copyOf(res, k);
+    }
+
+    /**
+     * Answers {@code true} if the asserted edge can be omitted, since it is implied by other edges.
+     *
+     * @param subject   {@link Node}
+     * @param predicate {@link Node}, {@code rdfs:subClassOf} or {@code rdfs:subPropertyOf}
+     * @param object    {@link Node}
+     * @return {@code boolean}
+     */
+    public boolean isRedundant(Node subject, Node predicate, Node object) {
+        return redundant.contains(Triple.create(subject, predicate, object));
+    }
+
+    /**
+     * @return {@code int}, the number of redundant edges
+     */
+    public int size() {
+        return redundant.size();
+    }
+}
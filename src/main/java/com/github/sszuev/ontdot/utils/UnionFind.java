@@ -0,0 +1,71 @@
+package com.github.sszuev.ontdot.utils;
+
+/**
+ * A disjoint-set forest over the indexes {@code 0..size-1}, with union by size and path compression.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ *
+ * @see EquivalenceGroups
+ */
+public class UnionFind {
+    private final int[] parents;
+    private final int[] sizes;
+
+    public UnionFind(int size) {
+        parents = new int[size];
+        sizes = new int[size];
+        for (int i = 0; i < size; i++) {
+            parents[i] = i;
+            sizes[i] = 1;
+        }
+    }
+
+    /**
+     * Finds the root of the set the element belongs to.
+     *
+     * @param i {@code int}, the element index
+     * @return {@code int}, the root index
+     */
+    public int find(int i) {
+        int root = i;
+        while (parents[root] != root) {
+            root = parents[root];
+        }
+        while (parents[i] != root) { // path compression
+            int next = parents[i];
+            parents[i] = root;
+            i = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merges the sets of two elements.
+     *
+     * @param a {@code int}, the element index
+     * @param b {@code int}, the element index
+     * @return {@code boolean}, {@code false} if the elements are already in the same set
+     */
+    public boolean union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a == b) {
+            return false;
+        }
+        if (sizes[a] < sizes[b]) {
+            int x = a;
+            a = b;
+            b = x;
+        }
+        parents[b] = a;
+        sizes[a] += sizes[b];
+        return true;
+    }
+
+    /**
+     * @return {@code int}, the number of elements
+     */
+    public int size() {
+        return parents.length;
+    }
+}
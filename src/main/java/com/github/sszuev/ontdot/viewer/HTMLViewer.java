@@ -0,0 +1,307 @@
+package com.github.sszuev.ontdot.viewer;
+
+import com.github.owlcs.ontapi.jena.model.OntEntity;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTConfig;
+import com.github.sszuev.ontdot.api.RenderListener;
+import com.github.sszuev.ontdot.layout.SVGRenderer;
+import com.github.sszuev.ontdot.renderers.RenderStats;
+import org.apache.jena.atlas.json.JSON;
+import org.apache.jena.atlas.json.JsonArray;
+import org.apache.jena.atlas.json.JsonObject;
+import org.apache.jena.atlas.json.JsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a self-contained static HTML viewer for a (very large) ontology, which works offline.
+ * The output directory contains:
+ * <ul>
+ * <li>{@code index.html} - the viewer (no external scripts or styles)</li>
+ * <li>{@code data/index.js} - the list of entities: URI, short form, kind and bucket number</li>
+ * <li>{@code data/b<N>.js} - precomputed neighbourhoods (node tables and links) of the entities of the bucket</li>
+ * <li>{@code data/i<N>.js} - incoming links of the entities of the bucket</li>
+ * </ul>
+ * Data files are JSON documents wrapped into calls of {@code OntDotViewer} functions (JSONP),
+ * since browsers do not allow to fetch local files, but allow to load local scripts;
+ * the viewer loads a bucket only when one of its entities is expanded.
+ * Buckets are rendered in parallel on a fixed number of threads, each by its own {@link NeighbourhoodWriter},
+ * and each bucket is written to the disk as soon as it is rendered.
+ * Incoming links are spilled to a temporary file per target bucket ({@code data/i<N>.tmp})
+ * when a bucket is rendered, and then each file is grouped by target in turn,
+ * so that the memory is bounded by the links of a single bucket, not by all links of the ontology.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class HTMLViewer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HTMLViewer.class);
+
+    public static final int DEFAULT_BUCKET_SIZE = 200;
+    private static final String VIEWER = "/ontdot-viewer.html";
+    private static final String DATA_DIR = "data";
+
+    private final DOTConfig conf;
+    private final int bucketSize;
+    private final int threads;
+
+    /**
+     * @param conf       {@link DOTConfig}, which can be shared between threads
+     *                   (see {@link com.github.sszuev.ontdot.api.OntVisualizer#shared()})
+     * @param bucketSize {@code int}, the number of entities in a data file
+     * @param threads    {@code int}, the number of threads to render buckets
+     */
+    public HTMLViewer(DOTConfig conf, int bucketSize, int threads) {
+        if (bucketSize <= 0) {
+            throw new IllegalArgumentException("Wrong bucket size: " + bucketSize);
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Wrong number of threads: " + threads);
+        }
+        this.conf = Objects.requireNonNull(conf);
+        this.bucketSize = bucketSize;
+        this.threads = threads;
+    }
+
+    public HTMLViewer(DOTConfig conf, int bucketSize) {
+        this(conf, bucketSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    public HTMLViewer(DOTConfig conf) {
+        this(conf, DEFAULT_BUCKET_SIZE);
+    }
+
+    /**
+     * Writes the viewer and the data files into the directory.
+     * The {@link DOTConfig#entities() entities filter} is ignored.
+     *
+     * @param ont {@link OntModel}
+     * @param dir {@link Path} to the output directory, created if it does not exist
+     * @return {@link RenderStats}, the sum of the bucket statistics
+     * @throws IOException if a file cannot be written
+     */
+    public RenderStats write(OntModel ont, Path dir) throws IOException {
+        Path data = Files.createDirectories(dir.resolve(DATA_DIR));
+        List<OntEntity> entities = new ArrayList<>();
+        List<RenderListener.Kind> kinds = new ArrayList<>();
+        collect(entities, kinds, RenderListener.Kind.CLASS, ont::classes);
+        collect(entities, kinds, RenderListener.Kind.INDIVIDUAL, ont::namedIndividuals);
+        collect(entities, kinds, RenderListener.Kind.DATATYPE, ont::datatypes);
+        collect(entities, kinds, RenderListener.Kind.OBJECT_PROPERTY, ont::objectProperties);
+        collect(entities, kinds, RenderListener.Kind.DATA_PROPERTY, ont::dataProperties);
+        collect(entities, kinds, RenderListener.Kind.ANNOTATION_PROPERTY, ont::annotationProperties);
+        int buckets = (entities.size() + bucketSize - 1) / bucketSize;
+
+        Map<String, Integer> positions = new HashMap<>();
+        JsonArray index = new JsonArray();
+        for (int i = 0; i < entities.size(); i++) {
+            String uri = entities.get(i).getURI();
+            positions.putIfAbsent(uri, i / bucketSize);
+            JsonArray e = new JsonArray();
+            e.add(uri);
+            e.add(conf.prefixes().shortForm(uri));
+            e.add(kinds.get(i).name().toLowerCase(Locale.ENGLISH));
+            e.add(i / bucketSize);
+            index.add(e);
+        }
+        JsonObject res = new JsonObject();
+        res.put("buckets", buckets);
+        res.put("colors", colors());
+        res.put("entities", index);
+        writeScript(data.resolve("index.js"), "OntDotViewer.index(", res);
+
+        Map<Integer, RenderStats> stats = new ConcurrentHashMap<>();
+        Object[] locks = new Object[buckets];
+        for (int b = 0; b < buckets; b++) {
+            locks[b] = new Object();
+            Files.deleteIfExists(data.resolve("i" + b + ".tmp"));
+        }
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, buckets)));
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < buckets; i++) {
+                int b = i;
+                tasks.add(executor.submit(() -> {
+                    stats.put(b, writeBucket(ont, entities, positions, locks, data, b));
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int b = 0; b < buckets; b++) {
+            writeIncoming(data, b);
+        }
+        LOGGER.info("Rendered {} entities in {} buckets: {} ms",
+                entities.size(), buckets, System.currentTimeMillis() - start);
+        try (InputStream viewer = Objects.requireNonNull(HTMLViewer.class.getResourceAsStream(VIEWER))) {
+            Files.copy(viewer, dir.resolve("index.html"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        RenderStats total = new RenderStats();
+        stats.values().forEach(total::add);
+        return total;
+    }
+
+    private static <X extends OntEntity> void collect(List<OntEntity> entities,
+                                                      List<RenderListener.Kind> kinds,
+                                                      RenderListener.Kind kind,
+                                                      Supplier<Stream<X>> stream) {
+        try (Stream<X> s = stream.get()) {
+            s.forEach(x -> {
+                entities.add(x);
+                kinds.add(kind);
+            });
+        }
+    }
+
+    /**
+     * Renders the bucket into {@code data/b<N>.js} and spills its outgoing links to the incoming files.
+     */
+    private RenderStats writeBucket(OntModel ont,
+                                    List<OntEntity> entities,
+                                    Map<String, Integer> positions,
+                                    Object[] locks,
+                                    Path data,
+                                    int b) throws IOException {
+        NeighbourhoodWriter writer = new NeighbourhoodWriter(conf);
+        writer.begin(ont);
+        // target bucket -> lines "target source color"
+        Map<Integer, StringBuilder> incoming = new HashMap<>();
+        Path file = data.resolve("b" + b + ".js");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            write(out, "OntDotViewer.bucket(" + b + ",[");
+            boolean first = true;
+            for (int i = b * bucketSize; i < Math.min(entities.size(), (b + 1) * bucketSize); i++) {
+                JsonObject n = writer.render(entities.get(i));
+                if (n == null) {
+                    continue;
+                }
+                if (!first) {
+                    write(out, ",");
+                }
+                first = false;
+                JSON.writeFlat(out, n);
+                collectIncoming(n, positions, incoming);
+            }
+            write(out, "]);\n");
+        }
+        writer.end();
+        for (Map.Entry<Integer, StringBuilder> e : incoming.entrySet()) {
+            Path spill = data.resolve("i" + e.getKey() + ".tmp");
+            byte[] bytes = e.getValue().toString().getBytes(StandardCharsets.UTF_8);
+            synchronized (locks[e.getKey()]) {
+                Files.write(spill, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        }
+        return writer.stats();
+    }
+
+    private static void collectIncoming(JsonObject neighbourhood,
+                                        Map<String, Integer> positions,
+                                        Map<Integer, StringBuilder> incoming) {
+        String source = neighbourhood.get("id").getAsString().value();
+        for (JsonValue v : neighbourhood.get("links").getAsArray()) {
+            JsonObject link = v.getAsObject();
+            String target = link.get("to").getAsString().value();
+            Integer b = positions.get(target);
+            if (b == null || target.equals(source)) {
+                continue;
+            }
+            // URIs and colors have no whitespace
+            incoming.computeIfAbsent(b, x -> new StringBuilder()).append(target).append(' ')
+                    .append(source).append(' ').append(link.get("color").getAsString().value()).append('\n');
+        }
+    }
+
+    /**
+     * Groups the spilled incoming links of the bucket by target and writes {@code data/i<N>.js};
+     * only the links of this bucket are held in memory.
+     */
+    private static void writeIncoming(Path data, int b) throws IOException {
+        // target URI -> [source URI, color]
+        Map<String, JsonArray> links = new LinkedHashMap<>();
+        Path spill = data.resolve("i" + b + ".tmp");
+        if (Files.exists(spill)) {
+            // buckets are spilled in any order, sort to make the output stable
+            List<String> lines = Files.readAllLines(spill, StandardCharsets.UTF_8);
+            Collections.sort(lines);
+            for (String line : lines) {
+                String[] parts = line.split(" ", 3);
+                JsonArray e = new JsonArray();
+                e.add(parts[1]);
+                e.add(parts[2]);
+                links.computeIfAbsent(parts[0], x -> new JsonArray()).add(e);
+            }
+            Files.delete(spill);
+        }
+        JsonObject in = new JsonObject();
+        links.forEach(in::put);
+        writeScript(data.resolve("i" + b + ".js"), "OntDotViewer.incoming(" + b + ",", in);
+    }
+
+    private JsonObject colors() {
+        JsonObject res = new JsonObject();
+        res.put("class", SVGRenderer.color(conf.classColor(), "white"));
+        res.put("individual", SVGRenderer.color(conf.individualColor(), "white"));
+        res.put("datatype", SVGRenderer.color(conf.datatypeColor(), "white"));
+        res.put("object_property", SVGRenderer.color(conf.objectPropertyColor(), "white"));
+        res.put("data_property", SVGRenderer.color(conf.dataPropertyColor(), "white"));
+        res.put("annotation_property", SVGRenderer.color(conf.annotationPropertyColor(), "white"));
+        return res;
+    }
+
+    private static void writeScript(Path file, String call, JsonValue json) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            write(out, call);
+            JSON.writeFlat(out, json);
+            write(out, ");\n");
+        }
+    }
+
+    private static void write(OutputStream out, String txt) throws IOException {
+        out.write(txt.getBytes(StandardCharsets.UTF_8));
+    }
+}
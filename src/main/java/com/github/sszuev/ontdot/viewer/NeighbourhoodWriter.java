@@ -0,0 +1,145 @@
+package com.github.sszuev.ontdot.viewer;
+
+import com.github.owlcs.ontapi.jena.model.OntEntity;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTConfig;
+import com.github.sszuev.ontdot.layout.SVGRenderer;
+import com.github.sszuev.ontdot.renderers.GraphDOTWriter;
+import com.github.sszuev.ontdot.renderers.GraphSink;
+import org.apache.jena.atlas.json.JsonArray;
+import org.apache.jena.atlas.json.JsonObject;
+import org.apache.jena.graph.Node;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link GraphDOTWriter} that renders entities one by one into JSON neighbourhoods instead of a DOT document.
+ * Each entity is rendered with the same logic as the full graph, and the nodes the fragment declares
+ * (the entity table and its class expressions), with rows of cells, and the links of the fragment
+ * are collected by a {@link GraphSink}.
+ * Entity nodes are identified by URIs, so that the neighbourhoods rendered by different writers can be linked;
+ * anonymous nodes are identified by {@code _:}-prefixed ids, which are unique only within the writer.
+ * Disjointness axioms are not rendered.
+ * An instance is not thread-safe.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+class NeighbourhoodWriter extends GraphDOTWriter {
+    private final Neighbourhood neighbourhood;
+
+    NeighbourhoodWriter(DOTConfig conf) {
+        this(conf, new Neighbourhood());
+    }
+
+    private NeighbourhoodWriter(DOTConfig conf, Neighbourhood neighbourhood) {
+        super(conf.prefixes(), conf.classProperties(), conf.literalRenderer(), neighbourhood, conf);
+        this.neighbourhood = neighbourhood;
+    }
+
+    /**
+     * Prepares the writer to render entities of the specified model.
+     *
+     * @param ont {@link OntModel}
+     */
+    void begin(OntModel ont) {
+        neighbourhood.refs.clear();
+        prepare(ont);
+    }
+
+    /**
+     * Completes the render and fills the {@link #stats() statistics}.
+     */
+    void end() {
+        finish();
+    }
+
+    /**
+     * Renders the neighbourhood of the entity.
+     *
+     * @param entity {@link OntEntity}
+     * @return {@link JsonObject} with {@code id}, {@code nodes} and {@code links},
+     * or {@code null} if the entity is not drawn (e.g. it is folded or merged into another node)
+     */
+    JsonObject render(OntEntity entity) {
+        neighbourhood.nodes = new JsonArray();
+        neighbourhood.links = new JsonArray();
+        renderEntity(entity);
+        if (neighbourhood.nodes.isEmpty() && neighbourhood.links.isEmpty()) {
+            return null;
+        }
+        JsonObject res = new JsonObject();
+        res.put("id", entity.getURI());
+        res.put("nodes", neighbourhood.nodes);
+        res.put("links", neighbourhood.links);
+        return res;
+    }
+
+    @Override
+    protected String nodeRef(Node node) {
+        String res = super.nodeRef(node);
+        neighbourhood.refs.putIfAbsent(res, node);
+        return res;
+    }
+
+    /**
+     * Collects the nodes and links of the current entity as JSON.
+     */
+    private static class Neighbourhood implements GraphSink {
+        private final Map<String, Node> refs = new HashMap<>();
+        private JsonArray nodes;
+        private JsonArray links;
+
+        @Override
+        public void node(String id, List<List<Cell>> rows, Map<String, String> attributes) {
+            JsonObject node = new JsonObject();
+            node.put("id", jsonId(id));
+            String style = attributes.get("style");
+            if (style != null && style.contains("filled")) {
+                node.put("fill", SVGRenderer.color(attributes.get("fillcolor"), "white"));
+            }
+            if (attributes.get("shape") != null) {
+                node.put("shape", attributes.get("shape"));
+            }
+            JsonArray res = new JsonArray();
+            for (List<Cell> row : rows) {
+                JsonArray cells = new JsonArray();
+                for (Cell cell : row) {
+                    JsonArray c = new JsonArray();
+                    c.add(cell.text());
+                    if (cell.color() != null) {
+                        c.add(SVGRenderer.color(cell.color(), "white"));
+                    }
+                    cells.add(c);
+                }
+                res.add(cells);
+            }
+            node.put("rows", res);
+            nodes.add(node);
+        }
+
+        @Override
+        public void edge(String from, String to, Map<String, String> attributes) {
+            JsonObject res = new JsonObject();
+            res.put("from", jsonId(from));
+            res.put("to", jsonId(to));
+            res.put("color", SVGRenderer.color(attributes.get("color"), "black"));
+            if (attributes.get("style") != null) {
+                res.put("style", attributes.get("style"));
+            }
+            if (attributes.get("dir") != null) {
+                res.put("dir", attributes.get("dir"));
+            }
+            links.add(res);
+        }
+
+        private String jsonId(String id) {
+            Node node = refs.get(id);
+            if (node != null && node.isURI()) {
+                return node.getURI();
+            }
+            return "_:" + id;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.sszuev.ontdot;
+
+import com.github.sszuev.tests.utils.ModelData;
+import org.apache.jena.atlas.json.JSON;
+import org.apache.jena.atlas.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class BatchTest {
+
+    @Test
+    public void testTokenize() {
+        Assertions.assertEquals(List.of("a b.ttl", "-e", ":X,:Y", "-BclassColor=red"),
+                Batch.tokenize("  'a b.ttl' -e \":X,:Y\"   -BclassColor=red "));
+        Assertions.assertEquals(List.of(), Batch.tokenize("   "));
+    }
+
+    @Test
+    public void testManifest(@TempDir Path dir) throws Exception {
+        Files.copy(ModelData.PIZZA.getFile(), dir.resolve("pizza.ttl"));
+        Files.copy(ModelData.KOALA.getFile(), dir.resolve("koala.ttl"));
+        Files.writeString(dir.resolve("views.txt"), "# views\n" +
+                "pizza.ttl -e :Germany,:America -o germany.dot\n" +
+                "pizza.ttl\n" +
+                "koala.ttl -e :Quokka -BclassColor=red\n" +
+                "missing.ttl\n");
+        Path out = dir.resolve("out");
+        CLI cli = CLI.parse("-a", dir.resolve("views.txt").toString(), "-o", out.toString(), "-j", "2");
+        List<Batch.View> views = Batch.views(cli);
+        Assertions.assertEquals(4, views.size());
+        Assertions.assertEquals(dir.resolve("germany.dot").toRealPath().getParent().resolve("germany.dot"),
+                views.get(0).target());
+        Assertions.assertEquals(out.resolve("pizza.dot"), views.get(1).target());
+
+        Path report = Batch.run(cli);
+        JsonObject json = JSON.parse(Files.readString(report));
+        Assertions.assertEquals(3, json.get("succeeded").getAsNumber().value().intValue());
+        // the missing file does not abort the batch
+        Assertions.assertEquals(1, json.get("failed").getAsNumber().value().intValue());
+        Assertions.assertEquals("failed", json.get("files").getAsArray().get(3).getAsObject()
+                .get("status").getAsString().value());
+        Assertions.assertTrue(Files.readString(out.resolve("koala.dot")).contains("\"red\""));
+        Assertions.assertTrue(Files.exists(views.get(0).target()));
+    }
+
+    @Test
+    public void testGlob(@TempDir Path dir) throws Exception {
+        Files.createDirectories(dir.resolve("a"));
+        Files.copy(ModelData.CAMERA.getFile(), dir.resolve("a").resolve("camera.ttl"));
+        Files.copy(ModelData.TRAVEL.getFile(), dir.resolve("travel.ttl"));
+        Files.writeString(dir.resolve("readme.txt"), "not an ontology");
+
+        CLI cli = CLI.parse("-a", dir + "/*/*.ttl");
+        List<Batch.View> views = Batch.views(cli);
+        Assertions.assertEquals(1, views.size());
+        Assertions.assertEquals(dir.resolve("a").resolve("camera.dot"), views.get(0).target());
+
+        cli = CLI.parse("-a", dir + "/**.ttl");
+        Assertions.assertEquals(2, Batch.views(cli).size());
+
+        // non-recursive, readme.txt is skipped
+        cli = CLI.parse("-a", dir.toString());
+        Assertions.assertEquals(1, Batch.views(cli).size());
+
+        // an unparsable file is reported, the other files are still rendered
+        Files.writeString(dir.resolve("broken.ttl"), "@prefix : <http://x#> . :a :b");
+        cli = CLI.parse("-a", dir + "/**.ttl", "-o", dir.resolve("out").toString());
+        JsonObject json = JSON.parse(Files.readString(Batch.run(cli)));
+        Assertions.assertEquals(2, json.get("succeeded").getAsNumber().value().intValue());
+        Assertions.assertEquals(1, json.get("failed").getAsNumber().value().intValue());
+        Files.delete(dir.resolve("broken.ttl"));
+
+        // files with the same name in different directories keep their relative paths
+        Files.createDirectories(dir.resolve("b"));
+        Files.copy(ModelData.KOALA.getFile(), dir.resolve("b").resolve("camera.ttl"));
+        Path out = dir.resolve("out2");
+        cli = CLI.parse("-a", dir + "/**.ttl", "-o", out.toString());
+        views = Batch.views(cli);
+        Assertions.assertEquals(List.of(out.resolve("a").resolve("camera.dot"), out.resolve("b").resolve("camera.dot")),
+                views.stream().map(Batch.View::target).filter(x -> x.getFileName().toString().equals("camera.dot"))
+                        .collect(Collectors.toList()));
+        json = JSON.parse(Files.readString(Batch.run(cli)));
+        Assertions.assertEquals(3, json.get("succeeded").getAsNumber().value().intValue());
+        Assertions.assertTrue(Files.readString(out.resolve("a").resolve("camera.dot")).contains("Camera"));
+        Assertions.assertTrue(Files.readString(out.resolve("b").resolve("camera.dot")).contains("Koala"));
+    }
+
+    @Test
+    public void testSameTarget(@TempDir Path dir) throws Exception {
+        Files.copy(ModelData.PIZZA.getFile(), dir.resolve("pizza.ttl"));
+        Files.writeString(dir.resolve("views.txt"), "pizza.ttl -o pizza.dot\npizza.ttl -e :America -o pizza.dot\n");
+        CLI cli = CLI.parse("-a", dir.resolve("views.txt").toString());
+        Assertions.assertThrows(IOException.class, () -> Batch.views(cli));
+    }
+
+    @Test
+    public void testJobs(@TempDir Path dir) {
+        CLI cli = CLI.parse("-a", dir.toString());
+        Assertions.assertNull(cli.jobs());
+        Assertions.assertEquals(Runtime.getRuntime().availableProcessors(), cli.threads());
+        Assertions.assertEquals(1, cli.parseThreads());
+
+        cli = CLI.parse("-a", dir.toString(), "-j", "1");
+        Assertions.assertEquals(1, cli.threads());
+        Assertions.assertEquals(1, cli.parseThreads());
+
+        cli = CLI.parse("-a", dir.toString(), "-j", "3");
+        Assertions.assertEquals(3, cli.threads());
+        Assertions.assertEquals(3, cli.parseThreads());
+    }
+}
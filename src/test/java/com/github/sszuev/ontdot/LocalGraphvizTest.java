@@ -0,0 +1,108 @@
+package com.github.sszuev.ontdot;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.renderers.DOTWriter;
+import com.github.sszuev.ontdot.renderers.RenderStats;
+import com.github.sszuev.tests.utils.ModelData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class LocalGraphvizTest {
+
+    @Test
+    public void testParseOptions() {
+        CLI cli = CLI.parse("-i", ModelData.PIZZA.getFile().toString(), "-g", "SVG", "-ge", "sfdp", "-gt", "10", "-p");
+        Assertions.assertEquals("svg", cli.image());
+        Assertions.assertEquals("sfdp", cli.engine());
+        Assertions.assertEquals(10_000, cli.graphvizTimeout());
+        Assertions.assertTrue(cli.pack());
+
+        cli = CLI.parse("-i", ModelData.PIZZA.getFile().toString());
+        Assertions.assertNull(cli.image());
+        Assertions.assertEquals(LocalGraphviz.DEFAULT_ENGINE, cli.engine());
+
+        String source = ModelData.PIZZA.getFile().toString();
+        Assertions.assertThrows(CLI.ExitException.class, () -> CLI.parse("-i", source, "-p"));
+        Assertions.assertThrows(CLI.ExitException.class, () -> CLI.parse("-i", source, "-g", "svg", "-ge", "x"));
+        Assertions.assertThrows(CLI.ExitException.class, () -> CLI.parse("-i", source, "-g", "svg", "-gt", "0"));
+        Assertions.assertThrows(CLI.ExitException.class, () -> CLI.parse("-i", source, "-g", "svg", "-b"));
+    }
+
+    @Test
+    public void testStreamToSVG() throws IOException {
+        LocalGraphviz graphviz = new LocalGraphviz(null, "dot", 60_000, 2);
+        Assumptions.assumeTrue(graphviz.isAvailable(), "No local Graphviz");
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RenderStats stats = graphviz.draw(m, visualizer, "svg", out);
+        String svg = out.toString(StandardCharsets.UTF_8);
+        Assertions.assertTrue(svg.contains("<svg"));
+        Assertions.assertTrue(svg.contains(":Veneziana"));
+        Assertions.assertEquals(visualizer.draw(m).length(), stats.chars());
+
+        Assertions.assertThrows(IOException.class, () -> graphviz.draw(m, visualizer, "no-such-format", out));
+    }
+
+    @Test
+    public void testNewWriter(@TempDir Path dir) throws IOException {
+        // a missing executable: the process slot is released, so the second call fails too instead of waiting
+        LocalGraphviz missing = new LocalGraphviz(dir.resolve("none"), "dot", 60_000, 1);
+        Assertions.assertThrows(UncheckedIOException.class, () -> missing.newWriter("svg", dir.resolve("a.svg")));
+        Assertions.assertThrows(UncheckedIOException.class, () -> missing.newWriter("svg", dir.resolve("a.svg")));
+
+        LocalGraphviz graphviz = new LocalGraphviz(null, "dot", 60_000, 1);
+        Assumptions.assumeTrue(graphviz.isAvailable(), "No local Graphviz");
+        OntModel m = ModelData.CAMERA.ont().asGraphModel();
+        Path file = dir.resolve("camera.svg");
+        try (DOTWriter writer = OntVisualizer.create().prefixes(m).newDOTWriter(graphviz.newWriter("svg", file))) {
+            writer.write(m);
+        }
+        Assertions.assertTrue(Files.readString(file).contains("<svg"));
+
+        Writer broken = graphviz.newWriter("no-such-format", dir.resolve("x"));
+        broken.write("digraph {}");
+        Assertions.assertThrows(IOException.class, broken::close);
+    }
+
+    @Test
+    public void testPackDoesNotOverlap() throws IOException {
+        LocalGraphviz graphviz = new LocalGraphviz(null, "dot", 60_000, 2);
+        Assumptions.assumeTrue(graphviz.isAvailable(), "No local Graphviz");
+        String a = "digraph {a1 -> a2 -> a3; a1 -> a4;}";
+        String b = "digraph {b1 -> b2 -> b3 -> b4 -> b5;}";
+        double[] boxA = boundingBox(graphviz, List.of(a));
+        double[] boxB = boundingBox(graphviz, List.of(b));
+        double[] packed = boundingBox(graphviz, List.of(a, b));
+        // components stacked at the origin would give the box of the largest one
+        Assertions.assertTrue(packed[0] * packed[1] > Math.max(boxA[0] * boxA[1], boxB[0] * boxB[1]),
+                "Components overlap");
+    }
+
+    private static double[] boundingBox(LocalGraphviz graphviz, List<String> components) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        graphviz.pack(components, "dot", out);
+        Matcher m = Pattern.compile("bb=\"([-\\d.]+),([-\\d.]+),([-\\d.]+),([-\\d.]+)\"")
+                .matcher(out.toString(StandardCharsets.UTF_8));
+        Assertions.assertTrue(m.find());
+        return new double[]{Double.parseDouble(m.group(3)) - Double.parseDouble(m.group(1)),
+                Double.parseDouble(m.group(4)) - Double.parseDouble(m.group(2))};
+    }
+}
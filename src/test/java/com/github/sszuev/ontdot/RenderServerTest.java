@@ -0,0 +1,101 @@
+package com.github.sszuev.ontdot;
+
+import com.github.sszuev.tests.utils.ModelData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Contains a simple load test for the render server.
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class RenderServerTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenderServerTest.class);
+    private static final int CLIENTS = 8;
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    @Test
+    public void testRenderRequests() throws Exception {
+        try (RenderServer server = RenderServer.start(0, 4, 2, false, null)) {
+            HttpClient client = HttpClient.newHttpClient();
+            HttpResponse<String> res = client.send(request(server, ModelData.KOALA, "&entities=:Quokka"),
+                    HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(200, res.statusCode());
+            Assertions.assertTrue(res.body().startsWith("digraph OWL {"));
+            Assertions.assertEquals("miss", res.headers().firstValue("X-Cache").orElseThrow());
+
+            res = client.send(request(server, ModelData.KOALA, "&B.classPropertiesMap=true"),
+                    HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(200, res.statusCode());
+            Assertions.assertEquals("hit", res.headers().firstValue("X-Cache").orElseThrow());
+
+            res = client.send(request(server, ModelData.KOALA, "&B.unknown=true"), HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(400, res.statusCode());
+
+            // the output is checked before the model is loaded, so a missing file is not reported
+            String input = URLEncoder.encode("no-such-file.ttl", StandardCharsets.UTF_8);
+            res = client.send(HttpRequest.newBuilder(server.getURI()
+                            .resolve(RenderServer.RENDER_PATH + "?input=" + input + "&output=svg")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(400, res.statusCode());
+            Assertions.assertEquals("Unsupported output: svg", res.body());
+        }
+    }
+
+    @Tag("perf")
+    @Test
+    public void testLoad() throws Exception {
+        List<ModelData> data = List.of(ModelData.PIZZA, ModelData.KOALA, ModelData.CAMERA, ModelData.TRAVEL);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try (RenderServer server = RenderServer.start(0, 4, data.size(), false, null)) {
+            HttpClient client = HttpClient.newHttpClient();
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                int n = i;
+                futures.add(clients.submit(() -> {
+                    List<Long> times = new ArrayList<>();
+                    for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                        ModelData d = data.get((n + j) % data.size());
+                        long start = System.nanoTime();
+                        HttpResponse<String> res = client.send(request(server, d, ""),
+                                HttpResponse.BodyHandlers.ofString());
+                        times.add((System.nanoTime() - start) / 1_000_000);
+                        Assertions.assertEquals(200, res.statusCode(), res.body());
+                    }
+                    return times;
+                }));
+            }
+            List<Long> times = new ArrayList<>();
+            for (Future<List<Long>> f : futures) {
+                times.addAll(f.get());
+            }
+            Collections.sort(times);
+            LOGGER.info("Requests: {}, median: {} ms, p95: {} ms, max: {} ms", times.size(),
+                    times.get(times.size() / 2), times.get(times.size() * 95 / 100), times.get(times.size() - 1));
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static HttpRequest request(RenderServer server, ModelData data, String params) {
+        String input = URLEncoder.encode(data.getFile().toString(), StandardCharsets.UTF_8);
+        URI uri = server.getURI().resolve(RenderServer.RENDER_PATH + "?input=" + input + params);
+        return HttpRequest.newBuilder(uri).GET().build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.sszuev.ontdot.api;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.tests.utils.ModelData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class OntVisualizerTest {
+
+    @Test
+    public void testDrawAll() {
+        OntModel ont = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(ont)
+                .withOption(DOTSetting.BOOLEAN_CLASS_PROPERTIES_MAP, true)
+                .withOption(DOTSetting.BOOLEAN_ENTITY_ANNOTATIONS, true);
+        Map<String, Collection<String>> views = new LinkedHashMap<>();
+        views.put("all", List.of());
+        views.put("germany", List.of(":Germany", ":America"));
+        views.put("veneziana", List.of(":Veneziana"));
+        views.put("pizza", List.of(":Pizza", ":hasTopping", ":hasBase"));
+
+        Map<String, String> res = visualizer.drawAll(ont, views);
+        Assertions.assertEquals(List.copyOf(views.keySet()), List.copyOf(res.keySet()));
+        views.forEach((name, entities) ->
+                Assertions.assertEquals(visualizer.entities(entities).draw(ont), res.get(name), "View " + name));
+    }
+
+    @Test
+    public void testDrawAllWithExecutor() {
+        OntModel ont = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(ont);
+        Map<String, Collection<String>> views = new LinkedHashMap<>();
+        views.put("all", List.of());
+        views.put("germany", List.of(":Germany", ":America"));
+        views.put("veneziana", List.of(":Veneziana"));
+
+        Map<String, StringWriter> sinks = new ConcurrentHashMap<>();
+        Map<String, String> threads = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "views"));
+        try {
+            visualizer.drawAll(ont, views, k -> {
+                threads.put(k, Thread.currentThread().getName());
+                return sinks.computeIfAbsent(k, x -> new StringWriter());
+            }, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(Map.of("all", "views", "germany", "views", "veneziana", "views"), threads);
+        views.forEach((name, entities) -> Assertions.assertEquals(visualizer.entities(entities).draw(ont),
+                sinks.get(name).toString(), "View " + name));
+    }
+}
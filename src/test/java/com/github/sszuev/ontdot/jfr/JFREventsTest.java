@@ -0,0 +1,64 @@
+package com.github.sszuev.ontdot.jfr;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.App;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.tests.utils.ModelData;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class JFREventsTest {
+
+    @Test
+    public void testEvents(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ModelLoadEvent.class);
+            recording.enable(SinkFlushEvent.class);
+            recording.enable(EntityRenderEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(ClassPropertiesEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            OntModel m = App.loadModel(ModelData.KOALA.getFile(), null, 1, null);
+            OntVisualizer.create().prefixes(m).withOption(DOTSetting.BOOLEAN_CLASS_PROPERTIES_MAP, true).draw(m);
+
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Map<String, Long> counts = events.stream()
+                .collect(Collectors.groupingBy(x -> x.getEventType().getName(), Collectors.counting()));
+        Assertions.assertEquals(1, counts.get("com.github.sszuev.ontdot.ModelLoad"));
+        Assertions.assertEquals(1, counts.get("com.github.sszuev.ontdot.SinkFlush"));
+        Assertions.assertTrue(counts.get("com.github.sszuev.ontdot.EntityRender") > 0);
+        Assertions.assertTrue(counts.get("com.github.sszuev.ontdot.ClassProperties") > 0);
+
+        Map<String, RecordedEvent> entities = events.stream()
+                .filter(x -> x.getEventType().getName().equals("com.github.sszuev.ontdot.EntityRender"))
+                .collect(Collectors.toMap(x -> x.getString("entity"), Function.identity(), (a, b) -> a));
+        RecordedEvent student = entities.get("http://protege.stanford.edu/plugins/owl/owl-library/koala.owl#Student");
+        Assertions.assertNotNull(student);
+        Assertions.assertEquals("Class", student.getString("type"));
+
+        RecordedEvent load = events.stream()
+                .filter(x -> x.getEventType().getName().equals("com.github.sszuev.ontdot.ModelLoad"))
+                .findFirst().orElseThrow(AssertionError::new);
+        Assertions.assertTrue(load.getLong("triples") > 0);
+        Assertions.assertFalse(load.getBoolean("snapshot"));
+    }
+}
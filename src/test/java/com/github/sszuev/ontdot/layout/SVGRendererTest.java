@@ -0,0 +1,128 @@
+package com.github.sszuev.ontdot.layout;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.renderers.DOTWriterFactory;
+import com.github.sszuev.tests.utils.ModelData;
+import com.github.sszuev.tests.utils.OntologyGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class SVGRendererTest {
+
+    @Test
+    public void testCollectGraph() {
+        OntModel m = ModelData.KOALA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m).entities(Set.of(":Quokka"))
+                .withOption(DOTSetting.BOOLEAN_CLASS_PROPERTIES_MAP, false);
+        DOTGraph g = new DOTGraph();
+        DOTWriterFactory.create(visualizer, g).write(m);
+        // the same as koala-quokka.dot
+        Assertions.assertEquals(10, g.vertices().size());
+        Assertions.assertEquals(10, g.links().size());
+        DOTGraph.Vertex n2 = g.vertices().stream().filter(x -> "n2".equals(x.id())).findFirst().orElseThrow();
+        Assertions.assertEquals(2, n2.rows().size());
+        Assertions.assertTrue(n2.rows().stream().flatMap(List::stream).anyMatch(x -> "gray".equals(x.color())));
+        Assertions.assertEquals("DataHasValue :isHardWorking true^^xsd:boolean", n2.label());
+    }
+
+    @Test
+    public void testX11Colors() {
+        Assertions.assertEquals("#EEEE00", SVGRenderer.color("yellow2", "black"));
+        Assertions.assertEquals("#8B8B00", SVGRenderer.color("yellow4", "black"));
+        Assertions.assertEquals("#FFEFDB", SVGRenderer.color("antiquewhite1", "black"));
+        Assertions.assertEquals("#CD3333", SVGRenderer.color("brown3", "black"));
+        Assertions.assertEquals("#7F7F7F", SVGRenderer.color("gray50", "black"));
+        Assertions.assertEquals("#E5E5E5", SVGRenderer.color("Grey90", "black"));
+        Assertions.assertEquals("#C0C0C0", SVGRenderer.color("gray", "black"));
+        Assertions.assertEquals("#CCCC00", SVGRenderer.color("#CCCC00", "black"));
+        Assertions.assertEquals("white", SVGRenderer.color(null, "white"));
+    }
+
+    @Test
+    public void testLayoutWithCycle() {
+        double[] widths = {40, 60, 30, 50};
+        double[] heights = {20, 40, 20, 20};
+        int[] from = {0, 1, 2, 0, 3};
+        int[] to = {1, 2, 0, 3, 3};
+        LayeredLayout.Result res = new LayeredLayout().layout(widths, heights, from, to);
+        int reversed = 0;
+        for (int e = 0; e < from.length; e++) {
+            if (from[e] == to[e]) {
+                continue;
+            }
+            if (res.isReversed(e)) {
+                reversed++;
+                continue;
+            }
+            Assertions.assertTrue(res.layer(from[e]) < res.layer(to[e]), "Wrong layer for edge #" + e);
+            Assertions.assertTrue(res.x(from[e]) < res.x(to[e]), "Wrong direction for edge #" + e);
+        }
+        Assertions.assertEquals(1, reversed);
+        for (int i = 0; i < widths.length; i++) {
+            for (int j = i + 1; j < widths.length; j++) {
+                if (res.layer(i) != res.layer(j)) {
+                    continue;
+                }
+                Assertions.assertTrue(Math.abs(res.y(i) - res.y(j)) >= (heights[i] + heights[j]) / 2,
+                        "Overlapping nodes " + i + " and " + j);
+            }
+        }
+    }
+
+    @Test
+    public void testDrawPizza() throws Exception {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        StringWriter out = new StringWriter();
+        new SVGRenderer().draw(m, OntVisualizer.create().prefixes(m), out);
+        String svg = out.toString();
+        Assertions.assertTrue(svg.contains(":Veneziana"));
+        Assertions.assertEquals("svg", DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new InputSource(new StringReader(svg))).getDocumentElement().getNodeName());
+    }
+
+    @Tag("perf")
+    @Test
+    public void testNearLinearLayoutTime() throws IOException {
+        int n = 2000;
+        int factor = 4;
+        OntModel small = OntologyGenerator.create().classes(n).generate();
+        OntModel large = OntologyGenerator.create().classes(n * factor).generate();
+
+        draw(small);
+        long smallTime = bestTime(small);
+        long largeTime = bestTime(large);
+        double ratio = (double) largeTime / smallTime;
+        Assertions.assertTrue(ratio < factor * 2,
+                String.format("Layout time grows too fast: %d classes - %d ms, %d classes - %d ms",
+                        n, smallTime / 1_000_000, n * factor, largeTime / 1_000_000));
+    }
+
+    private static long bestTime(OntModel m) throws IOException {
+        long res = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            draw(m);
+            res = Math.min(res, System.nanoTime() - start);
+        }
+        return res;
+    }
+
+    private static void draw(OntModel m) throws IOException {
+        new SVGRenderer().draw(m, OntVisualizer.create().prefixes(m), Writer.nullWriter());
+    }
+}
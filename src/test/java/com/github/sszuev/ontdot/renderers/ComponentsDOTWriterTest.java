@@ -0,0 +1,95 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.sszuev.ontdot.LocalGraphviz;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class ComponentsDOTWriterTest {
+    private static final String NS = "http://x#";
+
+    @Test
+    public void testSplitAndPack() throws IOException {
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD).setNsPrefix("x", NS);
+        OntClass.Named a = m.createOntClass(NS + "A");
+        OntClass.Named b = m.createOntClass(NS + "B");
+        OntClass.Named c = m.createOntClass(NS + "C");
+        OntClass.Named d = m.createOntClass(NS + "D");
+        a.addSuperClass(b);
+        d.addSuperClass(c);
+        m.createAnnotationProperty(NS + "p");
+
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m);
+        StringWriter sw = new StringWriter();
+        try (ComponentsDOTWriter writer = DOTWriterFactory.createComponents(visualizer, sw)) {
+            writer.write(m);
+        }
+        List<String> components = new ArrayList<>();
+        ComponentsDOTWriter writer = DOTWriterFactory.createComponents(visualizer, components::add);
+        writer.write(m);
+        Assertions.assertEquals(sw.toString().length(), writer.stats().chars());
+        Assertions.assertEquals(3, components.size());
+        Assertions.assertEquals(String.join("", components), sw.toString());
+        components.forEach(x -> Assertions.assertTrue(x.startsWith("digraph OWL {")));
+        Assertions.assertTrue(components.get(0).contains(">x:A<") && components.get(0).contains(">x:B<"));
+        Assertions.assertTrue(components.get(1).contains(">x:C<") && components.get(1).contains(">x:D<"));
+        Assertions.assertTrue(components.get(2).contains(">x:p<"));
+        Assertions.assertEquals(2, count(sw.toString(), "->"));
+
+        LocalGraphviz graphviz = new LocalGraphviz();
+        Assumptions.assumeTrue(graphviz.isAvailable(), "No local Graphviz");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        graphviz.pack(components, "svg", out);
+        String svg = out.toString(StandardCharsets.UTF_8);
+        Assertions.assertTrue(svg.contains("<svg"));
+        Assertions.assertTrue(svg.contains("x:C"));
+    }
+
+    @Test
+    public void testDisjointnessComponents() {
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD).setNsPrefix("x", NS);
+        OntClass.Named a = m.createOntClass(NS + "A");
+        OntClass.Named b = m.createOntClass(NS + "B");
+        OntClass.Named c = m.createOntClass(NS + "C");
+        OntClass.Named d = m.createOntClass(NS + "D");
+        OntClass.Named e = m.createOntClass(NS + "E");
+        OntClass.Named f = m.createOntClass(NS + "F");
+        a.addSuperClass(b);
+        c.addSuperClass(d);
+        m.add(a, OWL.disjointWith, b);
+        m.add(c, OWL.disjointWith, d);
+        // connects two separate classes into a single component
+        m.add(e, OWL.disjointWith, f);
+
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m)
+                .withOption(DOTSetting.BOOLEAN_DISJOINTNESS, true);
+        List<String> components = new ArrayList<>();
+        DOTWriterFactory.createComponents(visualizer, components::add).write(m);
+        Assertions.assertEquals(3, components.size());
+        // each disjointness edge goes with its members, it does not merge unrelated components
+        components.forEach(x -> Assertions.assertEquals(1, count(x, "arrowhead=tee"), x));
+        Assertions.assertTrue(components.get(0).contains(">x:A<") && components.get(0).contains(">x:B<"));
+        Assertions.assertTrue(components.get(1).contains(">x:C<") && components.get(1).contains(">x:D<"));
+        Assertions.assertTrue(components.get(2).contains(">x:E<") && components.get(2).contains(">x:F<"));
+    }
+
+    private static long count(String txt, String part) {
+        return (txt.length() - txt.replace(part, "").length()) / part.length();
+    }
+}
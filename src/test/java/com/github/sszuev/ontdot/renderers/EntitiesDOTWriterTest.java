@@ -3,6 +3,7 @@ package com.github.sszuev.ontdot.renderers;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.sszuev.ontdot.api.DOTSetting;
 import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.api.RenderListener;
 import com.github.sszuev.tests.utils.ModelData;
 import com.github.sszuev.tests.utils.ResourceUtils;
 import org.junit.jupiter.api.Assertions;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.StringWriter;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by @ssz on 15.01.2022.
@@ -35,6 +37,33 @@ public class EntitiesDOTWriterTest {
         Assertions.assertEquals(expected, res);
     }
 
+    @Test
+    public void testCancelRecursion() {
+        OntModel ont = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer viz = OntVisualizer.create().prefixes(ont);
+        Set<String> filter = Set.of(":Veneziana");
+        EntitiesDOTWriter full = new EntitiesDOTWriter(ont, viz.classProperties(), viz.literalRenderer(), viz, filter,
+                new StringWriter());
+        full.write(ont);
+
+        // the only selected entity pulls in the linked ones recursively, so the check must be inside the recursion
+        AtomicInteger checks = new AtomicInteger();
+        StringWriter sw = new StringWriter();
+        EntitiesDOTWriter writer = new EntitiesDOTWriter(ont, viz.classProperties(), viz.literalRenderer(), viz, filter,
+                sw);
+        writer.setListener(new RenderListener() {
+            @Override
+            public boolean isCancelled() {
+                return checks.incrementAndGet() > 3;
+            }
+        });
+        writer.write(ont);
+        Assertions.assertTrue(writer.stats().cancelled());
+        Assertions.assertFalse(full.stats().cancelled());
+        Assertions.assertTrue(writer.stats().entities() < full.stats().entities());
+        Assertions.assertTrue(sw.toString().endsWith("\n}\n"));
+    }
+
     public static String writeStr(OntModel m, Set<String> entities) {
         return writeStr(m, OntVisualizer.create()
                 .withOption(DOTSetting.BOOLEAN_CLASS_PROPERTIES_MAP, false), entities);
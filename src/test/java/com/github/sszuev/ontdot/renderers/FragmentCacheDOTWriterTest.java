@@ -0,0 +1,122 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.utils.FragmentCache;
+import com.github.sszuev.tests.utils.ModelData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class FragmentCacheDOTWriterTest {
+
+    @Test
+    public void testColdAndWarmRenders(@TempDir Path dir) {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m)
+                .withOption(DOTSetting.BOOLEAN_ENTITY_ANNOTATIONS, true);
+        String expected = visualizer.draw(m);
+
+        StringWriter sw = new StringWriter();
+        FragmentCacheDOTWriter cold = write(visualizer, dir, m, sw);
+        Assertions.assertEquals(expected, sw.toString());
+        Assertions.assertEquals(0, cold.hits());
+        int total = cold.misses();
+        Assertions.assertTrue(total > 0);
+
+        sw = new StringWriter();
+        FragmentCacheDOTWriter warm = write(visualizer, dir, ModelData.PIZZA.ont().asGraphModel(), sw);
+        Assertions.assertEquals(expected, sw.toString());
+        Assertions.assertEquals(total, warm.hits());
+        Assertions.assertEquals(0, warm.misses());
+
+        m.getOntClass(m.expandPrefix(":Veneziana")).addComment("changed");
+        sw = new StringWriter();
+        FragmentCacheDOTWriter changed = write(visualizer, dir, m, sw);
+        Assertions.assertEquals(visualizer.draw(m), sw.toString());
+        Assertions.assertEquals(1, changed.misses());
+        Assertions.assertEquals(total - 1, changed.hits());
+    }
+
+    @Test
+    public void testCorruptedFragment(@TempDir Path dir) throws IOException {
+        OntModel m = ModelData.CAMERA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m);
+        write(visualizer, dir, m, new StringWriter());
+        List<Path> files = fragments(dir);
+        Files.writeString(files.get(0), "broken", StandardCharsets.UTF_8);
+
+        StringWriter sw = new StringWriter();
+        FragmentCacheDOTWriter res = write(visualizer, dir, m, sw);
+        Assertions.assertEquals(visualizer.draw(m), sw.toString());
+        Assertions.assertEquals(1, res.misses());
+        Assertions.assertEquals(files.size() - 1, res.hits());
+    }
+
+    @Test
+    public void testEviction(@TempDir Path dir) throws IOException {
+        FragmentCache cache = new FragmentCache(dir, 1000);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 20; i++) {
+            cache.put(String.format("%064d", i), new FragmentCache.Fragment("x".repeat(100), List.of("<urn:x>")));
+        }
+        List<Path> files = fragments(dir);
+        for (int i = 0; i < files.size(); i++) {
+            Files.setLastModifiedTime(files.get(i), FileTime.fromMillis(now - 1000L * (files.size() - i)));
+        }
+        Assertions.assertTrue(cache.evict() > 0);
+        Assertions.assertTrue(fragments(dir).stream().mapToLong(FragmentCacheDOTWriterTest::size).sum() <= 1000);
+        // the last entry is the most recent one
+        Assertions.assertNotNull(cache.get(String.format("%064d", 19)));
+        Assertions.assertNull(cache.get(String.format("%064d", 0)));
+    }
+
+    @Test
+    public void testUnwritableCache(@TempDir Path dir) throws IOException {
+        OntModel m = ModelData.CAMERA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m);
+        // a regular file instead of the cache directory
+        Path file = Files.writeString(dir.resolve("cache"), "not a directory");
+
+        StringWriter sw = new StringWriter();
+        FragmentCacheDOTWriter res = write(visualizer, file, m, sw);
+        Assertions.assertEquals(visualizer.draw(m), sw.toString());
+        Assertions.assertEquals(0, res.hits());
+        Assertions.assertTrue(res.misses() > 0);
+    }
+
+    private static FragmentCacheDOTWriter write(OntVisualizer visualizer, Path dir, OntModel m, StringWriter sw) {
+        FragmentCacheDOTWriter res = new FragmentCacheDOTWriter(visualizer.prefixes(), visualizer.classProperties(),
+                visualizer.literalRenderer(), sw, visualizer, new FragmentCache(dir, 1024 * 1024));
+        res.write(m);
+        return res;
+    }
+
+    private static List<Path> fragments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(x -> x.toString().endsWith(".frag")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
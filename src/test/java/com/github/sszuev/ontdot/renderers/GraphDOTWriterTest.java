@@ -5,13 +5,23 @@ import com.github.owlcs.ontapi.jena.model.OntClass;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.sszuev.ontdot.api.DOTSetting;
 import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.api.RenderListener;
+import com.github.sszuev.tests.utils.ModelData;
 import com.github.sszuev.tests.utils.ResourceUtils;
 import org.apache.jena.rdf.model.Property;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Created by @ssz on 10.01.2022.
@@ -124,6 +134,136 @@ public class GraphDOTWriterTest {
         Assertions.assertEquals(expected, res);
     }
 
+    @Test
+    public void testRenderStats() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer viz = OntVisualizer.create().prefixes(m)
+                .withOption(DOTSetting.BOOLEAN_CLASS_PROPERTIES_MAP, true);
+        StringWriter sw = new StringWriter();
+        GraphDOTWriter writer = new GraphDOTWriter(m, viz.classProperties(), viz.literalRenderer(), sw, viz);
+        writer.write(m);
+        String res = sw.toString();
+        RenderStats stats = writer.stats();
+
+        Assertions.assertEquals(res.length(), stats.chars());
+        Assertions.assertEquals(count(res, "->"), stats.edges());
+        Assertions.assertEquals(count(res, "<tr>"), stats.rows());
+        Assertions.assertEquals(count(res, "style=filled,fillcolor=") - stats.expressions(), stats.entities());
+        Assertions.assertTrue(stats.entities() >= m.ontEntities().count());
+        Assertions.assertTrue(stats.expressions() > 0);
+        Assertions.assertTrue(stats.literals() > 0);
+        Assertions.assertTrue(stats.analysis().wall() > 0);
+        Assertions.assertTrue(stats.emission().wall() > 0);
+        Assertions.assertTrue(Double.isNaN(stats.cacheHitRate()));
+        Assertions.assertEquals(stats.edges(), stats.toJson().get("edges").getAsNumber().value().longValue());
+    }
+
+    @Test
+    public void testProgressAndCancellation() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer viz = OntVisualizer.create().prefixes(m);
+        long classes = m.classes().count();
+
+        Map<RenderListener.Kind, Long> progress = new EnumMap<>(RenderListener.Kind.class);
+        List<RenderStats> finished = new ArrayList<>();
+        String full = viz.draw(m, new RenderListener() {
+            @Override
+            public void onProgress(Kind kind, long processed, long total) {
+                Assertions.assertTrue(processed <= total);
+                progress.put(kind, processed);
+            }
+
+            @Override
+            public void onFinish(RenderStats stats) {
+                finished.add(stats);
+            }
+        });
+        Assertions.assertEquals(viz.draw(m), full);
+        Assertions.assertEquals(classes, progress.get(RenderListener.Kind.CLASS));
+        Assertions.assertEquals(m.objectProperties().count(), progress.get(RenderListener.Kind.OBJECT_PROPERTY));
+        Assertions.assertEquals(1, finished.size());
+        Assertions.assertFalse(finished.get(0).cancelled());
+
+        AtomicLong processed = new AtomicLong();
+        String part = viz.draw(m, new RenderListener() {
+            @Override
+            public void onProgress(Kind kind, long count, long total) {
+                processed.incrementAndGet();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return processed.get() >= 5;
+            }
+        });
+        Assertions.assertEquals(5, processed.get());
+        Assertions.assertTrue(part.length() < full.length());
+        Assertions.assertTrue(part.endsWith("\n}\n"));
+        Assertions.assertTrue(full.startsWith(part.substring(0, part.length() - 3)));
+    }
+
+    @Test
+    public void testInterruption() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        StringWriter sw = new StringWriter();
+        OntVisualizer viz = OntVisualizer.create().prefixes(m);
+        GraphDOTWriter writer = new GraphDOTWriter(m, viz.classProperties(), viz.literalRenderer(), sw, viz);
+        Thread.currentThread().interrupt();
+        try {
+            writer.write(m);
+        } finally {
+            Assertions.assertTrue(Thread.interrupted());
+        }
+        Assertions.assertTrue(writer.stats().cancelled());
+        Assertions.assertEquals(0, writer.stats().entities());
+        Assertions.assertTrue(sw.toString().startsWith("digraph OWL {"));
+        Assertions.assertTrue(sw.toString().endsWith("\n}\n"));
+    }
+
+    @Test
+    public void testNodeAndEdgeBudget() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer viz = OntVisualizer.create().prefixes(m)
+                .withOptions(Map.of(DOTSetting.INT_MAX_NODES, 40, DOTSetting.INT_MAX_EDGES, 60));
+        String full = viz.draw(m);
+        assertBudget(full, 40, 60);
+        // the most connected class of the pizza ontology
+        Assertions.assertTrue(full.contains(">:Pizza<"));
+
+        String selected = viz.entities(List.of(":American")).draw(m);
+        assertBudget(selected, 40, 60);
+        Assertions.assertTrue(selected.contains(">:American<"));
+        Assertions.assertEquals(selected, viz.entities(List.of(":American")).draw(m));
+    }
+
+    private static void assertBudget(String dot, int maxNodes, int maxEdges) {
+        Set<String> declared = new HashSet<>();
+        Set<String> referenced = new HashSet<>();
+        Matcher declarations = Pattern.compile("(?m)(?:^|;)(n\\d+|omitted)\\[").matcher(dot);
+        while (declarations.find()) {
+            declared.add(declarations.group(1));
+        }
+        Matcher references = Pattern.compile("(n\\d+)->(n\\d+)").matcher(dot);
+        while (references.find()) {
+            referenced.add(references.group(1));
+            referenced.add(references.group(2));
+        }
+        Assertions.assertTrue(declared.containsAll(referenced), "Implicit nodes");
+        Assertions.assertTrue(declared.size() <= maxNodes, "Too many nodes: " + declared.size());
+        Assertions.assertTrue(count(dot, "->") <= maxEdges, "Too many edges: " + count(dot, "->"));
+        Assertions.assertTrue(declared.contains("omitted"));
+        Assertions.assertTrue(dot.startsWith("digraph OWL {"));
+        Assertions.assertTrue(dot.endsWith("\n}\n"));
+    }
+
+    private static long count(String txt, String part) {
+        long res = 0;
+        for (int i = txt.indexOf(part); i >= 0; i = txt.indexOf(part, i + part.length())) {
+            res++;
+        }
+        return res;
+    }
+
     public static boolean containsLink(String dot, String left, String right) {
         return dot.contains(left + "->" + right);
     }
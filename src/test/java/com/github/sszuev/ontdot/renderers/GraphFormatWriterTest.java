@@ -0,0 +1,113 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.tests.utils.ModelData;
+import org.apache.jena.atlas.json.JSON;
+import org.apache.jena.atlas.json.JsonArray;
+import org.apache.jena.atlas.json.JsonObject;
+import org.apache.jena.atlas.json.JsonValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class GraphFormatWriterTest {
+    private static final Pattern STATEMENT = Pattern.compile("(?:^|;)\\s*(n\\d+)(?:->(n\\d+))?");
+
+    private static String write(OntModel m, OntVisualizer visualizer, GraphFormat format) {
+        StringWriter res = new StringWriter();
+        visualizer.newWriter(res, format).write(m);
+        return res.toString();
+    }
+
+    @Test
+    public void testDOTIsNotChanged() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m);
+        Assertions.assertEquals(visualizer.draw(m), write(m, visualizer, GraphFormat.DOT));
+    }
+
+    @Test
+    public void testWriteGraphML() throws Exception {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m);
+        Set<String> dotIds = new HashSet<>();
+        long dotEdges = parseDOT(write(m, visualizer, GraphFormat.DOT), dotIds);
+
+        String graphml = write(m, visualizer, GraphFormat.GRAPHML);
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new InputSource(new StringReader(graphml)));
+        Assertions.assertEquals("graphml", doc.getDocumentElement().getNodeName());
+        NodeList nodes = doc.getElementsByTagName("node");
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Assertions.assertTrue(ids.add(((Element) nodes.item(i)).getAttribute("id")));
+        }
+        Assertions.assertEquals(dotIds, ids);
+        Assertions.assertEquals(dotEdges, doc.getElementsByTagName("edge").getLength());
+        Assertions.assertTrue(graphml.contains("<data key=\"v_label\">:Veneziana</data>"));
+    }
+
+    @Test
+    public void testGraphMLEscape() {
+        Assertions.assertEquals("a b&lt;c&amp;&quot;\t\n", GraphMLWriter.escape("a\u0001b<c&\"\t\n"));
+        Assertions.assertEquals(" x ", GraphMLWriter.escape("\u0000x\u001F"));
+    }
+
+    @Test
+    public void testWriteJSON() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m);
+        Set<String> dotIds = new HashSet<>();
+        long dotEdges = parseDOT(write(m, visualizer, GraphFormat.DOT), dotIds);
+
+        JsonObject json = JSON.parse(write(m, visualizer, GraphFormat.JSON));
+        JsonArray elements = json.get("elements").getAsArray();
+        Set<String> ids = new HashSet<>();
+        long edges = 0;
+        for (JsonValue e : elements) {
+            JsonObject data = e.getAsObject().get("data").getAsObject();
+            if ("nodes".equals(e.getAsObject().get("group").getAsString().value())) {
+                Assertions.assertTrue(ids.add(data.get("id").getAsString().value()));
+                Assertions.assertFalse(data.get("rows").getAsArray().isEmpty());
+            } else {
+                edges++;
+                Assertions.assertTrue(data.hasKey("source") && data.hasKey("target"));
+            }
+        }
+        Assertions.assertEquals(dotIds, ids);
+        Assertions.assertEquals(dotEdges, edges);
+    }
+
+    /**
+     * Collects the node ids of the DOT document.
+     *
+     * @return {@code long}, the number of edges
+     */
+    private static long parseDOT(String dot, Set<String> ids) {
+        Matcher m = STATEMENT.matcher(dot);
+        long res = 0;
+        while (m.find()) {
+            ids.add(m.group(1));
+            if (m.group(2) != null) {
+                ids.add(m.group(2));
+                res++;
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.utils.GraphDiff;
+import com.github.sszuev.tests.utils.ModelData;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class IncrementalDOTWriterTest {
+
+    @Test
+    public void testReRenderAnnotatedEntity() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        Graph before = GraphDiff.canonicalize(m.getGraph());
+        OntModel first = OntModelFactory.createModel(before);
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(first);
+        IncrementalDOTWriter.State state = new IncrementalDOTWriter.State();
+
+        StringWriter sw = new StringWriter();
+        IncrementalDOTWriter writer = newWriter(visualizer, sw, state, null);
+        writer.write(first);
+        Assertions.assertEquals(visualizer.draw(first), sw.toString());
+        Assertions.assertEquals(0, writer.reused());
+
+        m.getOntClass(m.expandPrefix(":Veneziana")).addComment("changed");
+        Graph after = GraphDiff.canonicalize(m.getGraph());
+        OntModel second = OntModelFactory.createModel(after);
+        Set<Node> dirty = GraphDiff.diff(before, after).affected(before, after);
+
+        sw = new StringWriter();
+        writer = newWriter(visualizer, sw, state, dirty);
+        writer.write(second);
+        Assertions.assertEquals(1, writer.rendered());
+        Assertions.assertEquals(state.size() - 1, writer.reused());
+        // no new nodes, so the ids are the same as in the full render:
+        Assertions.assertEquals(visualizer.draw(second), sw.toString());
+    }
+
+    @Test
+    public void testDropRemovedNodes() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        Graph before = GraphDiff.canonicalize(m.getGraph());
+        OntModel first = OntModelFactory.createModel(before);
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(first);
+        IncrementalDOTWriter.State state = new IncrementalDOTWriter.State();
+        newWriter(visualizer, new StringWriter(), state, null).write(first);
+        int ids = state.ids();
+
+        m.removeOntObject(m.getOntClass(m.expandPrefix(":Veneziana")));
+        Graph after = GraphDiff.canonicalize(m.getGraph());
+        OntModel second = OntModelFactory.createModel(after);
+        Set<Node> dirty = GraphDiff.diff(before, after).affected(before, after);
+        newWriter(visualizer, new StringWriter(), state, dirty).write(second);
+        Assertions.assertTrue(state.ids() < ids);
+
+        // a full re-render numbers the nodes anew:
+        StringWriter sw = new StringWriter();
+        newWriter(visualizer, sw, state, null).write(second);
+        Assertions.assertEquals(visualizer.draw(second), sw.toString());
+    }
+
+    @Test
+    public void testFactoryHonoursSettings() {
+        Graph g = GraphDiff.canonicalize(ModelData.PIZZA.ont().asGraphModel().getGraph());
+        OntModel m = OntModelFactory.createModel(g);
+        IncrementalDOTWriter.State state = new IncrementalDOTWriter.State();
+        OntVisualizer budget = OntVisualizer.create().prefixes(m).withOption(DOTSetting.INT_MAX_NODES, 20);
+        OntVisualizer folding = OntVisualizer.create().prefixes(m).withOption(DOTSetting.INT_FOLD_THRESHOLD, 3);
+        OntVisualizer filter = OntVisualizer.create().prefixes(m).entities(List.of(":Veneziana"));
+        for (OntVisualizer visualizer : List.of(budget, folding, filter)) {
+            StringWriter sw = new StringWriter();
+            DOTWriterFactory.createIncremental(visualizer, sw, state, null).write(m);
+            Assertions.assertEquals(visualizer.draw(m), sw.toString());
+        }
+        Assertions.assertFalse(DOTWriterFactory.createIncremental(budget, new StringWriter(), state, null)
+                instanceof IncrementalDOTWriter);
+        Assertions.assertTrue(DOTWriterFactory.createIncremental(folding, new StringWriter(), state, null)
+                instanceof IncrementalDOTWriter);
+    }
+
+    private static IncrementalDOTWriter newWriter(OntVisualizer visualizer,
+                                                  StringWriter sw,
+                                                  IncrementalDOTWriter.State state,
+                                                  Set<Node> dirty) {
+        return new IncrementalDOTWriter(visualizer.prefixes(), visualizer.classProperties(),
+                visualizer.literalRenderer(), sw, visualizer, state, dirty);
+    }
+}
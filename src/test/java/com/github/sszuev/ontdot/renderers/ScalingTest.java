@@ -0,0 +1,61 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.tests.utils.OntologyGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class ScalingTest {
+
+    @Test
+    public void testGeneratorIsDeterministic() {
+        OntologyGenerator generator = OntologyGenerator.create().seed(7).classes(200).individuals(2).annotations(2);
+        OntModel a = generator.generate();
+        OntModel b = generator.generate();
+        Assertions.assertEquals(200, a.classes().count());
+        Assertions.assertEquals(400, a.namedIndividuals().count());
+        Assertions.assertTrue(a.getGraph().isIsomorphicWith(b.getGraph()));
+        Assertions.assertEquals(OntVisualizer.create().prefixes(a).draw(a), OntVisualizer.create().prefixes(b).draw(b));
+
+        OntModel c = generator.seed(8).generate();
+        Assertions.assertFalse(a.getGraph().isIsomorphicWith(c.getGraph()));
+    }
+
+    @Tag("perf")
+    @Test
+    public void testNearLinearRenderTime() {
+        int n = 1000;
+        int factor = 4;
+        OntModel small = OntologyGenerator.create().classes(n).generate();
+        OntModel large = OntologyGenerator.create().classes(n * factor).generate();
+
+        // warm up
+        render(small);
+        long smallTime = bestTime(small);
+        long largeTime = bestTime(large);
+        double ratio = (double) largeTime / smallTime;
+        // a quadratic algorithm would give about factor^2
+        Assertions.assertTrue(ratio < factor * 2,
+                String.format("Render time grows too fast: %d classes - %d ms, %d classes - %d ms",
+                        n, smallTime / 1_000_000, n * factor, largeTime / 1_000_000));
+    }
+
+    private static long bestTime(OntModel m) {
+        long res = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            render(m);
+            res = Math.min(res, System.nanoTime() - start);
+        }
+        return res;
+    }
+
+    private static void render(OntModel m) {
+        Assertions.assertFalse(OntVisualizer.create().prefixes(m).draw(m).isEmpty());
+    }
+}
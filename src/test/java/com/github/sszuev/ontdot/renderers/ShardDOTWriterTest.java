@@ -0,0 +1,122 @@
+package com.github.sszuev.ontdot.renderers;
+
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.utils.Sharding;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class ShardDOTWriterTest {
+    private static final String X = "http://x#";
+    private static final String Y = "http://y#";
+
+    @Test
+    public void testShardByNamespace() {
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD)
+                .setNsPrefix("x", X).setNsPrefix("y", Y);
+        OntClass.Named a = m.createOntClass(X + "A");
+        OntClass.Named b = m.createOntClass(Y + "B");
+        m.createOntClass(Y + "C");
+        a.addSuperClass(b);
+
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m);
+        Sharding shards = Sharding.compute(m, Sharding.Key.NAMESPACE, visualizer.prefixes());
+        Assertions.assertEquals(Set.of("x", "y"), Set.copyOf(shards.names()));
+        Assertions.assertEquals("y", shards.owner(b.asNode()));
+
+        Map<String, StringWriter> files = new ConcurrentHashMap<>();
+        RenderStats stats = visualizer.drawShards(m, shards, x -> x + ".dot",
+                x -> files.computeIfAbsent(x, k -> new StringWriter()));
+        Assertions.assertEquals(3, files.size());
+        Assertions.assertEquals(3, stats.entities());
+
+        String x = files.get("x").toString();
+        Assertions.assertTrue(x.startsWith("digraph OWL {"));
+        Assertions.assertTrue(x.contains(">x:A<"));
+        Assertions.assertTrue(x.contains("style=dashed,shape=box,label=\"y:B\",URL=\"y.dot\""));
+        Assertions.assertFalse(x.contains("y:C"));
+        String y = files.get("y").toString();
+        Assertions.assertTrue(y.contains(">y:B<") && y.contains(">y:C<"));
+        Assertions.assertFalse(y.contains("URL="));
+
+        String index = files.get(Sharding.INDEX).toString();
+        Assertions.assertTrue(index.contains("\"x\"[label=\"x (1)\",URL=\"x.dot\"]"));
+        Assertions.assertTrue(index.contains("\"y\"[label=\"y (2)\",URL=\"y.dot\"]"));
+        Assertions.assertTrue(index.contains("\"x\"->\"y\"[label=\"1\"]"));
+        Assertions.assertFalse(index.contains("\"y\"->"));
+    }
+
+    @Test
+    public void testShardsOnExecutor() {
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD)
+                .setNsPrefix("x", X).setNsPrefix("y", Y);
+        m.add(m.createOntClass(X + "A"), OWL.disjointWith, m.createOntClass(X + "B"));
+        m.add(m.createOntClass(Y + "C"), OWL.disjointWith, m.createOntClass(Y + "D"));
+
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m).withOption(DOTSetting.BOOLEAN_DISJOINTNESS, true);
+        Sharding shards = Sharding.compute(m, Sharding.Key.NAMESPACE, visualizer.prefixes());
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = x -> {
+            tasks.incrementAndGet();
+            x.run();
+        };
+        Map<String, StringWriter> files = new ConcurrentHashMap<>();
+        visualizer.drawShards(m, shards, x -> x + ".dot", x -> files.computeIfAbsent(x, k -> new StringWriter()),
+                executor);
+        Assertions.assertEquals(2, tasks.get());
+        Assertions.assertEquals(3, files.size());
+        for (String shard : List.of("x", "y")) {
+            String dot = files.get(shard).toString();
+            Assertions.assertEquals(1, dot.split("arrowhead=tee", -1).length - 1, shard);
+        }
+    }
+
+    @Test
+    public void testShardByClass() {
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD).setNsPrefix("x", X);
+        OntClass.Named a = m.createOntClass(X + "A");
+        OntClass.Named b = m.createOntClass(X + "B");
+        OntClass.Named c = m.createOntClass(X + "C");
+        a.addSuperClass(b);
+        a.createIndividual(X + "i");
+        m.createObjectProperty(X + "p").addDomain(c);
+        m.createDataProperty(X + "d");
+
+        Sharding shards = Sharding.compute(m, Sharding.Key.CLASS, m);
+        Assertions.assertEquals(3, shards.names().size());
+        Assertions.assertEquals("B", shards.owner(a.asNode()));
+        Assertions.assertEquals("B", shards.owner(m.createResource(X + "i").asNode()));
+        Assertions.assertEquals("C", shards.owner(m.createResource(X + "p").asNode()));
+        Assertions.assertEquals(Sharding.OTHER, shards.owner(m.createResource(X + "d").asNode()));
+    }
+
+    @Test
+    public void testShardByModule() {
+        OntModel imported = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD);
+        imported.setID("http://y/base");
+        imported.createOntClass(Y + "B");
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD);
+        m.setID("http://x/main");
+        m.addImport(imported);
+        m.createOntClass(X + "A").addSuperClass(m.getOntClass(Y + "B"));
+
+        Sharding shards = Sharding.compute(m, Sharding.Key.MODULE, m);
+        Assertions.assertEquals(Set.of("main", "base"), Set.copyOf(shards.names()));
+        Assertions.assertEquals("base", shards.owner(m.getOntClass(Y + "B").asNode()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.tests.utils.ModelData;
+import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.shared.AddDeniedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class CompactGraphTest {
+
+    @Test
+    public void testFindPatterns() {
+        Graph expected = ModelData.PIZZA.ont().asGraphModel().getBaseGraph();
+        CompactGraph actual = CompactGraph.copyOf(expected);
+        Assertions.assertEquals(expected.size(), actual.size());
+
+        List<Triple> triples = expected.find().toList();
+        for (int i = 0; i < triples.size(); i += 7) {
+            Triple t = triples.get(i);
+            assertFind(expected, actual, t.getSubject(), t.getPredicate(), t.getObject());
+            assertFind(expected, actual, t.getSubject(), t.getPredicate(), Node.ANY);
+            assertFind(expected, actual, t.getSubject(), Node.ANY, t.getObject());
+            assertFind(expected, actual, t.getSubject(), Node.ANY, Node.ANY);
+            assertFind(expected, actual, Node.ANY, t.getPredicate(), t.getObject());
+            assertFind(expected, actual, Node.ANY, t.getPredicate(), Node.ANY);
+            assertFind(expected, actual, Node.ANY, Node.ANY, t.getObject());
+        }
+        assertFind(expected, actual, Node.ANY, Node.ANY, Node.ANY);
+        assertFind(expected, actual, NodeFactory.createURI("http://x#unknown"), Node.ANY, Node.ANY);
+    }
+
+    @Test
+    public void testRetainedSize() {
+        Graph source = ModelData.WINE.ont().asGraphModel().getBaseGraph();
+        // both copies are built from the same triples, so they share the same Node instances:
+        Graph mem = Factory.createGraphMem();
+        source.find().forEachRemaining(mem::add);
+        mem.getPrefixMapping().setNsPrefixes(source.getPrefixMapping());
+        CompactGraph compact = CompactGraph.copyOf(mem);
+        Assertions.assertEquals(mem.size(), compact.size());
+
+        long memSize = GraphLayout.parseInstance(mem).totalSize();
+        long compactSize = GraphLayout.parseInstance(compact).totalSize();
+        Assertions.assertTrue(compactSize < memSize,
+                String.format("Retained size: GraphMem=%d, CompactGraph=%d", memSize, compactSize));
+    }
+
+    @Test
+    public void testReadOnly() {
+        CompactGraph g = CompactGraph.builder().build();
+        Assertions.assertTrue(g.isEmpty());
+        Node x = NodeFactory.createURI("http://x");
+        Assertions.assertThrows(AddDeniedException.class, () -> g.add(Triple.create(x, x, x)));
+    }
+
+    @Test
+    public void testRenderWine() {
+        OntModel expected = ModelData.WINE.ont().asGraphModel();
+        OntModel actual = OntModelFactory.createModel(CompactGraph.copyOf(expected.getGraph()));
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(expected);
+        String left = visualizer.draw(expected);
+        String right = visualizer.draw(actual);
+        // node ids depend on the iteration order, so compare only the structure
+        Assertions.assertEquals(left.split("->").length, right.split("->").length);
+        Assertions.assertEquals(left.split("style=filled").length, right.split("style=filled").length);
+    }
+
+    private static void assertFind(Graph expected, Graph actual, Node s, Node p, Node o) {
+        // the default graph matches literals by value, the compact graph matches them exactly:
+        Set<Triple> left = expected.find(s, p, o).filterKeep(t -> Node.ANY.equals(o) || o.equals(t.getObject())).toSet();
+        Set<Triple> right = actual.find(s, p, o).toList().stream().collect(Collectors.toSet());
+        Assertions.assertEquals(left, right, String.format("Pattern (%s %s %s)", s, p, o));
+        Assertions.assertEquals(left.size(), actual.find(s, p, o).toList().size());
+    }
+}
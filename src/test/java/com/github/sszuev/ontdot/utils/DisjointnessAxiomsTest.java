@@ -0,0 +1,60 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntIndividual;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class DisjointnessAxiomsTest {
+    private static final String NS = "http://x#";
+
+    @Test
+    public void testCollectAndDraw() {
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD).setNsPrefix("x", NS);
+        OntClass.Named a = m.createOntClass(NS + "A");
+        OntClass.Named b = m.createOntClass(NS + "B");
+        OntClass.Named c = m.createOntClass(NS + "C");
+        OntClass.Named d = m.createOntClass(NS + "D");
+        OntClass.Named e = m.createOntClass(NS + "E");
+        m.createResource().addProperty(RDF.type, OWL.AllDisjointClasses).addProperty(OWL.members, m.createList(a, b, c));
+        m.add(a, OWL.disjointWith, d);
+        m.add(d, OWL.disjointWith, a);
+        e.addProperty(OWL.disjointUnionOf, m.createList(a, b));
+        OntIndividual.Named i = a.createIndividual(NS + "i");
+        OntIndividual.Named j = a.createIndividual(NS + "j");
+        m.add(i, OWL.differentFrom, j);
+
+        List<DisjointnessAxioms.Axiom> axioms = DisjointnessAxioms.collect(m.getGraph());
+        Assertions.assertEquals(5, axioms.size());
+        DisjointnessAxioms.Axiom all = axioms.stream().filter(x -> x.name().equals("AllDisjointClasses"))
+                .findFirst().orElseThrow();
+        Assertions.assertEquals(List.of(a.asNode(), b.asNode(), c.asNode()), all.members());
+        Assertions.assertFalse(all.isPairwise());
+        DisjointnessAxioms.Axiom union = axioms.stream().filter(x -> x.name().equals("DisjointUnionOf"))
+                .findFirst().orElseThrow();
+        Assertions.assertEquals(e.asNode(), union.owner());
+
+        String res = OntVisualizer.create().prefixes(m).withOption(DOTSetting.BOOLEAN_DISJOINTNESS, true).draw(m);
+        Assertions.assertEquals(2, count(res, "label=\"AllDisjointClasses\"") + count(res, "label=\"DisjointUnionOf\""));
+        // A-D (once) and i-j
+        Assertions.assertEquals(2, count(res, "arrowhead=tee"));
+        // 3 + 2 members, 1 owner
+        Assertions.assertEquals(6, count(res, "style=dashed,color=") - 2);
+        Assertions.assertFalse(OntVisualizer.create().prefixes(m).draw(m).contains("dashed"));
+    }
+
+    private static long count(String txt, String part) {
+        return (txt.length() - txt.replace(part, "").length()) / part.length();
+    }
+}
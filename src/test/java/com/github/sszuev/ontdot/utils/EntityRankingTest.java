@@ -0,0 +1,34 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class EntityRankingTest {
+
+    @Test
+    public void testDeepHierarchy() {
+        int n = 20_000;
+        OntModel m = OntModelFactory.createModel();
+        List<OntClass.Named> classes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            OntClass.Named c = m.createOntClass("urn:c" + i);
+            if (i > 0) {
+                c.addSuperClass(classes.get(i - 1));
+            }
+            classes.add(c);
+        }
+        // the depth of the last class is calculated through the whole chain, a recursion would overflow the stack
+        List<OntClass.Named> res = EntityRanking.rank(m, classes, List.of());
+        // score = degree / (1 + depth) decreases along the chain
+        Assertions.assertEquals(classes, res);
+    }
+}
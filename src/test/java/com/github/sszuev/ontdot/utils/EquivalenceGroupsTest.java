@@ -0,0 +1,64 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntEntity;
+import com.github.owlcs.ontapi.jena.model.OntIndividual;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import org.apache.jena.graph.Node;
+import org.apache.jena.vocabulary.OWL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class EquivalenceGroupsTest {
+    private static final String NS = "http://x#";
+
+    @Test
+    public void testCollapse() {
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD).setNsPrefix("x", NS);
+        OntClass.Named a = m.createOntClass(NS + "A");
+        OntClass.Named b = m.createOntClass(NS + "B");
+        OntClass.Named c = m.createOntClass(NS + "C");
+        OntClass.Named d = m.createOntClass(NS + "D");
+        c.addEquivalentClass(b);
+        b.addEquivalentClass(a);
+        d.addSuperClass(c);
+        OntIndividual.Named i1 = c.createIndividual(NS + "i1");
+        OntIndividual.Named i2 = a.createIndividual(NS + "i2");
+        i2.addProperty(OWL.sameAs, i1);
+
+        EquivalenceGroups classes = EquivalenceGroups.compute(m.getGraph(), OWL.equivalentClass.asNode(),
+                m.classes().map(OntEntity::asNode).collect(Collectors.toSet()));
+        Assertions.assertEquals(1, classes.size());
+        Assertions.assertEquals(a.asNode(), classes.representative(c.asNode()));
+        Assertions.assertEquals(List.of(a.asNode(), b.asNode(), c.asNode()), classes.members(b.asNode()));
+        Assertions.assertEquals(List.of(d.asNode()), classes.members(d.asNode()));
+        Assertions.assertFalse(classes.contains(d.asNode()));
+
+        String full = OntVisualizer.create().prefixes(m).draw(m);
+        Assertions.assertTrue(full.contains("dir=both"));
+
+        String res = OntVisualizer.create().prefixes(m)
+                .withOption(DOTSetting.BOOLEAN_COLLAPSE_EQUIVALENTS, true).draw(m);
+        Assertions.assertFalse(res.contains("dir=both"));
+        Assertions.assertTrue(res.contains(">x:A<"));
+        Assertions.assertTrue(res.contains(">&#8801; x:B<"));
+        Assertions.assertTrue(res.contains(">&#8801; x:C<"));
+        Assertions.assertFalse(res.contains(">x:C<"));
+        Assertions.assertTrue(res.contains(">x:i1<"));
+        Assertions.assertTrue(res.contains(">= x:i2<"));
+        // D -> A, i1 -> A
+        Assertions.assertEquals(2, res.split("->", -1).length - 1);
+        Node sameAs = OWL.sameAs.asNode();
+        Assertions.assertEquals(i1.asNode(), EquivalenceGroups.compute(m.getGraph(), sameAs,
+                m.namedIndividuals().map(OntEntity::asNode).collect(Collectors.toSet())).representative(i2.asNode()));
+    }
+}
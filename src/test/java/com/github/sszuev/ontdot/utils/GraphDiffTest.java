@@ -0,0 +1,54 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.tests.utils.ModelData;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class GraphDiffTest {
+
+    @Test
+    public void testCanonicalLabelsAreStable() {
+        Graph left = GraphDiff.canonicalize(ModelData.PIZZA.ont().asGraphModel().getGraph());
+        Graph right = GraphDiff.canonicalize(ModelData.PIZZA.ont().asGraphModel().getGraph());
+        Assertions.assertEquals(left.size(), right.size());
+        Assertions.assertTrue(GraphDiff.diff(left, right).isEmpty());
+    }
+
+    @Test
+    public void testAffected() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        Graph before = GraphDiff.canonicalize(m.getGraph());
+
+        OntClass.Named american = m.getOntClass(m.expandPrefix(":American"));
+        OntClass.Named tomato = m.getOntClass(m.expandPrefix(":TomatoTopping"));
+        OntClass.Named onion = m.getOntClass(m.expandPrefix(":OnionTopping"));
+        // replace a filler of an anonymous restriction:
+        Triple filler = m.getGraph().find(Node.ANY, Node.ANY, tomato.asNode())
+                .filterKeep(t -> t.getSubject().isBlank())
+                .filterKeep(t -> american.superClasses().anyMatch(x -> x.asNode().equals(t.getSubject())))
+                .next();
+        m.getGraph().delete(filler);
+        m.getGraph().add(Triple.create(filler.getSubject(), filler.getPredicate(), onion.asNode()));
+        Graph after = GraphDiff.canonicalize(m.getGraph());
+
+        GraphDiff diff = GraphDiff.diff(before, after);
+        // the restriction gets a new canonical label, so all its triples are changed
+        Assertions.assertFalse(diff.isEmpty());
+        Set<Node> affected = diff.affected(before, after);
+        Assertions.assertTrue(affected.contains(american.asNode()), "Affected: " + affected);
+        Assertions.assertTrue(affected.contains(onion.asNode()));
+        Assertions.assertFalse(affected.contains(NodeFactory.createURI(m.expandPrefix(":Veneziana"))));
+        Assertions.assertFalse(diff.hasPredicate(Set.of(m.getRDFSComment().asNode())));
+    }
+}
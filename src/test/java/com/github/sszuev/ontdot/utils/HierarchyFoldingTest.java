@@ -0,0 +1,73 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import org.apache.jena.graph.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class HierarchyFoldingTest {
+    private static final String NS = "http://x#";
+
+    private static OntModel createTaxonomy() {
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD).setNsPrefix("x", NS);
+        OntClass.Named root = m.createOntClass(NS + "Root");
+        OntClass.Named small = m.createOntClass(NS + "Small");
+        small.addSuperClass(root);
+        m.createOntClass(NS + "Leaf").addSuperClass(small);
+        OntClass.Named large = m.createOntClass(NS + "Large");
+        large.addSuperClass(root);
+        for (int i = 0; i < 20; i++) {
+            OntClass.Named c = m.createOntClass(NS + "C" + i);
+            c.addSuperClass(large);
+            m.createOntClass(NS + "D" + i).addSuperClass(c);
+        }
+        m.getOntClass(NS + "D0").createIndividual(NS + "i0");
+        m.getOntClass(NS + "Leaf").createIndividual(NS + "i1");
+        return m;
+    }
+
+    @Test
+    public void testCompute() {
+        OntModel m = createTaxonomy();
+        HierarchyFolding folding = HierarchyFolding.compute(m, 10, List.of());
+        Assertions.assertEquals(43, folding.descendants(m.createResource(NS + "Root").asNode()));
+        Assertions.assertTrue(folding.isFolded(m.createResource(NS + "Root").asNode()));
+        Assertions.assertEquals(45, folding.hidden());
+
+        folding = HierarchyFolding.compute(m, 10, List.of(NS + "Root"));
+        Assertions.assertFalse(folding.isFolded(m.createResource(NS + "Root").asNode()));
+        Assertions.assertFalse(folding.isFolded(m.createResource(NS + "Small").asNode()));
+        Assertions.assertFalse(folding.isHidden(m.createResource(NS + "Leaf").asNode()));
+        Assertions.assertFalse(folding.isHidden(m.createResource(NS + "i1").asNode()));
+        Node large = m.createResource(NS + "Large").asNode();
+        Assertions.assertTrue(folding.isFolded(large));
+        Assertions.assertEquals(20, folding.subclasses(large));
+        Assertions.assertEquals(40, folding.descendants(large));
+        Assertions.assertEquals(1, folding.individuals(large));
+        Assertions.assertEquals(large, folding.representative(m.createResource(NS + "D7").asNode()));
+        Assertions.assertEquals(large, folding.representative(m.createResource(NS + "i0").asNode()));
+    }
+
+    @Test
+    public void testDraw() {
+        OntModel m = createTaxonomy();
+        String res = OntVisualizer.create().prefixes(m)
+                .withOptions(Map.of(DOTSetting.INT_FOLD_THRESHOLD, 10, DOTSetting.STRING_FOLD_EXPAND, "x:Root"))
+                .draw(m);
+        Assertions.assertTrue(res.contains(">x:Large<"));
+        Assertions.assertTrue(res.contains(">x:Leaf<"));
+        Assertions.assertTrue(res.contains("[+] 20 subclasses, 40 descendants, 1 individuals"));
+        Assertions.assertFalse(res.contains(">x:C1<"));
+        Assertions.assertFalse(res.contains(">x:i0<"));
+    }
+}
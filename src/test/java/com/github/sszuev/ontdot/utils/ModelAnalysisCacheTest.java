@@ -0,0 +1,100 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import com.github.sszuev.ontdot.api.ClassPropertyMap;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.tests.utils.ModelData;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class ModelAnalysisCacheTest {
+
+    @Test
+    public void testReuseAndInvalidate() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer cached = OntVisualizer.create().prefixes(m)
+                .withOption(DOTSetting.BOOLEAN_CLASS_PROPERTIES_MAP, true)
+                .withOption(DOTSetting.BOOLEAN_MODEL_CACHE, true);
+        OntVisualizer plain = cached.withOption(DOTSetting.BOOLEAN_MODEL_CACHE, false);
+
+        String first = cached.draw(m);
+        ModelAnalysisCache cache = ModelAnalysisCache.get(m);
+        long misses = cache.misses();
+        Assertions.assertEquals(plain.draw(m), first);
+
+        Assertions.assertEquals(first, cached.draw(m));
+        Assertions.assertEquals(misses, cache.misses());
+        Assertions.assertTrue(cache.hits() > 0);
+
+        // annotations do not drop anything:
+        OntClass.Named pizza = m.getOntClass(m.expandPrefix(":Pizza"));
+        pizza.addComment("test");
+        cached.draw(m);
+        Assertions.assertEquals(misses, cache.misses());
+
+        // a new domain changes the class-properties mapping:
+        m.createDataProperty(m.expandPrefix(":hasCalories")).addDomain(pizza);
+        String res = cached.draw(m);
+        Assertions.assertTrue(cache.misses() > misses);
+        Assertions.assertEquals(plain.draw(m), res);
+        Assertions.assertTrue(res.contains(":hasCalories"));
+    }
+
+    @Test
+    public void testDeclarations() {
+        OntModel m = ModelData.KOALA.ont().asGraphModel();
+        ModelAnalysisCache cache = ModelAnalysisCache.get(m);
+        Assertions.assertSame(cache, ModelAnalysisCache.get(m));
+        Assertions.assertFalse(cache.isDeclared(m.getOWLThing()));
+        m.getBaseGraph().add(Triple.create(OWL.Thing.asNode(), RDF.type.asNode(), OWL.Class.asNode()));
+        Assertions.assertTrue(cache.isDeclared(m.getOWLThing()));
+    }
+
+    @Test
+    public void testExpressionTypes() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        ModelAnalysisCache cache = ModelAnalysisCache.get(m);
+        OntClass.Named pizza = m.getOntClass(m.expandPrefix(":Pizza"));
+        OntClass ce = m.createObjectComplementOf(pizza);
+        Assertions.assertEquals(OntClass.ComplementOf.class, cache.expressionType(ce));
+        long misses = cache.misses();
+        Assertions.assertEquals(OntClass.ComplementOf.class, cache.expressionType(ce));
+        Assertions.assertEquals(misses, cache.misses());
+        Assertions.assertNull(cache.expressionType(pizza));
+        Assertions.assertNull(cache.expressionType(pizza));
+        Assertions.assertEquals(misses + 1, cache.misses());
+    }
+
+    @Test
+    public void testClearDuringCalculation() {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        ModelAnalysisCache cache = ModelAnalysisCache.get(m);
+        OntClass.Named pizza = m.getOntClass(m.expandPrefix(":Pizza"));
+        // a clear() that happens while the value is being calculated (e.g. in another thread)
+        ClassPropertyMap cpm = ce -> {
+            cache.clear();
+            return Stream.of(RDFS.label);
+        };
+        long misses = cache.misses();
+        Assertions.assertEquals(1, cache.properties(cpm, pizza).count());
+        // the value calculated before the clear() is not stored
+        Assertions.assertEquals(1, cache.properties(cpm, pizza).count());
+        Assertions.assertEquals(misses + 2, cache.misses());
+
+        ClassPropertyMap stable = ce -> Stream.of(RDFS.label);
+        cache.properties(stable, pizza).count();
+        cache.properties(stable, pizza).count();
+        Assertions.assertEquals(misses + 3, cache.misses());
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.sszuev.tests.utils.ModelData;
+import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class ParallelRDFLoaderTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8})
+    public void testLoadPizzaNTriples(int threads, @TempDir Path dir) throws IOException {
+        Path file = dir.resolve("pizza.nt");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            RDFDataMgr.write(out, ModelData.PIZZA.ont().asGraphModel().getBaseGraph(), Lang.NTRIPLES);
+        }
+        Graph expected = ParallelRDFLoader.loadSequential(file, Lang.NTRIPLES);
+        // small chunks to make sure there are many of them
+        Graph actual = ParallelRDFLoader.load(file, Lang.NTRIPLES, threads, 4 * 1024);
+
+        Assertions.assertEquals(expected.size(), actual.size());
+        expected.find().forEachRemaining(t -> Assertions.assertTrue(actual.contains(t), "No triple " + t));
+    }
+
+    /**
+     * Writes a document where each blank node is used in a line at the beginning and in a line at the end,
+     * so with small chunks the same label always crosses chunk boundaries.
+     */
+    private static String blankNodes(int count, boolean quads) {
+        StringBuilder res = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            res.append("_:b").append(i).append(" <http://x#p> \"v").append(i).append("\"");
+            res.append(quads && i % 3 == 0 ? " <http://x#g> .\n" : " .\n");
+            res.append("_:b").append(i).append(" <http://x#next> _:b").append((i + 1) % count).append(" .\n");
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            res.append("<http://x#s").append(i).append("> <http://x#q> _:b").append(i).append(" .\n");
+        }
+        return res.toString();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"nt", "nq"})
+    public void testIsomorphicToRIOT(String ext, @TempDir Path dir) throws IOException {
+        Lang lang = "nq".equals(ext) ? Lang.NQUADS : Lang.NTRIPLES;
+        Path file = dir.resolve("data." + ext);
+        Files.writeString(file, blankNodes(300, lang == Lang.NQUADS), StandardCharsets.UTF_8);
+
+        Graph expected = Factory.createGraphMem();
+        RDFDataMgr.read(expected, file.toUri().toString(), lang);
+        Graph actual = ParallelRDFLoader.load(file, lang, 4, 512);
+
+        Assertions.assertEquals(lang == Lang.NQUADS ? 800 : 900, expected.size());
+        Assertions.assertEquals(expected.size(), actual.size());
+        Assertions.assertTrue(expected.isIsomorphicWith(actual));
+    }
+}
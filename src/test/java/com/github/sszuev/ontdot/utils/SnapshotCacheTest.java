@@ -0,0 +1,107 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.App;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class SnapshotCacheTest {
+
+    private static Path writeImported(Path dir, String clazz) throws Exception {
+        Path res = dir.resolve("imported.ttl");
+        Files.writeString(res, "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n" +
+                "<http://y> a owl:Ontology .\n" +
+                "<http://y#" + clazz + "> a owl:Class .\n", StandardCharsets.UTF_8);
+        return res;
+    }
+
+    private static Path writeSource(Path dir, Path imported, String clazz) throws Exception {
+        Path res = dir.resolve("source.ttl");
+        Files.writeString(res, "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n" +
+                "<http://x> a owl:Ontology" + (imported == null ? "" : "; owl:imports <" + imported.toUri() + ">") +
+                " .\n<http://x#" + clazz + "> a owl:Class .\n", StandardCharsets.UTF_8);
+        return res;
+    }
+
+    @Test
+    public void testHit(@TempDir Path dir) throws Exception {
+        Path source = writeSource(dir, null, "A");
+        SnapshotCache cache = new SnapshotCache(dir.resolve("cache"));
+        String key = cache.key(source, null);
+        Assertions.assertTrue(cache.find(key).isEmpty());
+
+        Ontology ont = App.loadOntology(source, null);
+        cache.save(key, ont);
+        Assertions.assertEquals(key, cache.key(source, null));
+        Optional<OntModel> res = cache.find(key);
+        Assertions.assertTrue(res.isPresent());
+        Assertions.assertTrue(ont.asGraphModel().getGraph().isIsomorphicWith(res.get().getGraph()));
+        Assertions.assertNotNull(res.get().getOntClass("http://x#A"));
+    }
+
+    @Test
+    public void testSourceChanged(@TempDir Path dir) throws Exception {
+        Path source = writeSource(dir, null, "A");
+        SnapshotCache cache = new SnapshotCache(dir.resolve("cache"));
+        String key = cache.key(source, null);
+        cache.save(key, App.loadOntology(source, null));
+
+        writeSource(dir, null, "B");
+        String changed = cache.key(source, null);
+        Assertions.assertNotEquals(key, changed);
+        Assertions.assertTrue(cache.find(changed).isEmpty());
+    }
+
+    @Test
+    public void testImportChanged(@TempDir Path dir) throws Exception {
+        Path imported = writeImported(dir, "B");
+        Path source = writeSource(dir, imported, "A");
+        SnapshotCache cache = new SnapshotCache(dir.resolve("cache"));
+        String key = cache.key(source, null);
+        cache.save(key, App.loadOntology(source, null));
+        Optional<OntModel> res = cache.find(key);
+        Assertions.assertTrue(res.isPresent());
+        Assertions.assertNotNull(res.get().getOntClass("http://y#B"));
+
+        writeImported(dir, "C");
+        Assertions.assertEquals(key, cache.key(source, null));
+        Assertions.assertTrue(cache.find(key).isEmpty());
+    }
+
+    @Test
+    public void testManifest(@TempDir Path dir) throws Exception {
+        Path imported = writeImported(dir, "B");
+        Path source = writeSource(dir, imported, "A");
+        Path cacheDir = dir.resolve("cache");
+        SnapshotCache cache = new SnapshotCache(cacheDir);
+        String key = cache.key(source, null);
+        cache.save(key, App.loadOntology(source, null));
+
+        Path manifest = cacheDir.resolve(key + ".imports");
+        Assertions.assertTrue(Files.exists(manifest));
+        Assertions.assertTrue(Files.exists(cacheDir.resolve(key + ".trdf")));
+        Properties imports = new Properties();
+        try (var r = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            imports.load(r);
+        }
+        Assertions.assertEquals(1, imports.size());
+        String document = imports.stringPropertyNames().iterator().next();
+        Assertions.assertTrue(document.startsWith("file:") && document.endsWith("imported.ttl"), document);
+        Assertions.assertEquals(64, imports.getProperty(document).length());
+
+        // the manifest is required:
+        Files.delete(manifest);
+        Assertions.assertTrue(cache.find(key).isEmpty());
+    }
+}
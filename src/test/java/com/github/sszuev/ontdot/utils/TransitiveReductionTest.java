@@ -0,0 +1,66 @@
+package com.github.sszuev.ontdot.utils;
+
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntObjectProperty;
+import com.github.sszuev.ontdot.api.DOTSetting;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import org.apache.jena.graph.Node;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class TransitiveReductionTest {
+    private static final String NS = "http://x#";
+
+    @Test
+    public void testReduce() {
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD).setNsPrefix("x", NS);
+        OntClass.Named a = m.createOntClass(NS + "A");
+        OntClass.Named b = m.createOntClass(NS + "B");
+        OntClass.Named c = m.createOntClass(NS + "C");
+        OntClass.Named d = m.createOntClass(NS + "D");
+        a.addSuperClass(b);
+        a.addSuperClass(c);
+        a.addSuperClass(d);
+        b.addSuperClass(d);
+        d.addSuperClass(c);
+        // cycle:
+        OntClass.Named x = m.createOntClass(NS + "X");
+        OntClass.Named y = m.createOntClass(NS + "Y");
+        x.addSuperClass(y);
+        y.addSuperClass(x);
+        OntClass.Named z = m.createOntClass(NS + "Z");
+        z.addSuperClass(x);
+        z.addSuperClass(y);
+
+        OntObjectProperty.Named p = m.createObjectProperty(NS + "p");
+        OntObjectProperty.Named q = m.createObjectProperty(NS + "q");
+        OntObjectProperty.Named r = m.createObjectProperty(NS + "r");
+        p.addSuperProperty(q);
+        p.addSuperProperty(r);
+        q.addSuperProperty(r);
+
+        TransitiveReduction res = TransitiveReduction.compute(m.getGraph());
+        Node sc = RDFS.subClassOf.asNode();
+        Assertions.assertEquals(3, res.size());
+        Assertions.assertTrue(res.isRedundant(a.asNode(), sc, c.asNode()));
+        Assertions.assertTrue(res.isRedundant(a.asNode(), sc, d.asNode()));
+        Assertions.assertFalse(res.isRedundant(a.asNode(), sc, b.asNode()));
+        Assertions.assertFalse(res.isRedundant(d.asNode(), sc, c.asNode()));
+        Assertions.assertTrue(res.isRedundant(p.asNode(), RDFS.subPropertyOf.asNode(), r.asNode()));
+
+        String full = OntVisualizer.create().prefixes(m).draw(m);
+        String reduced = OntVisualizer.create().prefixes(m)
+                .withOption(DOTSetting.BOOLEAN_TRANSITIVE_REDUCTION, true).draw(m);
+        Assertions.assertEquals(count(full, "->") - 3, count(reduced, "->"));
+    }
+
+    private static long count(String txt, String part) {
+        return (txt.length() - txt.replace(part, "").length()) / part.length();
+    }
+}
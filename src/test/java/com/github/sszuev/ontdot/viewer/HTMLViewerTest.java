@@ -0,0 +1,70 @@
+package com.github.sszuev.ontdot.viewer;
+
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.sszuev.ontdot.api.OntVisualizer;
+import com.github.sszuev.ontdot.renderers.RenderStats;
+import com.github.sszuev.tests.utils.ModelData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Created by @ssz on 19.10.2026.
+ */
+public class HTMLViewerTest {
+
+    @Test
+    public void testWritePizza(@TempDir Path dir) throws IOException {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m);
+        RenderStats stats = new HTMLViewer(visualizer.shared(), 20).write(m, dir);
+        Assertions.assertTrue(stats.entities() > 0);
+
+        Assertions.assertTrue(Files.exists(dir.resolve("index.html")));
+        Path data = dir.resolve("data");
+        String index = Files.readString(data.resolve("index.js"), StandardCharsets.UTF_8);
+        Assertions.assertTrue(index.startsWith("OntDotViewer.index("));
+        Assertions.assertTrue(index.contains(":Veneziana"));
+
+        long entities;
+        try (Stream<?> s = Stream.of(m.classes(), m.namedIndividuals(), m.datatypes(),
+                m.objectProperties(), m.dataProperties(), m.annotationProperties()).flatMap(x -> x)) {
+            entities = s.count();
+        }
+        long buckets = (entities + 19) / 20;
+        try (Stream<Path> files = Files.list(data)) {
+            Assertions.assertEquals(1 + 2 * buckets, files.count());
+        }
+        String bucket = Files.readString(data.resolve("b0.js"), StandardCharsets.UTF_8);
+        Assertions.assertTrue(bucket.startsWith("OntDotViewer.bucket(0,["));
+        Assertions.assertTrue(bucket.contains("\"links\""));
+        String incoming = Files.readString(data.resolve("i" + (buckets - 1) + ".js"), StandardCharsets.UTF_8);
+        Assertions.assertTrue(incoming.startsWith("OntDotViewer.incoming(" + (buckets - 1) + ","));
+    }
+
+    @Test
+    public void testThreadsDoNotChangeOutput(@TempDir Path dir) throws IOException {
+        OntModel m = ModelData.PIZZA.ont().asGraphModel();
+        OntVisualizer visualizer = OntVisualizer.create().prefixes(m);
+        new HTMLViewer(visualizer.shared(), 10, 1).write(m, dir.resolve("single"));
+        new HTMLViewer(visualizer.shared(), 10, 4).write(m, dir.resolve("multi"));
+        try (Stream<Path> files = Files.list(dir.resolve("single").resolve("data"))) {
+            files.forEach(f -> {
+                try {
+                    Assertions.assertEquals(Files.readString(f, StandardCharsets.UTF_8),
+                            Files.readString(dir.resolve("multi").resolve("data").resolve(f.getFileName()),
+                                    StandardCharsets.UTF_8), "File " + f.getFileName());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.github.sszuev.tests.utils;
+
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntDataProperty;
+import com.github.owlcs.ontapi.jena.model.OntIndividual;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntObject;
+import com.github.owlcs.ontapi.jena.model.OntObjectProperty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A deterministic generator of synthetic ontologies of arbitrary size, for load and scaling tests.
+ * The same settings and the same seed always produce the same graph.
+ * <p>
+ * The class hierarchy is a forest: each class gets a parent with free slots (at most {@link #fanOut(int)} children)
+ * whose depth is less than {@link #depth(int)}; if there is no such parent, the class becomes a new root.
+ * Each class gets on average {@link #restrictions(double)} anonymous superclasses,
+ * which are nested up to {@link #nesting(int)} levels
+ * (some/all-values-from, min-cardinality, union/intersection of {@link #unionSize(int)} operands,
+ * one-of of {@link #oneOfSize(int)} individuals, complement).
+ * <p>
+ * Created by @ssz on 19.10.2026.
+ */
+public class OntologyGenerator {
+    public static final String NS = "http://ont2dot.sszuev.github.com/generated#";
+
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur",
+            "adipiscing", "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore"};
+
+    private long seed = 42;
+    private int classes = 100;
+    private int depth = 5;
+    private int fanOut = 4;
+    private double restrictions = 1;
+    private int nesting = 2;
+    private int unionSize = 3;
+    private int oneOfSize = 3;
+    private int individuals = 1;
+    private int annotations = 1;
+    private int literalLength = 40;
+    private int objectProperties = -1;
+    private int dataProperties = -1;
+
+    public static OntologyGenerator create() {
+        return new OntologyGenerator();
+    }
+
+    public OntologyGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public OntologyGenerator classes(int classes) {
+        this.classes = requirePositive(classes);
+        return this;
+    }
+
+    public OntologyGenerator depth(int depth) {
+        this.depth = requirePositive(depth);
+        return this;
+    }
+
+    public OntologyGenerator fanOut(int fanOut) {
+        this.fanOut = requirePositive(fanOut);
+        return this;
+    }
+
+    /**
+     * @param restrictions {@code double}, the average number of anonymous superclasses per class
+     * @return this instance
+     */
+    public OntologyGenerator restrictions(double restrictions) {
+        if (restrictions < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.restrictions = restrictions;
+        return this;
+    }
+
+    public OntologyGenerator nesting(int nesting) {
+        this.nesting = requirePositive(nesting);
+        return this;
+    }
+
+    public OntologyGenerator unionSize(int unionSize) {
+        this.unionSize = requirePositive(unionSize);
+        return this;
+    }
+
+    public OntologyGenerator oneOfSize(int oneOfSize) {
+        this.oneOfSize = requirePositive(oneOfSize);
+        return this;
+    }
+
+    /**
+     * @param individuals {@code int}, the number of named individuals per class
+     * @return this instance
+     */
+    public OntologyGenerator individuals(int individuals) {
+        this.individuals = requireNonNegative(individuals);
+        return this;
+    }
+
+    /**
+     * @param annotations {@code int}, the number of annotations ({@code rdfs:comment}) per entity
+     * @return this instance
+     */
+    public OntologyGenerator annotations(int annotations) {
+        this.annotations = requireNonNegative(annotations);
+        return this;
+    }
+
+    public OntologyGenerator literalLength(int literalLength) {
+        this.literalLength = requirePositive(literalLength);
+        return this;
+    }
+
+    /**
+     * @param objectProperties {@code int}, by default {@code classes / 10 + 1}
+     * @return this instance
+     */
+    public OntologyGenerator objectProperties(int objectProperties) {
+        this.objectProperties = requirePositive(objectProperties);
+        return this;
+    }
+
+    /**
+     * @param dataProperties {@code int}, by default {@code classes / 20 + 1}
+     * @return this instance
+     */
+    public OntologyGenerator dataProperties(int dataProperties) {
+        this.dataProperties = requirePositive(dataProperties);
+        return this;
+    }
+
+    /**
+     * Generates a new in-memory model.
+     *
+     * @return {@link OntModel}
+     */
+    public OntModel generate() {
+        Random random = new Random(seed);
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD).setNsPrefix("g", NS);
+        m.setID(NS.substring(0, NS.length() - 1));
+
+        List<OntObjectProperty.Named> ops = new ArrayList<>();
+        for (int i = 0; i < (objectProperties > 0 ? objectProperties : classes / 10 + 1); i++) {
+            ops.add(annotate(random, m.createObjectProperty(NS + "op" + i)));
+        }
+        List<OntDataProperty> dps = new ArrayList<>();
+        for (int i = 0; i < (dataProperties > 0 ? dataProperties : classes / 20 + 1); i++) {
+            dps.add(annotate(random, m.createDataProperty(NS + "dp" + i)));
+        }
+
+        List<OntClass.Named> all = new ArrayList<>(classes);
+        Deque<Parent> parents = new ArrayDeque<>();
+        for (int i = 0; i < classes; i++) {
+            OntClass.Named c = annotate(random, m.createOntClass(NS + "C" + i));
+            Parent parent = parents.peekFirst();
+            int level = 0;
+            if (parent != null) {
+                c.addSuperClass(parent.clazz);
+                level = parent.level + 1;
+                if (++parent.children == fanOut) {
+                    parents.removeFirst();
+                }
+            }
+            if (level + 1 < depth) {
+                parents.addLast(new Parent(c, level));
+            }
+            all.add(c);
+        }
+
+        List<OntIndividual> inds = new ArrayList<>();
+        for (int i = 0; i < classes; i++) {
+            OntClass.Named c = all.get(i);
+            for (int j = 0; j < individuals; j++) {
+                OntIndividual.Named x = annotate(random, c.createIndividual(NS + "i" + i + "_" + j));
+                x.addAssertion(dps.get(random.nextInt(dps.size())), m.createLiteral(text(random)));
+                inds.add(x);
+            }
+        }
+
+        for (OntClass.Named c : all) {
+            int count = (int) restrictions + (random.nextDouble() < restrictions - (int) restrictions ? 1 : 0);
+            for (int j = 0; j < count; j++) {
+                c.addSuperClass(expression(random, m, all, ops, dps, inds, 1));
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Generates a model and writes it to the file in turtle format.
+     *
+     * @param file {@link Path}
+     * @return {@link OntModel}, the generated model
+     */
+    public OntModel write(Path file) {
+        OntModel res = generate();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            res.write(out, "ttl");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return res;
+    }
+
+    private OntClass expression(Random random,
+                                OntModel m,
+                                List<OntClass.Named> classes,
+                                List<OntObjectProperty.Named> ops,
+                                List<OntDataProperty> dps,
+                                List<OntIndividual> inds,
+                                int level) {
+        OntObjectProperty.Named p = ops.get(random.nextInt(ops.size()));
+        int type = random.nextInt(inds.isEmpty() ? 6 : 7);
+        if (level >= nesting && type > 2) {
+            // no more nesting: only restrictions with a named filler
+            type = random.nextInt(3);
+        }
+        switch (type) {
+            case 0:
+                return m.createObjectSomeValuesFrom(p, classes.get(random.nextInt(classes.size())));
+            case 1:
+                return m.createObjectMinCardinality(p, 1 + random.nextInt(3), classes.get(random.nextInt(classes.size())));
+            case 2:
+                return m.createDataSomeValuesFrom(dps.get(random.nextInt(dps.size())), m.getRDFSLiteral());
+            case 3:
+                return m.createObjectAllValuesFrom(p, expression(random, m, classes, ops, dps, inds, level + 1));
+            case 4:
+            case 5: {
+                List<OntClass> operands = new ArrayList<>();
+                for (int i = 0; i < unionSize; i++) {
+                    operands.add(random.nextBoolean() ? classes.get(random.nextInt(classes.size())) :
+                            expression(random, m, classes, ops, dps, inds, level + 1));
+                }
+                return type == 4 ? m.createObjectUnionOf(operands) : m.createObjectIntersectionOf(operands);
+            }
+            default: {
+                if (random.nextBoolean()) {
+                    return m.createObjectComplementOf(expression(random, m, classes, ops, dps, inds, level + 1));
+                }
+                List<OntIndividual> members = new ArrayList<>();
+                for (int i = 0; i < oneOfSize; i++) {
+                    members.add(inds.get(random.nextInt(inds.size())));
+                }
+                return m.createObjectOneOf(members);
+            }
+        }
+    }
+
+    private <X extends OntObject> X annotate(Random random, X entity) {
+        for (int i = 0; i < annotations; i++) {
+            entity.addComment(text(random));
+        }
+        return entity;
+    }
+
+    private String text(Random random) {
+        StringBuilder res = new StringBuilder(literalLength + 16);
+        while (res.length() < literalLength) {
+            if (res.length() > 0) {
+                res.append(' ');
+            }
+            res.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return res.substring(0, literalLength);
+    }
+
+    private static int requirePositive(int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Must be positive: " + value);
+        }
+        return value;
+    }
+
+    private static int requireNonNegative(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Must not be negative: " + value);
+        }
+        return value;
+    }
+
+    private static class Parent {
+        private final OntClass.Named clazz;
+        private final int level;
+        private int children;
+
+        private Parent(OntClass.Named clazz, int level) {
+            this.clazz = clazz;
+            this.level = level;
+        }
+    }
+}